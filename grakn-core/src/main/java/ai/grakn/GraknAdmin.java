@@ -10,6 +10,8 @@ import ai.grakn.concept.Type;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.Optional;
+
 public interface GraknAdmin {
 
     /**
@@ -27,6 +29,43 @@ public interface GraknAdmin {
      */
     GraphTraversal<Vertex, Vertex> getTinkerTraversal();
 
+    /**
+     * Get the cardinality estimates of this graph, which are used when planning queries.
+     *
+     * @return The statistics of the keyspace this graph is bound to
+     */
+    GraknStatistics getStatistics();
+
+    /**
+     * Check if the graph has been modified by the current transaction.
+     *
+     * @return True if concepts have been added, modified or deleted since the last commit or rollback
+     */
+    boolean hasUncommittedChanges();
+
+    /**
+     * Get the version given to the keyspace by the last commit which changed data.
+     *
+     * @return The commit version stored in the graph, or empty if data has never been committed to the keyspace
+     */
+    Optional<String> getCommitVersion();
+
+    /**
+     * Utility function to specify whether inferred facts should be materialised when committing.
+     * When enabled, each commit applies the inference rules whose hypothesis types were changed by the commit and
+     * commits the new conclusions.
+     *
+     * @param flag Specifies if inferred facts should be materialised on commit
+     */
+    void materialiseOnCommit(boolean flag);
+
+    /**
+     * Utility function to check whether inferred facts are materialised when committing.
+     *
+     * @return true if inferred facts are materialised on commit
+     */
+    boolean materialisesOnCommit();
+
     //------------------------------------- Meta Types ----------------------------------
     /**
      * Get the root of all Types.
@@ -0,0 +1,79 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn;
+
+import ai.grakn.util.Schema;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     Cardinality estimates of a keyspace
+ * </p>
+ *
+ * <p>
+ *     Provides estimates of how much data is in a graph, which are used when planning the execution of queries.
+ *     The estimates are maintained incrementally as transactions are committed, so they may be approximate.
+ *     When no estimate is known an empty {@link Optional} is returned and the caller should fall back to a default.
+ * </p>
+ */
+public interface GraknStatistics {
+
+    /**
+     * @param typeName The name of a type
+     * @return An estimate of the number of instances of the type, including instances of its sub types
+     */
+    Optional<Long> getInstanceCount(String typeName);
+
+    /**
+     * @param edgeLabel The label of the edges
+     * @param baseType The base type of the concepts the edges are attached to
+     * @return An estimate of the number of edges with the given label each concept of the base type has
+     */
+    Optional<Double> getAverageDegree(Schema.EdgeLabel edgeLabel, Schema.BaseType baseType);
+
+    /**
+     * @param roleTypeName The name of a role type
+     * @return An estimate of the number of shortcut edges each role player of the role type has
+     */
+    Optional<Double> getAverageRoleDegree(String roleTypeName);
+
+    /**
+     * @param resourceTypeName The name of a resource type
+     * @param predicate A predicate on resource values
+     * @return An estimate of the fraction of resources of the type whose value satisfies the predicate
+     */
+    Optional<Double> getValueSelectivity(String resourceTypeName, Predicate<Object> predicate);
+
+    /**
+     * @return A version of the estimates which changes whenever they change enough to affect query plans, such as
+     * when an instance count doubles or halves or the graph is cleared. Plans made with one version should not be
+     * reused once the version has changed.
+     */
+    long getVersion();
+
+    /**
+     * @return Whether resource values are in a search index which answers range and string predicates without
+     * scanning every resource
+     */
+    default boolean hasValueIndex() {
+        return false;
+    }
+}
@@ -36,4 +36,20 @@ public interface DeleteQueryAdmin extends DeleteQuery {
      * @return the match query this delete query is operating on
      */
     MatchQuery getMatchQuery();
+
+    /**
+     * Delete only the first results of the match query, so the deletions can be committed in bounded batches.
+     * Executing this repeatedly, committing in between, deletes everything the query matches.
+     * A match query with a limit, offset or order cannot be deleted in batches, nor can a query which does not
+     * {@link #deletesWholeResults() delete whole results}.
+     * @param batchSize the maximum number of match results to delete
+     * @return the number of match results which were deleted
+     */
+    long executeBatch(long batchSize);
+
+    /**
+     * @return whether deleting a result stops it matching, because a whole concept of the result is deleted rather
+     * than only some of its properties
+     */
+    boolean deletesWholeResults();
 }
@@ -66,4 +66,9 @@ public interface MatchQueryAdmin extends MatchQuery {
      * @return all selected variable names in the query
      */
     Set<VarName> getSelectedNames();
+
+    /**
+     * @return whether a limit, offset or order restricts which results the query returns
+     */
+    boolean restrictsResults();
 }
@@ -45,6 +45,7 @@ public enum ErrorMessage {
     CLOSED_FACTORY("This graph has been closed due to a transaction being committed and invalidating this graph"),
     CLOSED_CLEAR("This graph has been closed due to clearing it"),
     TRANSACTIONS_NOT_SUPPORTED("The graph backend [%s] does not actually support transactions. The graph was not committed or refreshed."),
+    MATERIALISATION_FAILED("The commit to keyspace [%s] succeeded but the inferences following from it could not be materialised"),
     IMMUTABLE_VALUE("The value [%s] of concept [%s] cannot be changed to [%s] due to the property [%s] being immutable"),
     IMMUTABLE_TYPE("The type of concept [%s] cannot be set to [%s] as it is already set to [%s]"),
     NULL_VALUE("The value of [%s] cannot be set to [null]"),
@@ -85,6 +86,8 @@ public enum ErrorMessage {
     INVALID_PATH_TO_CONFIG("Unable to open config file [%s]"),
     CREATING_ONTOLOGY_ERROR("Unable to create a new meta ontology due to [%s]"),
     INVALID_COMPUTER("The graph computer [%s] is not supported"),
+    UNSUPPORTED_MESSAGE_SCOPE("The message scope [%s] is not supported by the local graph computer"),
+    UNPROJECTED_ELEMENT("The local graph computer does not project the [%s] of vertices"),
     CONFIG_IGNORED("The config parameter [%s] with value [%s] is ignored for this implementation"),
     CANNOT_PRODUCE_GRAPH("Cannot produce a Grakn graph using the backend [%s]"),
 
@@ -95,9 +98,13 @@ public enum ErrorMessage {
             "Cannot produce graph"),
     CONFIG_NOT_FOUND("Grakn Engine located at [%s] did not return the expected response, due to [%s]"),
     COULD_NOT_REACH_ENGINE("Could not reach Grakn engine at [%s]"),
+    COMMIT_LOG_NOT_SUBMITTED("The commit has been made but its log could not be submitted to Grakn engine at [%s]"),
 
     //--------------------------------------------- Graql Errors -----------------------------------------------
     NO_GRAPH("no graph provided"),
+    DELETE_BATCH_RESTRICTED("cannot delete the results of [%s] in batches because it has a limit, offset or order"),
+    DELETE_BATCH_PARTIAL("cannot delete the results of [%s] in batches because it does not delete a whole matched " +
+            "concept, so its results would still match once deleted"),
 
     SYNTAX_ERROR_NO_POINTER("syntax error at line %s:\n%s"),
     SYNTAX_ERROR("syntax error at line %s: \n%s\n%s\n%s"),
@@ -162,6 +169,8 @@ public enum ErrorMessage {
     POSTPROCESSING_ERROR("Unexpected error during %s fix due to [%s]"),
     UNABLE_TO_ANALYSE_CONCEPT("Unable to analyse concept [%s] due to error [%s]"),
     BACK_OFF_RETRY("Unexpected failure performing backoff and retry of [%s]S"),
+    POSTPROCESSING_JOURNAL_ERROR("Unable to write to the post processing journal [%s]"),
+    TASK_STATE_STORAGE_ERROR("Unable to write to the task state storage [%s]"),
     //Distributed loading Errors
     ERROR_IN_DISTRIBUTED_TRANSACTION("Error while sending transaction to host: [%s]. Code: [%s] Message:[%s] \n Transaction string: [%s] "),
     ERROR_COMMUNICATING_TO_HOST("Exception thrown while trying to communicate with host [%s]"),
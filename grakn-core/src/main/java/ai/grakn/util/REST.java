@@ -34,6 +34,7 @@ public class REST {
 
         public static final String COMMIT_LOG_URI = "/commit_log";
         public static final String GET_STATUS_CONFIG_URI = "/status/config";
+        public static final String GET_STATUS_PLAN_CACHE_URI = "/status/plan-cache";
 
         public static final String REMOTE_SHELL_URI = "/shell/remote";
 
@@ -64,6 +65,9 @@ public class REST {
         public static final String TASK_RUN_INTERVAL_PARAMETER = "interval";
         public static final String TASK_CONFIGURATION_PARAMETER = "configuration";
         public static final String TASK_LOADER_INSERTS = "inserts";
+        public static final String TASK_LOADER_INSERT_BATCH = "insertBatch";
+        public static final String TASK_DELETE_QUERY = "deleteQuery";
+        public static final String TASK_DELETE_BATCH_SIZE = "batchSize";
         public static final String TASK_STOP = "/stop";
         public static final String LIMIT_PARAM = "limit";
         public static final String OFFSET_PARAM = "offset";
@@ -104,6 +108,7 @@ public class REST {
         public static final String ACTION_END = "end";
         public static final String ACTION_ERROR = "error";
         public static final String ACTION_QUERY_ABORT = "queryAbort";
+        public static final String ACTION_NEXT = "next";
         public static final String ACTION_COMMIT = "commit";
         public static final String ACTION_ROLLBACK = "rollback";
         public static final String ACTION_PING = "ping";
@@ -117,8 +122,10 @@ public class REST {
         public static final String IMPLICIT = "implicit";
         public static final String INFER = "infer";
         public static final String MATERIALISE = "materialise";
+        public static final String FLOW_CONTROL = "flowControl";
         public static final String QUERY = "query";
         public static final String QUERY_RESULT = "result";
+        public static final String CREDIT = "credit";
         public static final String ERROR = "error";
         public static final String TYPES = "types";
         public static final String DISPLAY = "display";
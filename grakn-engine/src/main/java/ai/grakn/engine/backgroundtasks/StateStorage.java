@@ -23,6 +23,7 @@ import org.json.JSONObject;
 
 import java.util.Date;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public interface StateStorage {
     /**
@@ -91,4 +92,14 @@ public interface StateStorage {
                                           String createdBy,
                                           int limit,
                                           int offset);
+
+    /**
+     * Return a Set of Pairs of all the recurring tasks, in the same form as {@link #getTasks}.
+     * @return Set<Pair<String, TaskState>> of task IDs and corresponding TaskState *copies*.
+     */
+    default Set<Pair<String, TaskState>> getRecurringTasks() {
+        return getTasks(null, null, null, 0, 0).stream()
+                .filter(task -> task.getValue().isRecurring())
+                .collect(Collectors.toSet());
+    }
 }
@@ -18,6 +18,9 @@
 
 package ai.grakn.engine.backgroundtasks.config;
 
+import ai.grakn.engine.backgroundtasks.StateStorage;
+import ai.grakn.engine.backgroundtasks.taskstorage.GraknStateStorage;
+import ai.grakn.engine.backgroundtasks.taskstorage.LocalStateStorage;
 import ai.grakn.engine.util.ConfigProperties;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
@@ -33,6 +36,7 @@ import static ai.grakn.engine.util.ConfigProperties.KAFKA_BUFFER_MEM;
 import static ai.grakn.engine.util.ConfigProperties.KAFKA_LINGER_MS;
 import static ai.grakn.engine.util.ConfigProperties.KAFKA_RETRIES;
 import static ai.grakn.engine.util.ConfigProperties.KAFKA_SESSION_TIMEOUT;
+import static ai.grakn.engine.util.ConfigProperties.TASK_STATE_STORAGE;
 import static ai.grakn.engine.util.ConfigProperties.ZK_BACKOFF_BASE_SLEEP_TIME;
 import static ai.grakn.engine.util.ConfigProperties.ZK_BACKOFF_MAX_RETRIES;
 import static ai.grakn.engine.util.ConfigProperties.ZK_CONNECTION_TIMEOUT;
@@ -54,6 +58,18 @@ public class ConfigHelper {
                     .build();
     }
 
+    /**
+     * @return The storage of task states configured with {@link ConfigProperties#TASK_STATE_STORAGE}, which defaults
+     * to the system graph
+     */
+    public static StateStorage stateStorage() {
+        String storage = ConfigProperties.getInstance().getProperty(TASK_STATE_STORAGE, GraknStateStorage.class.getName());
+        if(storage.equals(LocalStateStorage.class.getName())) {
+            return LocalStateStorage.getInstance();
+        }
+        return new GraknStateStorage();
+    }
+
     public static <K,V> KafkaConsumer<K, V> kafkaConsumer(String groupId) {
         Properties properties = new Properties();
         properties.put("bootstrap.servers", ConfigProperties.getInstance().getProperty(KAFKA_BOOTSTRAP_SERVERS));
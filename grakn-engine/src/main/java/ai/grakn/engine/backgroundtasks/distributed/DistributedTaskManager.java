@@ -23,17 +23,22 @@ import ai.grakn.engine.backgroundtasks.StateStorage;
 import ai.grakn.engine.backgroundtasks.TaskManager;
 import ai.grakn.engine.backgroundtasks.TaskStatus;
 import ai.grakn.engine.backgroundtasks.config.ConfigHelper;
-import ai.grakn.engine.backgroundtasks.taskstorage.GraknStateStorage;
+import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedState;
 import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedStateStorage;
 import ai.grakn.engine.util.EngineID;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.zookeeper.KeeperException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static ai.grakn.engine.backgroundtasks.TaskStatus.COMPLETED;
@@ -42,6 +47,7 @@ import static ai.grakn.engine.backgroundtasks.TaskStatus.FAILED;
 import static ai.grakn.engine.backgroundtasks.TaskStatus.STOPPED;
 import static ai.grakn.engine.backgroundtasks.config.KafkaTerms.NEW_TASKS_TOPIC;
 import static ai.grakn.engine.util.ExceptionWrapper.noThrow;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.commons.lang.exception.ExceptionUtils.getFullStackTrace;
 
 /**
@@ -50,8 +56,16 @@ import static org.apache.commons.lang.exception.ExceptionUtils.getFullStackTrace
 public class DistributedTaskManager implements TaskManager{
     private final Logger LOG = LoggerFactory.getLogger(DistributedTaskManager.class);
     private final AtomicBoolean OPENED = new AtomicBoolean(false);
+    private static final long WATCH_RETRY_INTERVAL = 1000;
     private static DistributedTaskManager instance = null;
 
+    // Watches are re-checked and futures completed on these threads rather than on Curator's event thread, which
+    // would otherwise run whatever the futures' dependants do and hold up every other watch
+    private final ExecutorService watchExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("task-watch-%d").setDaemon(true).build());
+    private final ScheduledExecutorService watchRetryTimer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("task-watch-retry-%d").setDaemon(true).build());
+
     private KafkaProducer<String, String> producer;
     private StateStorage stateStorage;
     private SynchronizedStateStorage zkStorage;
@@ -67,7 +81,7 @@ public class DistributedTaskManager implements TaskManager{
         if(OPENED.compareAndSet(false, true)) {
             try {
                 noThrow(() -> producer = ConfigHelper.kafkaProducer(), "Could not instantiate Kafka Producer");
-                noThrow(() -> stateStorage = new GraknStateStorage(), "Could not instantiate grakn state storage");
+                noThrow(() -> stateStorage = ConfigHelper.stateStorage(), "Could not instantiate task state storage");
                 zkStorage = SynchronizedStateStorage.getInstance();
             }
             catch (Exception e) {
@@ -125,26 +139,60 @@ public class DistributedTaskManager implements TaskManager{
         return stateStorage;
     }
 
+    /**
+     * The future is completed from a ZooKeeper watch on the state of the task, so no thread waits on it.
+     */
     @Override
     public CompletableFuture completableFuture(String taskId) {
-        return CompletableFuture.runAsync(() -> {
-
-            while (true) {
-                TaskStatus status = zkStorage.getState(taskId).status();
-                if (status == COMPLETED || status == FAILED || status ==  STOPPED) {
-                    break;
-                }
-
-                try {
-                    Thread.sleep(5000);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
-        });
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        watchUntilFinished(taskId, future);
+        return future;
+    }
+
+    /**
+     * Checks the state of the task, watching it again until it is completed, failed or stopped. If the state cannot
+     * be read, for example while the connection to ZooKeeper is lost, it is checked again after a delay. The future
+     * only fails if the task does not exist.
+     * @param taskId String id of the task
+     * @param future Completed when the task has finished
+     */
+    private void watchUntilFinished(String taskId, CompletableFuture<Void> future) {
+        if(future.isDone()) {
+            return;
+        }
+
+        if(!OPENED.get()) {
+            future.completeExceptionally(new IllegalStateException("Task manager closed while watching task " + taskId));
+            return;
+        }
+
+        SynchronizedState state;
+        try {
+            state = zkStorage.getStateAndWatch(taskId,
+                    event -> watchExecutor.execute(() -> watchUntilFinished(taskId, future)));
+        }
+        catch (KeeperException.NoNodeException e) {
+            future.completeExceptionally(new IllegalStateException("Task " + taskId + " does not exist", e));
+            return;
+        }
+        catch (Exception e) {
+            LOG.warn("Could not read the state of task " + taskId + ", checking again in " + WATCH_RETRY_INTERVAL + "ms", e);
+            watchRetryTimer.schedule(() -> watchExecutor.execute(() -> watchUntilFinished(taskId, future)),
+                    WATCH_RETRY_INTERVAL, MILLISECONDS);
+            return;
+        }
+
+        TaskStatus status = state.status();
+        if (status == COMPLETED || status == FAILED || status ==  STOPPED) {
+            future.complete(null);
+        }
     }
 
     public TaskStatus getState(String taskID){
         return zkStorage.getState(taskID).status();
     }
+
+    public String getCheckpoint(String taskID){
+        return zkStorage.getState(taskID).checkpoint();
+    }
 }
@@ -18,8 +18,9 @@
 
 package ai.grakn.engine.backgroundtasks.distributed;
 
+import ai.grakn.engine.backgroundtasks.StateStorage;
 import ai.grakn.engine.backgroundtasks.TaskState;
-import ai.grakn.engine.backgroundtasks.taskstorage.GraknStateStorage;
+import ai.grakn.engine.backgroundtasks.config.ConfigHelper;
 import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedStateStorage;
 import ai.grakn.engine.util.ConfigProperties;
 import javafx.util.Pair;
@@ -64,7 +65,7 @@ public class Scheduler implements Runnable, AutoCloseable {
     private final KafkaLogger LOG = KafkaLogger.getInstance();
     private final AtomicBoolean OPENED = new AtomicBoolean(false);
 
-    private GraknStateStorage stateStorage;
+    private StateStorage stateStorage;
     private SynchronizedStateStorage zkStorage;
     private KafkaConsumer<String, String> consumer;
     private KafkaProducer<String, String> producer;
@@ -112,7 +113,7 @@ public class Scheduler implements Runnable, AutoCloseable {
     public Scheduler open() throws Exception {
         if(OPENED.compareAndSet(false, true)) {
             // Init task storage
-            stateStorage = new GraknStateStorage();
+            stateStorage = ConfigHelper.stateStorage();
 
             // Kafka listener
             consumer = kafkaConsumer(SCHEDULERS_GROUP);
@@ -227,7 +228,7 @@ public class Scheduler implements Runnable, AutoCloseable {
      * Get all recurring tasks from the graph and schedule them
      */
     private void restartRecurringTasks() {
-        Set<Pair<String, TaskState>> tasks = stateStorage.getTasks(null, null, null, 0, 0, true);
+        Set<Pair<String, TaskState>> tasks = stateStorage.getRecurringTasks();
         tasks.stream()
                 .filter(p -> p.getValue().status() != STOPPED)
                 .forEach(p -> {
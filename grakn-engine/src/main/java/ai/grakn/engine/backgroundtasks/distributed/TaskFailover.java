@@ -19,7 +19,7 @@
 package ai.grakn.engine.backgroundtasks.distributed;
 
 import ai.grakn.engine.backgroundtasks.StateStorage;
-import ai.grakn.engine.backgroundtasks.taskstorage.GraknStateStorage;
+import ai.grakn.engine.backgroundtasks.config.ConfigHelper;
 import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedState;
 import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedStateStorage;
 import org.apache.curator.framework.CuratorFramework;
@@ -71,7 +71,7 @@ public class TaskFailover implements TreeCacheListener, AutoCloseable {
             current = cache.getCurrentChildren(RUNNERS_WATCH);
             producer = kafkaProducer();
 
-            stateStorage = new GraknStateStorage();
+            stateStorage = ConfigHelper.stateStorage();
             synchronizedStateStorage = SynchronizedStateStorage.getInstance();
 
             scanStaleStates(client);
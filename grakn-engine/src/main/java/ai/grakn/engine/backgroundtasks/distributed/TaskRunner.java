@@ -22,7 +22,7 @@ import ai.grakn.engine.backgroundtasks.BackgroundTask;
 import ai.grakn.engine.backgroundtasks.StateStorage;
 import ai.grakn.engine.backgroundtasks.TaskState;
 import ai.grakn.engine.backgroundtasks.TaskStatus;
-import ai.grakn.engine.backgroundtasks.taskstorage.GraknStateStorage;
+import ai.grakn.engine.backgroundtasks.config.ConfigHelper;
 import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedState;
 import ai.grakn.engine.backgroundtasks.taskstorage.SynchronizedStateStorage;
 import ai.grakn.engine.util.ConfigProperties;
@@ -75,7 +75,7 @@ public class TaskRunner implements Runnable, AutoCloseable {
     //private final CountDownLatch startupLatch;
     private final AtomicBoolean OPENED = new AtomicBoolean(false);
 
-    private StateStorage graknStorage;
+    private StateStorage stateStorage;
     private SynchronizedStateStorage zkStorage;
     private KafkaConsumer<String, String> consumer;
     private volatile boolean running;
@@ -123,7 +123,7 @@ public class TaskRunner implements Runnable, AutoCloseable {
 
     public TaskRunner open() throws Exception {
         if(OPENED.compareAndSet(false, true)) {
-            graknStorage = new GraknStateStorage();
+            stateStorage = ConfigHelper.stateStorage();
 
             consumer = kafkaConsumer(TASK_RUNNER_GROUP);
             consumer.subscribe(singletonList(WORK_QUEUE_TOPIC), new RebalanceListener(consumer));
@@ -165,7 +165,7 @@ public class TaskRunner implements Runnable, AutoCloseable {
             // Interrupt all currently running threads - these will be re-allocated to another Engine.
             noThrow(executor::shutdownNow, "Could shutdown executor pool.");
 
-            graknStorage = null;
+            stateStorage = null;
 
             // Closed by ClusterManager
             zkStorage = null;
@@ -253,7 +253,7 @@ public class TaskRunner implements Runnable, AutoCloseable {
             LOG.debug("Executing task " + id);
 
             // Get full task state.
-            TaskState state = graknStorage.getState(id);
+            TaskState state = stateStorage.getState(id);
 
             LOG.debug("Got state of " + id + " from storage");
 
@@ -332,7 +332,7 @@ public class TaskRunner implements Runnable, AutoCloseable {
         LOG.debug("Updating state of task " + id);
         zkStorage.updateState(id, status, engineID, checkpoint);
         try {
-            graknStorage.updateState(id, status, statusChangeBy, engineID, failure, checkpoint, null);
+            stateStorage.updateState(id, status, statusChangeBy, engineID, failure, checkpoint, null);
         } catch (Exception ignored) {
             // TODO: Should we ignore these errors?
         }
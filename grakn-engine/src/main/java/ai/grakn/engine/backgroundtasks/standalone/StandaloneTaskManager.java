@@ -22,6 +22,7 @@ import ai.grakn.engine.backgroundtasks.BackgroundTask;
 import ai.grakn.engine.backgroundtasks.StateStorage;
 import ai.grakn.engine.backgroundtasks.TaskManager;
 import ai.grakn.engine.backgroundtasks.TaskState;
+import ai.grakn.engine.backgroundtasks.TaskStatus;
 import ai.grakn.engine.backgroundtasks.taskstorage.InMemoryStateStorage;
 import ai.grakn.engine.util.ConfigProperties;
 import javafx.util.Pair;
@@ -59,6 +60,7 @@ public class StandaloneTaskManager implements TaskManager {
     private final Logger LOG = LoggerFactory.getLogger(StandaloneTaskManager.class);
 
     private final Map<String, Pair<ScheduledFuture<?>, BackgroundTask>> instantiatedTasks;
+    private final Map<String, CompletableFuture<Void>> completionFutures;
     private final StateStorage stateStorage;
     private final ReentrantLock stateUpdateLock;
 
@@ -67,6 +69,7 @@ public class StandaloneTaskManager implements TaskManager {
 
     private StandaloneTaskManager() {
         instantiatedTasks = new ConcurrentHashMap<>();
+        completionFutures = new ConcurrentHashMap<>();
         stateStorage = InMemoryStateStorage.getInstance();
         stateUpdateLock = new ReentrantLock();
 
@@ -124,29 +127,22 @@ public class StandaloneTaskManager implements TaskManager {
         return id;
     }
 
+    /**
+     * The future is completed by the thread which finishes, fails or stops the task, so no thread waits on it.
+     */
     public CompletableFuture completableFuture(String taskId) {
         if(!instantiatedTasks.containsKey(taskId)){
             return null;
         }
 
-        try {
-            return CompletableFuture.runAsync(() -> {
-                try {
-                    while(true){
-                        TaskState state = storage().getState(taskId);
-                        if(state.status().equals(COMPLETED) || state.status().equals(FAILED)){
-                            break;
-                        }
-                        Thread.sleep(1000);
-                    }
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-        } catch (Throwable t){
-            LOG.error(getFullStackTrace(t));
-            throw new RuntimeException(t);
+        CompletableFuture<Void> future = completionFutures.computeIfAbsent(taskId, (key) -> new CompletableFuture<>());
+
+        // The task may have finished before the future was registered
+        if(isFinished(storage().getState(taskId))) {
+            taskFinished(taskId);
         }
+
+        return future;
     }
 
     public TaskManager stopTask(String id, String requesterName) {
@@ -165,6 +161,7 @@ public class StandaloneTaskManager implements TaskManager {
                 LOG.info("Stopping a currently scheduled task "+id);
                 pair.getKey().cancel(true);
                 stateStorage.updateState(id, STOPPED, name,null, null, null, null);
+                taskFinished(id);
             }
             else if(state.status() == RUNNING) {
                 LOG.info("Stopping running task "+id);
@@ -175,6 +172,7 @@ public class StandaloneTaskManager implements TaskManager {
                 }
 
                 stateStorage.updateState(id, STOPPED, name, null, null, null, null);
+                taskFinished(id);
             }
             else {
                 LOG.warn("Task not running - "+id);
@@ -204,9 +202,31 @@ public class StandaloneTaskManager implements TaskManager {
                 LOG.error(getFullStackTrace(t));
                 stateStorage.updateState(id, FAILED, EXCEPTION_CATCHER_NAME, null, t, null, null);
             }
+            finally {
+                // A recurring task only finishes when it fails or is stopped
+                if(isFinished(stateStorage.getState(id))) {
+                    taskFinished(id);
+                }
+            }
         };
     }
 
+    private static boolean isFinished(TaskState state) {
+        TaskStatus status = state.status();
+        return status == FAILED || status == STOPPED || (status == COMPLETED && !state.isRecurring());
+    }
+
+    /**
+     * Completes the future waiting on the task, if there is one.
+     * @param id String id of the task which has finished
+     */
+    private void taskFinished(String id) {
+        CompletableFuture<Void> future = completionFutures.remove(id);
+        if(future != null) {
+            future.complete(null);
+        }
+    }
+
     private Runnable runTask(String id, BackgroundTask task, Boolean recurring) {
         return () -> {
             stateUpdateLock.lock();
@@ -212,6 +212,11 @@ public class GraknStateStorage implements StateStorage {
         return getTasks(taskStatus, taskClassName, createdBy, limit, offset, false);
     }
 
+    @Override
+    public Set<Pair<String, TaskState>> getRecurringTasks() {
+        return getTasks(null, null, null, 0, 0, true);
+    }
+
     public Set<Pair<String, TaskState>> getTasks(TaskStatus taskStatus, String taskClassName, String createdBy,
                                                  int limit, int offset, Boolean recurring) {
         Var matchVar = var(TASK_VAR).isa(SCHEDULED_TASK);
@@ -0,0 +1,403 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.backgroundtasks.taskstorage;
+
+import ai.grakn.engine.backgroundtasks.StateStorage;
+import ai.grakn.engine.backgroundtasks.TaskState;
+import ai.grakn.engine.backgroundtasks.TaskStatus;
+import ai.grakn.engine.util.AppendOnlyLog;
+import ai.grakn.engine.util.ConfigProperties;
+import ai.grakn.util.ErrorMessage;
+import javafx.util.Pair;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static ai.grakn.engine.util.ConfigProperties.TASK_STATE_STORAGE_FILE;
+
+/**
+ * <p>
+ *     Task states kept in memory and in an append-only file local to this engine
+ * </p>
+ *
+ * <p>
+ *     Every new state and every update is written to an {@link AppendOnlyLog} as a single line of JSON, so task
+ *     bookkeeping costs one appended line instead of a commit to the system graph. The log is replayed when engine
+ *     starts and is compacted once most of it is made up of superseded updates.
+ *
+ *     Tasks are indexed by status, class name and creator, so {@link #getTasks} only visits the tasks matching the
+ *     most selective of the given criteria. The states are not shared with other engines, so this storage should only
+ *     be used when a single engine runs the tasks.
+ *
+ *     Only the most recently finished tasks are kept, so that the states of completed, failed and stopped tasks do
+ *     not build up in memory. The states of older finished tasks are forgotten and dropped from the file when it is
+ *     next compacted.
+ * </p>
+ */
+public class LocalStateStorage implements StateStorage {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStateStorage.class);
+    private static final int MAX_FINISHED_STATES = 10_000;
+
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String STATUS_CHANGE_TIME = "statusChangeTime";
+    private static final String STATUS_CHANGE_BY = "statusChangeBy";
+    private static final String TASK_CLASS_NAME = "taskClassName";
+    private static final String CREATED_BY = "createdBy";
+    private static final String ENGINE_ID = "engineID";
+    private static final String RUN_AT = "runAt";
+    private static final String RECURRING = "recurring";
+    private static final String RECUR_INTERVAL = "interval";
+    private static final String TASK_EXCEPTION = "exception";
+    private static final String STACK_TRACE = "stackTrace";
+    private static final String TASK_CHECKPOINT = "checkpoint";
+    private static final String TASK_CONFIGURATION = "configuration";
+
+    private static LocalStateStorage instance = null;
+
+    private final Path path;
+    private final AppendOnlyLog log;
+    private final Map<String, TaskState> states = new HashMap<>();
+    private final Map<TaskStatus, Set<String>> byStatus = new HashMap<>();
+    private final Map<String, Set<String>> byClassName = new HashMap<>();
+    private final Map<String, Set<String>> byCreator = new HashMap<>();
+    private final Set<String> finished = new LinkedHashSet<>();
+    private final int maxFinishedStates;
+
+    private LocalStateStorage(Path path, int maxFinishedStates) {
+        this.path = path;
+        this.maxFinishedStates = maxFinishedStates;
+        this.log = AppendOnlyLog.open(path, ErrorMessage.TASK_STATE_STORAGE_ERROR);
+        replay();
+    }
+
+    /**
+     * @return The storage kept in the file configured with {@link ConfigProperties#TASK_STATE_STORAGE_FILE}
+     */
+    public static synchronized LocalStateStorage getInstance() {
+        if(instance == null) {
+            instance = open(Paths.get(ConfigProperties.getInstance().getPath(TASK_STATE_STORAGE_FILE)));
+        }
+        return instance;
+    }
+
+    /**
+     * @param path The file the states are kept in
+     * @return A storage kept in the given file, which is created if it does not exist
+     */
+    public static LocalStateStorage open(Path path) {
+        return open(path, MAX_FINISHED_STATES);
+    }
+
+    /**
+     * @param path The file the states are kept in
+     * @param maxFinishedStates The number of finished tasks to keep the states of
+     * @return A storage kept in the given file, which is created if it does not exist
+     */
+    public static LocalStateStorage open(Path path, int maxFinishedStates) {
+        return new LocalStateStorage(path, maxFinishedStates);
+    }
+
+    public synchronized String newState(String taskName, String createdBy, Date runAt, Boolean recurring, long interval, JSONObject configuration) {
+        if(taskName == null || createdBy == null || runAt == null || recurring == null) {
+            return null;
+        }
+
+        TaskState state = new TaskState(taskName)
+                .creator(createdBy)
+                .runAt(runAt)
+                .isRecurring(recurring)
+                .interval(interval)
+                .configuration(configuration != null ? configuration : new JSONObject());
+
+        String id = UUID.randomUUID().toString();
+        append(serialize(id, state));
+        put(id, state);
+
+        return id;
+    }
+
+    public synchronized Boolean updateState(String id, TaskStatus status, String statusChangeBy, String engineID,
+                                            Throwable failure, String checkpoint, JSONObject configuration) {
+        if(id == null || !states.containsKey(id)) {
+            return false;
+        }
+
+        if(status == null && statusChangeBy == null && engineID == null && failure == null
+                && checkpoint == null && configuration == null) {
+            return false;
+        }
+
+        JSONObject update = new JSONObject().put(ID, id);
+        if(status != null) {
+            update.put(STATUS, status.name())
+                  .put(STATUS_CHANGE_TIME, new Date().getTime());
+        }
+        if(statusChangeBy != null) {
+            update.put(STATUS_CHANGE_BY, statusChangeBy);
+        }
+        if(engineID != null) {
+            update.put(ENGINE_ID, engineID);
+        }
+        if(failure != null) {
+            update.put(TASK_EXCEPTION, failure.toString())
+                  .put(STACK_TRACE, Arrays.toString(failure.getStackTrace()));
+        }
+        if(checkpoint != null) {
+            update.put(TASK_CHECKPOINT, checkpoint);
+        }
+        if(configuration != null) {
+            update.put(TASK_CONFIGURATION, configuration);
+        }
+
+        append(update);
+        apply(update);
+        compactIfNeeded();
+
+        return true;
+    }
+
+    public synchronized TaskState getState(String id) {
+        if(id == null || !states.containsKey(id)) {
+            return null;
+        }
+
+        return copy(states.get(id));
+    }
+
+    public synchronized Set<Pair<String, TaskState>> getTasks(TaskStatus taskStatus, String taskClassName, String createdBy, int limit, int offset) {
+        // Visit only the tasks in the smallest index matching the criteria
+        Set<String> candidates = states.keySet();
+        if(taskStatus != null) {
+            candidates = smallest(candidates, byStatus.getOrDefault(taskStatus, new HashSet<>()));
+        }
+        if(taskClassName != null) {
+            candidates = smallest(candidates, byClassName.getOrDefault(taskClassName, new HashSet<>()));
+        }
+        if(createdBy != null) {
+            candidates = smallest(candidates, byCreator.getOrDefault(createdBy, new HashSet<>()));
+        }
+
+        Set<Pair<String, TaskState>> res = new HashSet<>();
+        int count = 0;
+        for(String id: candidates) {
+            TaskState state = states.get(id);
+
+            // AND
+            if(taskStatus != null && state.status() != taskStatus) {
+                continue;
+            }
+            if(taskClassName != null && !Objects.equals(state.taskClassName(), taskClassName)) {
+                continue;
+            }
+            if(createdBy != null && !Objects.equals(state.creator(), createdBy)) {
+                continue;
+            }
+
+            if(count < offset) {
+                count++;
+                continue;
+            }
+            else if(limit > 0 && count >= (limit+offset)) {
+                break;
+            }
+            count++;
+
+            res.add(new Pair<>(id, copy(state)));
+        }
+
+        return res;
+    }
+
+    /**
+     * Close the file the states are kept in
+     */
+    public synchronized void close() {
+        log.close();
+        if(instance == this) {
+            instance = null;
+        }
+    }
+
+    private void replay() {
+        log.replay(line -> {
+            try {
+                apply(new JSONObject(line));
+            } catch (JSONException e) {
+                LOG.warn("Skipping incomplete task state [" + line + "]");
+            }
+        });
+        LOG.info("Replayed [" + states.size() + "] task states from [" + path + "]");
+    }
+
+    /**
+     * Apply a record to the states. A record naming a task class creates the state, any other record updates it.
+     */
+    private void apply(JSONObject record) {
+        String id = record.getString(ID);
+        TaskState state = states.get(id);
+
+        if(record.has(TASK_CLASS_NAME)) {
+            if(state != null) {
+                remove(id, state);
+            }
+            state = new TaskState(record.getString(TASK_CLASS_NAME))
+                    .creator(record.getString(CREATED_BY))
+                    .runAt(new Date(record.getLong(RUN_AT)))
+                    .isRecurring(record.getBoolean(RECURRING))
+                    .interval(record.getLong(RECUR_INTERVAL))
+                    .configuration(new JSONObject());
+            put(id, state);
+        } else if(state == null) {
+            LOG.warn("Skipping update of unknown task [" + id + "]");
+            return;
+        }
+
+        if(record.has(STATUS)) {
+            byStatus.get(state.status()).remove(id);
+            state.status(TaskStatus.valueOf(record.getString(STATUS)));
+            index(byStatus, state.status(), id);
+            trackFinished(id, state);
+        }
+        if(record.has(STATUS_CHANGE_TIME)) {
+            state.statusChangeTime(new Date(record.getLong(STATUS_CHANGE_TIME)));
+        }
+        if(record.has(STATUS_CHANGE_BY)) {
+            state.statusChangedBy(record.getString(STATUS_CHANGE_BY));
+        }
+        if(record.has(ENGINE_ID)) {
+            state.engineID(record.getString(ENGINE_ID));
+        }
+        if(record.has(TASK_EXCEPTION)) {
+            state.exception(record.getString(TASK_EXCEPTION));
+        }
+        if(record.has(STACK_TRACE)) {
+            state.stackTrace(record.getString(STACK_TRACE));
+        }
+        if(record.has(TASK_CHECKPOINT)) {
+            state.checkpoint(record.getString(TASK_CHECKPOINT));
+        }
+        if(record.has(TASK_CONFIGURATION)) {
+            state.configuration(record.getJSONObject(TASK_CONFIGURATION));
+        }
+    }
+
+    /**
+     * @return A record holding the whole state of a task
+     */
+    private static JSONObject serialize(String id, TaskState state) {
+        JSONObject record = new JSONObject()
+                .put(ID, id)
+                .put(TASK_CLASS_NAME, state.taskClassName())
+                .put(CREATED_BY, state.creator())
+                .put(RUN_AT, state.runAt().getTime())
+                .put(RECURRING, state.isRecurring())
+                .put(RECUR_INTERVAL, state.interval())
+                .put(STATUS, state.status().name())
+                .put(TASK_CONFIGURATION, state.configuration());
+
+        if(state.statusChangeTime() != null) {
+            record.put(STATUS_CHANGE_TIME, state.statusChangeTime().getTime());
+        }
+        record.putOpt(STATUS_CHANGE_BY, state.statusChangedBy());
+        record.putOpt(ENGINE_ID, state.engineID());
+        record.putOpt(TASK_EXCEPTION, state.exception());
+        record.putOpt(STACK_TRACE, state.stackTrace());
+        record.putOpt(TASK_CHECKPOINT, state.checkpoint());
+        return record;
+    }
+
+    private void put(String id, TaskState state) {
+        states.put(id, state);
+        index(byStatus, state.status(), id);
+        index(byClassName, state.taskClassName(), id);
+        index(byCreator, state.creator(), id);
+    }
+
+    /**
+     * Keep track of the order tasks finish in, forgetting the task which finished first once too many have finished
+     */
+    private void trackFinished(String id, TaskState state) {
+        finished.remove(id);
+        if(!isFinished(state)) return;
+
+        finished.add(id);
+        if(finished.size() > maxFinishedStates) {
+            String oldest = finished.iterator().next();
+            remove(oldest, states.get(oldest));
+        }
+    }
+
+    // A recurring task which has completed will run again
+    private static boolean isFinished(TaskState state) {
+        TaskStatus status = state.status();
+        return status == TaskStatus.FAILED || status == TaskStatus.STOPPED ||
+                (status == TaskStatus.COMPLETED && !state.isRecurring());
+    }
+
+    private void remove(String id, TaskState state) {
+        finished.remove(id);
+        states.remove(id);
+        byStatus.get(state.status()).remove(id);
+        byClassName.get(state.taskClassName()).remove(id);
+        byCreator.get(state.creator()).remove(id);
+    }
+
+    private static <K> void index(Map<K, Set<String>> index, K key, String id) {
+        index.computeIfAbsent(key, (k) -> new LinkedHashSet<>()).add(id);
+    }
+
+    private static Set<String> smallest(Set<String> current, Set<String> candidates) {
+        return candidates.size() < current.size() ? candidates : current;
+    }
+
+    private static TaskState copy(TaskState state) {
+        try {
+            return state.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void append(JSONObject record) {
+        log.append(record.toString());
+        log.flush();
+    }
+
+    /**
+     * Rewrite the log with a single record per task, once most of it is made up of superseded updates
+     */
+    private void compactIfNeeded() {
+        log.compactIfNeeded(states::size, records ->
+                states.forEach((id, state) -> records.accept(serialize(id, state).toString())));
+    }
+}
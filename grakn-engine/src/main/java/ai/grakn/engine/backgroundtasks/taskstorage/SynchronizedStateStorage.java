@@ -22,6 +22,7 @@ import ai.grakn.engine.backgroundtasks.TaskStatus;
 import ai.grakn.engine.backgroundtasks.config.ConfigHelper;
 import ai.grakn.engine.backgroundtasks.distributed.KafkaLogger;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.CuratorWatcher;
 
 import static ai.grakn.engine.backgroundtasks.config.ZookeeperPaths.RUNNERS_STATE;
 import static ai.grakn.engine.backgroundtasks.config.ZookeeperPaths.RUNNERS_WATCH;
@@ -139,6 +140,19 @@ public class SynchronizedStateStorage {
         return null;
     }
 
+    /**
+     * Read the state of a task and leave a watch on it. The watch is triggered once, by the next change to the state.
+     * @param id String id of the task
+     * @param watcher Called when the state of the task next changes
+     * @return The current state of the task
+     * @throws Exception if the state could not be read, in which case the watch may not have been left. A
+     *                   {@link org.apache.zookeeper.KeeperException.NoNodeException} means the task does not exist.
+     */
+    public SynchronizedState getStateAndWatch(String id, CuratorWatcher watcher) throws Exception {
+        byte[] b = zookeeperConnection.getData().usingWatcher(watcher).forPath(TASKS_PATH_PREFIX+"/"+id+TASK_STATE_SUFFIX);
+        return SynchronizedState.deserialize(new String(b));
+    }
+
     private void createZKPaths() throws Exception {
         if(zookeeperConnection.checkExists().forPath(SCHEDULER) == null) {
             zookeeperConnection.create().creatingParentContainersIfNeeded().forPath(SCHEDULER);
@@ -21,6 +21,8 @@ package ai.grakn.engine.controller;
 import ai.grakn.engine.postprocessing.Cache;
 import ai.grakn.engine.util.ConfigProperties;
 import ai.grakn.exception.GraknEngineServerException;
+import ai.grakn.graql.internal.query.analytics.AnalyticsCache;
+import ai.grakn.graql.internal.reasoner.query.AnswerTable;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
@@ -37,6 +39,7 @@ import spark.Response;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 import static spark.Spark.delete;
@@ -67,8 +70,7 @@ public class CommitLogController {
            return ErrorMessage.NO_PARAMETER_PROVIDED.getMessage(REST.Request.KEYSPACE_PARAM, "delete");
         }
 
-        cache.getCastingJobs(graphName).clear();
-        cache.getResourceJobs(graphName).clear();
+        cache.clearJobs(graphName);
 
         return "The cache of Graph [" + graphName + "] has been cleared";
     }
@@ -90,7 +92,8 @@ public class CommitLogController {
             }
             LOG.info("Commit log received for graph [" + graphName + "]");
 
-            JSONArray jsonArray = (JSONArray) new JSONObject(req.body()).get("concepts");
+            JSONObject commitLog = new JSONObject(req.body());
+            JSONArray jsonArray = (JSONArray) commitLog.get("concepts");
 
             for (Object object : jsonArray) {
                 JSONObject jsonObject = (JSONObject) object;
@@ -109,6 +112,8 @@ public class CommitLogController {
                 }
             }
 
+            invalidateCachedResults(graphName, commitLog);
+
             long numJobs = getJobCount(cache.getCastingJobs(graphName));
             numJobs += getJobCount(cache.getResourceJobs(graphName));
 
@@ -117,6 +122,28 @@ public class CommitLogController {
             throw new GraknEngineServerException(500,e);
         }
     }
+
+    /**
+     * Removes the cached analytics results and the answers tabled by the reasoner which depend on the types changed by
+     * the commit. Everything is removed if the commit log does not say which types were changed. Commit logs are
+     * submitted in the background, so the caches may already have found the version given by the commit.
+     */
+    private void invalidateCachedResults(String graphName, JSONObject commitLog){
+        AnalyticsCache analyticsCache = AnalyticsCache.get(graphName);
+        AnswerTable answerTable = AnswerTable.get(graphName);
+        String previousVersion = commitLog.optString("previousVersion", null);
+        String version = commitLog.optString("version", null);
+        if (commitLog.has("types")) {
+            Set<String> typeNames = new HashSet<>();
+            commitLog.getJSONArray("types").forEach(typeName -> typeNames.add(typeName.toString()));
+            analyticsCache.invalidate(typeNames, previousVersion, version);
+            answerTable.invalidate(typeNames, previousVersion, version);
+        } else {
+            analyticsCache.clear(version);
+            answerTable.clear(version);
+        }
+    }
+
     private long getJobCount(Set jobs){
         if(jobs != null) {
             return jobs.size();
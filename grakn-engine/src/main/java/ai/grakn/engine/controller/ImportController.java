@@ -18,20 +18,24 @@
 
 package ai.grakn.engine.controller;
 
+import ai.grakn.engine.loader.BatchDependencies;
 import ai.grakn.engine.loader.Loader;
 import ai.grakn.engine.postprocessing.PostProcessing;
+import ai.grakn.engine.util.ConfigProperties;
 import ai.grakn.exception.GraknEngineServerException;
 import ai.grakn.graql.Graql;
 import ai.grakn.graql.Var;
 import ai.grakn.graql.internal.parser.QueryParser;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import spark.HaltException;
 import spark.Request;
 import spark.Response;
 
@@ -44,34 +48,55 @@ import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Semaphore;
 
 import static ai.grakn.engine.controller.Utilities.getAsString;
 import static ai.grakn.engine.controller.Utilities.getKeyspace;
+import static ai.grakn.engine.util.ConfigProperties.IMPORT_CONCURRENT_JOBS_PROPERTY;
+import static ai.grakn.engine.util.ConfigProperties.IMPORT_QUEUE_SIZE_PROPERTY;
 import static spark.Spark.before;
 import static spark.Spark.halt;
 import static spark.Spark.post;
 import static ai.grakn.util.REST.Request.PATH_FIELD;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+/**
+ * Imports run as one job per keyspace. Jobs into different keyspaces run concurrently, up to a configured number at
+ * once, and the batches loading across all of them share a single queue.
+ */
 @Api(value = "/import", description = "Endpoints to import Graql data from a file.")
 @Path("/import")
 @Produces("text/plain")
 public class ImportController {
 
     private final Logger LOG = LoggerFactory.getLogger(ImportController.class);
-    private final AtomicBoolean loadingInProgress = new AtomicBoolean(false);
+    private final Set<String> keyspacesLoading = ConcurrentHashMap.newKeySet();
+    private final ExecutorService importJobs;
+    private final ScheduledExecutorService statusPrinters;
+    private final Semaphore sharedQueue;
 
     private static final String INSERT_KEYWORD = "insert";
     private static final String MATCH_KEYWORD = "match";
 
     public ImportController() {
+        ConfigProperties properties = ConfigProperties.getInstance();
+        importJobs = Executors.newFixedThreadPool(properties.getPropertyAsInt(IMPORT_CONCURRENT_JOBS_PROPERTY),
+                new ThreadFactoryBuilder().setNameFormat("import-job-%d").setDaemon(true).build());
+        statusPrinters = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("import-status-%d").setDaemon(true).build());
+        sharedQueue = new Semaphore(properties.getPropertyAsInt(IMPORT_QUEUE_SIZE_PROPERTY));
+
         before(REST.WebPath.IMPORT_DATA_URI, (req, res) -> {
-            if (loadingInProgress.get()) {
-                halt(423, "Another loading process is still running.\n");
+            if (keyspacesLoading.contains(getKeyspace(req))) {
+                halt(423, "Another loading process is still running in this keyspace.\n");
             }
         });
 
@@ -89,8 +114,8 @@ public class ImportController {
             @ApiImplicitParam(name = "keyspace", value = "Name of graph to use", dataType = "string", paramType = "query")
     })
     private String importDataREST(Request req, Response res) {
+        final String keyspace = getKeyspace(req);
         try {
-            final String keyspace = getKeyspace(req);
             final String pathToFile = getAsString(PATH_FIELD, req.body());
 
             final File file = new File(pathToFile);
@@ -98,14 +123,22 @@ public class ImportController {
                 throw new FileNotFoundException(ErrorMessage.NO_GRAQL_FILE.getMessage(pathToFile));
             }
 
-            Loader loader = getLoader(keyspace);
+            // Another request may have started loading this keyspace since the check before this request
+            if (!keyspacesLoading.add(keyspace)) {
+                halt(423, "Another loading process is still running in this keyspace.\n");
+            }
 
-            // Spawn threads to load and check status of loader
-            ScheduledFuture scheduledFuture = scheduledPrinting(loader);
-            Executors.newSingleThreadExecutor().submit(() -> importDataFromFile(file, loader, scheduledFuture));
+            try {
+                importJobs.submit(() -> importDataFromFile(file, getLoader(keyspace), keyspace));
+            } catch (RuntimeException e) {
+                keyspacesLoading.remove(keyspace);
+                throw e;
+            }
 
         } catch (FileNotFoundException j) {
             throw new GraknEngineServerException(400, j);
+        } catch (HaltException e) {
+            throw e;
         } catch (Exception e) {
             throw new GraknEngineServerException(500, e);
         }
@@ -119,50 +152,51 @@ public class ImportController {
      * @return Loader configured to the provided keyspace
      */
     private Loader getLoader(String keyspace){
-        return new Loader(keyspace);
+        return new Loader(keyspace).setSharedQueue(sharedQueue);
     }
 
     /**
-     * Spawn a thread that will check the status of the loader every 10 seconds.
+     * Check the status of the loader every 10 seconds.
      * @param loader loader the task will print the status of
      * @return a ScheduledFuture representing printing task
      */
     private ScheduledFuture scheduledPrinting(Loader loader){
-        return Executors.newSingleThreadScheduledExecutor()
-                .scheduleAtFixedRate(loader::printLoaderState, 10, 10, SECONDS);
+        return statusPrinters.scheduleAtFixedRate(loader::printLoaderState, 10, 10, SECONDS);
     }
 
     // This method works under the following assumption:
     // - all entities insert statements are before the relation ones
-    private void importDataFromFile(File file, Loader loaderParam, Future statusPrinter) {
-        LOG.info("Data loading started.");
-        loadingInProgress.set(true);
+    // Each relation batch is loaded as soon as the entity batches it matches have finished.
+    private void importDataFromFile(File file, Loader loaderParam, String keyspace) {
+        LOG.info("Data loading started in keyspace " + keyspace);
+        Future statusPrinter = scheduledPrinting(loaderParam);
+        BatchDependencies dependencies = new BatchDependencies();
         try {
             Iterator<Object> batchIterator = QueryParser.create(Graql.withoutGraph()).parseBatchLoad(new FileInputStream(file)).iterator();
             if (batchIterator.hasNext()) {
                 Object var = batchIterator.next();
                 // -- ENTITIES --
                 while (var.equals(INSERT_KEYWORD)) {
-                    var = consumeInsertEntity(batchIterator, loaderParam);
+                    var = consumeInsertEntity(batchIterator, loaderParam, dependencies);
                 }
-                loaderParam.waitToFinish();
+                loaderParam.flush();
                 // ---- RELATIONS --- //
                 while (var.equals(MATCH_KEYWORD)) {
-                    var = consumeInsertRelation(batchIterator, loaderParam);
+                    var = consumeInsertRelation(batchIterator, loaderParam, dependencies);
                 }
-                loaderParam.waitToFinish();
+                loaderParam.waitForBatches();
             }
 
             PostProcessing.getInstance().run();
         } catch (Exception e) {
-            LOG.error("Exception while batch loading data.", e);
+            LOG.error("Exception while batch loading data into keyspace " + keyspace, e);
         } finally {
             statusPrinter.cancel(true);
-            loadingInProgress.set(false);
+            keyspacesLoading.remove(keyspace);
         }
     }
 
-    private Object consumeInsertEntity(Iterator<Object> batchIterator, Loader loader) {
+    private Object consumeInsertEntity(Iterator<Object> batchIterator, Loader loader, BatchDependencies dependencies) {
         Object var = null;
         List<Var> insertQuery = new ArrayList<>();
         while (batchIterator.hasNext()) {
@@ -173,12 +207,13 @@ public class ImportController {
                 break;
             }
         }
-        loader.add(Graql.insert(insertQuery));
+        CompletableFuture<Void> batch = loader.add(Graql.insert(insertQuery));
+        dependencies.inserted(insertQuery, batch);
 
         return var;
     }
 
-    private Object consumeInsertRelation(Iterator<Object> batchIterator, Loader loader) {
+    private Object consumeInsertRelation(Iterator<Object> batchIterator, Loader loader, BatchDependencies dependencies) {
         Object var = null;
         List<Var> insertQueryMatch = new ArrayList<>();
         while (batchIterator.hasNext()) {
@@ -204,8 +239,7 @@ public class ImportController {
             }
         }
 
-
-        loader.add(Graql.match(insertQueryMatch).insert(insertQuery));
+        loader.add(Graql.match(insertQueryMatch).insert(insertQuery), dependencies.dependencies(insertQueryMatch));
 
         return var;
     }
@@ -19,7 +19,9 @@
 package ai.grakn.engine.controller;
 
 import ai.grakn.engine.util.ConfigProperties;
+import ai.grakn.graql.internal.gremlin.QueryPlanCache;
 import ai.grakn.util.REST;
+import com.google.common.cache.CacheStats;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.json.JSONObject;
@@ -42,6 +44,7 @@ public class StatusController {
 
     public StatusController() {
         get(REST.WebPath.GET_STATUS_CONFIG_URI, this::getStatus);
+        get(REST.WebPath.GET_STATUS_PLAN_CACHE_URI, this::getPlanCacheStatus);
     }
 
     @GET
@@ -62,4 +65,21 @@ public class StatusController {
         return configObj.toString();
     }
 
+    @GET
+    @Path("/plan-cache")
+    @ApiOperation(
+            value = "Return the hit and miss counts of the query plan cache as a JSONObject.")
+    private String getPlanCacheStatus(Request req, Response res) {
+
+        CacheStats stats = QueryPlanCache.getStats();
+
+        JSONObject statsObj = new JSONObject();
+        statsObj.put("hits", stats.hitCount());
+        statsObj.put("misses", stats.missCount());
+        statsObj.put("hitRate", stats.hitRate());
+        statsObj.put("evictions", stats.evictionCount());
+
+        return statsObj.toString();
+    }
+
 }
@@ -231,6 +231,7 @@ public class TasksController {
                        .put("exception", state.exception())
                        .put("stackTrace", state.stackTrace())
                        .put("engineID", state.engineID())
+                       .put("checkpoint", state.checkpoint())
                        .put("configuration", state.configuration());
     }
 }
@@ -30,7 +30,6 @@ import ai.grakn.graql.MatchQuery;
 import ai.grakn.graql.Query;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.graql.internal.reasoner.Reasoner;
-import ai.grakn.graql.VarName;
 import ai.grakn.graql.analytics.PathQuery;
 import ai.grakn.graql.internal.printer.Printers;
 import ai.grakn.util.ErrorMessage;
@@ -39,7 +38,6 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
-import mjson.Json;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import spark.Request;
@@ -48,9 +46,12 @@ import spark.Response;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
-import java.util.Collection;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -70,7 +71,6 @@ import static ai.grakn.util.REST.Response.RELATIONS_JSON_FIELD;
 import static ai.grakn.util.REST.Response.RESOURCES_JSON_FIELD;
 import static ai.grakn.util.REST.Response.ROLES_JSON_FIELD;
 import static java.lang.Boolean.parseBoolean;
-import static java.util.stream.Collectors.toList;
 import static spark.Spark.get;
 
 @Path("/graph")
@@ -182,11 +182,11 @@ public class VisualiserController {
             if (parsedQuery instanceof MatchQuery || parsedQuery instanceof AggregateQuery || parsedQuery instanceof ComputeQuery) {
                 switch (getAcceptType(req)) {
                     case HAL_CONTENTTYPE:
-                        return formatAsHAL((MatchQuery) parsedQuery, keyspace);
+                        return formatAsHAL((MatchQuery) parsedQuery, keyspace, res);
                     case GRAQL_CONTENTTYPE:
                         return formatAsGraql(parsedQuery);
                     default:
-                        return formatAsHAL((MatchQuery)parsedQuery, keyspace);
+                        return formatAsHAL((MatchQuery)parsedQuery, keyspace, res);
                 }
             } else {
                 throw new GraknEngineServerException(500, "Only \"read-only\" queries are allowed from Grakn web-dashboard.");
@@ -249,15 +249,54 @@ public class VisualiserController {
     }
 
     /**
-     * Format a match query as HAL
+     * Format a match query as HAL, streaming the results to the response as they are rendered. Nothing is sent until
+     * the first results have been rendered, so a query which fails straight away is still answered with an error.
      *
      * @param query query to format
-     * @return HAL representation
+     * @param res response to write the HAL representation to
+     * @return an empty body, because the HAL representation has already been written
      */
-    private String formatAsHAL(MatchQuery query, String keyspace) {
-        Collection<Map<VarName, Concept>> results = query.admin().streamWithVarNames().collect(toList());
-        Json resultobj = renderHALArrayData(query, results, keyspace);
-        return resultobj.toString();
+    private String formatAsHAL(MatchQuery query, String keyspace, Response res) throws IOException {
+        res.type(HAL_CONTENTTYPE);
+        renderHALArrayData(query, query.admin().streamWithVarNames(), keyspace, new ResponseWriter(res));
+        return "";
+    }
+
+    /**
+     * Writes to a response, holding back everything written before the first flush. The response is committed by
+     * the first flush, so until then an error response can still be sent instead.
+     */
+    private static class ResponseWriter extends Writer {
+        private final Response res;
+        private final StringBuilder buffer = new StringBuilder();
+        private Writer out = null;
+
+        ResponseWriter(Response res) {
+            this.res = res;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (out == null) {
+                buffer.append(chars, offset, length);
+            } else {
+                out.write(chars, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out == null) {
+                out = new BufferedWriter(new OutputStreamWriter(res.raw().getOutputStream(), StandardCharsets.UTF_8));
+                out.write(buffer.toString());
+            }
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
     }
 
     /**
@@ -0,0 +1,124 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.loader;
+
+/**
+ * <p>
+ *     The size of the batches sent by a {@link Loader} and the number of them loading at once
+ * </p>
+ *
+ * <p>
+ *     Both limits are adapted to how loading is going: they grow a little after every batch which loads without
+ *     trouble and are halved after a batch which is retried, fails or takes much longer per query than usual. Every
+ *     batch already loading when the limits are halved was sent under the old limits, so only batches sent after the
+ *     last decrease can decrease them again.
+ * </p>
+ */
+public class AdaptiveLimits {
+    private static final int BATCH_SIZE_GROWTH = 4;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double SMOOTHING = 0.2;
+
+    private final int maxBatchSize;
+    private final int maxQueueSize;
+    private final int batchSizeStep;
+
+    private int batchSize;
+    private int queueSize;
+    private int loading = 0;
+    private int batchesSinceGrowth = 0;
+    private double latencyPerQuery = -1;
+    private long lastDecrease = Long.MIN_VALUE;
+
+    /**
+     * @param batchSize the size of the first batches. Batches can grow up to {@link #BATCH_SIZE_GROWTH} times as large.
+     * @param queueSize the greatest number of batches loading at once
+     */
+    public AdaptiveLimits(int batchSize, int queueSize){
+        this.maxBatchSize = batchSize * BATCH_SIZE_GROWTH;
+        this.maxQueueSize = queueSize;
+        this.batchSizeStep = Math.max(1, batchSize / 10);
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @return the number of queries to send in the next batch
+     */
+    public synchronized int getBatchSize(){
+        return batchSize;
+    }
+
+    /**
+     * @return the number of batches which may be loading at once
+     */
+    public synchronized int getQueueSize(){
+        return queueSize;
+    }
+
+    /**
+     * Wait until another batch may start loading
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while(loading >= queueSize){
+            wait();
+        }
+        loading++;
+    }
+
+    /**
+     * Record that a batch has stopped loading
+     */
+    public synchronized void release(){
+        loading--;
+        notifyAll();
+    }
+
+    /**
+     * Adapt the limits to a batch which has finished loading
+     * @param size the number of queries in the batch
+     * @param sentAt when the batch was sent, in milliseconds
+     * @param finishedAt when the batch finished, in milliseconds
+     * @param conflicted if the batch failed or had to be retried
+     */
+    public synchronized void batchFinished(int size, long sentAt, long finishedAt, boolean conflicted){
+        double latency = (double) (finishedAt - sentAt) / Math.max(1, size);
+        boolean slow = latencyPerQuery >= 0 && latency > LATENCY_TOLERANCE * latencyPerQuery;
+        latencyPerQuery = latencyPerQuery < 0 ? latency : SMOOTHING * latency + (1 - SMOOTHING) * latencyPerQuery;
+
+        if(conflicted || slow){
+            if(sentAt > lastDecrease){
+                batchSize = Math.max(1, batchSize / 2);
+                queueSize = Math.max(1, queueSize / 2);
+                batchesSinceGrowth = 0;
+                lastDecrease = finishedAt;
+            }
+            return;
+        }
+
+        batchSize = Math.min(maxBatchSize, batchSize + batchSizeStep);
+
+        // The queue grows by one batch once as many batches as it holds have loaded
+        if(++batchesSinceGrowth >= queueSize){
+            queueSize = Math.min(maxQueueSize, queueSize + 1);
+            batchesSinceGrowth = 0;
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.loader;
+
+import ai.grakn.graql.Var;
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.admin.VarAdmin;
+import ai.grakn.graql.internal.pattern.property.HasResourceProperty;
+import ai.grakn.graql.internal.pattern.property.ValueProperty;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * <p>
+ *     Tracks which unfinished batches of a {@link Loader} inserted the concepts a query refers to
+ * </p>
+ *
+ * <p>
+ *     Concepts are identified by their id or by the type and value of their resources. Several batches may insert
+ *     concepts with the same key, so a query matching a key waits for every unfinished batch which inserted it. A match
+ *     variable which cannot be identified could refer to any concept, so the query waits for every unfinished batch.
+ *     Batches are forgotten once they finish.
+ * </p>
+ */
+public class BatchDependencies {
+
+    private final Map<String, Set<CompletableFuture<Void>>> batchesOfKey = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Void>> unfinished = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Record that the concepts described by some variables are inserted by a batch
+     * @param vars variables of an insert query
+     * @param batch future returned by the loader for the insert query
+     */
+    public void inserted(Collection<? extends Var> vars, CompletableFuture<Void> batch){
+        Set<String> keys = vars.stream().flatMap(var -> keys(var).stream()).collect(toSet());
+
+        if(unfinished.add(batch)) {
+            batch.whenComplete((result, exception) -> unfinished.remove(batch));
+        }
+        keys.forEach(key -> batchesOfKey.compute(key, (k, batches) -> {
+            Set<CompletableFuture<Void>> keyBatches = batches == null ? ConcurrentHashMap.newKeySet() : batches;
+            keyBatches.add(batch);
+            return keyBatches;
+        }));
+        batch.whenComplete((result, exception) -> keys.forEach(key -> batchesOfKey.computeIfPresent(key, (k, batches) -> {
+            batches.remove(batch);
+            return batches.isEmpty() ? null : batches;
+        })));
+    }
+
+    /**
+     * @param matchVars variables of the match clause of a query
+     * @return the unfinished batches which must finish before the query can be executed
+     */
+    public Set<CompletableFuture<Void>> dependencies(Collection<? extends Var> matchVars){
+        // A variable may be split across several patterns, only one of which identifies it
+        Map<VarName, Set<String>> keysOfVar = new HashMap<>();
+        for(Var var:matchVars){
+            keysOfVar.computeIfAbsent(var.admin().getVarName(), name -> new HashSet<>()).addAll(keys(var));
+        }
+
+        if(keysOfVar.values().stream().anyMatch(Set::isEmpty)){
+            return new HashSet<>(unfinished);
+        }
+
+        return keysOfVar.values().stream().flatMap(Set::stream)
+                .map(key -> batchesOfKey.getOrDefault(key, Collections.emptySet()))
+                .flatMap(Set::stream)
+                .filter(batch -> !batch.isDone())
+                .collect(toSet());
+    }
+
+    /**
+     * @param var a variable
+     * @return keys identifying the concepts the variable and the variables inside it describe
+     */
+    private static Set<String> keys(Var var){
+        return var.admin().getInnerVars().stream().flatMap(BatchDependencies::identifiers).collect(toSet());
+    }
+
+    /**
+     * A resource without a type could be of any type, so it does not identify a concept
+     * @param var a variable
+     * @return keys identifying the concept the variable describes by its id and by the type and value of its resources
+     */
+    private static Stream<String> identifiers(VarAdmin var){
+        Stream<String> id = var.getId().map(conceptId -> Stream.of("id:" + conceptId.getValue())).orElse(Stream.empty());
+
+        Stream<String> resources = var.getProperties(HasResourceProperty.class)
+                .filter(has -> has.getType().isPresent())
+                .flatMap(has -> has.getResource().getProperties(ValueProperty.class)
+                        .map(value -> value.getPredicate().equalsValue()).filter(Optional::isPresent)
+                        .map(value -> "has:" + has.getType().get() + ":" + value.get()));
+
+        return Stream.concat(id, resources);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.loader;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknGraph;
+import ai.grakn.engine.backgroundtasks.BackgroundTask;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.graql.DeleteQuery;
+import ai.grakn.graql.Graql;
+import ai.grakn.graql.MatchQuery;
+import ai.grakn.graql.admin.DeleteQueryAdmin;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+
+import static ai.grakn.util.ErrorMessage.DELETE_BATCH_PARTIAL;
+import static ai.grakn.util.ErrorMessage.DELETE_BATCH_RESTRICTED;
+import static ai.grakn.util.ErrorMessage.FAILED_VALIDATION;
+import static ai.grakn.util.ErrorMessage.ILLEGAL_ARGUMENT_EXCEPTION;
+import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
+import static ai.grakn.util.REST.Request.TASK_CONFIGURATION_PARAMETER;
+import static ai.grakn.util.REST.Request.TASK_DELETE_BATCH_SIZE;
+import static ai.grakn.util.REST.Request.TASK_DELETE_QUERY;
+import static ai.grakn.util.REST.Request.URI_PARAM;
+
+/**
+ * Task that deletes everything matched by a delete query in bounded batches, committing after each batch.
+ *
+ * Executing a large delete query in a single transaction holds every result and every deletion in memory until the
+ * commit. This task instead deletes the first results of the query, commits, and repeats until nothing is matched.
+ * The number of results deleted so far is saved as a checkpoint after each commit. Deleted concepts no longer match,
+ * so a resumed task simply carries on with the query and the count.
+ *
+ * This relies on every deleted result no longer matching, so the query must delete a whole concept of each result.
+ * A query which only deletes properties, such as {@code match $x isa person; delete $x has name "Bob";}, would match
+ * the same first results in every batch and is rejected before anything is deleted.
+ */
+public class DeleteTask implements BackgroundTask {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeleteTask.class);
+    private static final long DEFAULT_BATCH_SIZE = 1000;
+    private static final String DELETED = "deleted";
+    private static final String BATCHES = "batches";
+
+    private JSONObject configuration;
+    private long deleted = 0;
+    private long batches = 0;
+    private volatile boolean stopped = false;
+
+    @Override
+    public void start(Consumer<String> saveCheckpoint, JSONObject configuration) {
+        this.configuration = configuration;
+        deleteInBatches(saveCheckpoint);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void pause() {
+        stopped = true;
+    }
+
+    @Override
+    public void resume(Consumer<String> saveCheckpoint, String lastCheckpoint) {
+        JSONObject checkpoint = new JSONObject(lastCheckpoint);
+        configuration = checkpoint.getJSONObject(TASK_CONFIGURATION_PARAMETER);
+        deleted = checkpoint.getLong(DELETED);
+        batches = checkpoint.getLong(BATCHES);
+        stopped = false;
+        deleteInBatches(saveCheckpoint);
+    }
+
+    private void deleteInBatches(Consumer<String> saveCheckpoint) {
+        String keyspace = getKeyspace(configuration);
+        DeleteQuery query = Graql.withoutGraph().infer(false).parse(getQuery(configuration));
+        MatchQuery matchQuery = query.admin().getMatchQuery();
+        if (matchQuery.admin().restrictsResults()) {
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage(DELETE_BATCH_RESTRICTED.getMessage(matchQuery)));
+        }
+        if (!query.admin().deletesWholeResults()) {
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage(DELETE_BATCH_PARTIAL.getMessage(query)));
+        }
+        long batchSize = getBatchSize(configuration);
+
+        try(GraknGraph graph = Grakn.factory(getURI(configuration), keyspace).getGraph()) {
+            while (!stopped) {
+                long batchDeleted = ((DeleteQueryAdmin) query.withGraph(graph)).executeBatch(batchSize);
+                if (batchDeleted == 0) break;
+
+                // A query whose deletions do not stop it matching would otherwise never finish, for instance when
+                // the concept it deletes has already been deleted by another variable of the same result
+                if (!graph.admin().hasUncommittedChanges()) {
+                    throw new IllegalStateException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("Delete query deletes nothing", query));
+                }
+
+                graph.commit();
+                deleted += batchDeleted;
+                batches++;
+                saveCheckpoint.accept(checkpoint());
+
+                if (batchDeleted < batchSize) break;
+            }
+        } catch (GraknValidationException e) {
+            throw new RuntimeException(FAILED_VALIDATION.getMessage(e.getMessage()), e);
+        }
+
+        LOG.info("Deleted " + deleted + " results of [" + query + "] in " + batches + " batches from keyspace " + keyspace);
+    }
+
+    /**
+     * @return the progress of the task and the configuration needed to resume it
+     */
+    private String checkpoint() {
+        return new JSONObject()
+                .put(TASK_CONFIGURATION_PARAMETER, configuration)
+                .put(DELETED, deleted)
+                .put(BATCHES, batches)
+                .toString();
+    }
+
+    /**
+     * Extract the delete query from a configuration object
+     * @param configuration JSONObject containing configuration
+     * @return delete query from the configuration
+     */
+    private String getQuery(JSONObject configuration){
+        if(configuration.has(TASK_DELETE_QUERY)){
+            return configuration.getString(TASK_DELETE_QUERY);
+        }
+
+        throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("No delete query", configuration));
+    }
+
+    /**
+     * Extract the keyspace from a configuration object
+     * @param configuration JSONObject containing configuration
+     * @return keyspace from the configuration
+     */
+    private String getKeyspace(JSONObject configuration){
+        if(configuration.has(KEYSPACE_PARAM)){
+            return configuration.getString(KEYSPACE_PARAM);
+        }
+
+        throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("No keyspace", configuration));
+    }
+
+    /**
+     * Extract the batch size from a configuration object
+     * @param configuration JSONObject containing configuration
+     * @return batch size from the configuration or default
+     */
+    private long getBatchSize(JSONObject configuration){
+        if(configuration.has(TASK_DELETE_BATCH_SIZE)){
+            long batchSize = configuration.getLong(TASK_DELETE_BATCH_SIZE);
+            if(batchSize <= 0){
+                throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("Batch size must be positive", configuration));
+            }
+            return batchSize;
+        }
+
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Extract the URI from a configuration object
+     * @param configuration JSONObject containing configuration
+     * @return uri from the configuration or default
+     */
+    private String getURI(JSONObject configuration){
+        if(configuration.has(URI_PARAM)){
+            return configuration.getString(URI_PARAM);
+        }
+
+        return Grakn.DEFAULT_URI;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.loader;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.graql.Graql;
+import ai.grakn.graql.InsertQuery;
+import ai.grakn.graql.Var;
+import ai.grakn.graql.admin.RelationPlayer;
+import ai.grakn.graql.admin.VarAdmin;
+import ai.grakn.graql.admin.VarProperty;
+import ai.grakn.graql.internal.pattern.property.HasResourceProperty;
+import ai.grakn.graql.internal.pattern.property.IdProperty;
+import ai.grakn.graql.internal.pattern.property.IsaProperty;
+import ai.grakn.graql.internal.pattern.property.NameProperty;
+import ai.grakn.graql.internal.pattern.property.RelationProperty;
+import ai.grakn.graql.internal.pattern.property.ValueProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static ai.grakn.util.ErrorMessage.ILLEGAL_ARGUMENT_EXCEPTION;
+
+/**
+ * <p>
+ *     Compact binary format for a batch of insert queries sent to a {@link LoaderTask}
+ * </p>
+ *
+ * <p>
+ *     Each variable is written with its properties, which refer to types, roles and variables through a table of the
+ *     distinct strings in the batch. Values are written with their data type. Queries are rebuilt from the batch using
+ *     the Graql builders, so the engine executes them without parsing any Graql.
+ *
+ *     The format supports the properties produced by the migrators: isa, id, name, value, has and relations. Any
+ *     other query is written as a Graql string and parsed when the batch is read.
+ * </p>
+ */
+public class InsertBatch {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte GRAQL_QUERY = 0;
+    private static final byte BINARY_QUERY = 1;
+
+    private static final byte NAME = 0;
+    private static final byte ID = 1;
+    private static final byte VALUE = 2;
+    private static final byte ISA = 3;
+    private static final byte HAS = 4;
+    private static final byte RELATION = 5;
+
+    private static final byte STRING_VALUE = 0;
+    private static final byte LONG_VALUE = 1;
+    private static final byte DOUBLE_VALUE = 2;
+    private static final byte BOOLEAN_VALUE = 3;
+    private static final byte INTEGER_VALUE = 4;
+
+    private InsertBatch(){}
+
+    /**
+     * Write insert queries in the binary format
+     * @param queries insert queries to write
+     * @return the batch of queries
+     */
+    public static byte[] encode(Collection<InsertQuery> queries){
+        try {
+            StringTable strings = new StringTable();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream bodyOutput = new DataOutputStream(body);
+            for (InsertQuery query : queries) {
+                Optional<byte[]> binaryQuery = encodeQuery(query, strings);
+                if (binaryQuery.isPresent()) {
+                    bodyOutput.writeByte(BINARY_QUERY);
+                    bodyOutput.write(binaryQuery.get());
+                } else {
+                    bodyOutput.writeByte(GRAQL_QUERY);
+                    writeVarInt(bodyOutput, strings.index(query.toString()));
+                }
+            }
+
+            ByteArrayOutputStream batch = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(batch);
+            writeVarInt(output, FORMAT_VERSION);
+            writeVarInt(output, strings.strings.size());
+            for (String string : strings.strings) writeString(output, string);
+            writeVarInt(output, queries.size());
+            body.writeTo(output);
+            output.flush();
+            return batch.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Read insert queries from the binary format
+     * @param batch the batch of queries
+     * @return the insert queries in the batch, without a graph
+     */
+    public static List<InsertQuery> decode(byte[] batch){
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(batch));
+            int version = readVarInt(input);
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("Insert batch version " + version));
+            }
+
+            String[] strings = new String[readVarInt(input)];
+            for (int i = 0; i < strings.length; i++) strings[i] = readString(input);
+
+            int size = readVarInt(input);
+            List<InsertQuery> queries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte kind = input.readByte();
+                if (kind == BINARY_QUERY) {
+                    List<Var> vars = new ArrayList<>();
+                    int varCount = readVarInt(input);
+                    for (int j = 0; j < varCount; j++) vars.add(readVar(input, strings));
+                    queries.add(Graql.insert(vars));
+                } else {
+                    queries.add(Graql.withoutGraph().infer(false).parse(strings[readVarInt(input)]));
+                }
+            }
+            return queries;
+        } catch (IOException e) {
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("Malformed insert batch"), e);
+        }
+    }
+
+    /**
+     * @return the query in the binary format, or empty if it uses properties which are not supported
+     */
+    private static Optional<byte[]> encodeQuery(InsertQuery query, StringTable strings) throws IOException {
+        if (query.admin().getMatchQuery().isPresent()) return Optional.empty();
+
+        //strings added by a query which turns out not to be supported are removed from the table
+        int mark = strings.strings.size();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        Collection<VarAdmin> vars = query.admin().getVars();
+        writeVarInt(output, vars.size());
+        for (VarAdmin var : vars) {
+            if (!writeVar(output, var, strings)) {
+                strings.truncate(mark);
+                return Optional.empty();
+            }
+        }
+
+        output.flush();
+        return Optional.of(bytes.toByteArray());
+    }
+
+    private static boolean writeVar(DataOutputStream output, VarAdmin var, StringTable strings) throws IOException {
+        output.writeBoolean(var.isUserDefinedName());
+        if (var.isUserDefinedName()) writeVarInt(output, strings.index(var.getVarName().getValue()));
+
+        List<VarProperty> properties = new ArrayList<>();
+        var.getProperties().forEach(properties::add);
+        writeVarInt(output, properties.size());
+
+        for (VarProperty property : properties) {
+            if (property instanceof NameProperty) {
+                output.writeByte(NAME);
+                writeVarInt(output, strings.index(((NameProperty) property).getNameValue()));
+            } else if (property instanceof IdProperty) {
+                output.writeByte(ID);
+                writeVarInt(output, strings.index(((IdProperty) property).getId().getValue()));
+            } else if (property instanceof ValueProperty) {
+                Optional<Object> value = ((ValueProperty) property).getPredicate().equalsValue();
+                output.writeByte(VALUE);
+                if (!value.isPresent() || !writeValue(output, value.get(), strings)) return false;
+            } else if (property instanceof IsaProperty) {
+                output.writeByte(ISA);
+                if (!writeVar(output, ((IsaProperty) property).getType(), strings)) return false;
+            } else if (property instanceof HasResourceProperty) {
+                HasResourceProperty has = (HasResourceProperty) property;
+                output.writeByte(HAS);
+                output.writeBoolean(has.getType().isPresent());
+                if (has.getType().isPresent()) writeVarInt(output, strings.index(has.getType().get()));
+                if (!writeVar(output, has.getResource(), strings)) return false;
+            } else if (property instanceof RelationProperty) {
+                List<RelationPlayer> players = new ArrayList<>();
+                ((RelationProperty) property).getRelationPlayers().forEach(players::add);
+                output.writeByte(RELATION);
+                writeVarInt(output, players.size());
+                for (RelationPlayer player : players) {
+                    output.writeBoolean(player.getRoleType().isPresent());
+                    if (player.getRoleType().isPresent() && !writeVar(output, player.getRoleType().get(), strings)) {
+                        return false;
+                    }
+                    if (!writeVar(output, player.getRolePlayer(), strings)) return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Var readVar(DataInputStream input, String[] strings) throws IOException {
+        Var var = input.readBoolean() ? Graql.var(strings[readVarInt(input)]) : Graql.var();
+
+        int propertyCount = readVarInt(input);
+        for (int i = 0; i < propertyCount; i++) {
+            byte property = input.readByte();
+            switch (property) {
+                case NAME:
+                    var = var.name(strings[readVarInt(input)]);
+                    break;
+                case ID:
+                    var = var.id(ConceptId.of(strings[readVarInt(input)]));
+                    break;
+                case VALUE:
+                    var = var.value(readValue(input, strings));
+                    break;
+                case ISA:
+                    var = var.isa(readVar(input, strings));
+                    break;
+                case HAS:
+                    if (input.readBoolean()) {
+                        String type = strings[readVarInt(input)];
+                        var = var.has(type, readVar(input, strings));
+                    } else {
+                        var = var.has(readVar(input, strings));
+                    }
+                    break;
+                case RELATION:
+                    int playerCount = readVarInt(input);
+                    for (int j = 0; j < playerCount; j++) {
+                        if (input.readBoolean()) {
+                            Var roleType = readVar(input, strings);
+                            var = var.rel(roleType, readVar(input, strings));
+                        } else {
+                            var = var.rel(readVar(input, strings));
+                        }
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown property " + property);
+            }
+        }
+        return var;
+    }
+
+    private static boolean writeValue(DataOutputStream output, Object value, StringTable strings) throws IOException {
+        if (value instanceof String) {
+            output.writeByte(STRING_VALUE);
+            writeVarInt(output, strings.index((String) value));
+        } else if (value instanceof Long) {
+            output.writeByte(LONG_VALUE);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE_VALUE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN_VALUE);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER_VALUE);
+            output.writeInt((Integer) value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Object readValue(DataInputStream input, String[] strings) throws IOException {
+        byte dataType = input.readByte();
+        switch (dataType) {
+            case STRING_VALUE:
+                return strings[readVarInt(input)];
+            case LONG_VALUE:
+                return input.readLong();
+            case DOUBLE_VALUE:
+                return input.readDouble();
+            case BOOLEAN_VALUE:
+                return input.readBoolean();
+            case INTEGER_VALUE:
+                return input.readInt();
+            default:
+                throw new IOException("Unknown data type " + dataType);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    /**
+     * The distinct strings of a batch, in the order they are first used
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        /**
+         * @return the index of the string in the table, adding it if it is not there yet
+         */
+        int index(String string) {
+            return indices.computeIfAbsent(string, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        /**
+         * Remove every string added after the table had the given size
+         */
+        void truncate(int size) {
+            while (strings.size() > size) {
+                indices.remove(strings.remove(strings.size() - 1));
+            }
+        }
+    }
+}
@@ -27,11 +27,17 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static ai.grakn.engine.backgroundtasks.TaskStatus.CREATED;
 import static ai.grakn.engine.backgroundtasks.TaskStatus.SCHEDULED;
@@ -41,30 +47,53 @@ import static ai.grakn.engine.backgroundtasks.TaskStatus.FAILED;
 
 import static ai.grakn.engine.util.ConfigProperties.BATCH_SIZE_PROPERTY;
 
-import static ai.grakn.util.REST.Request.TASK_LOADER_INSERTS;
+import static ai.grakn.util.REST.Request.TASK_LOADER_INSERT_BATCH;
 import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
 
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 /**
  * Manage loading tasks in the Task Manager
+ *
+ * Every query added to the loader may depend on batches sent before it. A batch is only scheduled once all the
+ * batches its queries depend on have finished, so queries which match data inserted by earlier queries can be
+ * loaded without waiting for everything before them.
+ *
+ * The size of batches and the number of them loading at once adapt to how loading is going, see {@link AdaptiveLimits}.
  */
 public class Loader {
 
     private static final Logger LOG = LoggerFactory.getLogger(Loader.class);
     private static final ConfigProperties properties = ConfigProperties.getInstance();
 
+    private static final int DEFAULT_QUEUE_SIZE = 25;
+
     private final DistributedTaskManager manager;
-    private Semaphore blocker = new Semaphore(25);
+    private AdaptiveLimits limits;
+    private Semaphore sharedBlocker = null;
 
     private int batchSize;
+    private int queueSize = DEFAULT_QUEUE_SIZE;
     private final Collection<InsertQuery> queries;
+    private final Set<CompletableFuture<Void>> dependencies;
+    private CompletableFuture<Void> currentBatch;
+    private final Set<CompletableFuture<Void>> sentBatches;
     private final String keyspace;
 
+    private volatile long startTime = 0;
+    private final AtomicLong queriesLoaded = new AtomicLong();
+    private final AtomicLong queriesFailed = new AtomicLong();
+    private final AtomicLong batchesLoaded = new AtomicLong();
+    private final AtomicLong batchesFailed = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong splits = new AtomicLong();
+
     public Loader(String keyspace){
         this.keyspace = keyspace;
         this.queries = new HashSet<>();
+        this.dependencies = new HashSet<>();
+        this.currentBatch = new CompletableFuture<>();
+        this.sentBatches = ConcurrentHashMap.newKeySet();
 
         this.manager = DistributedTaskManager.getInstance().open();
         setBatchSize(properties.getPropertyAsInt(BATCH_SIZE_PROPERTY));
@@ -74,24 +103,37 @@ public class Loader {
      * @return the current batch size - minimum number of vars to be loaded in a transaction
      */
     public int getBatchSize(){
-        return this.batchSize;
+        return limits.getBatchSize();
     }
 
     /**
-     * Set the size of the each transaction in terms of number of vars.
+     * Set the size of the first transactions in terms of number of vars. This must be set before any query is added.
      * @param size number of vars in each transaction
      */
     public Loader setBatchSize(int size){
         this.batchSize = size;
+        this.limits = new AdaptiveLimits(batchSize, queueSize);
         return this;
     }
 
     /**
-     * Set the size of the queue- this is equivalent to the size of the semaphore.
+     * Set the greatest size of the queue- the number of batches loading at once. This must be set before any query
+     * is added.
      * @param size the size of the queue
      */
     public Loader setQueueSize(int size){
-        blocker = new Semaphore(size);
+        this.queueSize = size;
+        this.limits = new AdaptiveLimits(batchSize, queueSize);
+        return this;
+    }
+
+    /**
+     * Share a queue with other loaders, so that the number of batches loading at once across all of them is bounded
+     * as well as the number loading from this loader. This must be set before any query is added.
+     * @param sharedBlocker semaphore shared by the loaders
+     */
+    public Loader setSharedQueue(Semaphore sharedBlocker){
+        this.sharedBlocker = sharedBlocker;
         return this;
     }
 
@@ -100,44 +142,131 @@ public class Loader {
      */
     public void flush(){
         if(queries.size() > 0){
-            sendQueriesToLoader(queries);
+            sendQueriesToLoader(new HashSet<>(queries), new HashSet<>(dependencies), currentBatch);
             queries.clear();
+            dependencies.clear();
+            currentBatch = new CompletableFuture<>();
         }
     }
 
     /**
      * Add an insert query to the queue
      * @param query insert query to be executed
+     * @return a future completed when the batch containing the query has finished loading
+     */
+    public CompletableFuture<Void> add(InsertQuery query){
+        return add(query, Collections.emptySet());
+    }
+
+    /**
+     * Add an insert query to the queue, which will not be loaded until the given batches have finished loading
+     * @param query insert query to be executed
+     * @param dependsOn futures returned when adding the queries this query depends on
+     * @return a future completed when the batch containing the query has finished loading
      */
-    public void add(InsertQuery query){
+    public CompletableFuture<Void> add(InsertQuery query, Collection<CompletableFuture<Void>> dependsOn){
+        // Queries in a batch are not executed in order, so a query cannot join the batch it depends on
+        if(dependsOn.contains(currentBatch)){
+            flush();
+        }
+
+        CompletableFuture<Void> batch = currentBatch;
         queries.add(query);
-        if(queries.size() >= batchSize){
-            sendQueriesToLoader(new HashSet<>(queries));
-            queries.clear();
+        dependsOn.stream().filter(dependency -> !dependency.isDone()).forEach(dependencies::add);
+        if(queries.size() >= limits.getBatchSize()){
+            flush();
         }
+        return batch;
     }
 
     /**
      * Method to load data into the graph. Implementation depends on the type of the loader.
      */
     public void sendQueriesToLoader(Collection<InsertQuery> batch){
+        sendQueriesToLoader(batch, Collections.emptySet(), new CompletableFuture<>());
+    }
+
+    /**
+     * Schedule a batch once the batches it depends on have finished. Space in the queue is taken before waiting, so
+     * batches waiting on others count towards the size of the queue.
+     * @param batch queries to load
+     * @param dependsOn batches which must finish before this one is scheduled
+     * @param finished completed when the batch has finished loading
+     */
+    private void sendQueriesToLoader(Collection<InsertQuery> batch, Collection<CompletableFuture<Void>> dependsOn,
+                                     CompletableFuture<Void> finished){
+        AdaptiveLimits batchLimits = limits;
+        acquireSemaphore(batchLimits);
+        sentBatches.add(finished);
+        finished.whenComplete((result, exception) -> sentBatches.remove(finished));
+        if(startTime == 0) startTime = System.currentTimeMillis();
+
+        CompletableFuture.allOf(dependsOn.toArray(new CompletableFuture[dependsOn.size()])).whenComplete((result, exception) -> {
+            try {
+                long sentAt = System.currentTimeMillis();
+                String taskId = manager.scheduleTask(new LoaderTask(), keyspace, new Date(), 0, getConfiguration(batch));
+                CompletableFuture<?> completableFuture = manager.completableFuture(taskId);
+                completableFuture.whenComplete((i, e) -> {
+                    try {
+                        batchFinished(taskId, batch.size(), sentAt, batchLimits);
+                    } finally {
+                        releaseSemaphore(batchLimits);
+                        finished.complete(null);
+                    }
+                });
+            } catch (RuntimeException e) {
+                LOG.error("Could not schedule batch in keyspace " + keyspace, e);
+                releaseSemaphore(batchLimits);
+                finished.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Record the outcome of a batch and adapt the limits to it
+     * @param taskId id of the task which loaded the batch
+     * @param size number of queries in the batch
+     * @param sentAt when the batch was sent, in milliseconds
+     * @param batchLimits the limits the batch was sent under
+     */
+    private void batchFinished(String taskId, int size, long sentAt, AdaptiveLimits batchLimits){
+        long finishedAt = System.currentTimeMillis();
+        boolean failed = manager.getState(taskId) == FAILED;
+
+        String checkpoint = manager.getCheckpoint(taskId);
+        JSONObject progress = checkpoint == null ? new JSONObject() : new JSONObject(checkpoint);
+        long batchRetries = progress.optLong(LoaderTask.RETRIES, 0);
+        long loaded = failed ? progress.optLong(LoaderTask.LOADED, 0) : size;
+
+        queriesLoaded.addAndGet(loaded);
+        queriesFailed.addAndGet(size - loaded);
+        (failed ? batchesFailed : batchesLoaded).incrementAndGet();
+        retries.addAndGet(batchRetries);
+        splits.addAndGet(progress.optLong(LoaderTask.SPLITS, 0));
+
+        batchLimits.batchFinished(size, sentAt, finishedAt, failed || batchRetries > 0);
+    }
+
+    private void acquireSemaphore(AdaptiveLimits batchLimits) {
         try {
-            blocker.acquire();
+            batchLimits.acquire();
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
 
-        String taskId = manager.scheduleTask(new LoaderTask(), keyspace, new Date(), 0, getConfiguration(batch));
-        CompletableFuture<?> completableFuture = manager.completableFuture(taskId);
-        completableFuture.thenAccept(i -> releaseSemaphore());
-        completableFuture.exceptionally(i -> {
-            releaseSemaphore();
-            return null;
-        });
+        if(sharedBlocker != null) {
+            try {
+                sharedBlocker.acquire();
+            } catch (InterruptedException e) {
+                batchLimits.release();
+                throw new RuntimeException(e);
+            }
+        }
     }
 
-    private void releaseSemaphore() {
-        blocker.release();
+    private void releaseSemaphore(AdaptiveLimits batchLimits) {
+        if(sharedBlocker != null) sharedBlocker.release();
+        batchLimits.release();
     }
 
     private Boolean allTasksFinished(Collection<String> tasks) {
@@ -187,6 +316,21 @@ public class Loader {
         }
     }
 
+    /**
+     * Load any remaining batches and wait until every batch sent by this loader has finished.
+     */
+    public void waitForBatches(){
+        flush();
+
+        try {
+            CompletableFuture.allOf(sentBatches.toArray(new CompletableFuture[sentBatches.size()])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     /**
      * Method that logs the current taskstorage of loading tasks
      */
@@ -197,9 +341,28 @@ public class Loader {
                 .put(RUNNING.name(), getTasks(RUNNING).size())
                 .put(COMPLETED.name(), getTasks(COMPLETED).size())
                 .put(FAILED.name(), getTasks(FAILED).size())
+                .put("metrics", getMetrics())
                 .toString());
     }
 
+    /**
+     * Get the throughput and retries of the batches sent by this loader, along with its current limits
+     * @return metrics of this loader
+     */
+    public JSONObject getMetrics(){
+        long elapsed = startTime == 0 ? 0 : System.currentTimeMillis() - startTime;
+        return new JSONObject()
+                .put("queriesLoaded", queriesLoaded.get())
+                .put("queriesFailed", queriesFailed.get())
+                .put("batchesLoaded", batchesLoaded.get())
+                .put("batchesFailed", batchesFailed.get())
+                .put("retries", retries.get())
+                .put("splits", splits.get())
+                .put("queriesPerSecond", elapsed == 0 ? 0 : queriesLoaded.get() * 1000.0 / elapsed)
+                .put("batchSize", limits.getBatchSize())
+                .put("queueSize", limits.getQueueSize());
+    }
+
     /**
      * Get all loading tasks for this keyspace
      * @return IDs of tasks in this keyspace
@@ -239,7 +402,7 @@ public class Loader {
     private JSONObject getConfiguration(Collection<InsertQuery> queries){
         JSONObject json = new JSONObject();
         json.put(KEYSPACE_PARAM, keyspace);
-        json.put(TASK_LOADER_INSERTS, queries.stream().map(InsertQuery::toString).collect(toList()));
+        json.put(TASK_LOADER_INSERT_BATCH, Base64.getEncoder().encodeToString(InsertBatch.encode(queries)));
         return json;
     }
 }
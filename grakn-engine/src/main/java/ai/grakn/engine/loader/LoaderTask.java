@@ -31,9 +31,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
 import static ai.grakn.engine.util.ConfigProperties.LOADER_REPEAT_COMMITS;
@@ -41,6 +42,7 @@ import static ai.grakn.engine.util.ConfigProperties.LOADER_REPEAT_COMMITS;
 import static ai.grakn.util.ErrorMessage.ILLEGAL_ARGUMENT_EXCEPTION;
 import static ai.grakn.util.ErrorMessage.FAILED_VALIDATION;
 import static ai.grakn.util.REST.Request.TASK_LOADER_INSERTS;
+import static ai.grakn.util.REST.Request.TASK_LOADER_INSERT_BATCH;
 import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
 
 import static ai.grakn.util.REST.Request.URI_PARAM;
@@ -48,15 +50,37 @@ import static java.util.stream.Collectors.toList;
 
 /**
  * Task that will load data into the graph
+ *
+ * A batch which fails to commit is retried after a randomised, exponentially growing delay. A batch which fails
+ * repeatedly is split in half and each half is retried on its own, so a query conflicting on a hot concept does not
+ * stop the rest of the batch loading. A batch which is invalid is split straight away, because retrying it cannot
+ * help, until the invalid queries are found. They are recorded and the task fails once the rest have been loaded.
+ * Once a batch has been retried its checkpoint records the number of queries loaded and failed, retries and splits
+ * so far.
  */
 public class LoaderTask implements BackgroundTask {
 
+    static final String LOADED = "loaded";
+    static final String RETRIES = "retries";
+    static final String SPLITS = "splits";
+    static final String FAILED = "failed";
+
     private static final Logger LOG = LoggerFactory.getLogger(Loader.class);
     private static final int repeatCommits = ConfigProperties.getInstance().getPropertyAsInt(LOADER_REPEAT_COMMITS);
+    private static final int SPLIT_AFTER_FAILURES = 2;
+    private static final long BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 10000;
     private final QueryBuilder builder = Graql.withoutGraph().infer(false);
 
+    private Consumer<String> saveCheckpoint;
+    private long loaded = 0;
+    private long retries = 0;
+    private long splits = 0;
+    private final List<String> errors = new ArrayList<>();
+
     @Override
     public void start(Consumer<String> saveCheckpoint, JSONObject configuration) {
+        this.saveCheckpoint = saveCheckpoint;
         attemptInsertions(
                 getURI(configuration),
                 getKeyspace(configuration),
@@ -80,14 +104,88 @@ public class LoaderTask implements BackgroundTask {
 
     private void attemptInsertions(String uri, String keyspace, Collection<InsertQuery> inserts) {
         try(GraknGraph graph = Grakn.factory(uri, keyspace).getGraphBatchLoading()) {
-            for (int i = 0; i < repeatCommits; i++) {
-                if(insertQueriesInOneTransaction(graph, inserts)){
-                    return;
+            if(!attemptInsertions(graph, new ArrayList<>(inserts))){
+                throwException(errors.isEmpty() ? "Could not insert" : String.join("\n", errors));
+            }
+        }
+    }
+
+    /**
+     * Insert the given queries, retrying them and splitting them in half if they fail repeatedly or are invalid.
+     * @param graph grakn graph in which to insert the data
+     * @param inserts graql queries to insert into the graph
+     * @return true if all the data was inserted, false otherwise
+     */
+    private boolean attemptInsertions(GraknGraph graph, List<InsertQuery> inserts) {
+        for (int i = 0; i < repeatCommits; i++) {
+            try {
+                if (insertQueriesInOneTransaction(graph, inserts)) {
+                    loaded += inserts.size();
+                    if (retries > 0 || !errors.isEmpty()) saveCheckpoint.accept(checkpoint());
+                    return true;
                 }
+            } catch (GraknValidationException e) {
+                return attemptValidInsertions(graph, inserts, FAILED_VALIDATION.getMessage(e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                return attemptValidInsertions(graph, inserts, ILLEGAL_ARGUMENT_EXCEPTION.getMessage(e.getMessage()));
+            }
+
+            retries++;
+            saveCheckpoint.accept(checkpoint());
+
+            if(i + 1 >= SPLIT_AFTER_FAILURES && inserts.size() > 1){
+                return attemptHalves(graph, inserts);
             }
 
-            throwException("Could not insert");
+            backOff(i);
+        }
+
+        return false;
+    }
+
+    /**
+     * Insert the queries of an invalid batch which are valid on their own, recording the queries which are not
+     * @param graph grakn graph in which to insert the data
+     * @param inserts graql queries which could not be inserted together
+     * @param error why the queries could not be inserted together
+     * @return false, because some of the queries are invalid
+     */
+    private boolean attemptValidInsertions(GraknGraph graph, List<InsertQuery> inserts, String error) {
+        if (inserts.size() > 1) {
+            attemptHalves(graph, inserts);
+        } else {
+            LOG.error(error + inserts);
+            errors.add(error + inserts);
+            saveCheckpoint.accept(checkpoint());
         }
+        return false;
+    }
+
+    /**
+     * Insert each half of the given queries on its own. Both halves are attempted even if the first one cannot be
+     * inserted.
+     * @param graph grakn graph in which to insert the data
+     * @param inserts graql queries to insert into the graph
+     * @return true if both halves were inserted, false otherwise
+     */
+    private boolean attemptHalves(GraknGraph graph, List<InsertQuery> inserts) {
+        splits++;
+        int half = inserts.size() / 2;
+        boolean firstHalf = attemptInsertions(graph, inserts.subList(0, half));
+        boolean secondHalf = attemptInsertions(graph, inserts.subList(half, inserts.size()));
+        return firstHalf && secondHalf;
+    }
+
+    /**
+     * @return the number of queries loaded, retries and splits so far
+     */
+    private String checkpoint() {
+        return new JSONObject()
+                .put(LOADED, loaded)
+                .put(RETRIES, retries)
+                .put(SPLITS, splits)
+                .put(FAILED, errors.size())
+                .toString();
     }
 
     /**
@@ -95,8 +193,11 @@ public class LoaderTask implements BackgroundTask {
      * @param graph grakn graph in which to insert the data
      * @param inserts graql queries to insert into the graph
      * @return true if the data was inserted, false otherwise
+     * @throws GraknValidationException if the queries are invalid, after their changes have been discarded
+     * @throws IllegalArgumentException if the queries are invalid, after their changes have been discarded
      */
-    private boolean insertQueriesInOneTransaction(GraknGraph graph, Collection<InsertQuery> inserts) {
+    private boolean insertQueriesInOneTransaction(GraknGraph graph, Collection<InsertQuery> inserts)
+            throws GraknValidationException {
 
         try {
             graph.showImplicitConcepts(true);
@@ -106,13 +207,13 @@ public class LoaderTask implements BackgroundTask {
 
             // commit the transaction
             graph.commit();
-        } catch (GraknValidationException e) {
+        } catch (GraknValidationException | IllegalArgumentException e) {
             //If it's a validation exception there is no point in re-trying
-            throwException(FAILED_VALIDATION.getMessage(e.getMessage()), inserts);
-        } catch (IllegalArgumentException e){
-            throwException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage(e.getMessage()), inserts);
+            discardChanges(graph);
+            throw e;
         } catch (Throwable throwable){
-            handleError(throwable, 1);
+            LOG.error("Caught exception ", throwable);
+            discardChanges(graph);
             return false;
         }
 
@@ -124,29 +225,32 @@ public class LoaderTask implements BackgroundTask {
      * @param message cause of the error
      */
     private void throwException(String message){
-        throwException(message, Collections.emptyList());
+        throw new RuntimeException(message);
     }
 
     /**
-     * Throw a RuntimeException with the given information
-     * @param message cause of the error
-     * @param inserts insert queries that caused the error
+     * Discard the changes of a failed attempt, so they are not committed with the next one
+     * @param graph grakn graph in which the attempt was made
      */
-    private void throwException(String message, Collection<InsertQuery> inserts){
-        throw new RuntimeException(message + inserts);
+    private void discardChanges(GraknGraph graph) {
+        try {
+            graph.rollback();
+        } catch (Throwable e) {
+            LOG.error("Could not roll back failed insertion ", e);
+        }
     }
 
     /**
-     * Log the exception and sleep
-     * @param e exception to log
-     * @param i amount of time to sleep
+     * Sleep for a random time which doubles with each failed attempt, so that batches conflicting with each other do
+     * not retry at the same moment
+     * @param attempt number of attempts which have failed before
      */
-    private void handleError(Throwable e, int i) {
-        LOG.error("Caught exception ", e);
+    private void backOff(int attempt) {
+        long bound = Math.min(MAX_BACKOFF_MS, BACKOFF_MS << Math.min(attempt, 20));
         try {
-            Thread.sleep((i + 2) * 1000);
-        } catch (InterruptedException e1) {
-            LOG.error("Caught exception ", e1);
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound / 2, bound + 1));
+        } catch (InterruptedException e) {
+            LOG.error("Caught exception ", e);
         }
     }
 
@@ -156,6 +260,10 @@ public class LoaderTask implements BackgroundTask {
      * @return insert queries from the configuration
      */
     private Collection<InsertQuery> getInserts(JSONObject configuration){
+        if(configuration.has(TASK_LOADER_INSERT_BATCH)){
+            return InsertBatch.decode(Base64.getDecoder().decode(configuration.getString(TASK_LOADER_INSERT_BATCH)));
+        }
+
         if(configuration.has(TASK_LOADER_INSERTS)){
             List<String> inserts = new ArrayList<>();
             configuration.getJSONArray(TASK_LOADER_INSERTS).forEach(i -> inserts.add((String) i));
@@ -18,17 +18,35 @@
 
 package ai.grakn.engine.postprocessing;
 
+import ai.grakn.engine.util.ConfigProperties;
+
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+/**
+ * <p>
+ *     The post processing jobs submitted to engine in commit logs
+ * </p>
+ *
+ * <p>
+ *     If a journal is configured with {@link ConfigProperties#POST_PROCESSING_JOURNAL}, every change to the jobs is
+ *     written to a {@link PostProcessingJournal}. The pending jobs are replayed from it when the cache is created, so
+ *     they survive a restart of engine. The journal is flushed once per call, so adding a batch of jobs only
+ *     flushes it once.
+ * </p>
+ */
 public class Cache {
     private final Map<String, Set<String>> castings;
     private final Map<String, Set<String>> resources;
     private final AtomicBoolean saveInProgress;
+    private final Optional<PostProcessingJournal> journal;
 
     private static Cache instance=null;
     private final AtomicLong lastTimeModified;
@@ -43,6 +61,17 @@ public class Cache {
         resources = new ConcurrentHashMap<>();
         saveInProgress = new AtomicBoolean(false);
         lastTimeModified = new AtomicLong(System.currentTimeMillis());
+
+        String journalPath = ConfigProperties.getInstance().getProperty(ConfigProperties.POST_PROCESSING_JOURNAL);
+        if(journalPath != null) {
+            String fullPath = ConfigProperties.getInstance().getPath(ConfigProperties.POST_PROCESSING_JOURNAL);
+            PostProcessingJournal openedJournal = PostProcessingJournal.open(Paths.get(fullPath));
+            openedJournal.replay(castings, resources);
+            openedJournal.compactIfNeeded(castings, resources);
+            journal = Optional.of(openedJournal);
+        } else {
+            journal = Optional.empty();
+        }
     }
 
     public boolean isSaveInProgress() {
@@ -62,11 +91,16 @@ public class Cache {
         return castings.computeIfAbsent(keyspace, (key) -> ConcurrentHashMap.newKeySet());
     }
     public void addJobCasting(String keyspace, Set<String> conceptIds) {
-        getCastingJobs(keyspace).addAll(conceptIds);
+        String name = keyspace.toLowerCase();
+        conceptIds.forEach(conceptId -> record(() -> getCastingJobs(name).add(conceptId), j -> j.addCasting(name, conceptId)));
+        flushJournal();
         updateLastTimeJobAdded();
     }
     public void deleteJobCasting(String keyspace, String conceptId) {
-        getCastingJobs(keyspace).remove(conceptId);
+        String name = keyspace.toLowerCase();
+        record(() -> getCastingJobs(name).remove(conceptId), j -> j.deleteCasting(name, conceptId));
+        flushJournal();
+        compactJournal();
     }
 
     //-------------------- Resource Jobs
@@ -75,11 +109,52 @@ public class Cache {
         return resources.computeIfAbsent(keyspace, (key) -> ConcurrentHashMap.newKeySet());
     }
     public void addJobResource(String keyspace, Set<String> conceptIds) {
-        getResourceJobs(keyspace).addAll(conceptIds);
+        String name = keyspace.toLowerCase();
+        conceptIds.forEach(conceptId -> record(() -> getResourceJobs(name).add(conceptId), j -> j.addResource(name, conceptId)));
+        flushJournal();
         updateLastTimeJobAdded();
     }
     public void deleteJobResource(String keyspace, String conceptId) {
-        getResourceJobs(keyspace).remove(conceptId);
+        String name = keyspace.toLowerCase();
+        record(() -> getResourceJobs(name).remove(conceptId), j -> j.deleteResource(name, conceptId));
+        flushJournal();
+        compactJournal();
+    }
+
+    /**
+     * Delete all the jobs of a keyspace
+     * @param keyspace the keyspace to delete the jobs of
+     */
+    public void clearJobs(String keyspace) {
+        String name = keyspace.toLowerCase();
+        record(() -> {
+            getCastingJobs(name).clear();
+            getResourceJobs(name).clear();
+        }, j -> j.clear(name));
+        flushJournal();
+    }
+
+    /**
+     * Apply a change to the jobs, and write it to the journal if there is one.
+     * The change and the journal entry are made together, so the journal records changes in the order they happen.
+     */
+    private void record(Runnable change, Consumer<PostProcessingJournal> entry){
+        if(journal.isPresent()) {
+            synchronized (journal.get()) {
+                change.run();
+                entry.accept(journal.get());
+            }
+        } else {
+            change.run();
+        }
+    }
+
+    private void flushJournal(){
+        journal.ifPresent(PostProcessingJournal::flush);
+    }
+
+    private void compactJournal(){
+        journal.ifPresent(j -> j.compactIfNeeded(castings, resources));
     }
 
     /**
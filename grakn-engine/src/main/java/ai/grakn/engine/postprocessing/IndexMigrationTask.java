@@ -0,0 +1,164 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.engine.backgroundtasks.BackgroundTask;
+import ai.grakn.engine.util.ConfigProperties;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.factory.GraphFactory;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+import ai.grakn.util.Schema;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static ai.grakn.util.ErrorMessage.FAILED_VALIDATION;
+import static ai.grakn.util.ErrorMessage.ILLEGAL_ARGUMENT_EXCEPTION;
+import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
+
+/**
+ * Task which rewrites the indices of relations, resources and castings of a keyspace created before indices were
+ * fixed width digests.
+ *
+ * Transactions are bound to threads, so one thread scans the ids of every relation, resource and casting in a single
+ * read transaction while the task thread rewrites them in batches, committing after each batch. Rewriting an index
+ * which is already up to date does nothing, so a resumed task simply scans the keyspace again. Once the whole keyspace
+ * has been scanned it is marked as migrated, so lookups stop falling back to the old indices.
+ */
+public class IndexMigrationTask implements BackgroundTask {
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigProperties.LOG_NAME_POSTPROCESSING_DEFAULT);
+    private static final int BATCH_SIZE = 1000;
+    private static final String MIGRATED = "migrated";
+    private static final List<Object> END_OF_SCAN = Collections.emptyList();
+
+    private String keyspace;
+    private long migrated = 0;
+    private volatile boolean stopped = false;
+
+    @Override
+    public void start(Consumer<String> saveCheckpoint, JSONObject configuration) {
+        if(configuration == null || !configuration.has(KEYSPACE_PARAM)){
+            throw new IllegalArgumentException(ILLEGAL_ARGUMENT_EXCEPTION.getMessage("No keyspace", configuration));
+        }
+        keyspace = configuration.getString(KEYSPACE_PARAM);
+        migrate(saveCheckpoint);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void pause() {
+        stopped = true;
+    }
+
+    @Override
+    public void resume(Consumer<String> saveCheckpoint, String lastCheckpoint) {
+        JSONObject checkpoint = new JSONObject(lastCheckpoint);
+        keyspace = checkpoint.getString(KEYSPACE_PARAM);
+        migrated = checkpoint.getLong(MIGRATED);
+        stopped = false;
+        migrate(saveCheckpoint);
+    }
+
+    private void migrate(Consumer<String> saveCheckpoint) {
+        BlockingQueue<List<Object>> batches = new ArrayBlockingQueue<>(2);
+        ExecutorService scanner = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("index-migration-scan-%d").setDaemon(true).build());
+
+        try (AbstractGraknGraph<?> graph = (AbstractGraknGraph<?>) GraphFactory.getInstance().getGraph(keyspace)) {
+            Future<?> scan = scanner.submit(() -> scanConcepts(batches));
+
+            for (List<Object> batch = batches.take(); batch != END_OF_SCAN; batch = batches.take()) {
+                long updated = batch.stream().filter(graph::updateConceptIndex).count();
+                if (updated > 0) {
+                    graph.commit(false);
+                    migrated += updated;
+                    saveCheckpoint.accept(checkpoint());
+                }
+            }
+
+            scan.get();
+
+            if (!stopped) {
+                graph.markIndicesMigrated();
+                graph.commit(false);
+                LOG.info("Migrated the indices of " + migrated + " concepts in keyspace " + keyspace);
+            }
+        } catch (GraknValidationException e) {
+            throw new RuntimeException(FAILED_VALIDATION.getMessage(e.getMessage()), e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            scanner.shutdownNow();
+        }
+    }
+
+    /**
+     * Read the ids of every concept with an index, in batches
+     * @param batches where to put the batches of ids, followed by {@link #END_OF_SCAN}
+     */
+    private Void scanConcepts(BlockingQueue<List<Object>> batches) throws InterruptedException {
+        try {
+            AbstractGraknGraph<?> graph = (AbstractGraknGraph<?>) GraphFactory.getInstance().getGraph(keyspace);
+            Iterator<Object> ids = graph.getTinkerTraversal().hasLabel(
+                    Schema.BaseType.RELATION.name(), Schema.BaseType.RESOURCE.name(), Schema.BaseType.CASTING.name()).id();
+
+            List<Object> batch = new ArrayList<>();
+            while (!stopped && ids.hasNext()) {
+                batch.add(ids.next());
+                if (batch.size() == BATCH_SIZE) {
+                    batches.put(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) batches.put(batch);
+        } finally {
+            batches.put(END_OF_SCAN);
+        }
+        return null;
+    }
+
+    /**
+     * @return the progress of the task and the keyspace needed to resume it
+     */
+    private String checkpoint() {
+        return new JSONObject()
+                .put(KEYSPACE_PARAM, keyspace)
+                .put(MIGRATED, migrated)
+                .toString();
+    }
+}
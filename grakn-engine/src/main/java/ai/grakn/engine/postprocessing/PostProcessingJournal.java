@@ -0,0 +1,209 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.postprocessing;
+
+import ai.grakn.engine.util.AppendOnlyLog;
+import ai.grakn.engine.util.ConfigProperties;
+import ai.grakn.util.ErrorMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ *     Append-only log of the changes made to the post processing jobs in the {@link Cache}
+ * </p>
+ *
+ * <p>
+ *     Every job which is added or completed is written to the journal, an {@link AppendOnlyLog}, so the jobs which
+ *     were pending when engine stopped can be replayed when it starts again. Once most of the journal is made up of
+ *     completed jobs it is compacted by rewriting it with only the pending jobs.
+ *
+ *     Each line of the journal is an operation, a keyspace and, for operations on a single job, a concept id,
+ *     followed by a checksum of the line. A line which was only partially written when engine stopped, or which does
+ *     not match its checksum, is ignored. Entries are buffered until {@link #flush()} is called, so a batch of jobs
+ *     is written with a single flush.
+ * </p>
+ */
+public class PostProcessingJournal implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigProperties.LOG_NAME_POSTPROCESSING_DEFAULT);
+
+    private static final String SEPARATOR = "\t";
+
+    private static final String ADD_CASTING = "+C";
+    private static final String DELETE_CASTING = "-C";
+    private static final String ADD_RESOURCE = "+R";
+    private static final String DELETE_RESOURCE = "-R";
+    private static final String CLEAR = "X";
+
+    private final Path path;
+    private final AppendOnlyLog log;
+
+    private PostProcessingJournal(Path path){
+        this.path = path;
+        this.log = AppendOnlyLog.open(path, ErrorMessage.POSTPROCESSING_JOURNAL_ERROR);
+    }
+
+    /**
+     * Open a journal, creating it if it does not exist
+     * @param path the file the journal is kept in
+     * @return the journal, positioned at its end
+     */
+    public static PostProcessingJournal open(Path path){
+        return new PostProcessingJournal(path);
+    }
+
+    /**
+     * Read the journal from the start, adding the jobs which were still pending when it was last written to
+     * @param castings casting jobs of each keyspace
+     * @param resources resource jobs of each keyspace
+     */
+    public synchronized void replay(Map<String, Set<String>> castings, Map<String, Set<String>> resources){
+        log.replay(line -> {
+            String[] record = parse(line);
+            if(record == null){
+                LOG.warn("Skipping incomplete or corrupt post processing journal entry [" + line + "]");
+            } else if(record.length == 2 && record[0].equals(CLEAR)){
+                castings.remove(record[1]);
+                resources.remove(record[1]);
+            } else if(record.length == 3) {
+                apply(record[0], record[1], record[2], castings, resources);
+            } else {
+                LOG.warn("Skipping incomplete post processing journal entry [" + line + "]");
+            }
+        });
+        LOG.info("Replayed [" + (countJobs(castings) + countJobs(resources)) + "] pending post processing jobs from [" + path + "]");
+    }
+
+    public synchronized void addCasting(String keyspace, String conceptId){
+        append(ADD_CASTING, keyspace, conceptId);
+    }
+
+    public synchronized void deleteCasting(String keyspace, String conceptId){
+        append(DELETE_CASTING, keyspace, conceptId);
+    }
+
+    public synchronized void addResource(String keyspace, String conceptId){
+        append(ADD_RESOURCE, keyspace, conceptId);
+    }
+
+    public synchronized void deleteResource(String keyspace, String conceptId){
+        append(DELETE_RESOURCE, keyspace, conceptId);
+    }
+
+    public synchronized void clear(String keyspace){
+        append(CLEAR, keyspace);
+    }
+
+    /**
+     * Write the buffered entries to the journal
+     */
+    public synchronized void flush(){
+        log.flush();
+    }
+
+    /**
+     * Rewrite the journal with only the pending jobs, if most of it is made up of completed jobs
+     * @param castings casting jobs of each keyspace
+     * @param resources resource jobs of each keyspace
+     */
+    public synchronized void compactIfNeeded(Map<String, Set<String>> castings, Map<String, Set<String>> resources){
+        // Counting the pending jobs means visiting all of them, so the log only asks once enough has been appended
+        log.compactIfNeeded(() -> countJobs(castings) + countJobs(resources), records -> {
+            writeJobs(records, ADD_CASTING, castings);
+            writeJobs(records, ADD_RESOURCE, resources);
+        });
+    }
+
+    @Override
+    public synchronized void close(){
+        log.close();
+    }
+
+    private void append(String... record){
+        log.append(format(record));
+    }
+
+    private static String format(String... record){
+        String entry = String.join(SEPARATOR, record);
+        return entry + SEPARATOR + checksum(entry);
+    }
+
+    /**
+     * @return the fields of the line, or null if it does not end with a matching checksum
+     */
+    private static String[] parse(String line){
+        int checksumStart = line.lastIndexOf(SEPARATOR);
+        if(checksumStart < 0) return null;
+
+        String entry = line.substring(0, checksumStart);
+        if(!checksum(entry).equals(line.substring(checksumStart + SEPARATOR.length()))) return null;
+
+        return entry.split(SEPARATOR);
+    }
+
+    private static String checksum(String entry){
+        CRC32 crc = new CRC32();
+        crc.update(entry.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static void apply(String operation, String keyspace, String conceptId,
+                              Map<String, Set<String>> castings, Map<String, Set<String>> resources){
+        switch (operation) {
+            case ADD_CASTING:
+                jobs(castings, keyspace).add(conceptId);
+                break;
+            case DELETE_CASTING:
+                jobs(castings, keyspace).remove(conceptId);
+                break;
+            case ADD_RESOURCE:
+                jobs(resources, keyspace).add(conceptId);
+                break;
+            case DELETE_RESOURCE:
+                jobs(resources, keyspace).remove(conceptId);
+                break;
+            default:
+                LOG.warn("Skipping unknown post processing journal operation [" + operation + "]");
+        }
+    }
+
+    private static Set<String> jobs(Map<String, Set<String>> jobs, String keyspace){
+        return jobs.computeIfAbsent(keyspace, (key) -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static void writeJobs(Consumer<String> records, String operation, Map<String, Set<String>> jobs){
+        for (Map.Entry<String, Set<String>> keyspaceJobs : jobs.entrySet()) {
+            for (String conceptId : keyspaceJobs.getValue()) {
+                records.accept(format(operation, keyspaceJobs.getKey(), conceptId));
+            }
+        }
+    }
+
+    private static long countJobs(Map<String, Set<String>> jobs){
+        return jobs.values().stream().mapToLong(Set::size).sum();
+    }
+}
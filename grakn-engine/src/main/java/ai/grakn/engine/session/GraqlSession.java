@@ -35,10 +35,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -48,6 +47,7 @@ import static ai.grakn.util.REST.RemoteShell.ACTION_ERROR;
 import static ai.grakn.util.REST.RemoteShell.ACTION_PING;
 import static ai.grakn.util.REST.RemoteShell.ACTION_QUERY;
 import static ai.grakn.util.REST.RemoteShell.ACTION_TYPES;
+import static ai.grakn.util.REST.RemoteShell.CREDIT;
 import static ai.grakn.util.REST.RemoteShell.DISPLAY;
 import static ai.grakn.util.REST.RemoteShell.ERROR;
 import static ai.grakn.util.REST.RemoteShell.QUERY;
@@ -56,13 +56,14 @@ import static ai.grakn.util.REST.RemoteShell.TYPES;
 import static java.util.stream.Collectors.toList;
 
 /**
- * A Graql shell session for a single client, running on one graph in one thread
+ * A Graql shell session for a single client, running on one graph on a lane of a shared pool of threads
  */
-class GraqlSession {
+class GraqlSession implements SessionExecutor.Transaction {
     private final Session session;
     private final boolean showImplicitTypes;
     private final boolean infer;
     private final boolean materialise;
+    private final boolean flowControl;
     private GraknGraph graph;
     private final Supplier<GraknGraph> getGraph;
     private final String outputFormat;
@@ -71,16 +72,25 @@ class GraqlSession {
     private final Logger LOG = LoggerFactory.getLogger(GraqlSession.class);
 
     private static final int QUERY_CHUNK_SIZE = 1000;
-    private static final int PING_INTERVAL = 60_000;
 
-    private boolean queryCancelled = false;
+    private volatile boolean queryCancelled = false;
 
-    // All requests are run within a single thread, so they always happen in a single thread-bound transaction
-    private final ExecutorService queryExecutor = Executors.newSingleThreadExecutor();
+    // State of the query currently sending results, only used on the lane of the session
+    private List<Query<?>> queries = null;
+    private Stream<String> results = null;
+    private Iterator<String> resultIterator = null;
+    private long credit = 0;
+
+    // Thread producing results of the current query, so that it can be interrupted when the query is aborted
+    private Thread queryThread = null;
+
+    // Requests are run in order on a lane, which is held while the thread-bound transaction has any state
+    private final SessionExecutor.Requests queryExecutor;
 
     GraqlSession(
             Session session, Supplier<GraknGraph> getGraph, String outputFormat,
-            boolean showImplicitTypes, boolean infer, boolean materialise
+            boolean showImplicitTypes, boolean infer, boolean materialise,
+            boolean flowControl, SessionExecutor sessionExecutor
     ) {
         this.showImplicitTypes = showImplicitTypes;
         this.infer = infer;
@@ -89,17 +99,31 @@ class GraqlSession {
         this.getGraph = getGraph;
         this.outputFormat = outputFormat;
         this.printer = getPrinter();
+        this.flowControl = flowControl;
+        this.queryExecutor = sessionExecutor.requests(this);
 
         queryExecutor.submit(() -> {
-            refreshGraph();
             sendTypes();
             sendEnd();
         });
+    }
+
+    @Override
+    public void open() {
+        refreshGraph();
+    }
+
+    /**
+     * @return true if there are uncommitted changes or results still to send, which must stay on the current lane
+     */
+    @Override
+    public boolean isActive() {
+        return resultIterator != null || (graph != null && !graph.isClosed() && graph.admin().hasUncommittedChanges());
+    }
 
-        // Begin sending pings
-        Thread thread = new Thread(this::ping);
-        thread.setDaemon(true);
-        thread.start();
+    @Override
+    public void close() {
+        if (graph != null) graph.close();
     }
 
     private void refreshGraph() {
@@ -118,6 +142,9 @@ class GraqlSession {
             case REST.RemoteShell.ACTION_QUERY_ABORT:
                 abortQuery();
                 break;
+            case REST.RemoteShell.ACTION_NEXT:
+                receiveCredit(json);
+                break;
             case REST.RemoteShell.ACTION_COMMIT:
                 commit();
                 break;
@@ -130,37 +157,30 @@ class GraqlSession {
         }
     }
 
-    private void ping() {
-        // This runs on a daemon thread, so it will be terminated when the JVM stops
-        //noinspection InfiniteLoopStatement
-        while (true) {
-            try {
-                sendJson(Json.object(ACTION, ACTION_PING));
-
-                try {
-                    Thread.sleep(PING_INTERVAL);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-            } catch (WebSocketException e) {
-                // Report an error if the session is still open
-                if (session.isOpen()) {
-                    LOG.error(e.getMessage());
-                }
+    /**
+     * Send a ping to keep the connection alive, called regularly by the timer shared by all sessions
+     */
+    void ping() {
+        try {
+            sendJson(Json.object(ACTION, ACTION_PING));
+        } catch (WebSocketException e) {
+            // Report an error if the session is still open
+            if (session.isOpen()) {
+                LOG.error(e.getMessage());
             }
         }
     }
 
     /**
-     * Close the session, which will close the transaction.
+     * End the session, which will close the transaction and give up the lane of the session.
      */
-    void close() {
-        queryExecutor.submit(() -> {
-            try {
-                graph.close();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+    void end() {
+        cancelQuery();
+        queryExecutor.close(() -> {
+            if (results != null) results.close();
+            results = null;
+            resultIterator = null;
+            close();
         });
     }
 
@@ -175,51 +195,129 @@ class GraqlSession {
     }
 
     /**
-     * Execute the Graql query described in the given JSON request
+     * Execute the Graql query described in the given JSON request. If the client asked for flow control when the
+     * session started, results are only sent once the client grants credit for them, see {@link #receiveCredit}.
+     * Otherwise every result is sent straight away.
      */
     void executeQuery() {
         queryExecutor.submit(() -> {
-
-            String errorMessage = null;
-            List<Query<?>> queries = null;
+            credit = flowControl ? 0 : Long.MAX_VALUE;
 
             try {
                 String queryString = queryStringBuilder.toString();
                 queryStringBuilder = new StringBuilder();
 
                 queries = graph.graql().infer(infer).materialise(materialise).parseList(queryString);
-
-                // Return results unless query is cancelled
-                queries.stream().flatMap(query -> query.resultsString(printer)).forEach(result -> {
-                    if (queryCancelled) return;
-                    sendQueryResult(result);
-                });
-                queryCancelled = false;
-            } catch (IllegalArgumentException | IllegalStateException | ConceptException e) {
-                errorMessage = e.getMessage();
-                LOG.error(errorMessage,e);
+                results = queries.stream().flatMap(query -> query.resultsString(printer));
+                resultIterator = results.iterator();
             } catch (Throwable e) {
-                errorMessage = "An unexpected error occurred";
-                LOG.error(errorMessage,e);
-            } finally {
-                // Refresh the graph, in case it has been closed by analytics
-                // TODO: Handle this elsewhere (analytics or graph factory?)
-                attemptRefresh();
-
-                if (errorMessage != null) {
-                    if (queries != null && !queries.stream().allMatch(Query::isReadOnly)) {
-                        attemptRollback();
-                    }
-                    sendQueryError(errorMessage);
-                } else {
-                    sendEnd();
-                }
+                endQuery(getErrorMessage(e));
+                return;
             }
+
+            sendResults();
         });
     }
 
+    /**
+     * Receive credit from the client, allowing the given number of further result messages to be sent
+     */
+    void receiveCredit(Json json) {
+        queryExecutor.submit(() -> {
+            credit += json.at(CREDIT).asLong();
+            sendResults();
+        });
+    }
+
+    /**
+     * Stop the current query. If the query is producing results, the thread running it is interrupted.
+     */
     void abortQuery() {
+        cancelQuery();
+
+        // This runs after every request sent before the abort, so the query has either ended or is waiting for credit
+        queryExecutor.submit(() -> {
+            if (resultIterator != null) endQuery(null);
+            queryCancelled = false;
+        });
+    }
+
+    private void cancelQuery() {
         queryCancelled = true;
+
+        synchronized (this) {
+            if (queryThread != null) queryThread.interrupt();
+        }
+    }
+
+    /**
+     * Send results of the current query until the client runs out of credit, the query is cancelled or there are no
+     * more results
+     */
+    private void sendResults() {
+        if (resultIterator == null) return;
+
+        String errorMessage = null;
+        boolean finished = false;
+
+        synchronized (this) {
+            queryThread = Thread.currentThread();
+        }
+
+        try {
+            while (!queryCancelled && credit > 0 && resultIterator.hasNext()) {
+                credit -= sendQueryResult(resultIterator.next());
+            }
+            finished = queryCancelled || !resultIterator.hasNext();
+        } catch (Throwable e) {
+            // Interrupting a cancelled query may cause an exception, which is not reported to the client
+            if (!queryCancelled) errorMessage = getErrorMessage(e);
+            finished = true;
+        } finally {
+            synchronized (this) {
+                queryThread = null;
+            }
+            // The lane is given to other sessions, so clear any interrupt aimed at this query
+            //noinspection ResultOfMethodCallIgnored
+            Thread.interrupted();
+        }
+
+        if (finished) endQuery(errorMessage);
+    }
+
+    /**
+     * Close the results of the current query and tell the client the query has ended
+     */
+    private void endQuery(String errorMessage) {
+        if (results != null) results.close();
+        results = null;
+        resultIterator = null;
+
+        // Refresh the graph, in case it has been closed by analytics
+        // TODO: Handle this elsewhere (analytics or graph factory?)
+        attemptRefresh();
+
+        if (errorMessage != null) {
+            if (queries != null && !queries.stream().allMatch(Query::isReadOnly)) {
+                attemptRollback();
+            }
+            sendQueryError(errorMessage);
+        } else {
+            sendEnd();
+        }
+
+        queries = null;
+    }
+
+    private String getErrorMessage(Throwable e) {
+        String errorMessage;
+        if (e instanceof IllegalArgumentException || e instanceof IllegalStateException || e instanceof ConceptException) {
+            errorMessage = e.getMessage();
+        } else {
+            errorMessage = "An unexpected error occurred";
+        }
+        LOG.error(errorMessage, e);
+        return errorMessage;
     }
 
     /**
@@ -277,17 +375,22 @@ class GraqlSession {
 
     /**
      * Send a single query result back to the client
+     *
+     * @return the number of messages sent, each of which uses one credit
      */
-    private void sendQueryResult(String result) {
+    private int sendQueryResult(String result) {
         // Split result into chunks
         Iterable<String> splitResult = Splitter.fixedLength(QUERY_CHUNK_SIZE).split(result + "\n");
 
+        int messages = 0;
         for (String resultChunk : splitResult) {
             sendJson(Json.object(
                     ACTION, ACTION_QUERY,
                     QUERY_RESULT, resultChunk
             ));
+            messages++;
         }
+        return messages;
     }
 
     /**
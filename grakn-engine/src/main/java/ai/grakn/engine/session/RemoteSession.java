@@ -23,6 +23,7 @@ import ai.grakn.GraknGraph;
 import ai.grakn.engine.GraknEngineServer;
 import ai.grakn.engine.user.UsersHandler;
 import ai.grakn.util.REST;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import mjson.Json;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -32,8 +33,11 @@ import org.eclipse.jetty.websocket.api.annotations.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static ai.grakn.util.REST.RemoteShell.ACTION;
@@ -46,10 +50,19 @@ import static ai.grakn.util.REST.RemoteShell.USERNAME;
  */
 @WebSocket
 public class RemoteSession {
-    private final Map<Session, GraqlSession> sessions = new HashMap<>();
+    private final Map<Session, GraqlSession> sessions = new ConcurrentHashMap<>();
     private final Function<String, GraknGraph> getGraph;
     private final Logger LOG = LoggerFactory.getLogger(RemoteSession.class);
 
+    private static final int PING_INTERVAL = 60_000;
+
+    private final SessionExecutor sessionExecutor;
+
+    // A single timer pings every open session, rather than one thread per session
+    private final ScheduledExecutorService pingTimer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("graql-session-ping").setDaemon(true).build()
+    );
+
     //TODO dont use the default uri
     // This constructor is magically invoked by spark's websocket stuff
     @SuppressWarnings("unused")
@@ -58,7 +71,17 @@ public class RemoteSession {
     }
 
     public RemoteSession(Function<String, GraknGraph> getGraph) {
+        this(getGraph, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param getGraph gets the graph of a keyspace
+     * @param maxLanes the most threads which run the requests of sessions
+     */
+    public RemoteSession(Function<String, GraknGraph> getGraph, int maxLanes) {
         this.getGraph = getGraph;
+        this.sessionExecutor = new SessionExecutor(maxLanes);
+        pingTimer.scheduleAtFixedRate(this::ping, PING_INTERVAL, PING_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     @OnWebSocketConnect
@@ -74,7 +97,8 @@ public class RemoteSession {
         } else {
             LOG.error(message);
         }
-        sessions.remove(session).close();
+        GraqlSession graqlSession = sessions.remove(session);
+        if (graqlSession != null) graqlSession.end();
     }
 
     @OnWebSocketMessage
@@ -103,8 +127,12 @@ public class RemoteSession {
             boolean showImplicitTypes = json.at(REST.RemoteShell.IMPLICIT).asBoolean();
             boolean infer = json.at(REST.RemoteShell.INFER).asBoolean();
             boolean materialise = json.at(REST.RemoteShell.MATERIALISE).asBoolean();
+            // Older clients never send credit, so they are sent every result without waiting for it
+            boolean flowControl = json.has(REST.RemoteShell.FLOW_CONTROL) &&
+                    json.at(REST.RemoteShell.FLOW_CONTROL).asBoolean();
             GraqlSession graqlSession = new GraqlSession(
-                    session, () -> getGraph.apply(keyspace), outputFormat, showImplicitTypes, infer, materialise
+                    session, () -> getGraph.apply(keyspace), outputFormat, showImplicitTypes, infer, materialise,
+                    flowControl, sessionExecutor
             );
             sessions.put(session, graqlSession);
         } else {
@@ -112,6 +140,19 @@ public class RemoteSession {
         }
     }
 
+    /**
+     * Ping every open session, so that idle connections are not dropped
+     */
+    private void ping() {
+        sessions.values().forEach(graqlSession -> {
+            try {
+                graqlSession.ping();
+            } catch (Throwable e) {
+                LOG.error("Error during ping", e);
+            }
+        });
+    }
+
     private boolean sessionAuthorised(Json json) {
         if (!GraknEngineServer.isPasswordProtected) return true;
 
@@ -0,0 +1,231 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.session;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ *     A bounded pool of threads shared by all Graql shell sessions
+ * </p>
+ *
+ * <p>
+ *     Every session runs its requests in order, one at a time, on a lane: a single pooled thread. A session only holds
+ *     a lane while it has requests to run, or while its transaction has uncommitted changes or results still to send.
+ *     Transactions are bound to their thread, so that state cannot leave the lane. An idle session closes its
+ *     transaction and gives its lane back, and its next request opens a new transaction on whichever lane is free.
+ *
+ *     There are never more lanes than the bound. When every lane is taken, sessions wait in turn for the next lane
+ *     to be given back.
+ * </p>
+ */
+class SessionExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionExecutor.class);
+
+    private final int maxLanes;
+    private int lanes = 0;
+    private final Deque<ExecutorService> idle = new ArrayDeque<>();
+    private final Deque<Requests> waiting = new ArrayDeque<>();
+    private final ThreadFactory threadFactory =
+            new ThreadFactoryBuilder().setNameFormat("graql-session-%d").setDaemon(true).build();
+
+    SessionExecutor(int maxLanes) {
+        this.maxLanes = maxLanes;
+    }
+
+    /**
+     * @param transaction the transaction of a new session
+     * @return the queue the session must run all of its requests on
+     */
+    Requests requests(Transaction transaction) {
+        return new Requests(transaction);
+    }
+
+    /**
+     * Run the requests of a session on its lane, giving it a lane first if it does not hold one
+     */
+    private synchronized void schedule(Requests requests) {
+        if (requests.lane == null) {
+            ExecutorService lane = idle.pollFirst();
+            if (lane == null && lanes < maxLanes) {
+                lanes++;
+                lane = Executors.newSingleThreadExecutor(threadFactory);
+            }
+            if (lane == null) {
+                waiting.addLast(requests);
+                return;
+            }
+            requests.lane = lane;
+        }
+        requests.lane.submit(requests::run);
+    }
+
+    /**
+     * Give a lane which is no longer held by a session to the session which has waited longest for one
+     */
+    private synchronized void release(ExecutorService lane) {
+        Requests next = waiting.pollFirst();
+        if (next != null) {
+            next.lane = lane;
+            lane.submit(next::run);
+        } else {
+            idle.addFirst(lane);
+        }
+    }
+
+    /**
+     * The transaction of a session, which is opened on the lane the session runs on
+     */
+    interface Transaction {
+        /**
+         * Open the transaction on the current thread
+         */
+        void open();
+
+        /**
+         * @return true if the transaction holds state which is bound to the current thread, such as uncommitted
+         * changes or results still to send
+         */
+        boolean isActive();
+
+        /**
+         * Close the transaction on the current thread
+         */
+        void close();
+    }
+
+    /**
+     * The requests of a single session, which are run in order
+     */
+    class Requests {
+        private final Transaction transaction;
+        private final Deque<Runnable> pending = new ArrayDeque<>();
+        private ExecutorService lane = null;
+        private boolean scheduled = false;
+        private boolean closed = false;
+        private boolean open = false; // Only used on the lane
+
+        private Requests(Transaction transaction) {
+            this.transaction = transaction;
+        }
+
+        /**
+         * @param task a request of the session, run after all the requests the session has already submitted
+         */
+        void submit(Runnable task) {
+            synchronized (SessionExecutor.this) {
+                pending.addLast(task);
+                if (!scheduled) {
+                    scheduled = true;
+                    schedule(this);
+                }
+            }
+        }
+
+        /**
+         * Submit the last request of a closed session. The session gives up its lane once the request has run.
+         *
+         * @param task the last request of the session
+         */
+        void close(Runnable task) {
+            synchronized (SessionExecutor.this) {
+                closed = true;
+            }
+            submit(task);
+        }
+
+        /**
+         * Run the pending requests, then give up the lane unless the transaction is still active
+         */
+        private void run() {
+            while (true) {
+                Runnable task;
+                synchronized (SessionExecutor.this) {
+                    task = pending.pollFirst();
+                }
+
+                if (task != null) {
+                    runInTransaction(task);
+                    continue;
+                }
+
+                boolean keepLane = !isClosed() && open && isActive();
+                if (!keepLane && open) {
+                    closeTransaction();
+                }
+
+                synchronized (SessionExecutor.this) {
+                    if (!pending.isEmpty()) continue;
+                    scheduled = false;
+                    if (!keepLane) {
+                        ExecutorService released = lane;
+                        lane = null;
+                        release(released);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void runInTransaction(Runnable task) {
+            try {
+                if (!open && !isClosed()) {
+                    transaction.open();
+                    open = true;
+                }
+                task.run();
+            } catch (Throwable e) {
+                LOG.error("Error during request of session", e);
+            }
+        }
+
+        private boolean isActive() {
+            try {
+                return transaction.isActive();
+            } catch (Throwable e) {
+                LOG.error("Error checking transaction of session", e);
+                return false;
+            }
+        }
+
+        private void closeTransaction() {
+            open = false;
+            try {
+                transaction.close();
+            } catch (Throwable e) {
+                LOG.error("Error closing transaction of session", e);
+            }
+        }
+
+        private boolean isClosed() {
+            synchronized (SessionExecutor.this) {
+                return closed;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.engine.util;
+
+import ai.grakn.util.ErrorMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ *     A file of records, one per line, which is only ever appended to
+ * </p>
+ *
+ * <p>
+ *     The owner of the log replays it to rebuild its state and appends a record for every change. Once most of the
+ *     records have been superseded the log is compacted by writing the current state to a sibling file, which then
+ *     replaces the log. The log can still be appended to if compaction fails.
+ *
+ *     Appended records are buffered until {@link #flush()} is called. The log is not thread safe, so the owner
+ *     synchronises access to it.
+ * </p>
+ */
+public class AppendOnlyLog implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(AppendOnlyLog.class);
+    private static final long MIN_COMPACTION_SIZE = 10_000;
+
+    private final Path path;
+    private final ErrorMessage error;
+    private BufferedWriter writer;
+    private long numRecords = 0;
+    private long numRecordsAtLastCheck = 0;
+
+    private AppendOnlyLog(Path path, ErrorMessage error){
+        this.path = path;
+        this.error = error;
+    }
+
+    /**
+     * Open a log, creating it if it does not exist
+     * @param path the file the log is kept in
+     * @param error the message of the exceptions thrown when the file cannot be read or written, given the path
+     * @return the log, positioned at its end
+     */
+    public static AppendOnlyLog open(Path path, ErrorMessage error){
+        AppendOnlyLog log = new AppendOnlyLog(path, error);
+        try {
+            if(path.getParent() != null) Files.createDirectories(path.getParent());
+            log.openWriter();
+        } catch (IOException e) {
+            throw log.failure(e);
+        }
+        return log;
+    }
+
+    /**
+     * Read the log from the start
+     * @param apply applied to each record in the order they were appended
+     */
+    public void replay(Consumer<String> apply){
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                numRecords++;
+                apply.accept(line);
+            }
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * @param record the record to append, which must not contain a line break
+     */
+    public void append(String record){
+        try {
+            writer.write(record);
+            writer.newLine();
+            numRecords++;
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Write the buffered records to the log
+     */
+    public void flush(){
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Rewrite the log with only the current state, if most of it is made up of superseded records
+     * @param numCurrentRecords the number of records needed to write the current state, only asked for once enough
+     *                          has been appended since the last check
+     * @param writeCurrentState writes the records of the current state to the consumer it is given
+     */
+    public void compactIfNeeded(LongSupplier numCurrentRecords, Consumer<Consumer<String>> writeCurrentState){
+        if(numRecords - numRecordsAtLastCheck < MIN_COMPACTION_SIZE) return;
+        numRecordsAtLastCheck = numRecords;
+
+        if(numRecords < 2 * numCurrentRecords.getAsLong()) return;
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compacted");
+        try {
+            writer.close();
+            long[] numWritten = {0};
+            try (BufferedWriter compactedWriter = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+                writeCurrentState.accept(record -> {
+                    try {
+                        compactedWriter.write(record);
+                        compactedWriter.newLine();
+                        numWritten[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            numRecords = numWritten[0];
+            numRecordsAtLastCheck = numRecords;
+        } catch (IOException e) {
+            throw failure(e);
+        } catch (UncheckedIOException e) {
+            throw failure(e.getCause());
+        } finally {
+            // Keep appending to the log whether or not it was compacted
+            try {
+                openWriter();
+            } catch (IOException e) {
+                LOG.error("Could not reopen log [" + path + "]", e);
+            }
+            try {
+                Files.deleteIfExists(compacted);
+            } catch (IOException e) {
+                LOG.warn("Could not delete partially compacted log [" + compacted + "]", e);
+            }
+        }
+    }
+
+    @Override
+    public void close(){
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw failure(e);
+        }
+    }
+
+    private void openWriter() throws IOException {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private RuntimeException failure(IOException e){
+        return new RuntimeException(error.getMessage(path), e);
+    }
+}
@@ -47,6 +47,9 @@ public class ConfigProperties {
 
     public static final String BATCH_SIZE_PROPERTY = "blockingLoader.batch-size";
 
+    public static final String IMPORT_CONCURRENT_JOBS_PROPERTY = "import.concurrent-jobs";
+    public static final String IMPORT_QUEUE_SIZE_PROPERTY = "import.queue-size";
+
     public static final String NUM_THREADS_PROPERTY = "loader.threads";
     public static final String POLLING_FREQUENCY_PROPERTY = "loader.polling-frequency";
     public static final String JWT_SECRET_PROPERTY = "JWT.secret";
@@ -61,6 +64,7 @@ public class ConfigProperties {
 
     public static final String POST_PROCESSING_DELAY = "backgroundTasks.post-processing-delay";
     public static final String TIME_LAPSE = "backgroundTasks.time-lapse";
+    public static final String POST_PROCESSING_JOURNAL = "backgroundTasks.post-processing-journal";
 
     public static final String STATIC_FILES_PATH = "server.static-file-dir";
     public static final String LOGGING_FILE_PATH_MAIN = "logging.file.main";
@@ -98,6 +102,8 @@ public class ConfigProperties {
     public static final String SCHEDULER_POLLING_FREQ = "tasks.scheduler.polling-frequency";
     public static final String TASKRUNNER_POLLING_FREQ = "tasks.runner.polling-frequency";
     public static final String TASK_MANAGER_INSTANCE = "tasks.task-manager";
+    public static final String TASK_STATE_STORAGE = "tasks.state-storage";
+    public static final String TASK_STATE_STORAGE_FILE = "tasks.state-storage.file";
 
     private Logger LOG;
 
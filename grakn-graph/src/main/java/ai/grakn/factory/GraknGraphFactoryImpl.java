@@ -24,6 +24,7 @@ import ai.grakn.GraknGraph;
 import ai.grakn.GraknGraphFactory;
 import ai.grakn.util.EngineCommunicator;
 import ai.grakn.graph.internal.GraknComputerImpl;
+import ai.grakn.graph.internal.computer.LocalGraphComputer;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -86,7 +87,12 @@ public class GraknGraphFactoryImpl implements GraknGraphFactory {
      */
     public GraknComputer getGraphComputer() {
         ConfiguredFactory configuredFactory = configureGraphFactory(keyspace, location, REST.GraphConfig.COMPUTER);
-        Graph graph = configuredFactory.factory.getTinkerPopGraph(false);
+
+        //The local computer reads the graph directly rather than through an input format
+        ConfiguredFactory graphFactory = LocalGraphComputer.class.getName().equals(configuredFactory.graphComputer) ?
+                getConfiguredFactory() : configuredFactory;
+
+        Graph graph = graphFactory.factory.getTinkerPopGraph(false);
         return new GraknComputerImpl(graph, configuredFactory.graphComputer);
     }
 
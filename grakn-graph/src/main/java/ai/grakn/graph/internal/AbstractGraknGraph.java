@@ -21,6 +21,7 @@ package ai.grakn.graph.internal;
 import ai.grakn.Grakn;
 import ai.grakn.GraknAdmin;
 import ai.grakn.GraknGraph;
+import ai.grakn.GraknStatistics;
 import ai.grakn.concept.Concept;
 import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.EntityType;
@@ -39,10 +40,14 @@ import ai.grakn.exception.GraphRuntimeException;
 import ai.grakn.exception.MoreThanOneConceptException;
 import ai.grakn.graql.QueryBuilder;
 import ai.grakn.graql.internal.query.QueryBuilderImpl;
+import ai.grakn.graql.internal.query.analytics.AnalyticsCache;
+import ai.grakn.graql.internal.reasoner.Reasoner;
+import ai.grakn.graql.internal.reasoner.query.AnswerTable;
 import ai.grakn.util.EngineCommunicator;
 import ai.grakn.util.ErrorMessage;
 import ai.grakn.util.REST;
 import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -59,13 +64,21 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
-
 /**
  * <p>
  *    The Grakn Graph Base Implementation
@@ -82,29 +95,50 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
  */
 public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph, GraknAdmin {
     protected final Logger LOG = LoggerFactory.getLogger(AbstractGraknGraph.class);
+    //Materialises every inference again after types or rules change, so that those commits do not wait for it
+    private static final ExecutorService REMATERIALISER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grakn-rematerialiser");
+        thread.setDaemon(true);
+        return thread;
+    });
+    //Tells engine about commits in the order they were made, without holding up or failing the committing thread
+    private static final ExecutorService COMMIT_LOG_SUBMITTER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grakn-commit-log-submitter");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final ElementFactory elementFactory;
     private final String keyspace;
     private final String engine;
     private final boolean batchLoadingEnabled;
     private final G graph;
+    private final KeyspaceStatistics statistics;
+    private final OntologyCache ontologyCache;
 
     private final ThreadLocal<ConceptLog> localConceptLog = new ThreadLocal<>();
     private final ThreadLocal<Boolean> localIsOpen = new ThreadLocal<>();
     private final ThreadLocal<String> localClosedReason = new ThreadLocal<>();
     private final ThreadLocal<Boolean> localShowImplicitStructures = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> localMaterialiseOnCommit = new ThreadLocal<>();
 
     private boolean committed; //Shared between multiple threads so we know if a refresh must be performed
+    private volatile boolean indicesMigrated = false; //Once true it stays true, see hasLegacyIndices
+    private final AtomicBoolean rematerialisationPending = new AtomicBoolean(false);
+    private volatile Future<?> rematerialisation = CompletableFuture.completedFuture(null);
 
     public AbstractGraknGraph(G graph, String keyspace, String engine, boolean batchLoadingEnabled) {
         this.graph = graph;
         this.keyspace = keyspace;
         this.engine = engine;
+        this.statistics = KeyspaceStatistics.get(keyspace);
+        this.ontologyCache = OntologyCache.get(keyspace);
         localIsOpen.set(true);
         elementFactory = new ElementFactory(this);
 
         if(initialiseMetaConcepts()) {
             try {
                 commit();
+                ontologyCache.invalidate();
             } catch (GraknValidationException e) {
                 throw new RuntimeException(ErrorMessage.CREATING_ONTOLOGY_ERROR.getMessage(e.getMessage()));
             }
@@ -180,6 +214,8 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
             ruleType.property(Schema.ConceptProperty.IS_ABSTRACT.name(), true);
             entityType.property(Schema.ConceptProperty.IS_ABSTRACT.name(), true);
 
+            type.property(Schema.ConceptProperty.INDEX_FORMAT.name(), IndexKey.FORMAT);
+
             relationType.addEdge(Schema.EdgeLabel.SUB.getLabel(), type);
             roleType.addEdge(Schema.EdgeLabel.SUB.getLabel(), type);
             resourceType.addEdge(Schema.EdgeLabel.SUB.getLabel(), type);
@@ -198,6 +234,38 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         return getMetaConcept() == null;
     }
 
+    /**
+     * Keyspaces created before indices were digests may still have relations, resources and castings with their old
+     * indices, until they are rewritten by {@link #updateConceptIndex(Object)} and the keyspace is marked as migrated.
+     * The mark is read from the graph, so other processes see it too, and is no longer read once it has been seen.
+     *
+     * @return true if the keyspace has not been marked as migrated
+     */
+    boolean hasLegacyIndices(){
+        if(!indicesMigrated){
+            indicesMigrated = getTinkerTraversal().
+                    has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName()).
+                    has(Schema.ConceptProperty.INDEX_FORMAT.name(), P.gte(IndexKey.FORMAT)).hasNext();
+        }
+        return !indicesMigrated;
+    }
+
+    /**
+     * Looks up a relation, resource or casting by its index. Keyspaces which have not been migrated are also searched
+     * by the index the concept had before indices were digests.
+     *
+     * @param index The index of the concept
+     * @param legacyIndex The index the concept had before indices were digests
+     * @return The concept with the index, or null if there is none
+     */
+    <T extends Concept> T getConceptByIndex(String index, Supplier<String> legacyIndex){
+        T concept = getConcept(Schema.ConceptProperty.INDEX, index);
+        if(concept == null && hasLegacyIndices()){
+            concept = getConcept(Schema.ConceptProperty.INDEX, legacyIndex.get());
+        }
+        return concept;
+    }
+
     public G getTinkerPopGraph(){
         if(isClosed()){
             String reason = localClosedReason.get();
@@ -216,6 +284,42 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         return getTinkerPopGraph().traversal().asBuilder().with(readOnlyStrategy).create(getTinkerPopGraph()).V();
     }
 
+    @Override
+    public GraknStatistics getStatistics(){
+        return new GraphStatistics(this, statistics);
+    }
+
+    /**
+     * @return true if the vendor graph has a search index over resource values, so that predicates such as ranges
+     * can be answered by an index lookup instead of a scan
+     */
+    protected boolean hasValueIndex(){
+        return false;
+    }
+
+    @Override
+    public boolean hasUncommittedChanges(){
+        return getConceptLog().hasChanges();
+    }
+
+    @Override
+    public Optional<String> getCommitVersion(){
+        ConceptImpl meta = (ConceptImpl) getMetaConcept();
+        if(meta == null) return Optional.empty();
+        Object version = meta.getProperty(Schema.ConceptProperty.COMMIT_VERSION);
+        return Optional.ofNullable(version).map(Object::toString);
+    }
+
+    @Override
+    public void materialiseOnCommit(boolean flag){
+        localMaterialiseOnCommit.set(flag);
+    }
+
+    @Override
+    public boolean materialisesOnCommit(){
+        return getBooleanFromLocalThread(localMaterialiseOnCommit);
+    }
+
     @Override
     public QueryBuilder graql(){
         return new QueryBuilderImpl(this);
@@ -370,10 +474,34 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     public <T extends Concept> T getConcept(ConceptId id) {
         return getConcept(Schema.ConceptProperty.ID, id.getValue());
     }
+    @SuppressWarnings("unchecked")
     private <T extends Type> T getTypeByName(String name){
+        Optional<OntologyCache.Snapshot> snapshot = getOntologySnapshot();
+        if(snapshot.isPresent()){
+            Object typeId = snapshot.get().getTypeId(name);
+            if(typeId != null){
+                Concept concept = getConceptByBaseIdentifier(typeId);
+                if(concept != null && concept.isType() && name.equals(concept.asType().getName())) return (T) concept;
+            }
+        }
         return getConcept(Schema.ConceptProperty.NAME, name);
     }
 
+    /**
+     * The snapshot is not used by transactions which have changed the ontology, because it does not include their
+     * changes.
+     *
+     * @return The snapshot of the committed ontology of the keyspace, or empty if it cannot be used by this transaction
+     */
+    Optional<OntologyCache.Snapshot> getOntologySnapshot(){
+        ConceptLog conceptLog = getConceptLog();
+        if(conceptLog.hasOntologyChanges()) return Optional.empty();
+        if(conceptLog.getOntologySnapshot() == null) {
+            ontologyCache.getSnapshot(this).ifPresent(conceptLog::setOntologySnapshot);
+        }
+        return Optional.ofNullable(conceptLog.getOntologySnapshot());
+    }
+
     @Override
     public <V> Collection<Resource<V>> getResourcesByValue(V value) {
         HashSet<Resource<V>> resources = new HashSet<>();
@@ -463,6 +591,9 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     //------------------------------------ Construction
     private CastingImpl addCasting(RoleTypeImpl role, InstanceImpl rolePlayer){
         CastingImpl casting = elementFactory.buildCasting(addVertex(Schema.BaseType.CASTING), role).setHash(role, rolePlayer);
+        getConceptLog().cacheCasting(CastingImpl.generateNewHash(role, rolePlayer), casting);
+        getConceptLog().trackInstanceAdded(role.getName(), Schema.BaseType.CASTING);
+        getConceptLog().trackCastingAdded(role.getName());
         if(rolePlayer != null) {
             EdgeImpl castingToRolePlayer = addEdge(casting, rolePlayer, Schema.EdgeLabel.ROLE_PLAYER); // Casting to RolePlayer
             castingToRolePlayer.setProperty(Schema.EdgeProperty.ROLE_TYPE, role.getId().getValue());
@@ -491,9 +622,16 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     private CastingImpl getCasting(RoleTypeImpl role, InstanceImpl rolePlayer){
         try {
             String hash = CastingImpl.generateNewHash(role, rolePlayer);
-            ConceptImpl concept = getConcept(Schema.ConceptProperty.INDEX, hash);
+            CastingImpl casting = getConceptLog().getCachedCasting(hash);
+            if (casting != null) {
+                return casting;
+            }
+
+            ConceptImpl concept = getConceptByIndex(hash, () -> CastingImpl.generateLegacyHash(role, rolePlayer));
             if (concept != null) {
-                return concept.asCasting();
+                casting = concept.asCasting();
+                getConceptLog().cacheCasting(hash, casting);
+                return casting;
             } else {
                 return null;
             }
@@ -502,52 +640,82 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         }
     }
 
+    /**
+     * Adds the missing shortcut edges between every pair of role players of a relation. Shortcuts which are not yet
+     * known to the {@link ConceptLog} are looked up together in a single traversal over the shortcut hash index.
+     * A relation created within the transaction needs no lookup at all.
+     */
     private void putShortcutEdges(Relation relation, RelationType relationType){
         Map<RoleType, Instance> roleMap = relation.rolePlayers();
-        if(roleMap.size() > 1) {
-            for(Map.Entry<RoleType, Instance> from : roleMap.entrySet()){
-                for(Map.Entry<RoleType, Instance> to :roleMap.entrySet()){
-                    if (from.getValue() != null && to.getValue() != null && from.getKey() != to.getKey()) {
-                        putShortcutEdge(
-                                relation,
-                                relationType.asRelationType(),
-                                from.getKey().asRoleType(),
-                                from.getValue().asInstance(),
-                                to.getKey().asRoleType(),
-                                to.getValue().asInstance());
-                    }
+        if(roleMap.size() <= 1) return;
+
+        Map<String, Shortcut> missing = new HashMap<>();
+        for(Map.Entry<RoleType, Instance> from : roleMap.entrySet()){
+            for(Map.Entry<RoleType, Instance> to :roleMap.entrySet()){
+                if (from.getValue() != null && to.getValue() != null && from.getKey() != to.getKey()) {
+                    Shortcut shortcut = new Shortcut(from.getKey(), (InstanceImpl) from.getValue(), to.getKey(), (InstanceImpl) to.getValue());
+                    String hash = calculateShortcutHash(relation, relationType, shortcut.fromRole, shortcut.from, shortcut.toRole, shortcut.to);
+                    if(!getConceptLog().isShortcutKnown(hash)) missing.put(hash, shortcut);
                 }
             }
         }
+        if(missing.isEmpty()) return;
+
+        if(!getConceptLog().isRelationAdded(relation.getId().getValue())) {
+            Object[] fromRolePlayers = missing.values().stream().map(shortcut -> shortcut.from.getBaseIdentifier()).distinct().toArray();
+            getTinkerPopGraph().traversal().V(fromRolePlayers).
+                    outE(Schema.EdgeLabel.SHORTCUT.getLabel()).
+                    has(Schema.EdgeProperty.SHORTCUT_HASH.name(), P.within(missing.keySet())).
+                    <String>values(Schema.EdgeProperty.SHORTCUT_HASH.name()).
+                    forEachRemaining(hash -> {
+                        missing.remove(hash);
+                        getConceptLog().cacheShortcut(hash);
+                    });
+        }
+
+        missing.forEach((hash, shortcut) -> putShortcutEdge(hash, relation, relationType, shortcut));
     }
 
-    private void putShortcutEdge(Relation  relation, RelationType  relationType, RoleType fromRole, Instance from, RoleType  toRole, Instance to){
-        InstanceImpl fromRolePlayer = (InstanceImpl) from;
-        InstanceImpl toRolePlayer = (InstanceImpl) to;
+    private void putShortcutEdge(String hash, Relation relation, RelationType relationType, Shortcut shortcut){
+        InstanceImpl fromRolePlayer = shortcut.from;
+        InstanceImpl toRolePlayer = shortcut.to;
 
-        String hash = calculateShortcutHash(relation, relationType, fromRole, fromRolePlayer, toRole, toRolePlayer);
-        boolean exists = getTinkerPopGraph().traversal().V(fromRolePlayer.getBaseIdentifier()).
-                    local(outE(Schema.EdgeLabel.SHORTCUT.getLabel()).has(Schema.EdgeProperty.SHORTCUT_HASH.name(), hash)).
-                    hasNext();
+        EdgeImpl edge = addEdge(fromRolePlayer, toRolePlayer, Schema.EdgeLabel.SHORTCUT);
+        edge.setProperty(Schema.EdgeProperty.RELATION_TYPE_NAME, relationType.getName());
+        edge.setProperty(Schema.EdgeProperty.RELATION_ID, relation.getId().getValue());
 
-        if (!exists) {
-            EdgeImpl edge = addEdge(fromRolePlayer, toRolePlayer, Schema.EdgeLabel.SHORTCUT);
-            edge.setProperty(Schema.EdgeProperty.RELATION_TYPE_NAME, relationType.getName());
-            edge.setProperty(Schema.EdgeProperty.RELATION_ID, relation.getId().getValue());
+        if (fromRolePlayer.getId() != null) {
+            edge.setProperty(Schema.EdgeProperty.FROM_ID, fromRolePlayer.getId().getValue());
+        }
+        edge.setProperty(Schema.EdgeProperty.FROM_ROLE_NAME, shortcut.fromRole.getName());
 
-            if (fromRolePlayer.getId() != null) {
-                edge.setProperty(Schema.EdgeProperty.FROM_ID, fromRolePlayer.getId().getValue());
-            }
-            edge.setProperty(Schema.EdgeProperty.FROM_ROLE_NAME, fromRole.getName());
+        if (toRolePlayer.getId() != null) {
+            edge.setProperty(Schema.EdgeProperty.TO_ID, toRolePlayer.getId().getValue());
+        }
+        edge.setProperty(Schema.EdgeProperty.TO_ROLE_NAME, shortcut.toRole.getName());
 
-            if (toRolePlayer.getId() != null) {
-                edge.setProperty(Schema.EdgeProperty.TO_ID, toRolePlayer.getId().getValue());
-            }
-            edge.setProperty(Schema.EdgeProperty.TO_ROLE_NAME, toRole.getName());
+        edge.setProperty(Schema.EdgeProperty.FROM_TYPE_NAME, fromRolePlayer.type().getName());
+        edge.setProperty(Schema.EdgeProperty.TO_TYPE_NAME, toRolePlayer.type().getName());
+        edge.setProperty(Schema.EdgeProperty.SHORTCUT_HASH, hash);
+
+        getConceptLog().cacheShortcut(hash);
+        getConceptLog().trackShortcutAdded(shortcut.fromRole.getName());
+    }
 
-            edge.setProperty(Schema.EdgeProperty.FROM_TYPE_NAME, fromRolePlayer.type().getName());
-            edge.setProperty(Schema.EdgeProperty.TO_TYPE_NAME, toRolePlayer.type().getName());
-            edge.setProperty(Schema.EdgeProperty.SHORTCUT_HASH, hash);
+    /**
+     * A pair of role players of a relation which are joined by a shortcut edge
+     */
+    private static class Shortcut {
+        private final RoleType fromRole;
+        private final InstanceImpl from;
+        private final RoleType toRole;
+        private final InstanceImpl to;
+
+        private Shortcut(RoleType fromRole, InstanceImpl from, RoleType toRole, InstanceImpl to){
+            this.fromRole = fromRole;
+            this.from = from;
+            this.toRole = toRole;
+            this.to = to;
         }
     }
 
@@ -573,16 +741,49 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     @Override
     public Relation getRelation(RelationType relationType, Map<RoleType, Instance> roleMap){
         String hash = RelationImpl.generateNewHash(relationType, roleMap);
-        Concept concept = getConceptLog().getCachedRelation(hash);
+        RelationImpl relation = getRelations(Collections.singleton(hash)).get(hash);
 
-        if(concept == null) {
-            concept = getConcept(Schema.ConceptProperty.INDEX, hash);
+        if(relation == null && hasLegacyIndices()){
+            ConceptImpl concept = getConcept(Schema.ConceptProperty.INDEX, RelationImpl.generateLegacyHash(relationType, roleMap));
+            if(concept != null && concept.isRelation()) relation = (RelationImpl) concept;
         }
 
-        if(concept == null) {
-            return null;
+        //The index is a digest, so make sure the relation found really has this type and these role players
+        if(relation != null && !relation.matches(relationType, roleMap)) return null;
+        return relation;
+    }
+
+    /**
+     * Looks up relations by their index. Indices which have not been looked up within the transaction are resolved
+     * together in a single traversal and the results, including missing relations, are memoised in the
+     * {@link ConceptLog}.
+     *
+     * @param hashes The indices of the relations, see {@link RelationImpl#generateNewHash(RelationType, Map)}
+     * @return The relations which were found, keyed by their index
+     */
+    private Map<String, RelationImpl> getRelations(Collection<String> hashes){
+        Set<String> unresolved = hashes.stream().
+                filter(hash -> !getConceptLog().isRelationIndexResolved(hash)).
+                collect(Collectors.toSet());
+
+        if(!unresolved.isEmpty()) {
+            Map<String, RelationImpl> found = new HashMap<>();
+            getTinkerTraversal().has(Schema.ConceptProperty.INDEX.name(), P.within(unresolved)).forEachRemaining(vertex -> {
+                ConceptImpl concept = elementFactory.buildConcept(vertex);
+                String hash = vertex.value(Schema.ConceptProperty.INDEX.name());
+                if(concept.isRelation() && found.put(hash, (RelationImpl) concept) != null && !isBatchLoadingEnabled()){
+                    throw new MoreThanOneConceptException(ErrorMessage.TOO_MANY_CONCEPTS.getMessage(Schema.ConceptProperty.INDEX.name(), hash));
+                }
+            });
+            unresolved.forEach(hash -> getConceptLog().cacheRelationIndex(hash, found.get(hash)));
         }
-        return concept.asRelation();
+
+        Map<String, RelationImpl> relations = new HashMap<>();
+        hashes.forEach(hash -> {
+            RelationImpl relation = getConceptLog().getCachedRelation(hash);
+            if(relation != null) relations.put(hash, relation);
+        });
+        return relations;
     }
 
     @Override
@@ -602,6 +803,10 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     public void clear() {
         EngineCommunicator.contactEngine(getCommitLogEndPoint(), REST.HttpConn.DELETE_METHOD);
         clearGraph();
+        statistics.clear();
+        ontologyCache.invalidate();
+        AnswerTable.get(getKeyspace()).clear(null);
+        AnalyticsCache.get(getKeyspace()).clear(null);
         finaliseClose(this::closePermanent, ErrorMessage.CLOSED_CLEAR.getMessage());
     }
 
@@ -660,6 +865,15 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
     public void commit(boolean submitLogs) throws GraknValidationException {
         validateGraph();
 
+        // Graphs of the keyspace in other JVMs notice the new version and discard their snapshot of the ontology
+        if(getConceptLog().hasOntologyChanges()) stampVersion(Schema.ConceptProperty.ONTOLOGY_VERSION);
+
+        // Anything computed from an earlier version of the data, such as the projection of the local graph computer,
+        // is known to be out of date
+        String previousCommitVersion = getCommitVersion().orElse(null);
+        String commitVersion = previousCommitVersion;
+        if(getConceptLog().hasChanges()) commitVersion = stampVersion(Schema.ConceptProperty.COMMIT_VERSION);
+
         Map<Schema.BaseType, Set<String>> modifiedConcepts = new HashMap<>();
         Set<String> castings = getConceptLog().getModifiedCastingIds();
         Set<String> resources = getConceptLog().getModifiedResourceIds();
@@ -674,12 +888,193 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         LOG.debug("Graph is valid. Committing graph . . . ");
         commitTx();
         LOG.debug("Graph committed.");
+        statistics.commit(getConceptLog());
+        if(getConceptLog().hasOntologyChanges()) ontologyCache.invalidate();
+        Optional<Set<String>> modifiedTypeNames = getModifiedTypeNames();
+        invalidateCachedResults(modifiedTypeNames, previousCommitVersion, commitVersion);
+        Set<ConceptId> changedIds = new HashSet<>();
+        Set<String> deletedTypeNames = new HashSet<>();
+        if(materialisesOnCommit()) {
+            // A casting which lost its relation has changed what its role player takes part in
+            for(ConceptImpl concept : getConceptLog().getConceptsWithChangedEdges()) {
+                if(concept.isCasting()) {
+                    InstanceImpl<?, ?> rolePlayer = concept.asCasting().getRolePlayer();
+                    if(rolePlayer != null) changedIds.add(rolePlayer.getId());
+                } else if(concept.isInstance()) {
+                    changedIds.add(concept.getId());
+                }
+            }
+            getConceptLog().getDeletedTypeNames().forEach(typeName -> deletedTypeNames.addAll(getTypeNames(typeName)));
+        }
         getConceptLog().clearTransaction();
 
-        if(submitLogs && modifiedConcepts.size() > 0) {
-            submitCommitLogs(modifiedConcepts);
+        // Engine is also told about commits with nothing to post process, so it can invalidate its cached results
+        boolean typesModified = !modifiedTypeNames.isPresent() || !modifiedTypeNames.get().isEmpty();
+        if(submitLogs && (modifiedConcepts.size() > 0 || typesModified)) {
+            submitCommitLogs(modifiedConcepts, modifiedTypeNames, previousCommitVersion, commitVersion);
+        }
+
+        if(materialisesOnCommit()) {
+            materialiseInferences(modifiedTypeNames, changedIds, deletedTypeNames);
+        }
+    }
+
+    /**
+     * Gives the root meta type a new version. Graphs without transactions share the vertex between threads, so
+     * versions are stamped one at a time to keep a single value of the property.
+     *
+     * @param version The version property to change
+     * @return The new version, or null if the meta ontology has not been committed yet
+     */
+    private String stampVersion(Schema.ConceptProperty version){
+        ConceptImpl meta = (ConceptImpl) getMetaConcept();
+        if(meta == null) return null;
+        String newVersion = UUID.randomUUID().toString();
+        synchronized (meta.getVertex()) {
+            meta.setProperty(version, newVersion);
+        }
+        return newVersion;
+    }
+
+    /**
+     * Gets the names of the types changed by the current transaction. These are the types of the instances which have
+     * been added, deleted or had edges added or removed, together with their super types, because queries on a type
+     * are also answered by the instances of its sub types.
+     *
+     * @return The names of the changed types, or empty if types or rules have been changed
+     */
+    private Optional<Set<String>> getModifiedTypeNames(){
+        Set<String> modifiedTypeNames = new HashSet<>(getConceptLog().getInstanceCountDeltas().keySet());
+        if(modifiedTypeNames.contains(Schema.MetaSchema.INFERENCE_RULE.getName())) return Optional.empty();
+
+        for (ConceptImpl concept : getConceptLog().getConceptsWithChangedEdges()) {
+            if(concept.isType() || concept.isRule()) return Optional.empty();
+            if(concept.isInstance()) modifiedTypeNames.add(concept.asInstance().type().getName());
+        }
+
+        Set<String> typeNames = new HashSet<>();
+        modifiedTypeNames.forEach(typeName -> typeNames.addAll(getTypeNames(typeName)));
+        return Optional.of(typeNames);
+    }
+
+    /**
+     * @param typeName The name of a type
+     * @return The name of the type together with the names of its super types
+     */
+    private Set<String> getTypeNames(String typeName){
+        Set<String> typeNames = new HashSet<>();
+        typeNames.add(typeName);
+        for(Type type = getType(typeName); type != null; type = type.superType()){
+            typeNames.add(type.getName());
         }
+        return typeNames;
     }
+
+    /**
+     * Removes the answers tabled by the reasoner and the cached analytics results which depend on the changed types.
+     * All answers and results are removed if types or rules have been changed.
+     *
+     * @param modifiedTypeNames The names of the changed types, or empty if types or rules have been changed
+     * @param previousCommitVersion The commit version of the keyspace before the commit
+     * @param commitVersion The commit version of the keyspace given by the commit
+     */
+    private void invalidateCachedResults(Optional<Set<String>> modifiedTypeNames, String previousCommitVersion, String commitVersion){
+        AnswerTable answerTable = AnswerTable.get(getKeyspace());
+        AnalyticsCache analyticsCache = AnalyticsCache.get(getKeyspace());
+        if(modifiedTypeNames.isPresent()) {
+            answerTable.invalidate(modifiedTypeNames.get(), previousCommitVersion, commitVersion);
+            analyticsCache.invalidate(modifiedTypeNames.get(), previousCommitVersion, commitVersion);
+        } else {
+            answerTable.clear(commitVersion);
+            analyticsCache.clear(commitVersion);
+        }
+    }
+
+    /**
+     * Materialises and commits the inferences following from the committed changes. Only the changed instances are
+     * evaluated against the rules, and the inferences around them which may depend on deleted instances are retracted
+     * and derived again. If types or rules have been changed every inference is derived again, which reads the whole
+     * graph, so that is done in the background. Materialising is disabled while the inferences are committed, because
+     * the reasoner already applies the rules depending on the new conclusions. The changes have already been committed
+     * when this runs, so a failure is logged rather than thrown.
+     *
+     * @param modifiedTypeNames The names of the changed types, or empty if types or rules have been changed
+     * @param changedIds The ids of the instances which have been added or had edges added or removed
+     * @param deletedTypeNames The names of the types which had instances deleted, together with their super types
+     */
+    private void materialiseInferences(Optional<Set<String>> modifiedTypeNames, Set<ConceptId> changedIds, Set<String> deletedTypeNames){
+        if(!modifiedTypeNames.isPresent()) {
+            scheduleRematerialisation();
+            return;
+        }
+        if(modifiedTypeNames.get().isEmpty()) return;
+
+        materialiseOnCommit(false);
+        try {
+            Set<Instance> inferences = Reasoner.materialiseInferences(this, changedIds, deletedTypeNames, this::isInferred);
+            inferences.forEach(instance -> ((ConceptImpl) instance).setProperty(Schema.ConceptProperty.IS_INFERRED, true));
+            commit();
+        } catch (Exception e) {
+            LOG.error(ErrorMessage.MATERIALISATION_FAILED.getMessage(getKeyspace()), e);
+            discardMaterialisation();
+        } finally {
+            materialiseOnCommit(true);
+        }
+    }
+
+    /**
+     * Materialises every inference again on a background thread. A request made while an earlier one has not started
+     * yet is covered by the earlier one.
+     */
+    private void scheduleRematerialisation(){
+        if(rematerialisationPending.compareAndSet(false, true)) {
+            rematerialisation = REMATERIALISER.submit(this::rematerialiseInferences);
+        }
+    }
+
+    /**
+     * Retracts every materialised inference and materialises them all again in a transaction of the calling thread
+     */
+    private void rematerialiseInferences(){
+        rematerialisationPending.set(false);
+        try {
+            open();
+            Set<Instance> inferences = Reasoner.rematerialiseInferences(this, this::isInferred);
+            inferences.forEach(instance -> ((ConceptImpl) instance).setProperty(Schema.ConceptProperty.IS_INFERRED, true));
+            commit();
+        } catch (Exception e) {
+            LOG.error(ErrorMessage.MATERIALISATION_FAILED.getMessage(getKeyspace()), e);
+            discardMaterialisation();
+        }
+    }
+
+    /**
+     * Waits until the inferences being materialised in the background after types or rules changed are committed
+     */
+    void awaitRematerialisation() throws InterruptedException, ExecutionException {
+        rematerialisation.get();
+    }
+
+    /**
+     * @param instance An instance in the graph
+     * @return True if the instance was inserted when materialising inferences
+     */
+    private boolean isInferred(Instance instance){
+        return ((ConceptImpl) instance).getPropertyBoolean(Schema.ConceptProperty.IS_INFERRED);
+    }
+
+    /**
+     * Discards the inferences of a materialisation which failed, so they are not committed with the next changes
+     */
+    private void discardMaterialisation(){
+        try {
+            rollback();
+        } catch (UnsupportedOperationException e){
+            LOG.warn(e.getMessage());
+            getConceptLog().clearTransaction();
+        }
+    }
+
     protected void commitTx(){
         try {
             getTinkerPopGraph().tx().commit();
@@ -692,7 +1087,9 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
 
     void validateGraph() throws GraknValidationException {
         Validator validator = new Validator(this);
-        if (!validator.validate()) {
+        boolean valid = validator.validate();
+        LOG.debug("Validated " + validator.getConceptsValidated() + " concepts in " + validator.getValidationTime() + " ms");
+        if (!valid) {
             List<String> errors = validator.getErrorsFound();
             String error = ErrorMessage.VALIDATION.getMessage(errors.size());
             for (String s : errors) {
@@ -702,7 +1099,13 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         }
     }
 
-    private void submitCommitLogs(Map<Schema.BaseType, Set<String>> concepts){
+    /**
+     * Tells engine which concepts need post processing and which types were changed, so it can invalidate its cached
+     * results. The graph has already been committed, so this is done in the background and a failure to reach engine
+     * is logged rather than thrown.
+     */
+    private void submitCommitLogs(Map<Schema.BaseType, Set<String>> concepts, Optional<Set<String>> modifiedTypeNames,
+                                  String previousCommitVersion, String commitVersion){
         JSONArray jsonArray = new JSONArray();
         for (Map.Entry<Schema.BaseType, Set<String>> entry : concepts.entrySet()) {
             Schema.BaseType type = entry.getKey();
@@ -718,9 +1121,20 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
 
         JSONObject postObject = new JSONObject();
         postObject.put("concepts", jsonArray);
+        modifiedTypeNames.ifPresent(typeNames -> postObject.put("types", new JSONArray(typeNames)));
+        if(previousCommitVersion != null) postObject.put("previousVersion", previousCommitVersion);
+        if(commitVersion != null) postObject.put("version", commitVersion);
 
-        String result = EngineCommunicator.contactEngine(getCommitLogEndPoint(), REST.HttpConn.POST_METHOD, postObject.toString());
-        LOG.debug("Response from engine [" + result + "]");
+        String endPoint = getCommitLogEndPoint();
+        String body = postObject.toString();
+        COMMIT_LOG_SUBMITTER.submit(() -> {
+            try {
+                String result = EngineCommunicator.contactEngine(endPoint, REST.HttpConn.POST_METHOD, body);
+                LOG.debug("Response from engine [" + result + "]");
+            } catch (RuntimeException e) {
+                LOG.warn(ErrorMessage.COMMIT_LOG_NOT_SUBMITTED.getMessage(endPoint), e);
+            }
+        });
     }
     private String getCommitLogEndPoint(){
         if(Grakn.IN_MEMORY.equals(engine)) {
@@ -729,6 +1143,79 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         return engine + REST.WebPath.COMMIT_LOG_URI + "?" + REST.Request.KEYSPACE_PARAM + "=" + keyspace;
     }
 
+    //------------------------------------------ Index Migration -------------------------------------------------------
+    /**
+     * Rewrites the index of a relation, resource or casting which was written with an older index format.
+     * If another concept already has the new index, because it was added after the keyspace was created or was a
+     * duplicate awaiting post processing, the concept is merged into it instead, so indices stay unique.
+     *
+     * @param conceptId The base identifier of the concept
+     * @return true if the index was rewritten or the concept was merged
+     */
+    public boolean updateConceptIndex(Object conceptId){
+        ConceptImpl<?, ?> concept = getConceptByBaseIdentifier(conceptId);
+        if(concept == null) return false;
+
+        String currentIndex = concept.getProperty(Schema.ConceptProperty.INDEX);
+        if(currentIndex == null) return false;
+
+        String newIndex;
+        if(concept.isRelation()){
+            RelationImpl relation = (RelationImpl) concept;
+            newIndex = RelationImpl.generateNewHash(relation.type(), relation.rolePlayers());
+        } else if(concept.isResource()){
+            ResourceImpl<?> resource = (ResourceImpl<?>) concept;
+            newIndex = ResourceImpl.generateResourceIndex(resource.type(), resource.getValue().toString());
+        } else if(concept.isCasting()){
+            CastingImpl casting = concept.asCasting();
+            InstanceImpl<?, ?> rolePlayer = casting.getRolePlayer();
+            if(rolePlayer == null || currentIndex.startsWith(CastingImpl.BATCH_INDEX_PREFIX)) return false;
+            newIndex = CastingImpl.generateNewHash((RoleTypeImpl) casting.getRole(), rolePlayer);
+        } else {
+            return false;
+        }
+
+        if(newIndex.equals(currentIndex)) return false;
+
+        ConceptImpl<?, ?> existing = getConcept(Schema.ConceptProperty.INDEX, newIndex);
+        if(existing != null && !existing.equals(concept)){
+            mergeDuplicate(existing, concept);
+        } else {
+            concept.setProperty(Schema.ConceptProperty.INDEX, newIndex);
+        }
+        return true;
+    }
+
+    /**
+     * Marks the keyspace as no longer having legacy indices, once every index has been rewritten by
+     * {@link #updateConceptIndex(Object)}. Lookups then stop falling back to legacy indices.
+     */
+    public void markIndicesMigrated(){
+        getTinkerPopGraph().traversal().V().
+                has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName()).next().
+                property(Schema.ConceptProperty.INDEX_FORMAT.name(), IndexKey.FORMAT);
+    }
+
+    /**
+     * Merges a relation, resource or casting into the concept which already has its index
+     *
+     * @param main The concept with the index
+     * @param duplicate The concept to merge into it and delete
+     */
+    private void mergeDuplicate(ConceptImpl<?, ?> main, ConceptImpl<?, ?> duplicate){
+        if(duplicate.isCasting()){
+            deleteRelations(mergeCastings(main.asCasting(), Collections.singleton(duplicate.asCasting())));
+        } else if(duplicate.isResource()){
+            Set<ResourceImpl> resources = new LinkedHashSet<>();
+            resources.add((ResourceImpl) main);
+            resources.add((ResourceImpl) duplicate);
+            mergeResources(resources);
+        } else if(duplicate.isRelation()){
+            mergeRelations((InstanceImpl) main, (InstanceImpl) duplicate);
+            deleteRelations(Collections.singleton((RelationImpl) duplicate));
+        }
+    }
+
     //------------------------------------------ Fixing Code for Postprocessing ----------------------------------------
     /**
      * Merges duplicate castings if one is found.
@@ -897,13 +1384,27 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
 
         while(it.hasNext()){
             ResourceImpl<?> otherResource = it.next();
-            Collection<Relation> otherRelations = otherResource.relations();
+            mergeRelations(mainResource, otherResource);
+            otherResource.delete();
+        }
+    }
 
-            for (Relation otherRelation : otherRelations) {
-                copyRelation(mainResource, otherResource, otherRelation);
-            }
+    /**
+     * Moves the relations one instance takes part in to another instance
+     *
+     * @param main The instance to take part in the relations
+     * @param other The instance which takes part in them now
+     */
+    private void mergeRelations(InstanceImpl<?, ?> main, InstanceImpl<?, ?> other){
+        Collection<Relation> otherRelations = other.relations();
 
-            otherResource.delete();
+        //Look up all the relations which may already exist on the main instance at once
+        getRelations(otherRelations.stream().
+                map(relation -> RelationImpl.generateNewHash(relation.type(), replaceRolePlayer(relation, other, main))).
+                collect(Collectors.toSet()));
+
+        for (Relation otherRelation : otherRelations) {
+            copyRelation(main, other, otherRelation);
         }
     }
 
@@ -915,14 +1416,7 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
      */
     private void copyRelation(Instance main, Instance other, Relation otherRelation){
         RelationType relationType = otherRelation.type();
-        Map<RoleType, Instance> rolePlayers = otherRelation.rolePlayers();
-
-        //Replace all occurrences of other with main. That we we can quickly find out if the relation on main exists
-        for (RoleType roleType : rolePlayers.keySet()) {
-            if(rolePlayers.get(roleType).equals(other)){
-                rolePlayers.put(roleType, main);
-            }
-        }
+        Map<RoleType, Instance> rolePlayers = replaceRolePlayer(otherRelation, other, main);
 
         Relation foundRelation = getRelation(relationType, rolePlayers);
 
@@ -938,4 +1432,22 @@ public abstract class AbstractGraknGraph<G extends Graph> implements GraknGraph,
         rolePlayers.entrySet().forEach(entry -> relation.putRolePlayer(entry.getKey(), entry.getValue()));
     }
 
+    /**
+     * Replace all occurrences of other with main. That way we can quickly find out if the relation on main exists
+     *
+     * @param relation The relation of the other instance
+     * @param other The instance to be replaced
+     * @param main The instance replacing it
+     * @return The role players of the relation with other replaced by main
+     */
+    private Map<RoleType, Instance> replaceRolePlayer(Relation relation, Instance other, Instance main){
+        Map<RoleType, Instance> rolePlayers = relation.rolePlayers();
+        for (RoleType roleType : rolePlayers.keySet()) {
+            if(other.equals(rolePlayers.get(roleType))){
+                rolePlayers.put(roleType, main);
+            }
+        }
+        return rolePlayers;
+    }
+
 }
@@ -45,6 +45,8 @@ import java.util.stream.Collectors;
  * @author fppt
  */
 class CastingImpl extends InstanceImpl<CastingImpl, RoleType> {
+    // Castings created while batch loading are given unique placeholder indices until post processing merges them
+    static final String BATCH_INDEX_PREFIX = "CastingBaseId_";
 
     CastingImpl(AbstractGraknGraph graknGraph, Vertex v, Optional<RoleType> type) {
         super(graknGraph, v, type);
@@ -85,7 +87,7 @@ class CastingImpl extends InstanceImpl<CastingImpl, RoleType> {
     public CastingImpl setHash(RoleTypeImpl role, InstanceImpl rolePlayer){
         String hash;
         if(getGraknGraph().isBatchLoadingEnabled()) {
-            hash = "CastingBaseId_" + this.getBaseIdentifier() + UUID.randomUUID().toString();
+            hash = BATCH_INDEX_PREFIX + this.getBaseIdentifier() + UUID.randomUUID().toString();
         } else {
             hash = generateNewHash(role, rolePlayer);
         }
@@ -100,6 +102,19 @@ class CastingImpl extends InstanceImpl<CastingImpl, RoleType> {
      * @return A unique hash for the casting.
      */
     public static String generateNewHash(RoleTypeImpl role, InstanceImpl rolePlayer){
+        return IndexKey.of(Schema.BaseType.CASTING).
+                add(role.getId().getValue()).
+                add(rolePlayer.getId().getValue()).
+                build();
+    }
+
+    /**
+     *
+     * @param role The {@link RoleType} this casting is linked with
+     * @param rolePlayer The {@link Instance} which is the roleplayer in this casting
+     * @return The hash the casting had before indices were digests, used to find it until its keyspace is migrated
+     */
+    static String generateLegacyHash(RoleTypeImpl role, InstanceImpl rolePlayer){
         return "Casting-Role-" + role.getId() + "-RolePlayer-" + rolePlayer.getId();
     }
 
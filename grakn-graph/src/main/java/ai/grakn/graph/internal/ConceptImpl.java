@@ -151,8 +151,11 @@ abstract class ConceptImpl<T extends Concept, V extends Type> implements Concept
         vertex.edges(Direction.BOTH).
                 forEachRemaining(
                         e -> {
-                            graknGraph.getConceptLog().putConcept(getGraknGraph().getElementFactory().buildConcept(e.inVertex()));
-                            graknGraph.getConceptLog().putConcept(getGraknGraph().getElementFactory().buildConcept(e.outVertex()));}
+                            ConceptImpl inConcept = getGraknGraph().getElementFactory().buildConcept(e.inVertex());
+                            ConceptImpl outConcept = getGraknGraph().getElementFactory().buildConcept(e.outVertex());
+                            graknGraph.getConceptLog().putConcept(inConcept);
+                            graknGraph.getConceptLog().putConcept(outConcept);
+                            trackEdgeChange(outConcept, inConcept, e.label());}
                 );
         graknGraph.getConceptLog().removeConcept(this);
         // delete node
@@ -581,10 +584,27 @@ abstract class ConceptImpl<T extends Concept, V extends Type> implements Concept
 
         graknGraph.getConceptLog().putConcept(this);
         graknGraph.getConceptLog().putConcept(toConcept);
+        graknGraph.getConceptLog().trackEdgeAdded(type);
+        trackEdgeChange(this, toConcept, type.getLabel());
 
         return newEdge;
     }
 
+    /**
+     * Tracks the concepts at both ends of an edge which is added or removed. The type at the end of an isa edge is not
+     * tracked because adding or removing one of its instances does not change the type.
+     *
+     * @param from The concept the edge starts from
+     * @param to The concept the edge ends at
+     * @param label The label of the edge
+     */
+    private void trackEdgeChange(ConceptImpl from, ConceptImpl to, String label){
+        graknGraph.getConceptLog().trackEdgesChanged(from);
+        if(!Schema.EdgeLabel.ISA.getLabel().equals(label)) {
+            graknGraph.getConceptLog().trackEdgesChanged(to);
+        }
+    }
+
     /**
      *
      * @param direction The direction of the edges to retrieve
@@ -595,10 +615,11 @@ abstract class ConceptImpl<T extends Concept, V extends Type> implements Concept
         vertex.edges(direction, type.getLabel()).
                 forEachRemaining(
                         e -> {
-                            graknGraph.getConceptLog().putConcept(
-                                    getGraknGraph().getElementFactory().buildConcept(e.inVertex()));
-                            graknGraph.getConceptLog().putConcept(
-                                    getGraknGraph().getElementFactory().buildConcept(e.outVertex()));
+                            ConceptImpl inConcept = getGraknGraph().getElementFactory().buildConcept(e.inVertex());
+                            ConceptImpl outConcept = getGraknGraph().getElementFactory().buildConcept(e.outVertex());
+                            graknGraph.getConceptLog().putConcept(inConcept);
+                            graknGraph.getConceptLog().putConcept(outConcept);
+                            trackEdgeChange(outConcept, inConcept, e.label());
                         }
                 );
 
@@ -18,8 +18,12 @@
 
 package ai.grakn.graph.internal;
 
+import ai.grakn.util.Schema;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -36,6 +40,11 @@ import java.util.stream.Collectors;
  *      edge cases, for example, relationship where a new role player is added.
  * </p>
  *
+ * <p>
+ *     It also counts the instances, edges and resource values added in the transaction so that the
+ *     {@link KeyspaceStatistics} can be updated when the transaction is committed.
+ * </p>
+ *
  * @author fppt
  *
  */
@@ -44,13 +53,46 @@ public class ConceptLog {
     private final Set<CastingImpl> modifiedCastings;
     private final Set<ResourceImpl> modifiedResources;
     private final Map<String, RelationImpl> modifiedRelations;
+    private final Map<RelationImpl, String> relationHashes;
+
+    //Lookups memoised during the transaction
+    private final Map<String, RelationImpl> indexedRelations;
+    private final Map<String, CastingImpl> indexedCastings;
+    private final Set<String> relationsAdded;
+    private final Set<String> shortcutHashes;
 
+    //Statistics gathered during the transaction
+    private final Map<String, Long> instanceCountDeltas;
+    private final Map<Schema.BaseType, Long> conceptsAdded;
+    private final Map<Schema.EdgeLabel, Long> edgesAdded;
+    private final Map<String, Long> castingsAdded;
+    private final Map<String, Long> shortcutsAdded;
+    private final Map<String, List<Object>> resourceValuesAdded;
+    private final Set<ConceptImpl> conceptsWithChangedEdges;
+    private final Set<String> deletedTypeNames;
+    private boolean ontologyChanged = false;
+    private OntologyCache.Snapshot ontologySnapshot = null;
 
     ConceptLog() {
         modifiedCastings = new HashSet<>();
         modifiedConcepts = new HashSet<>();
         modifiedResources = new HashSet<>();
         modifiedRelations = new HashMap<>();
+        relationHashes = new HashMap<>();
+
+        indexedRelations = new HashMap<>();
+        indexedCastings = new HashMap<>();
+        relationsAdded = new HashSet<>();
+        shortcutHashes = new HashSet<>();
+
+        instanceCountDeltas = new HashMap<>();
+        conceptsAdded = new HashMap<>();
+        edgesAdded = new HashMap<>();
+        castingsAdded = new HashMap<>();
+        shortcutsAdded = new HashMap<>();
+        resourceValuesAdded = new HashMap<>();
+        conceptsWithChangedEdges = new HashSet<>();
+        deletedTypeNames = new HashSet<>();
     }
 
     /**
@@ -61,6 +103,23 @@ public class ConceptLog {
         modifiedCastings.clear();
         modifiedResources.clear();
         modifiedRelations.clear();
+        relationHashes.clear();
+
+        indexedRelations.clear();
+        indexedCastings.clear();
+        relationsAdded.clear();
+        shortcutHashes.clear();
+
+        instanceCountDeltas.clear();
+        conceptsAdded.clear();
+        edgesAdded.clear();
+        castingsAdded.clear();
+        shortcutsAdded.clear();
+        resourceValuesAdded.clear();
+        conceptsWithChangedEdges.clear();
+        deletedTypeNames.clear();
+        ontologyChanged = false;
+        ontologySnapshot = null;
     }
 
     /**
@@ -82,7 +141,7 @@ public class ConceptLog {
         //Caching of relations in memory so they can be retrieved without needing a commit
         if(concept.isRelation()){
             RelationImpl relation = (RelationImpl) concept;
-            modifiedRelations.put(RelationImpl.generateNewHash(relation.type(), relation.rolePlayers()), relation);
+            modifiedRelations.put(relation.getHash(), relation);
         }
     }
 
@@ -121,12 +180,235 @@ public class ConceptLog {
         modifiedResources.remove(c);
     }
 
+    /**
+     *
+     * @param relation A relation in the transaction
+     * @return The hash of the relation, computed once per transaction unless it is cleared by {@link #clearRelationHash}
+     */
+    String getRelationHash(RelationImpl relation){
+        return relationHashes.computeIfAbsent(relation, (key) -> RelationImpl.generateNewHash(key.type(), key.rolePlayers()));
+    }
+
+    /**
+     * Forgets the hash of a relation whose role players are changing. The relation is no longer found by its old hash
+     * and is found by its new hash once it is tracked again with {@link #putConcept}.
+     *
+     * @param relation A relation in the transaction
+     */
+    void clearRelationHash(RelationImpl relation){
+        String hash = relationHashes.remove(relation);
+        if(hash != null) modifiedRelations.remove(hash, relation);
+    }
+
     /**
      * Gets a cached relation by index. This way we can find non committed relations quickly.
      * @param index
      */
     public RelationImpl getCachedRelation(String index){
-        return modifiedRelations.get(index);
+        RelationImpl relation = modifiedRelations.get(index);
+        if(relation == null) relation = indexedRelations.get(index);
+        return relation != null && relation.isAlive() ? relation : null;
+    }
+
+    //------------------------------------------------ Lookups ---------------------------------------------------------
+    /**
+     * Indices are only written on commit, so the result of looking one up in the graph holds for the rest of the
+     * transaction. Relations created or changed within the transaction are found through {@link #getCachedRelation}.
+     *
+     * @param index The index of a relation which has been looked up in the graph
+     * @return True if the index has already been looked up in this transaction
+     */
+    boolean isRelationIndexResolved(String index){
+        return modifiedRelations.containsKey(index) || indexedRelations.containsKey(index);
+    }
+
+    /**
+     *
+     * @param index The index of a relation which has been looked up in the graph
+     * @param relation The relation found with the index or null if there is none
+     */
+    void cacheRelationIndex(String index, RelationImpl relation){
+        indexedRelations.put(index, relation);
     }
 
+    /**
+     *
+     * @param index The index of a casting
+     * @return The casting with the index if it has been created or looked up within the transaction
+     */
+    CastingImpl getCachedCasting(String index){
+        CastingImpl casting = indexedCastings.get(index);
+        return casting != null && casting.isAlive() ? casting : null;
+    }
+
+    /**
+     *
+     * @param index The index of a casting
+     * @param casting The casting which has been created or found with the index
+     */
+    void cacheCasting(String index, CastingImpl casting){
+        indexedCastings.put(index, casting);
+    }
+
+    /**
+     *
+     * @param relationId The id of a relation created in this transaction
+     */
+    void trackRelationAdded(String relationId){
+        relationsAdded.add(relationId);
+    }
+
+    /**
+     * A relation created in this transaction has no shortcut edges other than those added within the transaction.
+     *
+     * @param relationId The id of a relation
+     * @return True if the relation was created in this transaction
+     */
+    boolean isRelationAdded(String relationId){
+        return relationsAdded.contains(relationId);
+    }
+
+    /**
+     *
+     * @param hash The hash of a shortcut edge
+     * @return True if the shortcut edge is known to exist
+     */
+    boolean isShortcutKnown(String hash){
+        return shortcutHashes.contains(hash);
+    }
+
+    /**
+     *
+     * @param hash The hash of a shortcut edge which has been found or added
+     */
+    void cacheShortcut(String hash){
+        shortcutHashes.add(hash);
+    }
+
+    //------------------------------------------------ Statistics -------------------------------------------------------
+    /**
+     *
+     * @param typeName The name of the type an instance was added to
+     * @param baseType The base type of the new instance
+     */
+    void trackInstanceAdded(String typeName, Schema.BaseType baseType){
+        instanceCountDeltas.merge(typeName, 1L, Long::sum);
+        conceptsAdded.merge(baseType, 1L, Long::sum);
+    }
+
+    /**
+     *
+     * @param typeName The name of the type an instance was deleted from
+     */
+    void trackInstanceDeleted(String typeName){
+        instanceCountDeltas.merge(typeName, -1L, Long::sum);
+        deletedTypeNames.add(typeName);
+    }
+
+    /**
+     *
+     * @param edgeLabel The label of a new edge
+     */
+    void trackEdgeAdded(Schema.EdgeLabel edgeLabel){
+        edgesAdded.merge(edgeLabel, 1L, Long::sum);
+    }
+
+    /**
+     *
+     * @param roleTypeName The name of the role type of a new casting
+     */
+    void trackCastingAdded(String roleTypeName){
+        castingsAdded.merge(roleTypeName, 1L, Long::sum);
+    }
+
+    /**
+     *
+     * @param roleTypeName The name of the role type a new shortcut edge starts from
+     */
+    void trackShortcutAdded(String roleTypeName){
+        shortcutsAdded.merge(roleTypeName, 1L, Long::sum);
+    }
+
+    /**
+     *
+     * @param resourceTypeName The name of the type of a new resource
+     * @param value The value of the new resource
+     */
+    void trackResourceValueAdded(String resourceTypeName, Object value){
+        resourceValuesAdded.computeIfAbsent(resourceTypeName, (key) -> new ArrayList<>()).add(value);
+    }
+
+    /**
+     *
+     * @param concept A concept which has had edges added or removed
+     */
+    void trackEdgesChanged(ConceptImpl concept){
+        conceptsWithChangedEdges.add(concept);
+        if(concept.isType()) ontologyChanged = true;
+    }
+
+    /**
+     *
+     * @return True if types have been added, deleted or had edges added or removed within the transaction
+     */
+    boolean hasOntologyChanges(){
+        return ontologyChanged;
+    }
+
+    /**
+     *
+     * @return The snapshot of the ontology used by the transaction, or null if it has not looked one up yet
+     */
+    OntologyCache.Snapshot getOntologySnapshot(){
+        return ontologySnapshot;
+    }
+
+    /**
+     *
+     * @param snapshot The snapshot of the ontology to use for the rest of the transaction
+     */
+    void setOntologySnapshot(OntologyCache.Snapshot snapshot){
+        ontologySnapshot = snapshot;
+    }
+
+    /**
+     * Unlike {@link #getModifiedConcepts()} this does not include concepts which have only been read.
+     *
+     * @return True if instances have been added or deleted or edges have been added or removed within the transaction
+     */
+    boolean hasChanges(){
+        return !instanceCountDeltas.isEmpty() || !conceptsWithChangedEdges.isEmpty();
+    }
+
+    Set<ConceptImpl> getConceptsWithChangedEdges(){
+        return conceptsWithChangedEdges.stream().filter(ConceptImpl::isAlive).collect(Collectors.toSet());
+    }
+
+    Set<String> getDeletedTypeNames(){
+        return deletedTypeNames;
+    }
+
+    Map<String, Long> getInstanceCountDeltas(){
+        return instanceCountDeltas;
+    }
+
+    Map<Schema.BaseType, Long> getConceptsAdded(){
+        return conceptsAdded;
+    }
+
+    Map<Schema.EdgeLabel, Long> getEdgesAdded(){
+        return edgesAdded;
+    }
+
+    Map<String, Long> getCastingsAdded(){
+        return castingsAdded;
+    }
+
+    Map<String, Long> getShortcutsAdded(){
+        return shortcutsAdded;
+    }
+
+    Map<String, List<Object>> getResourceValuesAdded(){
+        return resourceValuesAdded;
+    }
 }
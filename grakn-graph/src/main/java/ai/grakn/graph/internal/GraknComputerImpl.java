@@ -19,6 +19,7 @@
 package ai.grakn.graph.internal;
 
 import ai.grakn.GraknComputer;
+import ai.grakn.graph.internal.computer.LocalGraphComputer;
 import ai.grakn.util.ErrorMessage;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
@@ -100,6 +101,7 @@ public class GraknComputerImpl implements GraknComputer {
     }
 
     protected GraphComputer getComputer() {
+        if (LocalGraphComputer.class.equals(graphComputer)) return new LocalGraphComputer(graph);
         return graph.compute(this.graphComputer);
     }
 
@@ -0,0 +1,118 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.GraknStatistics;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.Type;
+import ai.grakn.util.Schema;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     Statistics of a keyspace viewed through a graph
+ * </p>
+ *
+ * <p>
+ *     Reads the {@link KeyspaceStatistics} of the keyspace the graph is bound to. The graph is used to resolve
+ *     the sub types of a type and to seed statistics which are not yet known.
+ *     Seeding only reads a bounded number of instances so a very large type is reported as having
+ *     at least {@link #SEED_LIMIT} instances until the count is maintained incrementally.
+ *     Seeds only include committed concepts, the changes of the current transaction are added to the statistics
+ *     when it is committed.
+ * </p>
+ */
+class GraphStatistics implements GraknStatistics {
+    static final long SEED_LIMIT = 100_000;
+
+    private final AbstractGraknGraph<?> graph;
+    private final KeyspaceStatistics statistics;
+
+    GraphStatistics(AbstractGraknGraph<?> graph, KeyspaceStatistics statistics){
+        this.graph = graph;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Optional<Long> getInstanceCount(String typeName) {
+        Type type = graph.getType(typeName);
+        if(type == null) return Optional.empty();
+
+        long count = 0;
+        for (Type subType : type.subTypes()) {
+            count += statistics.getInstanceCount(subType.getName(), (name) -> countInstances((TypeImpl<?, ?>) subType));
+        }
+        return Optional.of(count);
+    }
+
+    @Override
+    public Optional<Double> getAverageDegree(Schema.EdgeLabel edgeLabel, Schema.BaseType baseType) {
+        return statistics.getAverageDegree(edgeLabel, baseType);
+    }
+
+    @Override
+    public Optional<Double> getAverageRoleDegree(String roleTypeName) {
+        return statistics.getAverageRoleDegree(roleTypeName);
+    }
+
+    @Override
+    public Optional<Double> getValueSelectivity(String resourceTypeName, Predicate<Object> predicate) {
+        ResourceType<?> resourceType = graph.getResourceType(resourceTypeName);
+        if(resourceType == null) return Optional.empty();
+
+        return statistics.getValueSelectivity(resourceTypeName, () -> sampleValues(resourceType), predicate);
+    }
+
+    @Override
+    public long getVersion() {
+        return statistics.getVersion();
+    }
+
+    @Override
+    public boolean hasValueIndex() {
+        return graph.hasValueIndex();
+    }
+
+    /**
+     * @return The number of committed direct instances of the type, up to the seed limit
+     */
+    private long countInstances(TypeImpl<?, ?> type){
+        long count = graph.getTinkerPopGraph().traversal().V(type.getBaseIdentifier()).
+                in(Schema.EdgeLabel.ISA.getLabel()).limit(SEED_LIMIT).count().next();
+        long uncommitted = graph.getConceptLog().getInstanceCountDeltas().getOrDefault(type.getName(), 0L);
+        return Math.max(count - uncommitted, 0);
+    }
+
+    /**
+     * @return Values of the first committed instances of the resource type, used to seed its value sample
+     */
+    private List<Object> sampleValues(ResourceType<?> resourceType){
+        String valueProperty = resourceType.getDataType().getConceptProperty().name();
+        List<Object> values = graph.getTinkerPopGraph().traversal().V(((TypeImpl<?, ?>) resourceType).getBaseIdentifier()).
+                in(Schema.EdgeLabel.ISA.getLabel()).limit(KeyspaceStatistics.VALUE_SAMPLE_SIZE).
+                values(valueProperty).toList();
+        graph.getConceptLog().getResourceValuesAdded().
+                getOrDefault(resourceType.getName(), Collections.emptyList()).forEach(values::remove);
+        return values;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.util.Schema;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * <p>
+ *     Builds the keys stored in the {@link Schema.ConceptProperty#INDEX} property
+ * </p>
+ *
+ * <p>
+ *     Relations, resources and castings are looked up by a key derived from what makes them unique. The parts of the
+ *     key are digested with SHA-256, cut to {@link #BYTES} bytes, so every key is {@link #WIDTH} characters long no
+ *     matter how many role players or how long a value it describes. Each part is prefixed with its length, so two
+ *     different lists of parts never produce the same input to the digest. A concept found by its key is still
+ *     checked against what was looked up, so even a collision never returns the wrong concept.
+ *
+ *     Keyspaces created before keys were digests are marked as such by the {@link Schema.ConceptProperty#INDEX_FORMAT}
+ *     of their meta concept, and are also searched by their old keys until they have been migrated.
+ * </p>
+ */
+class IndexKey {
+    /**
+     * The format of the keys, recorded on the meta concept of keyspaces whose keys all have this format
+     */
+    static final long FORMAT = 2;
+
+    /**
+     * The number of bytes of the digest kept in every key
+     */
+    static final int BYTES = 24;
+
+    /**
+     * The number of characters in every key
+     */
+    static final int WIDTH = 32;
+
+    private static final MessageDigest PROTOTYPE;
+    static {
+        try {
+            PROTOTYPE = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final MessageDigest digest;
+
+    private IndexKey(Schema.BaseType baseType){
+        try {
+            digest = (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+        add(baseType.name());
+    }
+
+    /**
+     * @param baseType The kind of concept the key identifies, so that keys of different kinds never meet
+     * @return A new key
+     */
+    static IndexKey of(Schema.BaseType baseType){
+        return new IndexKey(baseType);
+    }
+
+    /**
+     * @param part The next part of the key
+     * @return The key itself
+     */
+    IndexKey add(String part){
+        byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * @param part The next part of the key, which may be missing
+     * @return The key itself
+     */
+    IndexKey addOptional(String part){
+        digest.update((byte) (part == null ? 0 : 1));
+        return part == null ? this : add(part);
+    }
+
+    /**
+     * @return The digest of all the parts of the key
+     */
+    String build(){
+        return ENCODER.encodeToString(Arrays.copyOf(digest.digest(), BYTES));
+    }
+}
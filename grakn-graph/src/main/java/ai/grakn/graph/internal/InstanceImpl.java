@@ -71,12 +71,14 @@ abstract class InstanceImpl<T extends Instance, V extends Type> extends ConceptI
     public void innerDelete() {
         InstanceImpl<?, ?> parent = this;
         Set<CastingImpl> castings = parent.castings();
+        getGraknGraph().getConceptLog().trackInstanceDeleted(type().getName());
         deleteNode();
         for(CastingImpl casting: castings){
             Set<RelationImpl> relations = casting.getRelations();
             getGraknGraph().getConceptLog().putConcept(casting);
 
             for(RelationImpl relation : relations) {
+                getGraknGraph().getConceptLog().clearRelationHash(relation);
                 getGraknGraph().getConceptLog().putConcept(relation);
                 relation.cleanUp();
             }
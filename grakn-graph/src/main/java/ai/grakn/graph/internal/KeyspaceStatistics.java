@@ -0,0 +1,229 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.util.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *     Statistics of a single keyspace
+ * </p>
+ *
+ * <p>
+ *     Holds the instance counts of each type, the number of edges added per edge label and role type and a sample
+ *     of the values of each resource type. A single instance is shared by every graph opened on the same keyspace.
+ *
+ *     Instance counts and value samples are seeded lazily from the graph the first time they are requested and are
+ *     then kept up to date using the {@link ConceptLog} of every committed transaction. Degrees are estimated from the
+ *     edges and concepts added by committed transactions.
+ *
+ *     The version of the statistics changes when the keyspace is cleared and when a commit moves a count across a
+ *     power of two, so that query plans based on stale estimates can be discarded without replanning every query
+ *     after every commit.
+ * </p>
+ */
+class KeyspaceStatistics {
+    static final int VALUE_SAMPLE_SIZE = 256;
+
+    private static final Map<String, KeyspaceStatistics> keyspaceStatistics = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> instanceCounts = new ConcurrentHashMap<>();
+    private final Map<Schema.BaseType, AtomicLong> conceptsAdded = new ConcurrentHashMap<>();
+    private final Map<Schema.EdgeLabel, AtomicLong> edgesAdded = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> castingsAdded = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> shortcutsAdded = new ConcurrentHashMap<>();
+    private final Map<String, ValueSample> valueSamples = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private KeyspaceStatistics(){}
+
+    /**
+     *
+     * @param keyspace The keyspace to get the statistics of
+     * @return The statistics shared by all graphs of the keyspace
+     */
+    static KeyspaceStatistics get(String keyspace){
+        return keyspaceStatistics.computeIfAbsent(keyspace.toLowerCase(), (key) -> new KeyspaceStatistics());
+    }
+
+    /**
+     *
+     * @param typeName The name of the type
+     * @param seed Counts the direct instances of the type in the graph, used if the count is not yet known
+     * @return The number of direct instances of the type
+     */
+    long getInstanceCount(String typeName, Function<String, Long> seed){
+        return instanceCounts.computeIfAbsent(typeName, (key) -> new AtomicLong(seed.apply(key))).get();
+    }
+
+    /**
+     *
+     * @return The current version of the statistics
+     */
+    long getVersion(){
+        return version.get();
+    }
+
+    /**
+     *
+     * @param edgeLabel The label of the edges
+     * @param baseType The base type of the concepts the edges are attached to
+     * @return The average number of edges with the label per concept of the base type, if any have been added
+     */
+    Optional<Double> getAverageDegree(Schema.EdgeLabel edgeLabel, Schema.BaseType baseType){
+        return ratio(edgesAdded.get(edgeLabel), conceptsAdded.get(baseType));
+    }
+
+    /**
+     *
+     * @param roleTypeName The name of the role type
+     * @return The average number of shortcut edges per role player of the role type, if any have been added
+     */
+    Optional<Double> getAverageRoleDegree(String roleTypeName){
+        return ratio(shortcutsAdded.get(roleTypeName), castingsAdded.get(roleTypeName));
+    }
+
+    /**
+     *
+     * @param resourceTypeName The name of the resource type
+     * @param seed Samples values of the resource type from the graph, used if no values have been sampled yet
+     * @param predicate The predicate to test the sampled values against
+     * @return The fraction of sampled values which satisfy the predicate, if any values have been sampled
+     */
+    Optional<Double> getValueSelectivity(String resourceTypeName, Supplier<List<Object>> seed, Predicate<Object> predicate){
+        ValueSample sample = valueSamples.computeIfAbsent(resourceTypeName, (key) -> {
+            ValueSample newSample = new ValueSample();
+            seed.get().forEach(newSample::add);
+            return newSample;
+        });
+        return sample.selectivity(predicate);
+    }
+
+    /**
+     * Updates the statistics with the changes made in a committed transaction.
+     * Instance counts and value samples are only updated if they have already been seeded, otherwise they will be
+     * seeded from the graph which already contains the committed changes.
+     *
+     * @param conceptLog The log of the committed transaction
+     */
+    void commit(ConceptLog conceptLog){
+        boolean changed = false;
+
+        for (Map.Entry<String, Long> delta : conceptLog.getInstanceCountDeltas().entrySet()) {
+            AtomicLong count = instanceCounts.get(delta.getKey());
+            if(count != null) changed |= add(count, delta.getValue());
+        }
+
+        for (Map.Entry<Schema.BaseType, Long> added : conceptLog.getConceptsAdded().entrySet()) {
+            changed |= increment(conceptsAdded, added.getKey(), added.getValue());
+        }
+        for (Map.Entry<Schema.EdgeLabel, Long> added : conceptLog.getEdgesAdded().entrySet()) {
+            changed |= increment(edgesAdded, added.getKey(), added.getValue());
+        }
+        for (Map.Entry<String, Long> added : conceptLog.getCastingsAdded().entrySet()) {
+            changed |= increment(castingsAdded, added.getKey(), added.getValue());
+        }
+        for (Map.Entry<String, Long> added : conceptLog.getShortcutsAdded().entrySet()) {
+            changed |= increment(shortcutsAdded, added.getKey(), added.getValue());
+        }
+
+        conceptLog.getResourceValuesAdded().forEach((resourceTypeName, values) -> {
+            ValueSample sample = valueSamples.get(resourceTypeName);
+            if(sample != null) values.forEach(sample::add);
+        });
+
+        if(changed) version.incrementAndGet();
+    }
+
+    /**
+     * Forgets everything known about the keyspace. Used when the keyspace is cleared.
+     */
+    void clear(){
+        instanceCounts.clear();
+        conceptsAdded.clear();
+        edgesAdded.clear();
+        castingsAdded.clear();
+        shortcutsAdded.clear();
+        valueSamples.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return True if the count moved across a power of two
+     */
+    private static <K> boolean increment(Map<K, AtomicLong> counts, K key, long delta){
+        return add(counts.computeIfAbsent(key, (k) -> new AtomicLong()), delta);
+    }
+
+    /**
+     * @return True if the count moved across a power of two
+     */
+    private static boolean add(AtomicLong count, long delta){
+        long after = count.addAndGet(delta);
+        long before = after - delta;
+        return Long.highestOneBit(Math.max(before, 0)) != Long.highestOneBit(Math.max(after, 0));
+    }
+
+    private static Optional<Double> ratio(AtomicLong numerator, AtomicLong denominator){
+        if(numerator == null || denominator == null || denominator.get() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of((double) numerator.get() / denominator.get());
+    }
+
+    /**
+     * A fixed size uniform sample of the values of a resource type, maintained using reservoir sampling.
+     * It acts as an equi-depth histogram of the values which can be tested against any predicate.
+     */
+    private static class ValueSample {
+        private final List<Object> values = new ArrayList<>(VALUE_SAMPLE_SIZE);
+        private final Random random = new Random();
+        private long seen = 0;
+
+        synchronized void add(Object value){
+            seen++;
+            if(values.size() < VALUE_SAMPLE_SIZE){
+                values.add(value);
+            } else {
+                long index = (long) (random.nextDouble() * seen);
+                if(index < VALUE_SAMPLE_SIZE) values.set((int) index, value);
+            }
+        }
+
+        synchronized Optional<Double> selectivity(Predicate<Object> predicate){
+            if(values.isEmpty()) return Optional.empty();
+
+            long matches = values.stream().filter(predicate).count();
+
+            //A predicate which matches no sampled value may still match some values
+            return Optional.of(Math.max(matches, 1) / (double) values.size());
+        }
+    }
+}
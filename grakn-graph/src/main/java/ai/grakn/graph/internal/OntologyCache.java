@@ -0,0 +1,221 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ *     Ontology of a single keyspace
+ * </p>
+ *
+ * <p>
+ *     Holds a read only snapshot of the types of a keyspace: the vertex of each type name, the names of the sub types
+ *     of each type and the names of the role types each type plays. A single instance is shared by every graph opened
+ *     on the same keyspace, so that transactions which do not change the ontology can look up types without going
+ *     through the index.
+ *
+ *     The snapshot is built lazily from the graph and is discarded whenever a transaction which changed the ontology
+ *     is committed. A snapshot which was being built while the ontology was changed is never kept, and one which could
+ *     not be built because another thread changed the graph while it was being walked is not used. Commits which
+ *     change the ontology also give it a new version, stored on the root meta type, so a snapshot is also discarded
+ *     once it is found to be out of date with the graph, for example after a commit made in another JVM. Each
+ *     transaction checks this the first time it looks up the snapshot.
+ * </p>
+ */
+class OntologyCache {
+    private static final Map<String, OntologyCache> ontologyCaches = new ConcurrentHashMap<>();
+
+    private Snapshot snapshot = null;
+    private long version = 0;
+
+    private OntologyCache(){}
+
+    /**
+     *
+     * @param keyspace The keyspace to get the ontology of
+     * @return The ontology cache shared by all graphs of the keyspace
+     */
+    static OntologyCache get(String keyspace){
+        return ontologyCaches.computeIfAbsent(keyspace.toLowerCase(), (key) -> new OntologyCache());
+    }
+
+    /**
+     *
+     * @param graph The graph to build the snapshot from if there is no current snapshot
+     * @return The current snapshot of the ontology, or empty if the meta ontology has not been committed yet
+     */
+    Optional<Snapshot> getSnapshot(AbstractGraknGraph<?> graph){
+        long buildVersion;
+        synchronized (this) {
+            if(snapshot != null) {
+                if(snapshot.isCurrent(graph)) return Optional.of(snapshot);
+                invalidate();
+            }
+            buildVersion = version;
+        }
+
+        Optional<Snapshot> built;
+        try {
+            built = Snapshot.build(graph);
+        } catch (ConcurrentModificationException e){
+            // Graphs without transactions can be changed by another thread while the types are walked
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            if(built.isPresent() && version == buildVersion) snapshot = built.get();
+        }
+        return built;
+    }
+
+    /**
+     * Discards the current snapshot, so that the next lookup rebuilds it from the graph
+     */
+    synchronized void invalidate(){
+        version++;
+        snapshot = null;
+    }
+
+    /**
+     * An immutable view of the types of a keyspace
+     */
+    static class Snapshot {
+        private final Object ontologyVersion;
+        private final Map<String, Object> typeIds;
+        private final Map<String, Set<String>> subTypeNames;
+        private final Map<String, Set<String>> playsRoleNames;
+
+        private Snapshot(Object ontologyVersion, Map<String, Object> typeIds, Map<String, Set<String>> subTypeNames, Map<String, Set<String>> playsRoleNames){
+            this.ontologyVersion = ontologyVersion;
+            this.typeIds = Collections.unmodifiableMap(typeIds);
+            this.subTypeNames = Collections.unmodifiableMap(subTypeNames);
+            this.playsRoleNames = Collections.unmodifiableMap(playsRoleNames);
+        }
+
+        /**
+         *
+         * @param graph The graph to check the snapshot against
+         * @return True if the version of the ontology in the graph is the one the snapshot was built from
+         */
+        boolean isCurrent(AbstractGraknGraph<?> graph){
+            ConceptImpl root = graph.getConceptByBaseIdentifier(typeIds.get(Schema.MetaSchema.CONCEPT.getName()));
+            return root != null && Objects.equals(ontologyVersion, root.getProperty(Schema.ConceptProperty.ONTOLOGY_VERSION));
+        }
+
+        /**
+         *
+         * @param typeName The name of the type
+         * @return The base identifier of the vertex of the type, or null if the type is not in the snapshot
+         */
+        Object getTypeId(String typeName){
+            return typeIds.get(typeName);
+        }
+
+        /**
+         *
+         * @param typeName The name of the type
+         * @return The names of all the sub types of the type including itself, or null if the type is not in the snapshot
+         */
+        Set<String> getSubTypeNames(String typeName){
+            return subTypeNames.get(typeName);
+        }
+
+        /**
+         *
+         * @param typeName The name of the type
+         * @return The names of the role types played by the type and its super types, or null if the type is not in the
+         * snapshot
+         */
+        Set<String> getPlaysRoleNames(String typeName){
+            return playsRoleNames.get(typeName);
+        }
+
+        /**
+         * Walks the sub type hierarchy down from the root meta type.
+         */
+        private static Optional<Snapshot> build(AbstractGraknGraph<?> graph){
+            String rootName = Schema.MetaSchema.CONCEPT.getName();
+            ConceptImpl root = graph.getConcept(Schema.ConceptProperty.NAME, rootName);
+            if(root == null) return Optional.empty();
+
+            Map<String, Vertex> vertices = new HashMap<>();
+            Map<String, String> superTypes = new HashMap<>();
+            Deque<Vertex> toVisit = new ArrayDeque<>();
+            vertices.put(rootName, root.getVertex());
+            toVisit.add(root.getVertex());
+
+            while(!toVisit.isEmpty()){
+                Vertex vertex = toVisit.poll();
+                String name = getName(vertex);
+                vertex.vertices(Direction.IN, Schema.EdgeLabel.SUB.getLabel()).forEachRemaining(child -> {
+                    String childName = getName(child);
+                    if(vertices.putIfAbsent(childName, child) == null){
+                        superTypes.put(childName, name);
+                        toVisit.add(child);
+                    }
+                });
+            }
+
+            Map<String, Object> typeIds = new HashMap<>();
+            Map<String, Set<String>> directPlaysRoles = new HashMap<>();
+            Map<String, Set<String>> subTypeNames = new HashMap<>();
+            vertices.forEach((name, vertex) -> {
+                typeIds.put(name, vertex.id());
+                Set<String> roles = new HashSet<>();
+                vertex.vertices(Direction.OUT, Schema.EdgeLabel.PLAYS_ROLE.getLabel()).forEachRemaining(role -> roles.add(getName(role)));
+                directPlaysRoles.put(name, roles);
+                subTypeNames.put(name, new HashSet<>());
+            });
+
+            Map<String, Set<String>> playsRoleNames = new HashMap<>();
+            for (String name : vertices.keySet()) {
+                Set<String> roles = new HashSet<>(directPlaysRoles.get(name));
+                subTypeNames.get(name).add(name);
+                for(String superName = superTypes.get(name); superName != null; superName = superTypes.get(superName)){
+                    subTypeNames.get(superName).add(name);
+                    if(!rootName.equals(superName)) roles.addAll(directPlaysRoles.get(superName));
+                }
+                playsRoleNames.put(name, Collections.unmodifiableSet(roles));
+            }
+            subTypeNames.replaceAll((name, names) -> Collections.unmodifiableSet(names));
+
+            Object ontologyVersion = root.getProperty(Schema.ConceptProperty.ONTOLOGY_VERSION);
+            return Optional.of(new Snapshot(ontologyVersion, typeIds, subTypeNames, playsRoleNames));
+        }
+
+        private static String getName(Vertex vertex){
+            return vertex.value(Schema.ConceptProperty.NAME.name());
+        }
+    }
+}
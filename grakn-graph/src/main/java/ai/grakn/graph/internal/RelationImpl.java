@@ -18,6 +18,7 @@
 
 package ai.grakn.graph.internal;
 
+import ai.grakn.concept.Concept;
 import ai.grakn.concept.Instance;
 import ai.grakn.concept.Relation;
 import ai.grakn.concept.RelationType;
@@ -68,10 +69,34 @@ class RelationImpl extends InstanceImpl<Relation, RelationType> implements Relat
     }
 
     /**
-     * Sets the internal hash in order to perform a faster lookup
+     * Sets the internal hash in order to perform a faster lookup. The hash is recomputed from the role players the
+     * relation has when it is committed. Relations of keyspaces which have not been migrated yet are also checked
+     * against the hashes relations had before indices were digests.
      */
     public void setHash(){
-        setUniqueProperty(Schema.ConceptProperty.INDEX, generateNewHash(type(), rolePlayers()));
+        getGraknGraph().getConceptLog().clearRelationHash(this);
+        getGraknGraph().getConceptLog().putConcept(this);
+        String hash = getHash();
+
+        if(!getGraknGraph().isBatchLoadingEnabled() && getGraknGraph().hasLegacyIndices()){
+            String legacyHash = generateLegacyHash(type(), rolePlayers());
+            Concept legacyRelation = getGraknGraph().getConcept(Schema.ConceptProperty.INDEX, legacyHash);
+            if(legacyRelation != null && !legacyRelation.equals(this)){
+                throw new ConceptNotUniqueException(this, Schema.ConceptProperty.INDEX, legacyHash);
+            }
+        }
+
+        setUniqueProperty(Schema.ConceptProperty.INDEX, hash);
+    }
+
+    /**
+     * The hash is computed at most once per transaction, unless role players are added or removed, so that tracking
+     * the relation on every change does not read all of its role players again.
+     *
+     * @return The hash of the relation as it currently is, see {@link #generateNewHash(RelationType, Map)}
+     */
+    String getHash(){
+        return getGraknGraph().getConceptLog().getRelationHash(this);
     }
 
     /**
@@ -81,6 +106,41 @@ class RelationImpl extends InstanceImpl<Relation, RelationType> implements Relat
      * @return A unique hash identifying this relation
      */
     public static String generateNewHash(RelationType relationType, Map<RoleType, Instance> roleMap){
+        SortedSet<RoleType> sortedRoleIds = new TreeSet<>(roleMap.keySet());
+        IndexKey key = IndexKey.of(Schema.BaseType.RELATION).add(relationType.getId().getValue());
+
+        for(RoleType role: sortedRoleIds){
+            Instance instance = roleMap.get(role);
+            key.add(role.getId().getValue()).addOptional(instance == null ? null : instance.getId().getValue());
+        }
+        return key.build();
+    }
+
+    /**
+     *
+     * @param relationType A relation type
+     * @param roleMap Roles and their corresponding role players, where roles without a role player may be missing
+     * @return true if this relation has the given type and exactly the given role players
+     */
+    boolean matches(RelationType relationType, Map<RoleType, Instance> roleMap){
+        return type().equals(relationType) && withoutMissingRolePlayers(rolePlayers()).equals(withoutMissingRolePlayers(roleMap));
+    }
+
+    private static Map<RoleType, Instance> withoutMissingRolePlayers(Map<RoleType, Instance> roleMap){
+        Map<RoleType, Instance> rolePlayers = new HashMap<>();
+        roleMap.forEach((role, instance) -> {
+            if(instance != null) rolePlayers.put(role, instance);
+        });
+        return rolePlayers;
+    }
+
+    /**
+     *
+     * @param relationType The type of this relation
+     * @param roleMap The roles and their corresponding role players
+     * @return The hash the relation had before indices were digests, used to find it until its keyspace is migrated
+     */
+    static String generateLegacyHash(RelationType relationType, Map<RoleType, Instance> roleMap){
         SortedSet<RoleType> sortedRoleIds = new TreeSet<>(roleMap.keySet());
         String hash = "RelationType_" + relationType.getId().getValue().replace("_", "\\_") + "_Relation";
 
@@ -174,6 +234,7 @@ class RelationImpl extends InstanceImpl<Relation, RelationType> implements Relat
      */
     private Relation addNewRolePlayer(RoleType roleType, Instance instance){
         if(instance != null) {
+            getGraknGraph().getConceptLog().clearRelationHash(this);
             getGraknGraph().putCasting((RoleTypeImpl) roleType, (InstanceImpl) instance, this);
         }
         return this;
@@ -49,8 +49,10 @@ class RelationTypeImpl extends TypeImpl<RelationType, Relation> implements Relat
 
     @Override
     public Relation addRelation() {
-        return addInstance(Schema.BaseType.RELATION,
+        Relation relation = addInstance(Schema.BaseType.RELATION,
                 (vertex, type) -> getGraknGraph().getElementFactory().buildRelation(vertex, type));
+        getGraknGraph().getConceptLog().trackRelationAdded(relation.getId().getValue());
+        return relation;
     }
 
     /**
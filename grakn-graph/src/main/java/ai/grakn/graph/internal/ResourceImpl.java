@@ -50,6 +50,11 @@ import java.util.regex.Pattern;
  *           Supported Types include: {@link String}, {@link Long}, {@link Double}, and {@link Boolean}
  */
 class ResourceImpl<D> extends InstanceImpl<Resource<D>, ResourceType<D>> implements Resource<D> {
+    //Search backends cannot index a string longer than 32766 bytes, which is at least this many chars
+    static final int MAX_INDEXED_LENGTH = 10_000;
+    //Marks an indexed string value which has been cut short
+    static final String TRUNCATED = "\u0000";
+
     ResourceImpl(AbstractGraknGraph graknGraph, Vertex v, Optional<ResourceType<D>> type, Optional<D> value) {
         super(graknGraph, v, type);
         value.ifPresent(this::setValue);
@@ -107,6 +112,9 @@ class ResourceImpl<D> extends InstanceImpl<Resource<D>, ResourceType<D>> impleme
 
             Schema.ConceptProperty property = dataType().getConceptProperty();
             setImmutableProperty(property, castValue(value), getProperty(property), Function.identity());
+            if(property.equals(Schema.ConceptProperty.VALUE_STRING) && getGraknGraph().hasValueIndex()){
+                setProperty(Schema.ConceptProperty.VALUE_STRING_INDEXED, indexedValue((String) value));
+            }
 
             return setUniqueProperty(Schema.ConceptProperty.INDEX, generateResourceIndex(type(), value.toString()));
         } catch (ClassCastException e) {
@@ -114,6 +122,19 @@ class ResourceImpl<D> extends InstanceImpl<Resource<D>, ResourceType<D>> impleme
         }
     }
 
+    /**
+     *
+     * @param value The value of a string resource
+     * @return The value, cut short and marked with {@link #TRUNCATED} if it is too long to be put in a value index
+     */
+    static String indexedValue(String value){
+        if(value.length() <= MAX_INDEXED_LENGTH) return value;
+
+        int end = MAX_INDEXED_LENGTH;
+        if(Character.isHighSurrogate(value.charAt(end - 1))) end--;
+        return value.substring(0, end) + TRUNCATED;
+    }
+
     /**
      *
      * @param resourceType it's resource type
@@ -121,6 +142,19 @@ class ResourceImpl<D> extends InstanceImpl<Resource<D>, ResourceType<D>> impleme
      * @return A unique id for the resource
      */
     public static String generateResourceIndex(ResourceType resourceType, String value){
+        return IndexKey.of(Schema.BaseType.RESOURCE).
+                add(resourceType.getName()).
+                add(value).
+                build();
+    }
+
+    /**
+     *
+     * @param resourceType it's resource type
+     * @param value The value of the resource
+     * @return The index the resource had before indices were digests, used to find it until its keyspace is migrated
+     */
+    static String generateLegacyResourceIndex(ResourceType resourceType, String value){
         return Schema.BaseType.RESOURCE.name() + "-" + resourceType.getName() + "-" + value;
     }
 
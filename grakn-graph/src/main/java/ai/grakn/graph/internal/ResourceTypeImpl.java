@@ -88,6 +88,7 @@ class ResourceTypeImpl<D> extends TypeImpl<ResourceType<D>, Resource<D>> impleme
         if(resource == null){
             resource = addInstance(Schema.BaseType.RESOURCE, (vertex, type) ->
                     getGraknGraph().getElementFactory().buildResource(vertex, type, value));
+            getGraknGraph().getConceptLog().trackResourceValueAdded(getName(), value);
         }
         return resource;
 
@@ -96,8 +97,11 @@ class ResourceTypeImpl<D> extends TypeImpl<ResourceType<D>, Resource<D>> impleme
     @Override
     public <V> Resource<V> getResource(V value) {
         String index = ResourceImpl.generateResourceIndex(this, value.toString());
-        Concept concept = getGraknGraph().getConcept(Schema.ConceptProperty.INDEX, index);
-        if(concept != null){
+        Concept concept = getGraknGraph().getConceptByIndex(index,
+                () -> ResourceImpl.generateLegacyResourceIndex(this, value.toString()));
+        //The index is a digest, so make sure the resource found really has this type and value
+        if(concept != null && concept.isResource() && equals(concept.asResource().type()) &&
+                value.toString().equals(concept.asResource().getValue().toString())){
             return concept.asResource();
         }
         return null;
@@ -71,6 +71,7 @@ class TypeImpl<T extends Type, V extends Instance> extends ConceptImpl<T, Type>
      */
     protected V addInstance(Schema.BaseType instanceBaseType, BiFunction<Vertex, T, V> producer){
         Vertex instanceVertex = getGraknGraph().addVertex(instanceBaseType);
+        getGraknGraph().getConceptLog().trackInstanceAdded(getName(), instanceBaseType);
         return producer.apply(instanceVertex, getThis());
     }
 
@@ -80,6 +81,9 @@ class TypeImpl<T extends Type, V extends Instance> extends ConceptImpl<T, Type>
      */
     @Override
     public Collection<RoleType> playsRoles() {
+        Optional<Set<RoleType>> cachedRoleTypes = getCachedTypes(snapshot -> snapshot.getPlaysRoleNames(getName()));
+        if(cachedRoleTypes.isPresent()) return filterImplicitStructures(cachedRoleTypes.get());
+
         Set<RoleType> allRoleTypes = new HashSet<>();
         getSuperSet().forEach(type -> allRoleTypes.addAll(((TypeImpl <?, ?>) type).getOutgoingNeighbours(Schema.EdgeLabel.PLAYS_ROLE)));
         return filterImplicitStructures(allRoleTypes);
@@ -168,9 +172,34 @@ class TypeImpl<T extends Type, V extends Instance> extends ConceptImpl<T, Type>
      */
     @Override
     public Collection<T> subTypes(){
+        Optional<Set<T>> cachedSubTypes = getCachedTypes(snapshot -> snapshot.getSubTypeNames(getName()));
+        if(cachedSubTypes.isPresent()) return filterImplicitStructures(cachedSubTypes.get());
+
         return filterImplicitStructures(nextSubLevel(this));
     }
 
+    /**
+     *
+     * @param typeNames Gets the names of the types from the snapshot of the ontology
+     * @return The types with the names, or empty if the snapshot cannot be used or does not include this type
+     */
+    @SuppressWarnings("unchecked")
+    private <X extends Type> Optional<Set<X>> getCachedTypes(Function<OntologyCache.Snapshot, Set<String>> typeNames){
+        Optional<OntologyCache.Snapshot> snapshot = getGraknGraph().getOntologySnapshot();
+        if(!snapshot.isPresent()) return Optional.empty();
+
+        Set<String> names = typeNames.apply(snapshot.get());
+        if(names == null) return Optional.empty();
+
+        Set<X> types = new HashSet<>();
+        for (String name : names) {
+            X type = (X) getGraknGraph().getType(name);
+            if(type == null) return Optional.empty();
+            types.add(type);
+        }
+        return Optional.of(types);
+    }
+
     /**
      *
      * @return All of the concepts direct sub children spanning a single level.
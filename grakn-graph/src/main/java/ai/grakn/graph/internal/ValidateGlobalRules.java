@@ -79,38 +79,27 @@ class ValidateGlobalRules {
      * Casting -CAST-> ConceptInstance -ISA-> Concept -PLAYS_ROLE-> X =
      * Casting -ISA-> X
      * @param casting The casting to be validated
+     * @param schema The schema facts shared by the current validation
      * @return A specific error if one is found.
      */
-    static Optional<String> validatePlaysRoleStructure(CastingImpl casting) {
+    static Optional<String> validatePlaysRoleStructure(CastingImpl casting, ValidationSchema schema) {
         InstanceImpl<?, ?> rolePlayer = casting.getRolePlayer();
-        TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) rolePlayer.type();
         RoleType roleType = casting.getRole();
+        ValidationSchema.PlaysRoles playsRoles = schema.playsRoles(rolePlayer.type());
 
-        boolean satisfiesPlaysRole = false;
-
-        while(currentConcept != null){
-            Set<EdgeImpl> edges = currentConcept.getEdgesOfType(Direction.OUT, Schema.EdgeLabel.PLAYS_ROLE);
-
-            for (EdgeImpl edge : edges) {
-                if (edge.getTarget().asType().getName().equals(roleType.getName())) {
-                    satisfiesPlaysRole = true;
+        if(!playsRoles.canPlay(roleType)) {
+            return Optional.of(VALIDATION_CASTING.getMessage(rolePlayer.type().getName(), rolePlayer.getId(), roleType.getName()));
+        }
 
-                    // Assert unique relation for this role type
-                    Boolean required = edge.getPropertyBoolean(Schema.EdgeProperty.REQUIRED);
-                    if (required && rolePlayer.relations(roleType).size() != 1) {
-                        return Optional.of(VALIDATION_REQUIRED_RELATION.getMessage(rolePlayer.getId(), roleType.getName(), rolePlayer.relations(roleType).size()));
-                    }
-                }
+        // Assert unique relation for this role type
+        if (playsRoles.isRequired(roleType)) {
+            int numberOfRelations = rolePlayer.relations(roleType).size();
+            if (numberOfRelations != 1) {
+                return Optional.of(VALIDATION_REQUIRED_RELATION.getMessage(rolePlayer.getId(), roleType.getName(), numberOfRelations));
             }
-
-            currentConcept = (TypeImpl) currentConcept.superType();
         }
 
-        if(satisfiesPlaysRole) {
-            return Optional.empty();
-        } else {
-            return Optional.of(VALIDATION_CASTING.getMessage(rolePlayer.type().getName(), rolePlayer.getId(), casting.getRole().getName()));
-        }
+        return Optional.empty();
     }
 
     /**
@@ -144,28 +133,21 @@ class ValidateGlobalRules {
     /**
      *
      * @param relation The assertion to validate
+     * @param schema The schema facts shared by the current validation
      * @return An error message indicating if the relation has an incorrect structure. This includes checking if there an equal
      * number of castings and roles as well as looping the structure to make sure castings lead to the same relation type.
      */
-    static Optional<String> validateRelationshipStructure(RelationImpl relation){
+    static Optional<String> validateRelationshipStructure(RelationImpl relation, ValidationSchema schema){
         RelationType relationType = relation.type();
         Set<CastingImpl> castings = relation.getMappingCasting();
-        Collection<RoleType> roleTypes = relationType.hasRoles();
+        int numberOfRoles = schema.numberOfRoles(relationType);
 
-        if(castings.size() > roleTypes.size()) {
-            return Optional.of(VALIDATION_RELATION_MORE_CASTING_THAN_ROLES.getMessage(relation.getId(), castings.size(), relationType.getName(), roleTypes.size()));
+        if(castings.size() > numberOfRoles) {
+            return Optional.of(VALIDATION_RELATION_MORE_CASTING_THAN_ROLES.getMessage(relation.getId(), castings.size(), relationType.getName(), numberOfRoles));
         }
 
         for(CastingImpl casting: castings){
-            boolean notFound = true;
-            for (RelationType innerRelationType : casting.getRole().relationTypes()) {
-                if(innerRelationType.getName().equals(relationType.getName())){
-                    notFound = false;
-                    break;
-                }
-            }
-
-            if(notFound) {
+            if(!schema.relationTypes(casting.getRole()).contains(relationType.getName())) {
                 return Optional.of(VALIDATION_RELATION_CASTING_LOOP_FAIL.getMessage(relation.getId(), casting.getRole().getName(), relationType.getName()));
             }
         }
@@ -238,24 +220,15 @@ class ValidateGlobalRules {
     /**
      *
      * @param instance The instance to be validated
+     * @param schema The schema facts shared by the current validation
      * @return An error message if the instance does not have all the required resources
      */
-    static Optional<String> validateInstancePlaysAllRequiredRoles(Instance instance) {
-        TypeImpl<?, ?> currentConcept = (TypeImpl) instance.type();
-
-        while(currentConcept != null){
-            Set<EdgeImpl> edges = currentConcept.getEdgesOfType(Direction.OUT, Schema.EdgeLabel.PLAYS_ROLE);
-            for (EdgeImpl edge : edges) {
-                Boolean required = edge.getPropertyBoolean(Schema.EdgeProperty.REQUIRED);
-                if (required) {
-                    RoleType roleType = edge.getTarget().asRoleType();
-                    // Assert there is a relation for this type
-                    if (instance.relations(roleType).isEmpty()) {
-                        return Optional.of(VALIDATION_INSTANCE.getMessage(instance.getId()));
-                    }
-                }
+    static Optional<String> validateInstancePlaysAllRequiredRoles(Instance instance, ValidationSchema schema) {
+        for (RoleType roleType : schema.playsRoles(instance.type()).required()) {
+            // Assert there is a relation for this type
+            if (instance.relations(roleType).isEmpty()) {
+                return Optional.of(VALIDATION_INSTANCE.getMessage(instance.getId()));
             }
-            currentConcept = (TypeImpl) currentConcept.superType();
         }
         return Optional.empty();
     }
@@ -0,0 +1,123 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.concept.Type;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *     Schema facts read during a single validation
+ * </p>
+ *
+ * <p>
+ *     Many of the concepts validated in one commit share the same types, so the roles each type may play, the
+ *     roles it must play and the relation types of each role are read once and shared by every check.
+ *     The ontology cannot change while a commit is being validated, so the facts never need to be invalidated.
+ *     A new instance must be used for each validation.
+ * </p>
+ */
+class ValidationSchema {
+    private final Map<String, PlaysRoles> playsRoles = new HashMap<>();
+    private final Map<String, Set<String>> relationTypesOfRole = new HashMap<>();
+    private final Map<String, Integer> numberOfRoles = new HashMap<>();
+
+    /**
+     * @param type The type of an instance
+     * @return The roles the type and its super types may play, and those which are required
+     */
+    PlaysRoles playsRoles(Type type) {
+        return playsRoles.computeIfAbsent(type.getName(), name -> {
+            PlaysRoles roles = new PlaysRoles();
+            TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) type;
+
+            while(currentConcept != null){
+                for (EdgeImpl edge : currentConcept.getEdgesOfType(Direction.OUT, Schema.EdgeLabel.PLAYS_ROLE)) {
+                    RoleType roleType = edge.getTarget().asRoleType();
+                    roles.played.add(roleType.getName());
+                    if (edge.getPropertyBoolean(Schema.EdgeProperty.REQUIRED)) {
+                        roles.required.put(roleType.getName(), roleType);
+                    }
+                }
+                currentConcept = (TypeImpl<?, ?>) currentConcept.superType();
+            }
+
+            return roles;
+        });
+    }
+
+    /**
+     * @param roleType A role type
+     * @return The names of the relation types which have the role
+     */
+    Set<String> relationTypes(RoleType roleType) {
+        return relationTypesOfRole.computeIfAbsent(roleType.getName(), name ->
+                roleType.relationTypes().stream().map(Type::getName).collect(Collectors.toSet()));
+    }
+
+    /**
+     * @param relationType A relation type
+     * @return The number of roles the relation type has
+     */
+    int numberOfRoles(RelationType relationType) {
+        return numberOfRoles.computeIfAbsent(relationType.getName(), name -> relationType.hasRoles().size());
+    }
+
+    /**
+     * The roles which instances of a type may play
+     */
+    static class PlaysRoles {
+        private final Set<String> played = new HashSet<>();
+        private final Map<String, RoleType> required = new HashMap<>();
+
+        /**
+         * @param roleType A role type
+         * @return If instances of the type are allowed to play the role
+         */
+        boolean canPlay(RoleType roleType) {
+            return played.contains(roleType.getName());
+        }
+
+        /**
+         * @param roleType A role type
+         * @return If every instance of the type must play the role exactly once
+         */
+        boolean isRequired(RoleType roleType) {
+            return required.containsKey(roleType.getName());
+        }
+
+        /**
+         * @return The roles every instance of the type must play
+         */
+        Collection<RoleType> required() {
+            return Collections.unmodifiableCollection(required.values());
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
@@ -32,7 +33,8 @@ import java.util.Set;
  *
  * <p>
  *      Handles calling the relevant validation defined in {@link ValidateGlobalRules} depending on the
- *      type of the concept.
+ *      type of the concept. Schema facts needed by the checks are read once per validation through a
+ *      {@link ValidationSchema}.
  * </p>
  *
  * @author fppt
@@ -41,6 +43,9 @@ import java.util.Set;
 class Validator {
     private final AbstractGraknGraph graknGraph;
     private final List<String> errorsFound = new ArrayList<>();
+    private final ValidationSchema schema = new ValidationSchema();
+    private int conceptsValidated = 0;
+    private long validationTime = 0;
 
     public Validator(AbstractGraknGraph graknGraph){
         this.graknGraph = graknGraph;
@@ -54,16 +59,34 @@ class Validator {
         return errorsFound;
     }
 
+    /**
+     *
+     * @return The number of modified concepts which were validated
+     */
+    public int getConceptsValidated(){
+        return conceptsValidated;
+    }
+
+    /**
+     *
+     * @return The time taken by the validation in milliseconds
+     */
+    public long getValidationTime(){
+        return validationTime;
+    }
+
     /**
      *
      * @return True if the data and schema conforms to our concept.
      */
     public boolean validate(){
+        long start = System.nanoTime();
         boolean originalValue = graknGraph.implicitConceptsVisible();
         graknGraph.showImplicitConcepts(true);
         Set<ConceptImpl> validationList = new HashSet<>(graknGraph.getConceptLog().getModifiedConcepts());
         for(ConceptImpl nextToValidate: validationList){
             if(nextToValidate.isAlive()) {
+                conceptsValidated++;
                 if (nextToValidate.isInstance() && !nextToValidate.isCasting()) {
                     validateInstance((InstanceImpl) nextToValidate);
                     if (nextToValidate.isRelation()) {
@@ -83,6 +106,7 @@ class Validator {
             }
         }
         graknGraph.showImplicitConcepts(originalValue);
+        validationTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
         return errorsFound.size() == 0;
     }
 
@@ -92,7 +116,7 @@ class Validator {
      * @param relation The relation to validate
      */
     private void validateRelation(RelationImpl relation){
-        ValidateGlobalRules.validateRelationshipStructure(relation).ifPresent(errorsFound::add);
+        ValidateGlobalRules.validateRelationshipStructure(relation, schema).ifPresent(errorsFound::add);
         ValidateGlobalRules.validateRelationIsUnique(relation).ifPresent(errorsFound::add);
     }
 
@@ -101,7 +125,7 @@ class Validator {
      * @param casting The casting to validate
      */
     private void validateCasting(CastingImpl casting){
-        ValidateGlobalRules.validatePlaysRoleStructure(casting).ifPresent(errorsFound::add);
+        ValidateGlobalRules.validatePlaysRoleStructure(casting, schema).ifPresent(errorsFound::add);
     }
 
     /**
@@ -134,6 +158,6 @@ class Validator {
      * @param instance The instance to validate
      */
     private void validateInstance(InstanceImpl instance) {
-        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(instance).ifPresent(errorsFound::add);
+        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(instance, schema).ifPresent(errorsFound::add);
     }
 }
@@ -0,0 +1,473 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import ai.grakn.concept.ResourceType;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     Compressed Sparse Row projection of the instances of some types
+ * </p>
+ *
+ * <p>
+ *     The instances of the selected types are read with one traversal per type, starting from the type and following
+ *     its isa edges, so the storage backend is never scanned. The castings connecting those instances are read in the
+ *     same way from the role types which the selected types play or relate, together with their edges. The values of
+ *     resources are read by the same traversals, so the analytics programs never go back to the storage backend.
+ *
+ *     Every projected vertex is given a dense index. The type of each vertex is held as an index into the projected
+ *     types, from which its label is known, and the adjacency is held in two sets of arrays, one for outgoing and one
+ *     for incoming edges, where the neighbours of vertex i are found between offsets[i] and offsets[i + 1].
+ *     A projection is immutable once read, so it can be shared by computations running at the same time.
+ * </p>
+ */
+final class CSRGraph {
+    private static final String NAME = Schema.ConceptProperty.NAME.name();
+    private static final String DATA_TYPE = Schema.ConceptProperty.DATA_TYPE.name();
+    private static final String ISA = Schema.EdgeLabel.ISA.getLabel();
+    private static final String SUB = Schema.EdgeLabel.SUB.getLabel();
+
+    private static final String[] EDGE_LABELS = {
+            Schema.EdgeLabel.CASTING.getLabel(),
+            Schema.EdgeLabel.ROLE_PLAYER.getLabel(),
+            Schema.EdgeLabel.SHORTCUT.getLabel()
+    };
+    private static final byte CASTING = 0;
+    private static final byte ROLE_PLAYER = 1;
+    private static final byte SHORTCUT = 2;
+
+    private static final Map<String, String> INSTANCE_LABELS = new HashMap<>();
+    static {
+        INSTANCE_LABELS.put(Schema.BaseType.ENTITY_TYPE.name(), Schema.BaseType.ENTITY.name());
+        INSTANCE_LABELS.put(Schema.BaseType.RELATION_TYPE.name(), Schema.BaseType.RELATION.name());
+        INSTANCE_LABELS.put(Schema.BaseType.RESOURCE_TYPE.name(), Schema.BaseType.RESOURCE.name());
+        INSTANCE_LABELS.put(Schema.BaseType.ROLE_TYPE.name(), Schema.BaseType.CASTING.name());
+    }
+
+    private final Graph graph;
+    private final VertexIds vertexIds;
+    private final int[] types;
+    private final Object[] values;
+    private final String[] typeNames;
+    private final String[] typeLabels;
+    private final String[] valueKeys;
+
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final byte[] outLabels;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final byte[] inLabels;
+
+    private CSRGraph(Graph graph, Builder builder){
+        int size = builder.vertexIds.size();
+        this.graph = graph;
+        this.vertexIds = builder.vertexIds.trim();
+        this.types = Arrays.copyOf(builder.types, size);
+        this.values = builder.values == null ? null : Arrays.copyOf(builder.values, size);
+        this.typeNames = builder.typeNames.toArray(new String[builder.typeNames.size()]);
+        this.typeLabels = builder.typeLabels.toArray(new String[builder.typeLabels.size()]);
+        this.valueKeys = builder.valueKeys.toArray(new String[builder.valueKeys.size()]);
+
+        int edgeCount = builder.edgeCount;
+        outOffsets = new int[size + 1];
+        outTargets = new int[edgeCount];
+        outLabels = new byte[edgeCount];
+        inOffsets = new int[size + 1];
+        inSources = new int[edgeCount];
+        inLabels = new byte[edgeCount];
+        fill(outOffsets, outTargets, outLabels, builder.sources, builder.targets, builder.labels, edgeCount);
+        fill(inOffsets, inSources, inLabels, builder.targets, builder.sources, builder.labels, edgeCount);
+    }
+
+    /**
+     * @param source The graph to read from
+     * @return The version of the graph stamped by its last commit, if it has one
+     */
+    static Optional<String> commitVersion(Graph source){
+        GraphTraversal<Vertex, Object> version = source.traversal().V().
+                has(NAME, Schema.MetaSchema.CONCEPT.getName()).values(Schema.ConceptProperty.COMMIT_VERSION.name());
+        return version.hasNext() ? Optional.of(version.next().toString()) : Optional.empty();
+    }
+
+    /**
+     * Reads the instances of the given types into a new projection
+     *
+     * @param graph The graph the projection is of
+     * @param source The graph to read from, which may be a transaction of the projected graph
+     * @param typeNames The names of the types to project, or empty to project the instances of every type
+     * @param runAll Runs the reads, which are independent of each other
+     * @return The projection of the instances
+     */
+    static CSRGraph project(Graph graph, Graph source, Set<String> typeNames,
+                            Function<List<Callable<TypeInstances>>, List<TypeInstances>> runAll){
+        if (typeNames.isEmpty()) typeNames = instanceTypeNames(source);
+
+        List<Callable<TypeInstances>> readTypes = new ArrayList<>();
+        typeNames.forEach(typeName -> readTypes.add(() -> TypeInstances.read(source, typeName)));
+        List<TypeInstances> instances = runAll.apply(readTypes);
+
+        Set<String> roleNames = new LinkedHashSet<>();
+        instances.forEach(typeInstances -> roleNames.addAll(typeInstances.roleNames));
+        List<Callable<TypeInstances>> readRoles = new ArrayList<>();
+        roleNames.forEach(roleName -> readRoles.add(() -> TypeInstances.read(source, roleName)));
+        List<TypeInstances> castings = runAll.apply(readRoles);
+
+        Builder builder = new Builder();
+        instances.forEach(builder::addInstances);
+        instances.forEach(builder::addEdges);
+        castings.forEach(builder::addCastings);
+        return new CSRGraph(graph, builder);
+    }
+
+    /**
+     * @return The names of every type below the entity, relation and resource meta types
+     */
+    private static Set<String> instanceTypeNames(Graph source){
+        Set<String> typeNames = new HashSet<>();
+        source.traversal().V().has(NAME, P.within(Schema.MetaSchema.ENTITY.getName(),
+                Schema.MetaSchema.RELATION.getName(), Schema.MetaSchema.RESOURCE.getName())).
+                repeat(__.in(SUB)).emit().values(NAME).forEachRemaining(name -> typeNames.add((String) name));
+        return typeNames;
+    }
+
+    /**
+     * Counting sort of the edge list into offsets and neighbours
+     */
+    private static void fill(int[] offsets, int[] neighbours, byte[] neighbourLabels,
+                             int[] from, int[] to, byte[] labels, int edgeCount){
+        for (int e = 0; e < edgeCount; e++) offsets[from[e] + 1]++;
+        for (int i = 1; i < offsets.length; i++) offsets[i] += offsets[i - 1];
+
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int e = 0; e < edgeCount; e++) {
+            int position = next[from[e]]++;
+            neighbours[position] = to[e];
+            neighbourLabels[position] = labels[e];
+        }
+    }
+
+    Graph graph(){
+        return graph;
+    }
+
+    int size(){
+        return types.length;
+    }
+
+    Object id(int vertex){
+        return vertexIds.get(vertex);
+    }
+
+    String label(int vertex){
+        return typeLabels[types[vertex]];
+    }
+
+    /**
+     * @return The name of the type of the vertex
+     */
+    String type(int vertex){
+        return typeNames[types[vertex]];
+    }
+
+    /**
+     * @return The key of the property holding the value of the vertex, or null if the vertex is not a resource
+     */
+    String valueKey(int vertex){
+        return valueKeys[types[vertex]];
+    }
+
+    /**
+     * @return The value of the resource, or null if the vertex is not a resource
+     */
+    Object value(int vertex){
+        return values == null ? null : values[vertex];
+    }
+
+    /**
+     * @return The index of the vertex with the given id, or -1 if the vertex is not in the projection
+     */
+    int index(Object id){
+        return vertexIds.indexOf(id);
+    }
+
+    int[] offsets(Direction direction){
+        return direction == Direction.OUT ? outOffsets : inOffsets;
+    }
+
+    int[] neighbours(Direction direction){
+        return direction == Direction.OUT ? outTargets : inSources;
+    }
+
+    byte[] neighbourLabels(Direction direction){
+        return direction == Direction.OUT ? outLabels : inLabels;
+    }
+
+    /**
+     * @return The id given to the edge label in the projection, or -1 if edges with the label are not projected
+     */
+    static int edgeLabel(String label){
+        for (int i = 0; i < EDGE_LABELS.length; i++) {
+            if (EDGE_LABELS[i].equals(label)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * The instances of a single type as read from the graph, before they are given indices
+     */
+    static final class TypeInstances {
+        private final String typeName;
+        private String label = null;
+        private String valueKey = null;
+        private final List<Object> ids = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        private final List<Object> edgeEnds = new ArrayList<>();
+        private final List<Byte> edgeLabels = new ArrayList<>();
+        private final Set<String> roleNames = new HashSet<>();
+
+        private TypeInstances(String typeName){
+            this.typeName = typeName;
+        }
+
+        /**
+         * Reads the instances of a type with a single traversal from the type. The instances of a role type are its
+         * castings, of which only the edges are read.
+         */
+        static TypeInstances read(Graph source, String typeName){
+            TypeInstances instances = new TypeInstances(typeName);
+            GraphTraversalSource g = source.traversal();
+            GraphTraversal<Vertex, Vertex> found = g.V().has(NAME, typeName);
+            if (!found.hasNext()) return instances;
+
+            Vertex type = found.next();
+            String typeLabel = type.label();
+            instances.label = INSTANCE_LABELS.get(typeLabel);
+
+            if (Schema.BaseType.ROLE_TYPE.name().equals(typeLabel)) {
+                g.V(type).in(ISA).bothE(EDGE_LABELS[CASTING], EDGE_LABELS[ROLE_PLAYER]).forEachRemaining(edge ->
+                        instances.addEdge(edge, EDGE_LABELS[CASTING].equals(edge.label()) ? CASTING : ROLE_PLAYER));
+                return instances;
+            }
+            if (instances.label == null) return instances;
+
+            // The castings of these roles are the ones which may connect instances of the type
+            g.V(type).emit().repeat(__.out(SUB)).
+                    out(Schema.EdgeLabel.HAS_ROLE.getLabel(), Schema.EdgeLabel.PLAYS_ROLE.getLabel()).
+                    emit().repeat(__.in(SUB)).values(NAME).forEachRemaining(name -> instances.roleNames.add((String) name));
+
+            VertexProperty<String> dataType = type.property(DATA_TYPE);
+            if (dataType.isPresent()) {
+                instances.valueKey = ResourceType.DataType.SUPPORTED_TYPES.get(dataType.value()).
+                        getConceptProperty().name();
+                g.V(type).in(ISA).properties(instances.valueKey).forEachRemaining(property -> {
+                    instances.ids.add(property.element().id());
+                    instances.values.add(property.value());
+                });
+            } else if (Schema.BaseType.RELATION_TYPE.name().equals(typeLabel)) {
+                g.V(type).in(ISA).sideEffect(relation -> instances.ids.add(relation.get().id())).
+                        outE(EDGE_LABELS[SHORTCUT]).forEachRemaining(edge -> instances.addEdge(edge, SHORTCUT));
+            } else {
+                g.V(type).in(ISA).id().forEachRemaining(instances.ids::add);
+            }
+            return instances;
+        }
+
+        private void addEdge(Edge edge, byte label){
+            edgeEnds.add(edge.outVertex().id());
+            edgeEnds.add(edge.inVertex().id());
+            edgeLabels.add(label);
+        }
+    }
+
+    /**
+     * Gives the projected vertices their indices and collects the edges between them
+     */
+    private static final class Builder {
+        private final VertexIds vertexIds = new VertexIds();
+        private int[] types = new int[16];
+        private Object[] values = null;
+        private final List<String> typeNames = new ArrayList<>();
+        private final List<String> typeLabels = new ArrayList<>();
+        private final List<String> valueKeys = new ArrayList<>();
+
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private byte[] labels = new byte[16];
+        private int edgeCount = 0;
+
+        void addInstances(TypeInstances instances){
+            if (instances.label == null) return;
+            int type = addType(instances);
+            for (int i = 0; i < instances.ids.size(); i++) {
+                addVertex(instances.ids.get(i), type, instances.valueKey == null ? null : instances.values.get(i));
+            }
+        }
+
+        /**
+         * Adds the shortcut edges between relations and role players which are both projected
+         */
+        void addEdges(TypeInstances instances){
+            for (int e = 0; e < instances.edgeLabels.size(); e++) {
+                int source = vertexIds.indexOf(instances.edgeEnds.get(2 * e));
+                int target = vertexIds.indexOf(instances.edgeEnds.get(2 * e + 1));
+                if (source >= 0 && target >= 0) addEdge(source, target, instances.edgeLabels.get(e));
+            }
+        }
+
+        /**
+         * Adds the castings which are connected to a projected relation or role player, along with those edges
+         */
+        void addCastings(TypeInstances castings){
+            if (castings.label == null) return;
+            int type = -1;
+            for (int e = 0; e < castings.edgeLabels.size(); e++) {
+                byte label = castings.edgeLabels.get(e);
+                Object from = castings.edgeEnds.get(2 * e);
+                Object to = castings.edgeEnds.get(2 * e + 1);
+                Object casting = label == CASTING ? to : from;
+                int other = vertexIds.indexOf(label == CASTING ? from : to);
+                if (other < 0) continue;
+
+                int index = vertexIds.indexOf(casting);
+                if (index < 0) {
+                    if (type < 0) type = addType(castings);
+                    index = addVertex(casting, type, null);
+                }
+                if (label == CASTING) addEdge(other, index, label);
+                else addEdge(index, other, label);
+            }
+        }
+
+        private int addType(TypeInstances instances){
+            typeNames.add(instances.typeName);
+            typeLabels.add(instances.label);
+            valueKeys.add(instances.valueKey);
+            return typeNames.size() - 1;
+        }
+
+        private int addVertex(Object id, int type, Object value){
+            int index = vertexIds.add(id);
+            if (index == types.length) types = Arrays.copyOf(types, index * 2);
+            types[index] = type;
+            if (value != null) {
+                if (values == null) values = new Object[types.length];
+                if (values.length < types.length) values = Arrays.copyOf(values, types.length);
+                values[index] = value;
+            }
+            return index;
+        }
+
+        private void addEdge(int source, int target, byte label){
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+                labels = Arrays.copyOf(labels, edgeCount * 2);
+            }
+            sources[edgeCount] = source;
+            targets[edgeCount] = target;
+            labels[edgeCount] = label;
+            edgeCount++;
+        }
+    }
+
+    /**
+     * The ids of the projected vertices in index order, with an open addressing table from each id to its index
+     */
+    private static final class VertexIds {
+        private Object[] ids;
+        private int size;
+        private int[] table; // One more than the index of the vertex whose id hashes to the slot, or 0 if empty
+
+        VertexIds(){
+            this(new Object[16], 0, new int[32]);
+        }
+
+        private VertexIds(Object[] ids, int size, int[] table){
+            this.ids = ids;
+            this.size = size;
+            this.table = table;
+        }
+
+        int size(){
+            return size;
+        }
+
+        Object get(int index){
+            return ids[index];
+        }
+
+        int indexOf(Object id){
+            int mask = table.length - 1;
+            for (int slot = hash(id) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                if (ids[table[slot] - 1].equals(id)) return table[slot] - 1;
+            }
+            return -1;
+        }
+
+        int add(Object id){
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size] = id;
+            if (2 * (size + 1) > table.length) {
+                table = new int[table.length * 2];
+                for (int index = 0; index < size; index++) insert(index);
+            }
+            insert(size);
+            return size++;
+        }
+
+        VertexIds trim(){
+            return new VertexIds(Arrays.copyOf(ids, size), size, table);
+        }
+
+        private void insert(int index){
+            int mask = table.length - 1;
+            int slot = hash(ids[index]) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = index + 1;
+        }
+
+        private static int hash(Object id){
+            int hash = id.hashCode();
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import ai.grakn.graql.internal.analytics.CommonOLAP;
+import ai.grakn.util.Schema;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.DefaultComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *     Graph Computer which runs analytics in memory on a single machine
+ * </p>
+ *
+ * <p>
+ *     The instances of the types selected by the jobs are first read into a {@link CSRGraph}, after which the
+ *     {@link VertexProgram} and {@link MapReduce} jobs run against the projection on a fixed pool of workers, each of
+ *     which executes a contiguous range of vertices with its own clone of the program. Messages are exchanged through
+ *     a {@link LocalMessageBoard} and element compute keys are held by the projection, so nothing is ever written
+ *     back to the original graph.
+ *
+ *     The projection of a graph is kept until the graph is committed to again or other types are selected, so
+ *     repeated queries on the same data are not read again. It is stamped with the
+ *     {@link Schema.ConceptProperty#COMMIT_VERSION} of the graph, which is changed by commits from every process.
+ *
+ *     This avoids the start up cost of a distributed computer and the full scan of the storage backend for every
+ *     iteration, but the selected instances must fit in the memory of the machine. It is enabled by setting the
+ *     graph.computer property of the analytics config to this class.
+ * </p>
+ */
+public class LocalGraphComputer implements GraphComputer {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalGraphComputer.class);
+
+    // Projections are released when memory is short, and with their graph
+    private static final Cache<Graph, Projection> projections = CacheBuilder.newBuilder().weakKeys().softValues().build();
+
+    private final Graph graph;
+    private VertexProgram<?> vertexProgram = null;
+    private final Set<MapReduce> mapReducers = new HashSet<>();
+    private ResultGraph resultGraph = null;
+    private Persist persist = null;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private boolean executed = false;
+
+    public LocalGraphComputer(Graph graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public GraphComputer result(ResultGraph resultGraph) {
+        this.resultGraph = resultGraph;
+        return this;
+    }
+
+    @Override
+    public GraphComputer persist(Persist persist) {
+        this.persist = persist;
+        return this;
+    }
+
+    @Override
+    public GraphComputer program(VertexProgram vertexProgram) {
+        this.vertexProgram = vertexProgram;
+        return this;
+    }
+
+    @Override
+    public GraphComputer mapReduce(MapReduce mapReduce) {
+        this.mapReducers.add(mapReduce);
+        return this;
+    }
+
+    @Override
+    public GraphComputer workers(int workers) {
+        if (workers < 1) throw Exceptions.computerRequiresMoreWorkersThanSupported(workers, features().getMaxWorkers());
+        this.workers = workers;
+        return this;
+    }
+
+    @Override
+    public Future<ComputerResult> submit() {
+        if (executed) throw Exceptions.computerHasAlreadyBeenSubmittedAVertexProgram();
+        executed = true;
+
+        if (vertexProgram == null && mapReducers.isEmpty()) throw Exceptions.computerHasNoVertexProgramNorMapReducers();
+        if (vertexProgram != null) {
+            GraphComputerHelper.validateProgramOnComputer(this, vertexProgram);
+            mapReducers.addAll(vertexProgram.getMapReducers());
+        }
+
+        resultGraph = GraphComputerHelper.getResultGraphState(Optional.ofNullable(vertexProgram), Optional.ofNullable(resultGraph));
+        persist = GraphComputerHelper.getPersistState(Optional.ofNullable(vertexProgram), Optional.ofNullable(persist));
+        if (!features().supportsResultGraphPersistCombination(resultGraph, persist)) {
+            throw Exceptions.resultGraphPersistCombinationNotSupported(resultGraph, persist);
+        }
+
+        ExecutorService submitter = Executors.newSingleThreadExecutor();
+        try {
+            return submitter.submit(this::compute);
+        } finally {
+            submitter.shutdown();
+        }
+    }
+
+    private ComputerResult compute() {
+        long start = System.currentTimeMillis();
+        ExecutorService workerPool = Executors.newFixedThreadPool(workers);
+        try {
+            CSRGraph csrGraph = project(workerPool);
+            LOG.debug("Projected [" + csrGraph.size() + "] vertices in [" + (System.currentTimeMillis() - start) + "] ms");
+
+            LocalMemory memory = new LocalMemory(vertexProgram, mapReducers);
+            Map<String, Object[]> computeKeys = new HashMap<>();
+            if (vertexProgram != null) {
+                vertexProgram.getElementComputeKeys().forEach(key -> computeKeys.put(key, new Object[csrGraph.size()]));
+                executeVertexProgram(vertexProgram, csrGraph, computeKeys, memory, workerPool);
+            }
+
+            for (MapReduce<?, ?, ?, ?, ?> mapReduce : mapReducers) {
+                executeMapReduce(mapReduce, csrGraph, computeKeys, memory, workerPool);
+            }
+
+            memory.setRuntime(System.currentTimeMillis() - start);
+            memory.complete();
+            return new DefaultComputerResult(graph, memory.asImmutable());
+        } finally {
+            workerPool.shutdownNow();
+            if (graph.features().graph().supportsTransactions()) graph.tx().close();
+        }
+    }
+
+    /**
+     * Gets the projection of the types selected by the jobs, reading it from the graph if the graph has been committed
+     * to since it was last read. The types are read in parallel when the graph can be read by many threads at once.
+     */
+    private CSRGraph project(ExecutorService workerPool) {
+        Set<String> typeNames = getSelectedTypes();
+        Graph.Features.GraphFeatures features = graph.features().graph();
+        boolean threaded = features.supportsThreadedTransactions();
+        Graph source = threaded ? graph.tx().createThreadedTx() : graph;
+        try {
+            Optional<String> version = CSRGraph.commitVersion(source);
+            Projection cached = projections.getIfPresent(graph);
+            if (cached != null && version.isPresent() && cached.isOf(typeNames, version.get())) return cached.csrGraph;
+
+            boolean parallel = threaded || !features.supportsTransactions();
+            CSRGraph csrGraph = CSRGraph.project(graph, source, typeNames, tasks -> parallel ?
+                    runAll(workerPool, tasks) : tasks.stream().map(LocalGraphComputer::call).collect(Collectors.toList()));
+            version.ifPresent(committed -> projections.put(graph, new Projection(typeNames, committed, csrGraph)));
+            return csrGraph;
+        } finally {
+            if (threaded) source.tx().close();
+        }
+    }
+
+    /**
+     * @return The types selected by every job, or empty if any job runs on every type
+     */
+    private Set<String> getSelectedTypes() {
+        Set<Object> jobs = new HashSet<>(mapReducers);
+        if (vertexProgram != null) jobs.add(vertexProgram);
+
+        Set<String> typeNames = new HashSet<>();
+        for (Object job : jobs) {
+            if (!(job instanceof CommonOLAP) || ((CommonOLAP) job).getSelectedTypes().isEmpty()) {
+                return Collections.emptySet();
+            }
+            typeNames.addAll(((CommonOLAP) job).getSelectedTypes());
+        }
+        return typeNames;
+    }
+
+    private <M> void executeVertexProgram(VertexProgram<M> program, CSRGraph csrGraph, Map<String, Object[]> computeKeys,
+                                          LocalMemory memory, ExecutorService workerPool) {
+        program.setup(memory);
+        memory.completeSubRound();
+
+        LocalMessageBoard<M> messageBoard = new LocalMessageBoard<>(csrGraph.size(), program.getMessageCombiner());
+        while (true) {
+            List<LocalMessageBoard.Outbox> outboxes = new ArrayList<>();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int[] range : ranges(csrGraph.size())) {
+                LocalMessageBoard.Outbox outbox = new LocalMessageBoard.Outbox();
+                outboxes.add(outbox);
+                tasks.add(() -> {
+                    VertexProgram<M> worker = program.clone();
+                    LocalMessenger<M> messenger = new LocalMessenger<>(csrGraph, messageBoard, outbox);
+                    worker.workerIterationStart(memory.asImmutable());
+                    for (int vertex = range[0]; vertex < range[1]; vertex++) {
+                        messenger.setVertex(vertex);
+                        worker.execute(new LocalVertex(csrGraph, computeKeys, false, vertex), messenger, memory);
+                    }
+                    worker.workerIterationEnd(memory.asImmutable());
+                    return null;
+                });
+            }
+            runAll(workerPool, tasks);
+
+            messageBoard.completeIteration(outboxes);
+            memory.completeSubRound();
+            boolean terminate = program.terminate(memory);
+            memory.incrIteration();
+            memory.completeSubRound();
+            if (terminate) break;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <MK, MV, RK, RV> void executeMapReduce(MapReduce<MK, MV, RK, RV, ?> mapReduce, CSRGraph csrGraph,
+                                                   Map<String, Object[]> computeKeys, LocalMemory memory,
+                                                   ExecutorService workerPool) {
+        if (!mapReduce.doStage(MapReduce.Stage.MAP)) return;
+        boolean reduce = mapReduce.doStage(MapReduce.Stage.REDUCE);
+
+        List<Map<MK, List<MV>>> mapped = new ArrayList<>();
+        List<List<KeyValue<RK, RV>>> emitted = new ArrayList<>();
+        List<Callable<Void>> mapTasks = new ArrayList<>();
+        for (int[] range : ranges(csrGraph.size())) {
+            Map<MK, List<MV>> workerMapped = new HashMap<>();
+            List<KeyValue<RK, RV>> workerEmitted = new ArrayList<>();
+            mapped.add(workerMapped);
+            emitted.add(workerEmitted);
+            mapTasks.add(() -> {
+                MapReduce<MK, MV, RK, RV, ?> worker = mapReduce.clone();
+                MapReduce.MapEmitter<MK, MV> emitter = (key, value) -> {
+                    if (reduce) workerMapped.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+                    else workerEmitted.add(new KeyValue<>((RK) key, (RV) value));
+                };
+                worker.workerStart(MapReduce.Stage.MAP);
+                for (int vertex = range[0]; vertex < range[1]; vertex++) {
+                    worker.map(new LocalVertex(csrGraph, computeKeys, true, vertex), emitter);
+                }
+                worker.workerEnd(MapReduce.Stage.MAP);
+                return null;
+            });
+        }
+        runAll(workerPool, mapTasks);
+
+        List<KeyValue<RK, RV>> results = new ArrayList<>();
+        if (reduce) {
+            Map<MK, List<MV>> grouped = new HashMap<>();
+            mapped.forEach(workerMapped -> workerMapped.forEach((key, values) ->
+                    grouped.computeIfAbsent(key, k -> new ArrayList<>()).addAll(values)));
+            List<MK> keys = new ArrayList<>(grouped.keySet());
+
+            emitted.clear();
+            List<Callable<Void>> reduceTasks = new ArrayList<>();
+            for (int[] range : ranges(keys.size())) {
+                List<KeyValue<RK, RV>> workerEmitted = new ArrayList<>();
+                emitted.add(workerEmitted);
+                reduceTasks.add(() -> {
+                    MapReduce<MK, MV, RK, RV, ?> worker = mapReduce.clone();
+                    MapReduce.ReduceEmitter<RK, RV> emitter = (key, value) -> workerEmitted.add(new KeyValue<>(key, value));
+                    worker.workerStart(MapReduce.Stage.REDUCE);
+                    for (int i = range[0]; i < range[1]; i++) {
+                        MK key = keys.get(i);
+                        worker.reduce(key, grouped.get(key).iterator(), emitter);
+                    }
+                    worker.workerEnd(MapReduce.Stage.REDUCE);
+                    return null;
+                });
+            }
+            runAll(workerPool, reduceTasks);
+            emitted.forEach(results::addAll);
+
+            Optional<Comparator<RK>> sort = mapReduce.getReduceKeySort();
+            if (sort.isPresent()) results.sort((a, b) -> sort.get().compare(a.getKey(), b.getKey()));
+        } else {
+            emitted.forEach(results::addAll);
+
+            Optional<Comparator<MK>> sort = mapReduce.getMapKeySort();
+            if (sort.isPresent()) results.sort((a, b) -> sort.get().compare((MK) a.getKey(), (MK) b.getKey()));
+        }
+
+        mapReduce.addResultToMemory(memory, results.iterator());
+    }
+
+    /**
+     * Splits the indices from 0 to size into one contiguous range per worker
+     */
+    private List<int[]> ranges(int size) {
+        List<int[]> ranges = new ArrayList<>();
+        int chunk = Math.max(1, (size + workers - 1) / workers);
+        for (int start = 0; start < size; start += chunk) {
+            ranges.add(new int[]{start, Math.min(size, start + chunk)});
+        }
+        return ranges;
+    }
+
+    private static <T> List<T> runAll(ExecutorService workerPool, List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : workerPool.invokeAll(tasks)) results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A projection together with what it was read from
+     */
+    private static final class Projection {
+        private final Set<String> typeNames;
+        private final String version;
+        private final CSRGraph csrGraph;
+
+        Projection(Set<String> typeNames, String version, CSRGraph csrGraph) {
+            this.typeNames = typeNames;
+            this.version = version;
+            this.csrGraph = csrGraph;
+        }
+
+        boolean isOf(Set<String> typeNames, String version) {
+            return this.version.equals(version) && this.typeNames.equals(typeNames);
+        }
+    }
+
+    @Override
+    public Features features() {
+        return new Features() {
+            @Override
+            public boolean supportsVertexAddition() {
+                return false;
+            }
+
+            @Override
+            public boolean supportsVertexRemoval() {
+                return false;
+            }
+
+            @Override
+            public boolean supportsEdgeAddition() {
+                return false;
+            }
+
+            @Override
+            public boolean supportsEdgeRemoval() {
+                return false;
+            }
+
+            @Override
+            public boolean supportsEdgePropertyAddition() {
+                return false;
+            }
+
+            @Override
+            public boolean supportsEdgePropertyRemoval() {
+                return false;
+            }
+
+            @Override
+            public boolean supportsResultGraphPersistCombination(ResultGraph resultGraph, Persist persist) {
+                return persist == Persist.NOTHING;
+            }
+        };
+    }
+}
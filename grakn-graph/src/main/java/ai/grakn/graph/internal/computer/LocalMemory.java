@@ -0,0 +1,145 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.util.MemoryHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     Memory of a {@link LocalGraphComputer}
+ * </p>
+ *
+ * <p>
+ *     Values written during a sub round are only visible to reads once the sub round is completed, in the same way as
+ *     the memory of the Tinkerpop graph computers.
+ * </p>
+ */
+final class LocalMemory implements Memory.Admin {
+    private final Set<String> memoryKeys = new HashSet<>();
+    private final Map<String, Object> currentMap = new ConcurrentHashMap<>();
+    private Map<String, Object> previousMap = new ConcurrentHashMap<>();
+    private final AtomicInteger iteration = new AtomicInteger(0);
+    private final AtomicLong runtime = new AtomicLong(0);
+
+    LocalMemory(VertexProgram<?> vertexProgram, Collection<MapReduce> mapReducers){
+        if (vertexProgram != null) memoryKeys.addAll(vertexProgram.getMemoryComputeKeys());
+        mapReducers.forEach(mapReduce -> memoryKeys.add(mapReduce.getMemoryKey()));
+        memoryKeys.forEach(MemoryHelper::validateKey);
+    }
+
+    @Override
+    public Set<String> keys(){
+        return previousMap.keySet();
+    }
+
+    @Override
+    public int getIteration(){
+        return iteration.get();
+    }
+
+    @Override
+    public void incrIteration(){
+        iteration.getAndIncrement();
+    }
+
+    @Override
+    public void setIteration(int iteration){
+        this.iteration.set(iteration);
+    }
+
+    @Override
+    public long getRuntime(){
+        return runtime.get();
+    }
+
+    @Override
+    public void setRuntime(long runtime){
+        this.runtime.set(runtime);
+    }
+
+    /**
+     * Makes the values written in the current sub round visible to reads
+     */
+    void completeSubRound(){
+        previousMap = new ConcurrentHashMap<>(currentMap);
+    }
+
+    /**
+     * Makes every value visible once the computation is done
+     */
+    void complete(){
+        iteration.decrementAndGet();
+        previousMap = currentMap;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R get(String key) throws IllegalArgumentException {
+        R value = (R) previousMap.get(key);
+        if (value == null) throw Memory.Exceptions.memoryDoesNotExist(key);
+        return value;
+    }
+
+    @Override
+    public void set(String key, Object value){
+        checkKeyValue(key, value);
+        currentMap.put(key, value);
+    }
+
+    @Override
+    public void incr(String key, long delta){
+        checkKeyValue(key, delta);
+        currentMap.compute(key, (k, value) -> value == null ? delta : (Long) value + delta);
+    }
+
+    @Override
+    public void and(String key, boolean bool){
+        checkKeyValue(key, bool);
+        currentMap.compute(key, (k, value) -> value == null ? bool : (Boolean) value && bool);
+    }
+
+    @Override
+    public void or(String key, boolean bool){
+        checkKeyValue(key, bool);
+        currentMap.compute(key, (k, value) -> value == null ? bool : (Boolean) value || bool);
+    }
+
+    private void checkKeyValue(String key, Object value){
+        if (!memoryKeys.contains(key)) throw GraphComputer.Exceptions.providedKeyIsNotAMemoryComputeKey(key);
+        MemoryHelper.validateValue(value);
+    }
+
+    @Override
+    public String toString(){
+        return StringFactory.memoryString(this);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * <p>
+ *     Messages passed between the vertices of a {@link CSRGraph}
+ * </p>
+ *
+ * <p>
+ *     Each worker sends into its own {@link Outbox} without any locking. When an iteration is complete the outboxes
+ *     are bucketed by their target vertex into a single inbox laid out in the same way as the adjacency of the
+ *     projection, which is read during the next iteration. When the vertex program has a {@link MessageCombiner}
+ *     the messages to each vertex are combined into one as they are bucketed.
+ * </p>
+ *
+ * @param <M> The type of the messages
+ */
+final class LocalMessageBoard<M> {
+    private final int size;
+    private final Optional<MessageCombiner<M>> combiner;
+
+    private int[] offsets;
+    private Object[] messages;
+
+    LocalMessageBoard(int size, Optional<MessageCombiner<M>> combiner){
+        this.size = size;
+        this.combiner = combiner;
+        this.offsets = new int[size + 1];
+        this.messages = new Object[0];
+    }
+
+    /**
+     * @param vertex The index of the vertex
+     * @return The messages sent to the vertex during the previous iteration
+     */
+    @SuppressWarnings("unchecked")
+    Iterator<M> receive(int vertex){
+        if (combiner.isPresent()) {
+            M message = (M) messages[vertex];
+            return message == null ? Collections.emptyIterator() : Collections.singletonList(message).iterator();
+        }
+
+        int start = offsets[vertex];
+        int end = offsets[vertex + 1];
+        return new Iterator<M>() {
+            private int next = start;
+
+            @Override
+            public boolean hasNext(){
+                return next < end;
+            }
+
+            @Override
+            public M next(){
+                if (next >= end) throw new NoSuchElementException();
+                return (M) messages[next++];
+            }
+        };
+    }
+
+    /**
+     * Replaces the messages of the previous iteration with the messages sent during this iteration
+     *
+     * @param outboxes The outboxes of all the workers of this iteration
+     */
+    @SuppressWarnings("unchecked")
+    void completeIteration(Collection<Outbox> outboxes){
+        if (combiner.isPresent()) {
+            MessageCombiner<M> messageCombiner = combiner.get();
+            Object[] combined = new Object[size];
+            for (Outbox outbox : outboxes) {
+                for (int i = 0; i < outbox.size; i++) {
+                    int target = outbox.targets[i];
+                    M message = (M) outbox.messages[i];
+                    combined[target] = combined[target] == null ? message : messageCombiner.combine((M) combined[target], message);
+                }
+            }
+            messages = combined;
+            return;
+        }
+
+        int[] newOffsets = new int[size + 1];
+        for (Outbox outbox : outboxes) {
+            for (int i = 0; i < outbox.size; i++) newOffsets[outbox.targets[i] + 1]++;
+        }
+        for (int i = 1; i <= size; i++) newOffsets[i] += newOffsets[i - 1];
+
+        Object[] newMessages = new Object[newOffsets[size]];
+        int[] next = Arrays.copyOf(newOffsets, size);
+        for (Outbox outbox : outboxes) {
+            for (int i = 0; i < outbox.size; i++) newMessages[next[outbox.targets[i]]++] = outbox.messages[i];
+        }
+
+        offsets = newOffsets;
+        messages = newMessages;
+    }
+
+    /**
+     * Messages sent by a single worker during one iteration
+     */
+    static final class Outbox {
+        private int[] targets = new int[64];
+        private Object[] messages = new Object[64];
+        private int size = 0;
+
+        void send(int target, Object message){
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                messages = Arrays.copyOf(messages, size * 2);
+            }
+            targets[size] = target;
+            messages[size] = message;
+            size++;
+        }
+    }
+}
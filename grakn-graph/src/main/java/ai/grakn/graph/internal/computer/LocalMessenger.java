@@ -0,0 +1,130 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import ai.grakn.util.ErrorMessage;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     The {@link Messenger} of a single worker of a {@link LocalGraphComputer}
+ * </p>
+ *
+ * <p>
+ *     A local {@link MessageScope} is resolved to the direction and labels of its incident edges, and messages are
+ *     sent to the vertices at the other end of those edges in the projection. Only incident traversals made of a
+ *     single step such as {@code __.inE()} or {@code __.outE(labels)} are supported, and edge functions are not
+ *     applied because the projection does not hold edge objects.
+ * </p>
+ *
+ * @param <M> The type of the messages
+ */
+final class LocalMessenger<M> implements Messenger<M> {
+    private final CSRGraph graph;
+    private final LocalMessageBoard<M> messageBoard;
+    private final LocalMessageBoard.Outbox outbox;
+    private final Map<MessageScope, IncidentEdges> scopes = new HashMap<>();
+    private int vertex;
+
+    LocalMessenger(CSRGraph graph, LocalMessageBoard<M> messageBoard, LocalMessageBoard.Outbox outbox){
+        this.graph = graph;
+        this.messageBoard = messageBoard;
+        this.outbox = outbox;
+    }
+
+    /**
+     * @param vertex The index of the vertex currently being executed by the worker
+     */
+    void setVertex(int vertex){
+        this.vertex = vertex;
+    }
+
+    @Override
+    public Iterator<M> receiveMessages(){
+        return messageBoard.receive(vertex);
+    }
+
+    @Override
+    public void sendMessage(MessageScope messageScope, M message){
+        if (messageScope instanceof MessageScope.Local) {
+            IncidentEdges incidentEdges = scopes.computeIfAbsent(messageScope, scope -> resolve((MessageScope.Local<?>) scope));
+            if (incidentEdges.direction != Direction.OUT) send(Direction.IN, incidentEdges.labels, message);
+            if (incidentEdges.direction != Direction.IN) send(Direction.OUT, incidentEdges.labels, message);
+        } else {
+            ((MessageScope.Global) messageScope).vertices().forEach(target -> {
+                int index = graph.index(target.id());
+                if (index >= 0) outbox.send(index, message);
+            });
+        }
+    }
+
+    private void send(Direction direction, int[] labels, M message){
+        int[] offsets = graph.offsets(direction);
+        int[] neighbours = graph.neighbours(direction);
+        byte[] neighbourLabels = graph.neighbourLabels(direction);
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            if (labels == null || contains(labels, neighbourLabels[i])) outbox.send(neighbours[i], message);
+        }
+    }
+
+    private static boolean contains(int[] labels, int label){
+        for (int candidate : labels) {
+            if (candidate == label) return true;
+        }
+        return false;
+    }
+
+    private IncidentEdges resolve(MessageScope.Local<?> messageScope){
+        List<Step> steps = messageScope.getIncidentTraversal().get().asAdmin().getSteps();
+        if (steps.size() != 1 || !(steps.get(0) instanceof VertexStep) || !((VertexStep<?>) steps.get(0)).returnsEdge()) {
+            throw new UnsupportedOperationException(ErrorMessage.UNSUPPORTED_MESSAGE_SCOPE.getMessage(messageScope));
+        }
+
+        VertexStep<?> step = (VertexStep<?>) steps.get(0);
+        String[] edgeLabels = step.getEdgeLabels();
+        int[] labels = null;
+        if (edgeLabels.length > 0) {
+            labels = new int[edgeLabels.length];
+            for (int i = 0; i < edgeLabels.length; i++) labels[i] = CSRGraph.edgeLabel(edgeLabels[i]);
+        }
+        return new IncidentEdges(step.getDirection(), labels);
+    }
+
+    /**
+     * The edges a local message scope sends along
+     */
+    private static final class IncidentEdges {
+        private final Direction direction;
+        private final int[] labels;
+
+        IncidentEdges(Direction direction, int[] labels){
+            this.direction = direction;
+            this.labels = labels;
+        }
+    }
+}
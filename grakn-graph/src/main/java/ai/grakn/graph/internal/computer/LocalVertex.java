@@ -0,0 +1,258 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import ai.grakn.util.ErrorMessage;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ *     A vertex of a {@link CSRGraph} as seen by vertex programs and map reduces
+ * </p>
+ *
+ * <p>
+ *     The label, id, type and value of the vertex are served from the projection, as are its adjacent vertices.
+ *     Element compute keys are held in arrays indexed by the vertex, which are only ever written by the worker
+ *     executing the vertex. Other properties and edges are not projected, so reading them is not supported.
+ * </p>
+ */
+final class LocalVertex implements Vertex {
+    private static final String TYPE = Schema.ConceptProperty.TYPE.name();
+
+    private final CSRGraph graph;
+    private final Map<String, Object[]> computeKeys;
+    private final boolean readOnly;
+    private final int index;
+
+    LocalVertex(CSRGraph graph, Map<String, Object[]> computeKeys, boolean readOnly, int index){
+        this.graph = graph;
+        this.computeKeys = computeKeys;
+        this.readOnly = readOnly;
+        this.index = index;
+    }
+
+    @Override
+    public Object id(){
+        return graph.id(index);
+    }
+
+    @Override
+    public String label(){
+        return graph.label(index);
+    }
+
+    @Override
+    public Graph graph(){
+        return graph.graph();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> VertexProperty<V> property(String key){
+        Object[] values = computeKeys.get(key);
+        if (values != null) {
+            return values[index] == null ? VertexProperty.empty() : new ComputeProperty<>(key, (V) values[index]);
+        }
+
+        if (TYPE.equals(key)) return new ComputeProperty<>(key, (V) graph.type(index));
+        if (key.equals(graph.valueKey(index))) return new ComputeProperty<>(key, (V) graph.value(index));
+
+        throw new UnsupportedOperationException(ErrorMessage.UNPROJECTED_ELEMENT.getMessage(key));
+    }
+
+    @Override
+    public <V> VertexProperty<V> property(VertexProperty.Cardinality cardinality, String key, V value, Object... keyValues){
+        if (readOnly) throw GraphComputer.Exceptions.vertexPropertiesCanNotBeUpdatedInMapReduce();
+        Object[] values = computeKeys.get(key);
+        if (values == null) throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
+        values[index] = value;
+        return new ComputeProperty<>(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> Iterator<VertexProperty<V>> properties(String... propertyKeys){
+        List<VertexProperty<V>> properties = new ArrayList<>();
+        if (propertyKeys.length == 0 || contains(propertyKeys, TYPE)) {
+            properties.add(new ComputeProperty<>(TYPE, (V) graph.type(index)));
+        }
+        String valueKey = graph.valueKey(index);
+        if (valueKey != null && (propertyKeys.length == 0 || contains(propertyKeys, valueKey))) {
+            properties.add(new ComputeProperty<>(valueKey, (V) graph.value(index)));
+        }
+
+        computeKeys.forEach((key, values) -> {
+            if (values[index] != null && (propertyKeys.length == 0 || contains(propertyKeys, key))) {
+                properties.add(new ComputeProperty<>(key, (V) values[index]));
+            }
+        });
+        return properties.iterator();
+    }
+
+    @Override
+    public Iterator<Edge> edges(Direction direction, String... edgeLabels){
+        if (readOnly) throw GraphComputer.Exceptions.incidentAndAdjacentElementsCanNotBeAccessedInMapReduce();
+        throw new UnsupportedOperationException(ErrorMessage.UNPROJECTED_ELEMENT.getMessage("edges"));
+    }
+
+    @Override
+    public Iterator<Vertex> vertices(Direction direction, String... edgeLabels){
+        if (readOnly) throw GraphComputer.Exceptions.incidentAndAdjacentElementsCanNotBeAccessedInMapReduce();
+        List<Vertex> vertices = new ArrayList<>();
+        if (direction != Direction.OUT) addAdjacent(vertices, Direction.IN, edgeLabels);
+        if (direction != Direction.IN) addAdjacent(vertices, Direction.OUT, edgeLabels);
+        return vertices.iterator();
+    }
+
+    private void addAdjacent(List<Vertex> vertices, Direction direction, String... edgeLabels){
+        int[] offsets = graph.offsets(direction);
+        int[] neighbours = graph.neighbours(direction);
+        byte[] neighbourLabels = graph.neighbourLabels(direction);
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            if (edgeLabels.length == 0 || hasLabel(edgeLabels, neighbourLabels[i])) {
+                vertices.add(new LocalVertex(graph, computeKeys, readOnly, neighbours[i]));
+            }
+        }
+    }
+
+    private static boolean hasLabel(String[] edgeLabels, int label){
+        for (String edgeLabel : edgeLabels) {
+            if (CSRGraph.edgeLabel(edgeLabel) == label) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Edge addEdge(String label, Vertex inVertex, Object... keyValues){
+        throw GraphComputer.Exceptions.adjacentVertexEdgesAndVerticesCanNotBeReadOrUpdated();
+    }
+
+    @Override
+    public void remove(){
+        throw Vertex.Exceptions.vertexRemovalNotSupported();
+    }
+
+    private static boolean contains(String[] keys, String key){
+        for (String candidate : keys) {
+            if (candidate.equals(key)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object object){
+        return ElementHelper.areEqual(this, object);
+    }
+
+    @Override
+    public int hashCode(){
+        return ElementHelper.hashCode(this);
+    }
+
+    @Override
+    public String toString(){
+        return StringFactory.vertexString(this);
+    }
+
+    /**
+     * A property of the vertex which is held by the projection rather than the original graph
+     */
+    private final class ComputeProperty<V> implements VertexProperty<V> {
+        private final String key;
+        private final V value;
+
+        ComputeProperty(String key, V value){
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String key(){
+            return key;
+        }
+
+        @Override
+        public V value() throws NoSuchElementException {
+            return value;
+        }
+
+        @Override
+        public boolean isPresent(){
+            return true;
+        }
+
+        @Override
+        public Vertex element(){
+            return LocalVertex.this;
+        }
+
+        @Override
+        public Object id(){
+            return key + ":" + LocalVertex.this.id();
+        }
+
+        @Override
+        public <U> Property<U> property(String key, U value){
+            throw VertexProperty.Exceptions.metaPropertiesNotSupported();
+        }
+
+        @Override
+        public <U> Iterator<Property<U>> properties(String... propertyKeys){
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public void remove(){
+            Object[] values = computeKeys.get(key);
+            if (readOnly || values == null) throw Property.Exceptions.propertyRemovalNotSupported();
+            values[index] = null;
+        }
+
+        @Override
+        public boolean equals(Object object){
+            return ElementHelper.areEqual(this, object);
+        }
+
+        @Override
+        public int hashCode(){
+            return id().hashCode();
+        }
+
+        @Override
+        public String toString(){
+            return StringFactory.propertyString(this);
+        }
+    }
+}
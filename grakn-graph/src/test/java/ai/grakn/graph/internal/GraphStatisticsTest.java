@@ -0,0 +1,154 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.GraknStatistics;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.util.Schema;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GraphStatisticsTest extends GraphTestBase {
+
+    @Test
+    public void testInstanceCountsIncludeSubTypes() throws GraknValidationException {
+        EntityType animal = graknGraph.putEntityType("animal");
+        EntityType dog = graknGraph.putEntityType("dog").superType(animal);
+        animal.addEntity();
+        dog.addEntity();
+        dog.addEntity();
+        graknGraph.commit();
+
+        GraknStatistics statistics = graknGraph.getStatistics();
+        assertEquals(Optional.of(3L), statistics.getInstanceCount("animal"));
+        assertEquals(Optional.of(2L), statistics.getInstanceCount("dog"));
+        assertFalse(statistics.getInstanceCount("cat").isPresent());
+    }
+
+    @Test
+    public void testInstanceCountsAreUpdatedOnCommit() throws GraknValidationException {
+        EntityType dog = graknGraph.putEntityType("dog");
+        dog.addEntity();
+        graknGraph.commit();
+
+        GraknStatistics statistics = graknGraph.getStatistics();
+        assertEquals(Optional.of(1L), statistics.getInstanceCount("dog"));
+
+        dog = graknGraph.getEntityType("dog");
+        dog.addEntity();
+        dog.addEntity();
+        assertEquals(Optional.of(1L), statistics.getInstanceCount("dog"));
+
+        graknGraph.commit();
+        assertEquals(Optional.of(3L), statistics.getInstanceCount("dog"));
+
+        graknGraph.getEntityType("dog").instances().iterator().next().delete();
+        graknGraph.commit();
+        assertEquals(Optional.of(2L), statistics.getInstanceCount("dog"));
+    }
+
+    @Test
+    public void testStatisticsSeededWithinATransactionAreNotCountedTwice() throws GraknValidationException {
+        EntityType dog = graknGraph.putEntityType("dog");
+        dog.addEntity();
+        graknGraph.commit();
+
+        graknGraph.getEntityType("dog").addEntity();
+        ResourceType<Long> age = graknGraph.putResourceType("age", ResourceType.DataType.LONG);
+        age.putResource(1L);
+        age.putResource(2L);
+
+        GraknStatistics statistics = graknGraph.getStatistics();
+        assertEquals(Optional.of(1L), statistics.getInstanceCount("dog"));
+        assertFalse(statistics.getValueSelectivity("age", value -> true).isPresent());
+
+        graknGraph.commit();
+        assertEquals(Optional.of(2L), statistics.getInstanceCount("dog"));
+        assertEquals(Optional.of(0.5), statistics.getValueSelectivity("age", value -> (Long) value < 2));
+    }
+
+    @Test
+    public void testVersionChangesWhenACountDoubles() throws GraknValidationException {
+        EntityType dog = graknGraph.putEntityType("dog");
+        dog.addEntity();
+        graknGraph.commit();
+
+        GraknStatistics statistics = graknGraph.getStatistics();
+        assertEquals(Optional.of(1L), statistics.getInstanceCount("dog"));
+        long version = statistics.getVersion();
+
+        graknGraph.getEntityType("dog").addEntity();
+        graknGraph.commit();
+        long doubled = statistics.getVersion();
+        assertNotEquals(version, doubled);
+
+        graknGraph.getEntityType("dog").addEntity();
+        graknGraph.commit();
+        assertEquals(doubled, statistics.getVersion());
+
+        graknGraph.clear();
+        assertNotEquals(doubled, graknGraph.getStatistics().getVersion());
+    }
+
+    @Test
+    public void testAverageDegrees() throws GraknValidationException {
+        RoleType parent = graknGraph.putRoleType("parent");
+        RoleType child = graknGraph.putRoleType("child");
+        RelationType parentship = graknGraph.putRelationType("parentship").hasRole(parent).hasRole(child);
+        EntityType person = graknGraph.putEntityType("person").playsRole(parent).playsRole(child);
+
+        assertFalse(graknGraph.getStatistics().getAverageDegree(Schema.EdgeLabel.CASTING, Schema.BaseType.RELATION).isPresent());
+
+        parentship.addRelation().putRolePlayer(parent, person.addEntity()).putRolePlayer(child, person.addEntity());
+        graknGraph.commit();
+
+        GraknStatistics statistics = graknGraph.getStatistics();
+        assertEquals(Optional.of(2.0), statistics.getAverageDegree(Schema.EdgeLabel.CASTING, Schema.BaseType.RELATION));
+        assertEquals(Optional.of(1.0), statistics.getAverageRoleDegree("parent"));
+    }
+
+    @Test
+    public void testValueSelectivity() throws GraknValidationException {
+        ResourceType<Long> age = graknGraph.putResourceType("age", ResourceType.DataType.LONG);
+        for (long i = 0; i < 10; i ++) {
+            age.putResource(i);
+        }
+        graknGraph.commit();
+
+        GraknStatistics statistics = graknGraph.getStatistics();
+        Optional<Double> selectivity = statistics.getValueSelectivity("age", value -> (Long) value < 3);
+        assertEquals(Optional.of(0.3), selectivity);
+
+        Optional<Double> noneMatch = statistics.getValueSelectivity("age", value -> (Long) value > 100);
+        assertTrue(noneMatch.isPresent());
+        assertTrue(noneMatch.get() < 0.3);
+
+        assertFalse(statistics.getValueSelectivity("name", value -> true).isPresent());
+    }
+}
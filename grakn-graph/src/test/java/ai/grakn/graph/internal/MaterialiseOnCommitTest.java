@@ -0,0 +1,218 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Instance;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.exception.GraknValidationException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static ai.grakn.graql.Graql.and;
+import static ai.grakn.graql.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class MaterialiseOnCommitTest extends GraphTestBase {
+    private RoleType parent;
+    private RoleType child;
+    private RelationType parentship;
+    private EntityType person;
+
+    @Before
+    public void buildOntology() throws GraknValidationException {
+        parent = graknGraph.putRoleType("parent");
+        child = graknGraph.putRoleType("child");
+        parentship = graknGraph.putRelationType("parentship").hasRole(parent).hasRole(child);
+        RoleType ancestor = graknGraph.putRoleType("ancestor");
+        RoleType descendant = graknGraph.putRoleType("descendant");
+        graknGraph.putRelationType("ancestorship").hasRole(ancestor).hasRole(descendant);
+        RoleType elder = graknGraph.putRoleType("elder");
+        RoleType younger = graknGraph.putRoleType("younger");
+        graknGraph.putRelationType("kinship").hasRole(elder).hasRole(younger);
+        person = graknGraph.putEntityType("person")
+                .playsRole(parent).playsRole(child).playsRole(ancestor).playsRole(descendant)
+                .playsRole(elder).playsRole(younger);
+
+        graknGraph.getMetaRuleInference().addRule(
+                var().rel("parent", "x").rel("child", "y").isa("parentship"),
+                var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"));
+        graknGraph.getMetaRuleInference().addRule(
+                var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"),
+                var().rel("elder", "x").rel("younger", "y").isa("kinship"));
+        graknGraph.commit();
+    }
+
+    @Test
+    public void testInferencesAreMaterialisedOnCommit() throws GraknValidationException {
+        graknGraph.admin().materialiseOnCommit(true);
+
+        addParentship();
+        graknGraph.commit();
+
+        assertEquals(1, count("ancestorship"));
+        assertEquals(1, count("kinship"));
+
+        addParentship();
+        graknGraph.commit();
+
+        assertEquals(2, count("ancestorship"));
+        assertEquals(2, count("kinship"));
+    }
+
+    @Test
+    public void testOnlyTheChangesOfACommitAreEvaluated() throws GraknValidationException {
+        addParentship();
+        graknGraph.commit();
+
+        graknGraph.admin().materialiseOnCommit(true);
+        addParentship();
+        graknGraph.commit();
+
+        assertEquals(1, count("ancestorship"));
+        assertEquals(1, count("kinship"));
+    }
+
+    @Test
+    public void testInferencesAreRetractedWhenTheirDataIsDeleted() throws GraknValidationException {
+        graknGraph.admin().materialiseOnCommit(true);
+        Relation relation = addParentship();
+        addParentship();
+        graknGraph.commit();
+
+        relation.delete();
+        graknGraph.commit();
+
+        assertEquals(1, count("ancestorship"));
+        assertEquals(1, count("kinship"));
+    }
+
+    @Test
+    public void testFactsWhichWereNotInferredAreNotRetracted() throws GraknValidationException {
+        graknGraph.admin().materialiseOnCommit(true);
+        graknGraph.getRelationType("ancestorship").addRelation()
+                .putRolePlayer(graknGraph.getRoleType("ancestor"), person.addEntity())
+                .putRolePlayer(graknGraph.getRoleType("descendant"), person.addEntity());
+        Relation relation = addParentship();
+        graknGraph.commit();
+
+        relation.delete();
+        graknGraph.commit();
+
+        assertEquals(1, count("ancestorship"));
+        assertEquals(1, count("kinship"));
+    }
+
+    @Test
+    public void testOnlyTheInferencesAroundADeletionAreRetracted() throws Exception {
+        graknGraph.admin().materialiseOnCommit(true);
+        graknGraph.getMetaRuleInference().addRule(
+                and(var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"),
+                        var().rel("ancestor", "y").rel("descendant", "z").isa("ancestorship")),
+                var().rel("ancestor", "x").rel("descendant", "z").isa("ancestorship"));
+        graknGraph.commit();
+        graknGraph.awaitRematerialisation();
+
+        Instance a = person.addEntity();
+        Instance b = person.addEntity();
+        Instance c = person.addEntity();
+        Instance d = person.addEntity();
+        addParentship(a, b);
+        Relation deleted = addParentship(b, c);
+        addParentship(c, d);
+        Relation unrelated = addParentship(person.addEntity(), person.addEntity());
+        graknGraph.commit();
+        assertEquals(7, count("ancestorship"));
+
+        ConceptId unrelatedInference = unrelated.rolePlayers().get(parent).relations().stream()
+                .filter(relation -> relation.type().getName().equals("ancestorship"))
+                .findAny().get().getId();
+
+        deleted.delete();
+        graknGraph.commit();
+
+        assertEquals(3, count("ancestorship"));
+        assertEquals(3, count("kinship"));
+        assertNotNull(graknGraph.getConcept(unrelatedInference));
+    }
+
+    @Test
+    public void testInferencesAreMaterialisedInTheBackgroundWhenRulesChange() throws Exception {
+        addParentship();
+        addParentship();
+        graknGraph.commit();
+
+        graknGraph.admin().materialiseOnCommit(true);
+        RoleType owner = graknGraph.putRoleType("owner");
+        RoleType pet = graknGraph.putRoleType("pet");
+        graknGraph.putRelationType("ownership").hasRole(owner).hasRole(pet);
+        person.playsRole(owner).playsRole(pet);
+        graknGraph.getMetaRuleInference().addRule(
+                var().rel("parent", "x").rel("child", "y").isa("parentship"),
+                var().rel("owner", "x").rel("pet", "y").isa("ownership"));
+        graknGraph.commit();
+        graknGraph.awaitRematerialisation();
+
+        assertEquals(2, count("ancestorship"));
+        assertEquals(2, count("kinship"));
+        assertEquals(2, count("ownership"));
+    }
+
+    @Test
+    public void testAFailedMaterialisationDoesNotFailTheCommit() throws GraknValidationException {
+        RoleType owner = graknGraph.putRoleType("owner");
+        RoleType pet = graknGraph.putRoleType("pet");
+        graknGraph.putRelationType("ownership").hasRole(owner).hasRole(pet);
+        graknGraph.getMetaRuleInference().addRule(
+                var().rel("parent", "x").rel("child", "y").isa("parentship"),
+                var().rel("owner", "x").rel("pet", "y").isa("ownership"));
+        graknGraph.commit();
+
+        graknGraph.admin().materialiseOnCommit(true);
+        addParentship();
+        graknGraph.commit();
+
+        assertEquals(1, count("parentship"));
+    }
+
+    @Test
+    public void testInferencesAreNotMaterialisedByDefault() throws GraknValidationException {
+        addParentship();
+        graknGraph.commit();
+
+        assertEquals(0, count("ancestorship"));
+        assertEquals(0, count("kinship"));
+    }
+
+    private Relation addParentship(){
+        return addParentship(person.addEntity(), person.addEntity());
+    }
+
+    private Relation addParentship(Instance parentInstance, Instance childInstance){
+        return parentship.addRelation().putRolePlayer(parent, parentInstance).putRolePlayer(child, childInstance);
+    }
+
+    private long count(String typeName){
+        return graknGraph.getType(typeName).instances().size();
+    }
+}
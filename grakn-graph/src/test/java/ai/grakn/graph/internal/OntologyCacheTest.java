@@ -0,0 +1,115 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.graph.internal;
+
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.concept.Type;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.util.Schema;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OntologyCacheTest extends GraphTestBase {
+    private RoleType parent;
+    private EntityType person;
+
+    @Before
+    public void buildOntology() throws GraknValidationException {
+        parent = graknGraph.putRoleType("parent");
+        RoleType child = graknGraph.putRoleType("child");
+        graknGraph.putRelationType("parentship").hasRole(parent).hasRole(child);
+        person = graknGraph.putEntityType("person").playsRole(parent);
+        graknGraph.putEntityType("man").superType(person).playsRole(child);
+        graknGraph.commit();
+    }
+
+    @Test
+    public void testSnapshotIncludesCommittedTypes() {
+        Optional<OntologyCache.Snapshot> snapshot = graknGraph.getOntologySnapshot();
+        assertTrue(snapshot.isPresent());
+
+        assertEquals(((EntityTypeImpl) person).getVertex().id(), snapshot.get().getTypeId("person"));
+        assertEquals(set("person", "man"), snapshot.get().getSubTypeNames("person"));
+        assertEquals(set("parent", "child"), snapshot.get().getPlaysRoleNames("man"));
+    }
+
+    @Test
+    public void testCachedLookupsMatchTheGraph() {
+        Type man = graknGraph.getEntityType("man");
+        assertEquals(person, graknGraph.getEntityType("person"));
+        assertEquals(set("person", "man"), names(person.subTypes()));
+        assertEquals(set("parent", "child"), names(man.playsRoles()));
+    }
+
+    @Test
+    public void testTransactionsChangingTheOntologyBypassTheSnapshot() {
+        graknGraph.putEntityType("woman").superType(person);
+
+        assertFalse(graknGraph.getOntologySnapshot().isPresent());
+        assertEquals(set("person", "man", "woman"), names(person.subTypes()));
+    }
+
+    @Test
+    public void testCommittingOntologyChangesInvalidatesTheSnapshot() throws GraknValidationException {
+        graknGraph.getOntologySnapshot();
+        graknGraph.putEntityType("woman").superType(person).playsRole(parent);
+        graknGraph.commit();
+
+        Optional<OntologyCache.Snapshot> snapshot = graknGraph.getOntologySnapshot();
+        assertTrue(snapshot.isPresent());
+        assertEquals(set("person", "man", "woman"), snapshot.get().getSubTypeNames("person"));
+        assertEquals(set("parent"), names(graknGraph.getEntityType("woman").playsRoles()));
+    }
+
+    @Test
+    public void testAnOntologyVersionChangedElsewhereInvalidatesTheSnapshot() throws GraknValidationException {
+        Optional<OntologyCache.Snapshot> snapshot = graknGraph.getOntologySnapshot();
+        assertTrue(snapshot.isPresent());
+
+        // What a commit changing the ontology in another JVM leaves behind, without invalidating this JVM's cache
+        ((ConceptImpl) graknGraph.getMetaConcept()).setProperty(Schema.ConceptProperty.ONTOLOGY_VERSION, "elsewhere");
+        graknGraph.commit();
+
+        Optional<OntologyCache.Snapshot> rebuilt = graknGraph.getOntologySnapshot();
+        assertTrue(rebuilt.isPresent());
+        assertNotSame(snapshot.get(), rebuilt.get());
+        assertSame(rebuilt.get(), OntologyCache.get(graknGraph.getKeyspace()).getSnapshot(graknGraph).get());
+    }
+
+    private static Set<String> names(Collection<? extends Type> types){
+        return types.stream().map(Type::getName).collect(Collectors.toSet());
+    }
+
+    private static Set<String> set(String... names){
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
@@ -18,8 +18,10 @@
 
 package ai.grakn.graph.internal;
 
+import ai.grakn.Grakn;
 import ai.grakn.concept.Entity;
 import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Instance;
 import ai.grakn.concept.Relation;
 import ai.grakn.concept.RelationType;
 import ai.grakn.concept.Resource;
@@ -28,15 +30,22 @@ import ai.grakn.concept.RoleType;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class PostprocessingTest extends GraphTestBase{
@@ -223,6 +232,99 @@ public class PostprocessingTest extends GraphTestBase{
         assertEquals(4, graknGraph.getTinkerTraversal().hasLabel(Schema.BaseType.RELATION.name()).toList().size());
     }
 
+    @Test
+    public void whenUpdatingLegacyIndices_ConceptsCanBeFoundByTheirNewIndex(){
+        ResourceType<String> resourceType = graknGraph.putResourceType("Resource Type Thingy", ResourceType.DataType.STRING);
+        ResourceImpl<String> resource = (ResourceImpl<String>) resourceType.putResource("a value longer than any index key");
+        RelationImpl relation = (RelationImpl) relationType.instances().iterator().next();
+        relation.setHash();
+        CastingImpl casting = (CastingImpl) instance1.castings().iterator().next();
+
+        String resourceIndex = resource.getIndex();
+        String relationIndex = relation.getIndex();
+        String castingIndex = casting.getIndex();
+        resource.setProperty(Schema.ConceptProperty.INDEX, "RESOURCE-Resource Type Thingy-a value longer than any index key");
+        relation.setProperty(Schema.ConceptProperty.INDEX, "RelationType_legacy_Relation");
+        casting.setProperty(Schema.ConceptProperty.INDEX, "Casting-Role-legacy-RolePlayer-legacy");
+
+        assertTrue(graknGraph.updateConceptIndex(resource.getBaseIdentifier()));
+        assertTrue(graknGraph.updateConceptIndex(relation.getBaseIdentifier()));
+        assertTrue(graknGraph.updateConceptIndex(casting.getBaseIdentifier()));
+        assertFalse(graknGraph.updateConceptIndex(resource.getBaseIdentifier()));
+        assertFalse(graknGraph.updateConceptIndex(instance1.getBaseIdentifier()));
+
+        assertEquals(IndexKey.WIDTH, resourceIndex.length());
+        assertEquals(resourceIndex, resource.getIndex());
+        assertEquals(relationIndex, relation.getIndex());
+        assertEquals(castingIndex, casting.getIndex());
+        assertEquals(resource, resourceType.getResource("a value longer than any index key"));
+    }
+    @Test
+    public void whenAKeyspaceIsNotMigrated_ConceptsAreFoundByTheirLegacyIndices(){
+        ResourceType<String> resourceType = graknGraph.putResourceType("Resource Type Thingy", ResourceType.DataType.STRING);
+        ResourceImpl<String> resource = (ResourceImpl<String>) resourceType.putResource("a value");
+        RelationImpl relation = (RelationImpl) relationType.instances().iterator().next();
+        CastingImpl casting = (CastingImpl) instance1.castings().iterator().next();
+
+        resource.setProperty(Schema.ConceptProperty.INDEX, ResourceImpl.generateLegacyResourceIndex(resourceType, "a value"));
+        relation.setProperty(Schema.ConceptProperty.INDEX, RelationImpl.generateLegacyHash(relationType, relation.rolePlayers()));
+        casting.setProperty(Schema.ConceptProperty.INDEX, CastingImpl.generateLegacyHash((RoleTypeImpl) roleType1, instance1));
+        graknGraph.getTinkerPopGraph().traversal().V().
+                has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName()).
+                properties(Schema.ConceptProperty.INDEX_FORMAT.name()).drop().iterate();
+
+        AbstractGraknGraph<?> legacyGraph = new GraknTinkerGraph(
+                (TinkerGraph) graknGraph.getTinkerPopGraph(), graknGraph.getKeyspace(), Grakn.IN_MEMORY, false);
+        assertTrue(legacyGraph.hasLegacyIndices());
+
+        assertEquals(resource, legacyGraph.getResourceType("Resource Type Thingy").putResource("a value"));
+        assertEquals(relation, legacyGraph.getRelation(relationType, relation.rolePlayers()));
+
+        InstanceImpl<?, ?> legacyInstance1 = legacyGraph.getConcept(instance1.getId());
+        legacyGraph.getRelationType("rel type").addRelation().
+                putRolePlayer(roleType1, legacyInstance1).putRolePlayer(roleType2, legacyGraph.getConcept(instance3.getId()));
+        assertEquals(1, legacyInstance1.castings().size());
+
+        legacyGraph.markIndicesMigrated();
+        assertFalse(legacyGraph.hasLegacyIndices());
+        assertNull(legacyGraph.getResourceType("Resource Type Thingy").getResource("a value"));
+    }
+
+    @Test
+    public void whenAnIndexBelongsToADifferentConcept_ItIsNotReturned(){
+        ResourceType<String> resourceType = graknGraph.putResourceType("Resource Type Thingy", ResourceType.DataType.STRING);
+        ResourceImpl<String> resource = (ResourceImpl<String>) resourceType.putResource("a value");
+        RelationImpl relation = (RelationImpl) relationType.instances().iterator().next();
+
+        Map<RoleType, Instance> otherRolePlayers = new HashMap<>();
+        otherRolePlayers.put(roleType1, instance3);
+        otherRolePlayers.put(roleType2, instance4);
+        resource.setProperty(Schema.ConceptProperty.INDEX, ResourceImpl.generateResourceIndex(resourceType, "another value"));
+        relation.setProperty(Schema.ConceptProperty.INDEX, RelationImpl.generateNewHash(relationType, otherRolePlayers));
+
+        assertNull(resourceType.getResource("another value"));
+        assertNull(graknGraph.getRelation(relationType, otherRolePlayers));
+    }
+
+    @Test
+    public void whenUpdatingALegacyIndexWhichIsTaken_TheConceptsAreMerged(){
+        ResourceType<String> resourceType = graknGraph.putResourceType("Resource Type Thingy", ResourceType.DataType.STRING);
+        Resource<String> resource = resourceType.putResource("a value");
+        ResourceImpl<String> duplicateResource = createFakeResource(resourceType, "a value");
+        duplicateResource.setProperty(Schema.ConceptProperty.INDEX, ResourceImpl.generateLegacyResourceIndex(resourceType, "a value"));
+
+        CastingImpl mainCasting = (CastingImpl) instance1.castings().iterator().next();
+        buildDuplicateCastingWithNewRelation(relationType, (RoleTypeImpl) roleType1, instance1, roleType2, instance3);
+        CastingImpl duplicateCasting = ((InstanceImpl<?, ?>) instance1).castings().stream().filter(casting -> !casting.equals(mainCasting)).findAny().get();
+        duplicateCasting.setProperty(Schema.ConceptProperty.INDEX, CastingImpl.generateLegacyHash((RoleTypeImpl) roleType1, instance1));
+
+        assertTrue(graknGraph.updateConceptIndex(duplicateResource.getBaseIdentifier()));
+        assertTrue(graknGraph.updateConceptIndex(duplicateCasting.getBaseIdentifier()));
+
+        assertEquals(Collections.singletonList(resource), resourceType.instances().stream().collect(Collectors.toList()));
+        assertEquals(1, instance1.castings().size());
+        assertEquals(2, relationType.instances().size());
+    }
 
     private ResourceImpl<String> createFakeResource(ResourceType<String> type, String value){
         String index = ResourceImpl.generateResourceIndex(type, value);
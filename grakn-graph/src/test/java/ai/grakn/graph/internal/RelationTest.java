@@ -310,16 +310,8 @@ public class RelationTest extends GraphTestBase{
 
         graknGraph.commit();
         relation = (RelationImpl) graknGraph.getRelationType("relation type").instances().iterator().next();
-        assertEquals(getFakeId(relation.type(), roleMap), relation.getIndex());
-    }
-    private String getFakeId(RelationType relationType, TreeMap<RoleType, Instance> roleMap){
-        String itemIdentifier = "RelationType_" + relationType.getId() + "_Relation";
-        for(Map.Entry<RoleType, Instance> entry: roleMap.entrySet()){
-            itemIdentifier = itemIdentifier + "_" + entry.getKey().getId();
-            if(entry.getValue() != null)
-                itemIdentifier = itemIdentifier + "_" + entry.getValue().getId();
-        }
-        return itemIdentifier;
+        assertEquals(RelationImpl.generateNewHash(relation.type(), roleMap), relation.getIndex());
+        assertEquals(IndexKey.WIDTH, relation.getIndex().length());
     }
 
     @Test
@@ -592,4 +584,75 @@ public class RelationTest extends GraphTestBase{
         assertEquals(relation, graknGraph.getRelation(relationType, map));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void whenLookingUpCommittedRelationsByMap_TheResultIsRememberedUntilTheRelationIsCreated() throws GraknValidationException {
+        RoleType role1 = graknGraph.putRoleType("role 1");
+        RoleType role2 = graknGraph.putRoleType("role 2");
+        EntityType entityType = graknGraph.putEntityType("entity type").playsRole(role1).playsRole(role2);
+        RelationType relationType = graknGraph.putRelationType("relation type").hasRole(role1).hasRole(role2);
+        relation.delete();
+
+        Entity instance1 = entityType.addEntity();
+        Entity instance2 = entityType.addEntity();
+        Entity instance3 = entityType.addEntity();
+        Relation committed = relationType.addRelation().putRolePlayer(role1, instance1).putRolePlayer(role2, instance2);
+        graknGraph.commit();
+
+        Map<RoleType, Instance> committedMap = new HashMap<>();
+        committedMap.put(role1, instance1);
+        committedMap.put(role2, instance2);
+        Map<RoleType, Instance> missingMap = new HashMap<>();
+        missingMap.put(role1, instance1);
+        missingMap.put(role2, instance3);
+
+        assertEquals(committed, graknGraph.getRelation(relationType, committedMap));
+        assertNull(graknGraph.getRelation(relationType, missingMap));
+
+        Relation created = relationType.addRelation().putRolePlayer(role1, instance1).putRolePlayer(role2, instance3);
+        assertEquals(created, graknGraph.getRelation(relationType, missingMap));
+
+        committed.delete();
+        assertNull(graknGraph.getRelation(relationType, committedMap));
+    }
+
+    @Test
+    public void whenAddingRolePlayersToCommittedRelation_ExistingShortcutsAreNotDuplicated() throws GraknValidationException {
+        RoleType role1 = graknGraph.putRoleType("role 1");
+        RoleType role2 = graknGraph.putRoleType("role 2");
+        RoleType role3 = graknGraph.putRoleType("role 3");
+        EntityType entityType = graknGraph.putEntityType("entity type").playsRole(role1).playsRole(role2).playsRole(role3);
+        RelationType relationType = graknGraph.putRelationType("relation type").hasRole(role1).hasRole(role2).hasRole(role3);
+        relation.delete();
+
+        Entity instance1 = entityType.addEntity();
+        Entity instance2 = entityType.addEntity();
+        Entity instance3 = entityType.addEntity();
+        Relation relation = relationType.addRelation().putRolePlayer(role1, instance1).putRolePlayer(role2, instance2);
+        graknGraph.commit();
+
+        relation.putRolePlayer(role3, instance3);
+        relation.putRolePlayer(role3, instance3);
+
+        assertEdgeCountOfVertex(instance1, Schema.EdgeLabel.SHORTCUT, 2, 2);
+        assertEdgeCountOfVertex(instance2, Schema.EdgeLabel.SHORTCUT, 2, 2);
+        assertEdgeCountOfVertex(instance3, Schema.EdgeLabel.SHORTCUT, 2, 2);
+    }
+
+    @Test
+    public void whenAddingARolePlayer_TheRelationIsNoLongerFoundByItsOldRolePlayers(){
+        RoleType role1 = graknGraph.putRoleType("role 1");
+        RoleType role2 = graknGraph.putRoleType("role 2");
+        RelationType relationType = graknGraph.putRelationType("a relation type").hasRole(role1).hasRole(role2);
+        EntityType thing = graknGraph.putEntityType("thing").playsRole(role1).playsRole(role2);
+        Entity entity1 = thing.addEntity();
+        Entity entity2 = thing.addEntity();
+
+        Relation relation = relationType.addRelation().putRolePlayer(role1, entity1);
+        Map<RoleType, Instance> oldRolePlayers = relation.rolePlayers();
+        assertEquals(relation, graknGraph.getRelation(relationType, oldRolePlayers));
+
+        relation.putRolePlayer(role2, entity2);
+        assertNull(graknGraph.getRelation(relationType, oldRolePlayers));
+        assertEquals(relation, graknGraph.getRelation(relationType, relation.rolePlayers()));
+    }
+}
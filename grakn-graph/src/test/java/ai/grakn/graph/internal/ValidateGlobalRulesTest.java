@@ -58,7 +58,7 @@ public class ValidateGlobalRulesTest extends GraphTestBase{
         RelationImpl assertion = (RelationImpl) hunts.addRelation().
                 putRolePlayer(witcher, geralt).putRolePlayer(monster, werewolf);
         for (CastingImpl casting : assertion.getMappingCasting()) {
-            assertTrue(ValidateGlobalRules.validatePlaysRoleStructure(casting).isPresent());
+            assertTrue(ValidateGlobalRules.validatePlaysRoleStructure(casting, new ValidationSchema()).isPresent());
         }
 
         hunter.playsRole(witcher);
@@ -66,7 +66,7 @@ public class ValidateGlobalRulesTest extends GraphTestBase{
         boolean [] flags = {false, false};
         int count = 0;
         for (CastingImpl casting : assertion.getMappingCasting()) {
-            flags[count] = ValidateGlobalRules.validatePlaysRoleStructure(casting).isPresent();
+            flags[count] = ValidateGlobalRules.validatePlaysRoleStructure(casting, new ValidationSchema()).isPresent();
             count++;
         }
         assertFalse(flags[0] && flags[1]);
@@ -76,7 +76,7 @@ public class ValidateGlobalRulesTest extends GraphTestBase{
         creature.playsRole(monster);
 
         for (CastingImpl casting : assertion.getMappingCasting()) {
-            assertFalse(ValidateGlobalRules.validatePlaysRoleStructure(casting).isPresent());
+            assertFalse(ValidateGlobalRules.validatePlaysRoleStructure(casting, new ValidationSchema()).isPresent());
         }
     }
 
@@ -101,7 +101,7 @@ public class ValidateGlobalRulesTest extends GraphTestBase{
 
         // Valid with only a single relation
         relation1.getMappingCasting().forEach(casting -> {
-            assertFalse(ValidateGlobalRules.validatePlaysRoleStructure(casting).isPresent());
+            assertFalse(ValidateGlobalRules.validatePlaysRoleStructure(casting, new ValidationSchema()).isPresent());
         });
 
         RelationImpl relation2 = (RelationImpl) relationType.addRelation()
@@ -110,12 +110,12 @@ public class ValidateGlobalRulesTest extends GraphTestBase{
         // Invalid with multiple relations
         relation1.getMappingCasting().forEach(casting -> {
             if (casting.getRole().equals(role1)) {
-                assertTrue(ValidateGlobalRules.validatePlaysRoleStructure(casting).isPresent());
+                assertTrue(ValidateGlobalRules.validatePlaysRoleStructure(casting, new ValidationSchema()).isPresent());
             }
         });
         relation2.getMappingCasting().forEach(casting -> {
             if (casting.getRole().equals(role1)) {
-                assertTrue(ValidateGlobalRules.validatePlaysRoleStructure(casting).isPresent());
+                assertTrue(ValidateGlobalRules.validatePlaysRoleStructure(casting, new ValidationSchema()).isPresent());
             }
         });
     }
@@ -155,14 +155,14 @@ public class ValidateGlobalRulesTest extends GraphTestBase{
                 putRolePlayer(hunter, cartman).putRolePlayer(monster, werewolf).putRolePlayer(creature, cthulhu);
 
         kills.hasRole(monster);
-        assertTrue(ValidateGlobalRules.validateRelationshipStructure(assertion).isPresent());
+        assertTrue(ValidateGlobalRules.validateRelationshipStructure(assertion, new ValidationSchema()).isPresent());
 
         kills.hasRole(hunter);
         kills.hasRole(creature);
-        assertFalse(ValidateGlobalRules.validateRelationshipStructure(assertion).isPresent());
+        assertFalse(ValidateGlobalRules.validateRelationshipStructure(assertion, new ValidationSchema()).isPresent());
 
         RelationImpl assertion2 = (RelationImpl) naps.addRelation().putRolePlayer(hunter, cthulhu);
-        assertTrue(ValidateGlobalRules.validateRelationshipStructure(assertion2).isPresent());
+        assertTrue(ValidateGlobalRules.validateRelationshipStructure(assertion2, new ValidationSchema()).isPresent());
     }
 
 
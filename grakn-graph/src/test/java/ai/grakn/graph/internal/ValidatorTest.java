@@ -24,6 +24,7 @@ import ai.grakn.concept.EntityType;
 import ai.grakn.concept.Instance;
 import ai.grakn.concept.Relation;
 import ai.grakn.concept.RelationType;
+import ai.grakn.concept.ResourceType;
 import ai.grakn.concept.RoleType;
 import ai.grakn.exception.GraknValidationException;
 import ai.grakn.util.ErrorMessage;
@@ -526,4 +527,35 @@ public class ValidatorTest extends GraphTestBase{
 
         graknGraph.commit();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenValidatingInstancesOfASubType_EachInstanceMissingAnInheritedKeyIsReported(){
+        ResourceType<String> name = graknGraph.putResourceType("name", ResourceType.DataType.STRING);
+        EntityType animal = graknGraph.putEntityType("animal");
+        animal.key(name);
+        EntityType dog = graknGraph.putEntityType("dog").superType(animal);
+
+        Entity namedDog = dog.addEntity();
+        namedDog.hasResource(name.putResource("Fido"));
+        Entity firstUnnamedDog = dog.addEntity();
+        Entity secondUnnamedDog = dog.addEntity();
+
+        Validator validator = new Validator(graknGraph);
+        assertFalse(validator.validate());
+        assertFalse(expectedErrorFound(validator, ErrorMessage.VALIDATION_INSTANCE.getMessage(namedDog.getId())));
+        assertTrue(expectedErrorFound(validator, ErrorMessage.VALIDATION_INSTANCE.getMessage(firstUnnamedDog.getId())));
+        assertTrue(expectedErrorFound(validator, ErrorMessage.VALIDATION_INSTANCE.getMessage(secondUnnamedDog.getId())));
+    }
+
+    @Test
+    public void whenValidating_TheNumberOfConceptsValidatedIsReported(){
+        EntityType person = graknGraph.putEntityType("person");
+        person.addEntity();
+        person.addEntity();
+
+        Validator validator = new Validator(graknGraph);
+        assertTrue(validator.validate());
+        assertEquals(graknGraph.getConceptLog().getModifiedConcepts().size(), validator.getConceptsValidated());
+        assertTrue(validator.getValidationTime() >= 0);
+    }
+}
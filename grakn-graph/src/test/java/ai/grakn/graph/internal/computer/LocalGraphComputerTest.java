@@ -0,0 +1,241 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal.computer;
+
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.graph.internal.GraphTestBase;
+import ai.grakn.graql.internal.analytics.ClusterMemberMapReduce;
+import ai.grakn.graql.internal.analytics.ClusterSizeMapReduce;
+import ai.grakn.graql.internal.analytics.ConnectedComponentVertexProgram;
+import ai.grakn.graql.internal.analytics.CountMapReduce;
+import ai.grakn.graql.internal.analytics.DegreeDistributionMapReduce;
+import ai.grakn.graql.internal.analytics.DegreeVertexProgram;
+import ai.grakn.graql.internal.analytics.GraknMapReduce;
+import ai.grakn.graql.internal.analytics.MaxMapReduce;
+import ai.grakn.graql.internal.analytics.MeanMapReduce;
+import ai.grakn.graql.internal.analytics.MedianVertexProgram;
+import ai.grakn.graql.internal.analytics.MinMapReduce;
+import ai.grakn.graql.internal.analytics.ShortestPathVertexProgram;
+import ai.grakn.graql.internal.analytics.StdMapReduce;
+import ai.grakn.graql.internal.analytics.SumMapReduce;
+import ai.grakn.util.Schema;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class LocalGraphComputerTest extends GraphTestBase {
+    private Entity alice;
+    private Entity bob;
+    private Entity acme;
+    private Entity initech;
+    private Relation aliceAtAcme;
+    private Relation bobAtAcme;
+
+    @Before
+    public void buildGraph() throws GraknValidationException {
+        EntityType person = graknGraph.putEntityType("person");
+        EntityType company = graknGraph.putEntityType("company");
+        RoleType employee = graknGraph.putRoleType("employee");
+        RoleType employer = graknGraph.putRoleType("employer");
+        RelationType employment = graknGraph.putRelationType("employment").hasRole(employee).hasRole(employer);
+        person.playsRole(employee);
+        company.playsRole(employer);
+
+        alice = person.addEntity();
+        bob = person.addEntity();
+        acme = company.addEntity();
+        initech = company.addEntity();
+        aliceAtAcme = employment.addRelation().putRolePlayer(employee, alice).putRolePlayer(employer, acme);
+        bobAtAcme = employment.addRelation().putRolePlayer(employee, bob).putRolePlayer(employer, acme);
+
+        ResourceType<Long> age = graknGraph.putResourceType("age", ResourceType.DataType.LONG);
+        person.hasResource(age);
+        alice.hasResource(age.putResource(20L));
+        bob.hasResource(age.putResource(30L));
+
+        graknGraph.commit();
+    }
+
+    @Test
+    public void whenCountingInstances_OnlyInstancesOfSelectedTypesAreCounted() throws Exception {
+        Map<Serializable, Long> count = submit(new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .mapReduce(new CountMapReduce(Sets.newHashSet("person", "company"))));
+
+        assertEquals(Collections.singletonMap(CountMapReduce.MEMORY_KEY, 4L), count);
+    }
+
+    @Test
+    public void whenComputingDegrees_RelationsAreCountedThroughCastings() throws Exception {
+        Set<String> types = Sets.newHashSet("person", "company", "employment");
+        Set<String> ofTypes = Sets.newHashSet("person", "company");
+        Map<Serializable, Set<String>> degrees = submit(new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .workers(2)
+                .program(new DegreeVertexProgram(types, ofTypes))
+                .mapReduce(new DegreeDistributionMapReduce(ofTypes)));
+
+        Map<Serializable, Set<String>> expected = new HashMap<>();
+        expected.put(0L, Sets.newHashSet(initech.getId().getValue()));
+        expected.put(1L, Sets.newHashSet(alice.getId().getValue(), bob.getId().getValue()));
+        expected.put(2L, Sets.newHashSet(acme.getId().getValue()));
+        assertEquals(expected, degrees);
+    }
+
+    @Test
+    public void whenComputingConnectedComponents_EachComponentIsFound() throws Exception {
+        Set<String> types = Sets.newHashSet("person", "company", "employment");
+        Map<Serializable, Long> sizes = submit(new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .program(new ConnectedComponentVertexProgram(types))
+                .mapReduce(new ClusterSizeMapReduce(types, ConnectedComponentVertexProgram.CLUSTER_LABEL)));
+
+        assertEquals(Sets.newHashSet(5L, 1L), Sets.newHashSet(sizes.values()));
+    }
+
+    @Test
+    public void whenFindingTheShortestPath_ThePathGoesThroughTheRelations() throws Exception {
+        Set<String> types = Sets.newHashSet("person", "company", "employment");
+        ComputerResult result = new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .program(new ShortestPathVertexProgram(types, alice.getId().getValue(), bob.getId().getValue()))
+                .mapReduce(new ClusterMemberMapReduce(types, ShortestPathVertexProgram.FOUND_IN_ITERATION))
+                .submit().get();
+
+        Map<Integer, Set<String>> steps = result.memory().get(GraknMapReduce.MAP_REDUCE_MEMORY_KEY);
+        String middle = result.memory().get(ShortestPathVertexProgram.MIDDLE);
+        if (!middle.equals("")) steps.put(0, Collections.singleton(middle));
+
+        List<String> path = new ArrayList<>();
+        path.add(alice.getId().getValue());
+        steps.entrySet().stream().sorted(Comparator.comparingInt(Map.Entry::getKey))
+                .forEach(step -> path.add(step.getValue().iterator().next()));
+        path.add(bob.getId().getValue());
+
+        assertEquals(Arrays.asList(alice.getId().getValue(), aliceAtAcme.getId().getValue(), acme.getId().getValue(),
+                bobAtAcme.getId().getValue(), bob.getId().getValue()), path);
+    }
+
+    @Test
+    public void whenComputingStatistics_ResourceValuesAreReadFromTheProjection() throws Exception {
+        Set<String> ages = Collections.singleton("age");
+        String dataType = ResourceType.DataType.LONG.getName();
+
+        Map<Serializable, Number> min = submit(statistics(new MinMapReduce(ages, dataType)));
+        Map<Serializable, Number> max = submit(statistics(new MaxMapReduce(ages, dataType)));
+        Map<Serializable, Number> sum = submit(statistics(new SumMapReduce(ages, dataType)));
+        Map<Serializable, Map<String, Double>> mean = submit(statistics(new MeanMapReduce(ages, dataType)));
+        Map<Serializable, Map<String, Double>> std = submit(statistics(new StdMapReduce(ages, dataType)));
+
+        assertEquals(20L, min.get(MinMapReduce.MEMORY_KEY));
+        assertEquals(30L, max.get(MaxMapReduce.MEMORY_KEY));
+        assertEquals(50L, sum.get(SumMapReduce.MEMORY_KEY));
+        Map<String, Double> meanPair = mean.get(MeanMapReduce.MEMORY_KEY);
+        assertEquals(25D, meanPair.get(MeanMapReduce.SUM) / meanPair.get(MeanMapReduce.COUNT), 0D);
+        Map<String, Double> stdTuple = std.get(StdMapReduce.MEMORY_KEY);
+        double count = stdTuple.get(StdMapReduce.COUNT);
+        double squareSum = stdTuple.get(StdMapReduce.SQUARE_SUM);
+        double total = stdTuple.get(StdMapReduce.SUM);
+        assertEquals(5D, Math.sqrt(squareSum / count - (total / count) * (total / count)), 1e-9);
+
+        ComputerResult median = new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .program(new MedianVertexProgram(statisticsTypes(), ages, dataType)).submit().get();
+        assertEquals(20L, median.memory().<Number>get(MedianVertexProgram.MEDIAN));
+    }
+
+    @Test
+    public void whenProjectingSelectedTypes_OnlyTheirInstancesAndCastingsAreRead() {
+        Graph graph = graknGraph.getTinkerPopGraph();
+        CSRGraph csrGraph = CSRGraph.project(graph, graph, Sets.newHashSet("person", "age"),
+                tasks -> tasks.stream().map(LocalGraphComputerTest::call).collect(Collectors.toList()));
+
+        Set<String> types = new HashSet<>();
+        Set<Object> ages = new HashSet<>();
+        for (int vertex = 0; vertex < csrGraph.size(); vertex++) {
+            types.add(csrGraph.type(vertex));
+            if (csrGraph.type(vertex).equals("age")) ages.add(csrGraph.value(vertex));
+        }
+
+        assertEquals(Sets.newHashSet("person", "age", "employee",
+                Schema.Resource.HAS_RESOURCE_OWNER.getName("age"), Schema.Resource.HAS_RESOURCE_VALUE.getName("age")),
+                types);
+        assertEquals(Sets.newHashSet(20L, 30L), ages);
+        assertEquals(-1, csrGraph.index(acme.getId().getValue()));
+    }
+
+    @Test
+    public void whenTheGraphIsCommittedTo_ItIsProjectedAgain() throws Exception {
+        Set<String> companies = Collections.singleton("company");
+        Map<Serializable, Long> before = submit(new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .mapReduce(new CountMapReduce(companies)));
+
+        graknGraph.getEntityType("company").addEntity();
+        graknGraph.commit();
+        Map<Serializable, Long> after = submit(new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .mapReduce(new CountMapReduce(companies)));
+
+        assertEquals(2L, (long) before.get(CountMapReduce.MEMORY_KEY));
+        assertEquals(3L, (long) after.get(CountMapReduce.MEMORY_KEY));
+    }
+
+    private GraphComputer statistics(MapReduce<?, ?, ?, ?, ?> mapReduce) {
+        return new LocalGraphComputer(graknGraph.getTinkerPopGraph())
+                .program(new DegreeVertexProgram(statisticsTypes(), Collections.singleton("age")))
+                .mapReduce(mapReduce);
+    }
+
+    private static Set<String> statisticsTypes() {
+        return Sets.newHashSet("person", "age", Schema.Resource.HAS_RESOURCE.getName("age"));
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> T submit(GraphComputer computer) throws InterruptedException, ExecutionException {
+        ComputerResult result = computer.submit().get();
+        return result.memory().get(GraknMapReduce.MAP_REDUCE_MEMORY_KEY);
+    }
+}
@@ -73,13 +73,16 @@ import static ai.grakn.util.REST.RemoteShell.ACTION_DISPLAY;
 import static ai.grakn.util.REST.RemoteShell.ACTION_END;
 import static ai.grakn.util.REST.RemoteShell.ACTION_ERROR;
 import static ai.grakn.util.REST.RemoteShell.ACTION_INIT;
+import static ai.grakn.util.REST.RemoteShell.ACTION_NEXT;
 import static ai.grakn.util.REST.RemoteShell.ACTION_PING;
 import static ai.grakn.util.REST.RemoteShell.ACTION_QUERY;
 import static ai.grakn.util.REST.RemoteShell.ACTION_QUERY_ABORT;
 import static ai.grakn.util.REST.RemoteShell.ACTION_ROLLBACK;
 import static ai.grakn.util.REST.RemoteShell.ACTION_TYPES;
+import static ai.grakn.util.REST.RemoteShell.CREDIT;
 import static ai.grakn.util.REST.RemoteShell.DISPLAY;
 import static ai.grakn.util.REST.RemoteShell.ERROR;
+import static ai.grakn.util.REST.RemoteShell.FLOW_CONTROL;
 import static ai.grakn.util.REST.RemoteShell.IMPLICIT;
 import static ai.grakn.util.REST.RemoteShell.INFER;
 import static ai.grakn.util.REST.RemoteShell.KEYSPACE;
@@ -123,6 +126,10 @@ public class GraqlShell {
     private static final String LICENSE_COMMAND = "license";
 
     private static final int QUERY_CHUNK_SIZE = 1000;
+
+    // Number of result messages the server may send before waiting for more credit. Two pages are granted up front
+    // and another page after each page is printed, so the server never gets more than two pages ahead of the shell.
+    private static final int QUERY_PAGE_SIZE = 1000;
     private static final int PING_INTERVAL = 60_000;
 
     /**
@@ -145,6 +152,7 @@ public class GraqlShell {
     private Session session;
 
     private boolean waitingQuery = false;
+    private int resultsReceived = 0;
     private final GraqlCompleter graqlCompleter = new GraqlCompleter();
 
     /**
@@ -318,7 +326,8 @@ public class GraqlShell {
                     OUTPUT_FORMAT, outputFormat,
                     IMPLICIT, showImplicitTypes,
                     INFER, infer,
-                    MATERIALISE, materialise
+                    MATERIALISE, materialise,
+                    FLOW_CONTROL, true
             );
             username.ifPresent(u -> initJson.set(USERNAME, u));
             password.ifPresent(p -> initJson.set(PASSWORD, p));
@@ -488,6 +497,8 @@ public class GraqlShell {
             case ACTION_QUERY:
                 String result = json.at(QUERY_RESULT).asString();
                 print(result);
+                resultsReceived++;
+                if (resultsReceived % QUERY_PAGE_SIZE == 0) sendCredit(QUERY_PAGE_SIZE);
                 break;
             case ACTION_END:
                 // Alert the shell that the query has finished, so it can prompt for another query
@@ -527,6 +538,8 @@ public class GraqlShell {
     }
 
     private void executeQuery(String queryString) {
+        resultsReceived = 0;
+
         // Split query into chunks
         Iterable<String> splitQuery = Splitter.fixedLength(QUERY_CHUNK_SIZE).split(queryString);
 
@@ -538,9 +551,17 @@ public class GraqlShell {
         }
 
         sendJson(Json.object(ACTION, ACTION_END));
+        sendCredit(2 * QUERY_PAGE_SIZE);
         waitForEnd();
     }
 
+    /**
+     * Allow the server to send the given number of further result messages
+     */
+    private void sendCredit(int credit) {
+        sendJson(Json.object(ACTION, ACTION_NEXT, CREDIT, credit));
+    }
+
     private void waitForEnd() {
         // Wait until the command is executed before continuing
         waitingQuery = true;
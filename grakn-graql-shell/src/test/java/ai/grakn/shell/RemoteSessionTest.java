@@ -0,0 +1,229 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.shell;
+
+import ai.grakn.Grakn;
+import ai.grakn.engine.session.RemoteSession;
+import mjson.Json;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static ai.grakn.util.REST.RemoteShell.ACTION;
+import static ai.grakn.util.REST.RemoteShell.ACTION_COMMIT;
+import static ai.grakn.util.REST.RemoteShell.ACTION_END;
+import static ai.grakn.util.REST.RemoteShell.ACTION_INIT;
+import static ai.grakn.util.REST.RemoteShell.ACTION_NEXT;
+import static ai.grakn.util.REST.RemoteShell.ACTION_QUERY;
+import static ai.grakn.util.REST.RemoteShell.ACTION_TYPES;
+import static ai.grakn.util.REST.RemoteShell.CREDIT;
+import static ai.grakn.util.REST.RemoteShell.FLOW_CONTROL;
+import static ai.grakn.util.REST.RemoteShell.IMPLICIT;
+import static ai.grakn.util.REST.RemoteShell.INFER;
+import static ai.grakn.util.REST.RemoteShell.KEYSPACE;
+import static ai.grakn.util.REST.RemoteShell.MATERIALISE;
+import static ai.grakn.util.REST.RemoteShell.OUTPUT_FORMAT;
+import static ai.grakn.util.REST.RemoteShell.QUERY;
+import static ai.grakn.util.REST.RemoteShell.TYPES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RemoteSessionTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private RemoteSession server;
+
+    @Before
+    public void setUp() {
+        server = new RemoteSession(keyspace ->
+                Grakn.factory(Grakn.IN_MEMORY, UUID.randomUUID().toString().replaceAll("-", "a")).getGraph()
+        );
+    }
+
+    @Test
+    public void whenClientNeverSendsCredit_AllResultsAreSent() throws InterruptedException {
+        BlockingQueue<Json> received = new LinkedBlockingQueue<>();
+        SessionMock session = startSession(received, Json.object());
+
+        sendQuery(session, "match $x sub concept; select $x;");
+
+        int results = 0;
+        Json message;
+        while (!(message = take(received)).is(ACTION, ACTION_END)) {
+            assertTrue(message.is(ACTION, ACTION_QUERY));
+            results++;
+        }
+        assertTrue("expected results without sending credit", results > 0);
+    }
+
+    @Test
+    public void whenClientAsksForFlowControl_ResultsWaitForCredit() throws InterruptedException {
+        BlockingQueue<Json> received = new LinkedBlockingQueue<>();
+        SessionMock session = startSession(received, Json.object(FLOW_CONTROL, true));
+
+        sendQuery(session, "match $x sub concept; select $x;");
+        assertNull(received.poll(1, TimeUnit.SECONDS));
+
+        server.onMessage(session, Json.object(ACTION, ACTION_NEXT, CREDIT, 1).toString());
+        assertTrue(take(received).is(ACTION, ACTION_QUERY));
+        assertNull(received.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void whenASessionIsBusy_OtherSessionsAreNotHeldUp() throws InterruptedException {
+        CountDownLatch unblock = new CountDownLatch(1);
+        server = new RemoteSession(keyspace -> {
+            if (keyspace.equals("blocked")) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return Grakn.factory(Grakn.IN_MEMORY, UUID.randomUUID().toString().replaceAll("-", "a")).getGraph();
+        }, 2);
+
+        BlockingQueue<Json> blockedReceived = new LinkedBlockingQueue<>();
+        SessionMock blocked = new SessionMock(message -> blockedReceived.add(Json.read(message)));
+        server.onConnect(blocked);
+        server.onMessage(blocked, initJson(Json.object(KEYSPACE, "blocked")).toString());
+
+        try {
+            for (int i = 0; i < 2 * Runtime.getRuntime().availableProcessors(); i++) {
+                startSession(new LinkedBlockingQueue<>(), Json.object());
+            }
+            assertNull(blockedReceived.poll());
+        } finally {
+            unblock.countDown();
+        }
+
+        assertTrue(take(blockedReceived).is(ACTION, ACTION_TYPES));
+    }
+
+    @Test
+    public void whenASessionCloses_ItsThreadIsGivenToTheNextSession() throws InterruptedException {
+        String keyspace = UUID.randomUUID().toString().replaceAll("-", "a");
+        BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+        server = new RemoteSession(name -> {
+            threads.add(Thread.currentThread().getName());
+            return Grakn.factory(Grakn.IN_MEMORY, keyspace).getGraph();
+        }, 1);
+
+        BlockingQueue<Json> firstReceived = new LinkedBlockingQueue<>();
+        SessionMock first = startSession(firstReceived, Json.object());
+        sendQuery(first, "insert my-type sub entity;");
+        while (!take(firstReceived).is(ACTION, ACTION_END));
+
+        BlockingQueue<Json> nextReceived = new LinkedBlockingQueue<>();
+        SessionMock next = new SessionMock(message -> nextReceived.add(Json.read(message)));
+        server.onConnect(next);
+        server.onMessage(next, initJson(Json.object()).toString());
+        assertNull(nextReceived.poll(1, TimeUnit.SECONDS));
+
+        server.onClose(first, 1000, "done");
+        assertTrue(take(nextReceived).is(ACTION, ACTION_TYPES));
+
+        String firstThread = threads.take();
+        while (!threads.isEmpty()) {
+            assertEquals(firstThread, threads.take());
+        }
+    }
+
+    @Test
+    public void whenThereAreMoreSessionsThanLanes_TheySharePooledThreads() throws InterruptedException {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        server = new RemoteSession(keyspace -> {
+            threads.add(Thread.currentThread().getName());
+            return Grakn.factory(Grakn.IN_MEMORY, UUID.randomUUID().toString().replaceAll("-", "a")).getGraph();
+        }, 2);
+
+        for (int i = 0; i < 10; i++) {
+            startSession(new LinkedBlockingQueue<>(), Json.object());
+        }
+
+        assertTrue(threads.size() <= 2);
+    }
+
+    @Test
+    public void whenASessionHasUncommittedChanges_ItKeepsItsLaneUntilItCommits() throws InterruptedException {
+        String keyspace = UUID.randomUUID().toString().replaceAll("-", "a");
+        server = new RemoteSession(name -> Grakn.factory(Grakn.IN_MEMORY, keyspace).getGraph(), 1);
+
+        BlockingQueue<Json> writerReceived = new LinkedBlockingQueue<>();
+        SessionMock writer = startSession(writerReceived, Json.object());
+        sendQuery(writer, "insert my-type sub entity;");
+        while (!take(writerReceived).is(ACTION, ACTION_END));
+
+        BlockingQueue<Json> otherReceived = new LinkedBlockingQueue<>();
+        SessionMock other = new SessionMock(message -> otherReceived.add(Json.read(message)));
+        server.onConnect(other);
+        server.onMessage(other, initJson(Json.object()).toString());
+        assertNull(otherReceived.poll(1, TimeUnit.SECONDS));
+
+        server.onMessage(writer, Json.object(ACTION, ACTION_COMMIT).toString());
+        assertTrue(take(writerReceived).is(ACTION, ACTION_END));
+
+        Json types = take(otherReceived);
+        assertTrue(types.is(ACTION, ACTION_TYPES));
+        assertTrue(types.at(TYPES).asJsonList().contains(Json.make("my-type")));
+    }
+
+    private SessionMock startSession(BlockingQueue<Json> received, Json options) throws InterruptedException {
+        SessionMock session = new SessionMock(message -> received.add(Json.read(message)));
+
+        server.onConnect(session);
+        server.onMessage(session, initJson(options).toString());
+
+        assertTrue(take(received).is(ACTION, ACTION_TYPES));
+        assertTrue(take(received).is(ACTION, ACTION_END));
+        return session;
+    }
+
+    private static Json initJson(Json options) {
+        return Json.object(
+                ACTION, ACTION_INIT,
+                KEYSPACE, "keyspace",
+                OUTPUT_FORMAT, "graql",
+                IMPLICIT, false,
+                INFER, false,
+                MATERIALISE, false
+        ).with(options);
+    }
+
+    private void sendQuery(SessionMock session, String query) {
+        server.onMessage(session, Json.object(ACTION, ACTION_QUERY, QUERY, query).toString());
+        server.onMessage(session, Json.object(ACTION, ACTION_END).toString());
+    }
+
+    private static Json take(BlockingQueue<Json> received) throws InterruptedException {
+        Json message = received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull("timed out waiting for a message", message);
+        return message;
+    }
+}
@@ -65,6 +65,13 @@ public abstract class CommonOLAP {
     final Map<String, Object> persistentProperties = new HashMap<>();
 
 
+    /**
+     * @return the types that define the subgraph
+     */
+    public Set<String> getSelectedTypes() {
+        return Collections.unmodifiableSet(selectedTypes);
+    }
+
     /**
      * Store <code>persistentProperties</code> and any hard coded fields in an apache config object for propagation to
      * spark executors.
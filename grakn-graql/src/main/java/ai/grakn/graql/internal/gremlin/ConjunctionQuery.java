@@ -99,6 +99,17 @@ class ConjunctionQuery {
         return equivalentFragmentSets;
     }
 
+    /**
+     * @return the variable names in the query that were given by the user, rather than generated
+     */
+    Set<VarName> getUserDefinedVarNames() {
+        return vars.stream()
+                .flatMap(v -> v.getImplicitInnerVars().stream())
+                .filter(VarAdmin::isUserDefinedName)
+                .map(VarAdmin::getVarName)
+                .collect(toImmutableSet());
+    }
+
     /**
      * Get all possible orderings of fragments
      */
@@ -0,0 +1,141 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.GraknStatistics;
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.admin.VarAdmin;
+import ai.grakn.graql.internal.pattern.property.IsaProperty;
+import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Cardinality estimates for the variables of a single conjunction, used when calculating the cost of fragments.
+ * <p>
+ * Wraps the {@code GraknStatistics} of a graph and relates the variables in the conjunction to the names of the types
+ * they refer to. For example, in {@code $x isa $y; $y name movie;}, the statistics of {@code movie} are used both for
+ * {@code $y} (as a type) and for {@code $x} (as an instance of that type).
+ * <p>
+ * Each estimate is cached, because the planner calculates the cost of the same fragment many times.
+ */
+public class ConjunctionStatistics {
+
+    // Just a pretend big number, used when there is nothing better to go on
+    private static final long NUM_VERTICES_ESTIMATE = 10_000;
+
+    private final Optional<GraknStatistics> statistics;
+
+    // Variables that are types, mapped to their names
+    private final ImmutableMap<VarName, String> typeNames;
+
+    // Variables that are instances, mapped to the names of their types
+    private final ImmutableMap<VarName, String> isaTypeNames;
+
+    private final Map<String, Optional<Long>> instanceCounts = new HashMap<>();
+
+    private ConjunctionStatistics(Optional<GraknStatistics> statistics, Collection<VarAdmin> vars) {
+        this.statistics = statistics;
+
+        Map<VarName, String> foundTypeNames = new HashMap<>();
+        Map<VarName, String> foundIsaTypeNames = new HashMap<>();
+
+        vars.stream().flatMap(var -> var.getImplicitInnerVars().stream()).forEach(var -> {
+            var.getTypeName().ifPresent(name -> foundTypeNames.put(var.getVarName(), name));
+            var.getProperty(IsaProperty.class).flatMap(isa -> isa.getType().getTypeName()).ifPresent(
+                    name -> foundIsaTypeNames.put(var.getVarName(), name)
+            );
+        });
+
+        this.typeNames = ImmutableMap.copyOf(foundTypeNames);
+        this.isaTypeNames = ImmutableMap.copyOf(foundIsaTypeNames);
+    }
+
+    /**
+     * @param statistics the statistics of the graph being queried, if there is one
+     * @param vars the variables of the conjunction being planned
+     * @return estimates for the given conjunction
+     */
+    public static ConjunctionStatistics of(Optional<GraknStatistics> statistics, Collection<VarAdmin> vars) {
+        return new ConjunctionStatistics(statistics, vars);
+    }
+
+    /**
+     * @param typeVar a variable referring to a type
+     * @return the estimated number of instances of the type, if the type and its statistics are known
+     */
+    public Optional<Long> getInstanceCount(VarName typeVar) {
+        return Optional.ofNullable(typeNames.get(typeVar)).flatMap(this::getInstanceCountOfType);
+    }
+
+    /**
+     * @param edgeLabel the label of the edges
+     * @param baseType the base type of the concepts the edges are attached to
+     * @return the estimated number of edges with the given label for each concept of the given base type
+     */
+    public Optional<Double> getAverageDegree(Schema.EdgeLabel edgeLabel, Schema.BaseType baseType) {
+        return statistics.flatMap(s -> s.getAverageDegree(edgeLabel, baseType));
+    }
+
+    /**
+     * @param roleTypeName the name of a role type
+     * @return the estimated number of shortcut edges for each role player of the role type
+     */
+    public Optional<Double> getAverageRoleDegree(String roleTypeName) {
+        return statistics.flatMap(s -> s.getAverageRoleDegree(roleTypeName));
+    }
+
+    /**
+     * @param resourceVar a variable referring to a resource
+     * @param predicate a predicate on the value of the resource
+     * @return the estimated fraction of resources that satisfy the predicate, if the type of the resource is known
+     */
+    public Optional<Double> getValueSelectivity(VarName resourceVar, Predicate<Object> predicate) {
+        String resourceTypeName = isaTypeNames.get(resourceVar);
+        if (resourceTypeName == null) return Optional.empty();
+        return statistics.flatMap(s -> s.getValueSelectivity(resourceTypeName, predicate));
+    }
+
+    /**
+     * @return whether predicates on resource values can be answered by a search index
+     */
+    public boolean hasValueIndex() {
+        return statistics.map(GraknStatistics::hasValueIndex).orElse(false);
+    }
+
+    /**
+     * @return the estimated number of vertices visited when starting a traversal from every vertex
+     */
+    public long getVertexCount() {
+        // Scanning every vertex is at least as expensive as scanning all instances of any type in the query
+        return typeNames.values().stream()
+                .map(this::getInstanceCountOfType)
+                .map(count -> count.orElse(0L))
+                .reduce(NUM_VERTICES_ESTIMATE, Math::max);
+    }
+
+    private Optional<Long> getInstanceCountOfType(String typeName) {
+        return instanceCounts.computeIfAbsent(typeName, name -> statistics.flatMap(s -> s.getInstanceCount(name)));
+    }
+}
@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.gremlin;
 
 import ai.grakn.GraknGraph;
+import ai.grakn.GraknStatistics;
 import ai.grakn.graql.VarName;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.PatternAdmin;
@@ -64,10 +65,6 @@ public class GraqlTraversal {
     //             V            V
     private final ImmutableSet<ImmutableList<Fragment>> fragments;
 
-    // TODO: Find a better way to represent these values
-    // Just a pretend big number
-    private static final long NUM_VERTICES_ESTIMATE = 10_000;
-
     private static final long MAX_TRAVERSAL_ATTEMPTS = 1_000;
 
     private GraqlTraversal(Set<? extends List<Fragment>> fragments) {
@@ -84,13 +81,41 @@ public class GraqlTraversal {
      * @return a semi-optimal traversal plan
      */
     public static GraqlTraversal semiOptimal(PatternAdmin pattern) {
-
         Collection<Conjunction<VarAdmin>> patterns = pattern.getDisjunctiveNormalForm().getPatterns();
 
         // Find a semi-optimal way to execute each conjunction
         Set<? extends List<Fragment>> fragments = patterns.stream()
-                .map(ConjunctionQuery::new)
-                .map(GraqlTraversal::semiOptimalConjunction)
+                .map(conjunction -> semiOptimalConjunction(
+                        new ConjunctionQuery(conjunction),
+                        ConjunctionStatistics.of(Optional.empty(), conjunction.getPatterns())
+                ))
+                .collect(toImmutableSet());
+
+        return GraqlTraversal.create(fragments);
+    }
+
+    /**
+     * Create a semi-optimal traversal plan using a greedy approach, estimating costs using the statistics of a graph.
+     * Plans are cached by the shape of each conjunction, so planning is skipped for queries that only differ from a
+     * previous query in their IDs and values.
+     * @param graph the graph the traversal will be executed against
+     * @param pattern a pattern to find a query plan for
+     * @return a semi-optimal traversal plan
+     */
+    public static GraqlTraversal semiOptimal(GraknGraph graph, PatternAdmin pattern) {
+        Collection<Conjunction<VarAdmin>> patterns = pattern.getDisjunctiveNormalForm().getPatterns();
+        GraknStatistics graphStatistics = graph.admin().getStatistics();
+        Optional<GraknStatistics> statistics = Optional.of(graphStatistics);
+        long statisticsVersion = graphStatistics.getVersion();
+
+        // Find a semi-optimal way to execute each conjunction, or re-use the plan of a conjunction of the same shape
+        Set<? extends List<Fragment>> fragments = patterns.stream()
+                .map(conjunction -> {
+                    ConjunctionQuery query = new ConjunctionQuery(conjunction);
+                    return QueryPlanCache.getPlan(graph.getKeyspace(), statisticsVersion, query, () ->
+                            semiOptimalConjunction(query, ConjunctionStatistics.of(statistics, conjunction.getPatterns()))
+                    );
+                })
                 .collect(toImmutableSet());
 
         return GraqlTraversal.create(fragments);
@@ -99,9 +124,10 @@ public class GraqlTraversal {
     /**
      * Create a semi-optimal plan using a greedy approach to execute a single conjunction
      * @param query the conjunction query to find a traversal plan
+     * @param statistics estimates used to calculate the cost of fragments in the conjunction
      * @return a semi-optimal traversal plan to execute the given conjunction
      */
-    private static List<Fragment> semiOptimalConjunction(ConjunctionQuery query) {
+    private static List<Fragment> semiOptimalConjunction(ConjunctionQuery query, ConjunctionStatistics statistics) {
 
         Set<EquivalentFragmentSet> fragmentSets = Sets.newHashSet(query.getEquivalentFragmentSets());
         Set<VarName> names = new HashSet<>();
@@ -123,7 +149,7 @@ public class GraqlTraversal {
         double cost = 1;
 
         while (!fragmentSets.isEmpty()) {
-            Pair<Double, List<Fragment>> pair = findPlan(fragmentSets, names, cost, depth);
+            Pair<Double, List<Fragment>> pair = findPlan(fragmentSets, names, cost, depth, statistics);
             cost = pair.getValue0();
             List<Fragment> newFragments = Lists.reverse(pair.getValue1());
 
@@ -147,10 +173,12 @@ public class GraqlTraversal {
      * @param names a set of names that have already been encountered while executing the query
      * @param cost the cost of the query plan so far
      * @param depth the maximum depth the plan is allowed to descend in the tree
+     * @param statistics estimates used to calculate the cost of fragments
      * @return a pair, containing the cost of the plan and a list of fragments comprising the traversal plan
      */
     private static Pair<Double, List<Fragment>> findPlan(
-            Set<EquivalentFragmentSet> fragmentSets, Set<VarName> names, double cost, long depth
+            Set<EquivalentFragmentSet> fragmentSets, Set<VarName> names, double cost, long depth,
+            ConjunctionStatistics statistics
     ) {
         // Base case
         Pair<Double, List<Fragment>> baseCase = Pair.with(cost, Lists.newArrayList());
@@ -162,16 +190,17 @@ public class GraqlTraversal {
         // Try every fragment that has its dependencies met, then select the lowest cost fragment
         return fragments(fragmentSets)
                 .filter(fragment -> names.containsAll(fragment.getDependencies()))
-                .map(fragment -> findPlanWithFragment(fragment, fragmentSets, names, cost, depth))
+                .map(fragment -> findPlanWithFragment(fragment, fragmentSets, names, cost, depth, statistics))
                 .min(byCost)
                 .orElse(baseCase);
     }
 
     private static Pair<Double, List<Fragment>> findPlanWithFragment(
-            Fragment fragment, Set<EquivalentFragmentSet> fragmentSets, Set<VarName> names, double cost, long depth
+            Fragment fragment, Set<EquivalentFragmentSet> fragmentSets, Set<VarName> names, double cost, long depth,
+            ConjunctionStatistics statistics
     ) {
         // Calculate the new costs, fragment sets and variable names when using this fragment
-        double newCost = fragmentCost(fragment, cost, names);
+        double newCost = fragmentCost(fragment, cost, names, statistics);
 
         EquivalentFragmentSet fragmentSet = fragment.getEquivalentFragmentSet();
         Set<EquivalentFragmentSet> newFragmentSets = Sets.difference(fragmentSets, ImmutableSet.of(fragmentSet));
@@ -179,7 +208,7 @@ public class GraqlTraversal {
         Set<VarName> newNames = Sets.union(names, fragment.getVariableNames().collect(toSet()));
 
         // Recursively find a plan
-        Pair<Double, List<Fragment>> pair = findPlan(newFragmentSets, newNames, newCost, depth - 1);
+        Pair<Double, List<Fragment>> pair = findPlan(newFragmentSets, newNames, newCost, depth - 1, statistics);
 
         // Add this fragment and cost and return
         pair.getValue1().add(fragment);
@@ -273,6 +302,8 @@ public class GraqlTraversal {
 
         double totalCost = 0;
 
+        ConjunctionStatistics statistics = ConjunctionStatistics.of(Optional.empty(), ImmutableSet.of());
+
         for (List<Fragment> list : fragments) {
             Set<VarName> names = new HashSet<>();
 
@@ -280,7 +311,7 @@ public class GraqlTraversal {
             double listCost = 0;
 
             for (Fragment fragment : list) {
-                cost = fragmentCost(fragment, cost, names);
+                cost = fragmentCost(fragment, cost, names, statistics);
                 fragment.getVariableNames().forEach(names::add);
                 listCost += cost;
             }
@@ -291,13 +322,15 @@ public class GraqlTraversal {
         return totalCost;
     }
 
-    private static double fragmentCost(Fragment fragment, double previousCost, Set<VarName> names) {
+    private static double fragmentCost(
+            Fragment fragment, double previousCost, Set<VarName> names, ConjunctionStatistics statistics
+    ) {
         if (names.contains(fragment.getStart())) {
-            return fragment.fragmentCost(previousCost);
+            return fragment.fragmentCost(previousCost, statistics);
         } else {
             // Restart traversal, meaning we are navigating from all vertices
             // The constant '1' cost is to discourage constant restarting, even when indexed
-            return fragment.fragmentCost(NUM_VERTICES_ESTIMATE) * previousCost + 1;
+            return fragment.fragmentCost(statistics.getVertexCount(), statistics) * previousCost + 1;
         }
     }
 
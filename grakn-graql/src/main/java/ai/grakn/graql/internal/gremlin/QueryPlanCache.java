@@ -0,0 +1,214 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static ai.grakn.graql.internal.util.CommonUtil.optionalToStream;
+import static ai.grakn.graql.internal.util.CommonUtil.toImmutableList;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A bounded cache of query plans for conjunctions, shared by all graphs.
+ * <p>
+ * Plans are keyed by the shape of a conjunction: its fragments with constants such as IDs and values left out and with
+ * generated variable names replaced by canonical labels. Queries that only differ in their constants have the same
+ * shape, so a plan found for one of them is reused for the others without planning again.
+ * <p>
+ * Plans are also keyed by the version of the statistics they were made with. Once the statistics of a keyspace change
+ * enough, or the keyspace is cleared, its old plans are no longer found and are eventually evicted.
+ * <p>
+ * A plan is stored as the shapes of its fragments in order of execution. When a plan is reused, each of these is
+ * replaced by the fragment of the new conjunction with the same shape.
+ */
+public class QueryPlanCache {
+
+    private static final long MAX_CACHED_PLANS = 10_000;
+
+    private static final String UNKNOWN_LABEL = "?";
+
+    private static final Cache<String, ImmutableList<String>> plans =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PLANS).recordStats().build();
+
+    // A cached plan only counts as a hit once it has been used, so these are counted here rather than by the cache
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private QueryPlanCache() {}
+
+    /**
+     * @return the number of hits, misses and evictions of the cache. A cached plan which cannot be used for a
+     * conjunction counts as a miss.
+     */
+    public static CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), 0, 0, 0, plans.stats().evictionCount());
+    }
+
+    /**
+     * Remove all cached plans
+     */
+    public static void clear() {
+        plans.invalidateAll();
+    }
+
+    /**
+     * Get a plan for a conjunction, using a cached plan of a conjunction with the same shape if there is one
+     * @param keyspace the keyspace the plan is for, because plans are based on the statistics of a keyspace
+     * @param statisticsVersion the version of the statistics the plan would be made with
+     * @param query the conjunction to find a plan for
+     * @param planner finds a plan for the conjunction if it is not cached
+     * @return a list of fragments comprising the plan
+     */
+    static List<Fragment> getPlan(
+            String keyspace, long statisticsVersion, ConjunctionQuery query, Supplier<List<Fragment>> planner
+    ) {
+        Collection<EquivalentFragmentSet> fragmentSets = query.getEquivalentFragmentSets();
+        Map<VarName, String> labels = labelVariables(fragmentSets, query.getUserDefinedVarNames());
+
+        String key = keyspace + "@" + statisticsVersion + fragmentSets.stream()
+                .map(set -> fragmentSetShape(set, labels))
+                .sorted()
+                .collect(joining(", ", "{", "}"));
+
+        ImmutableList<String> cachedPlan = plans.asMap().get(key);
+
+        if (cachedPlan != null) {
+            Optional<List<Fragment>> plan = instantiatePlan(cachedPlan, fragmentSets, labels);
+            if (plan.isPresent()) {
+                hits.increment();
+                return plan.get();
+            }
+        }
+
+        misses.increment();
+        List<Fragment> plan = planner.get();
+        plans.put(key, plan.stream().map(fragment -> fragmentShape(fragment, labels)).collect(toImmutableList()));
+        return plan;
+    }
+
+    /**
+     * Replace the fragment shapes in a cached plan with fragments of the given conjunction
+     */
+    private static Optional<List<Fragment>> instantiatePlan(
+            List<String> cachedPlan, Collection<EquivalentFragmentSet> fragmentSets, Map<VarName, String> labels
+    ) {
+        // Several fragments can have the same shape when they only differ by constants, any of them will do
+        Map<String, Deque<Fragment>> fragmentsByShape = new HashMap<>();
+        fragmentSets.stream().flatMap(EquivalentFragmentSet::getFragments).forEach(fragment ->
+                fragmentsByShape.computeIfAbsent(fragmentShape(fragment, labels), k -> new ArrayDeque<>()).add(fragment)
+        );
+
+        List<Fragment> plan = new ArrayList<>(cachedPlan.size());
+
+        for (String shape : cachedPlan) {
+            Deque<Fragment> fragments = fragmentsByShape.get(shape);
+            if (fragments == null || fragments.isEmpty()) return Optional.empty();
+            plan.add(fragments.poll());
+        }
+
+        return Optional.of(plan);
+    }
+
+    /**
+     * Give every variable in the conjunction a label which does not depend on generated variable names.
+     * <p>
+     * User defined variables are labelled using their names. Other variables are labelled in order of the shapes of
+     * the fragments they appear in, one fragment set at a time, so that the labels of one set are used when ordering
+     * the next. Conjunctions with the same shape may still be labelled differently if they contain several fragment
+     * sets with the same shape, which only means their plans are cached separately.
+     */
+    private static Map<VarName, String> labelVariables(
+            Collection<EquivalentFragmentSet> fragmentSets, Set<VarName> userDefinedNames
+    ) {
+        Map<VarName, String> labels = new HashMap<>();
+        userDefinedNames.forEach(name -> labels.put(name, "$" + name.getValue()));
+
+        int nextLabel = 0;
+
+        while (true) {
+            Optional<EquivalentFragmentSet> nextSet = fragmentSets.stream()
+                    .filter(set -> set.getFragments()
+                            .flatMap(QueryPlanCache::variables)
+                            .anyMatch(name -> !labels.containsKey(name))
+                    )
+                    .min(comparing(set -> fragmentSetShape(set, labels)));
+
+            if (!nextSet.isPresent()) return labels;
+
+            List<VarName> unlabelled = new ArrayList<>();
+            nextSet.get().getFragments()
+                    .sorted(comparing(fragment -> fragmentShape(fragment, labels)))
+                    .flatMap(QueryPlanCache::variables)
+                    .filter(name -> !labels.containsKey(name) && !unlabelled.contains(name))
+                    .forEach(unlabelled::add);
+
+            for (VarName name : unlabelled) {
+                labels.put(name, "#" + nextLabel++);
+            }
+        }
+    }
+
+    private static String fragmentSetShape(EquivalentFragmentSet fragmentSet, Map<VarName, String> labels) {
+        return fragmentSet.getFragments()
+                .map(fragment -> fragmentShape(fragment, labels))
+                .sorted()
+                .collect(joining(" | ", "[", "]"));
+    }
+
+    private static String fragmentShape(Fragment fragment, Map<VarName, String> labels) {
+        String start = label(fragment.getStart(), labels);
+        String end = fragment.getEnd().map(name -> label(name, labels)).orElse("");
+        String dependencies = fragment.getDependencies().stream()
+                .map(name -> label(name, labels))
+                .sorted()
+                .collect(joining(","));
+        return start + fragment.getShape() + end + (dependencies.isEmpty() ? "" : "(" + dependencies + ")");
+    }
+
+    private static String label(VarName name, Map<VarName, String> labels) {
+        return labels.getOrDefault(name, UNKNOWN_LABEL);
+    }
+
+    private static Stream<VarName> variables(Fragment fragment) {
+        return Stream.concat(
+                Stream.concat(Stream.of(fragment.getStart()), optionalToStream(fragment.getEnd())),
+                fragment.getDependencies().stream().sorted(comparing(VarName::getValue))
+        );
+    }
+
+}
@@ -42,6 +42,7 @@ abstract class AbstractFragment implements Fragment{
     static final long NUM_ROLES_PER_TYPE = 3;
     static final long NUM_ROLES_PER_RELATION = 2;
     static final long NUM_RESOURCES_PER_VALUE = 2;
+    static final double INDEXED_VALUE_SELECTIVITY = 0.01;
 
     private final VarName start;
     private final Optional<VarName> end;
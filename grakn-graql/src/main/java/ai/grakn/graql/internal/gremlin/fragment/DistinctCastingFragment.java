@@ -50,6 +50,11 @@ class DistinctCastingFragment extends AbstractFragment {
         return "[distinct-casting:" + otherCastingName.shortName() + "]";
     }
 
+    @Override
+    public String getShape() {
+        return "[distinct-casting]";
+    }
+
     @Override
     public double fragmentCost(double previousCost) {
         return previousCost / NUM_ROLES_PER_RELATION;
@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.gremlin.fragment;
 
 import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.ConjunctionStatistics;
 import ai.grakn.graql.internal.gremlin.EquivalentFragmentSet;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -69,6 +70,15 @@ public interface Fragment {
      */
     String getName();
 
+    /**
+     * The name of the fragment with any constants, such as IDs and values, left out. Variable names are also left
+     * out, because they are given by {@link #getStart()}, {@link #getEnd()} and {@link #getDependencies()}.
+     * Fragments with the same shape are traversed in the same way, so they can share a query plan.
+     */
+    default String getShape() {
+        return getName();
+    }
+
     /**
      * @return the variable name that this fragment starts from in the query
      */
@@ -98,4 +108,16 @@ public interface Fragment {
     }
 
     double fragmentCost(double previousCost);
+
+    /**
+     * Estimate the cost of this fragment using statistics about the graph. Fragments that cannot make use of the
+     * statistics, or when the relevant statistics are not known, fall back to {@link #fragmentCost(double)}.
+     *
+     * @param previousCost the estimated number of results before this fragment is applied
+     * @param statistics the statistics of the conjunction this fragment is part of
+     * @return the estimated number of results after this fragment is applied
+     */
+    default double fragmentCost(double previousCost, ConjunctionStatistics statistics) {
+        return fragmentCost(previousCost);
+    }
 }
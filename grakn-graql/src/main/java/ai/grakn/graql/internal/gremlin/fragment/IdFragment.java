@@ -48,6 +48,11 @@ class IdFragment extends AbstractFragment {
         return "[id:" + idToString(id.getValue()) + "]";
     }
 
+    @Override
+    public String getShape() {
+        return "[id]";
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
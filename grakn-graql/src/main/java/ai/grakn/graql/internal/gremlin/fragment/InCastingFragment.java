@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.gremlin.fragment;
 
 import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.ConjunctionStatistics;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -43,4 +44,11 @@ class InCastingFragment extends AbstractFragment {
     public double fragmentCost(double previousCost) {
         return previousCost * NUM_RELATION_PER_CASTING;
     }
+
+    @Override
+    public double fragmentCost(double previousCost, ConjunctionStatistics statistics) {
+        double relationsPerCasting = statistics.getAverageDegree(Schema.EdgeLabel.CASTING, Schema.BaseType.CASTING)
+                .orElse((double) NUM_RELATION_PER_CASTING);
+        return previousCost * relationsPerCasting;
+    }
 }
@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.gremlin.fragment;
 
 import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.ConjunctionStatistics;
 import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -52,6 +53,11 @@ class InIsaFragment extends AbstractFragment {
         return previousCost * NUM_INSTANCES_PER_TYPE;
     }
 
+    @Override
+    public double fragmentCost(double previousCost, ConjunctionStatistics statistics) {
+        return previousCost * statistics.getInstanceCount(getStart()).orElse(NUM_INSTANCES_PER_TYPE);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
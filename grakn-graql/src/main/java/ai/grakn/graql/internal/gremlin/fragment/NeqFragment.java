@@ -25,6 +25,11 @@ class NeqFragment extends AbstractFragment {
         return "[neq:" + other.shortName() + "]";
     }
 
+    @Override
+    public String getShape() {
+        return "[neq]";
+    }
+
     @Override
     public double fragmentCost(double previousCost) {
         return previousCost;
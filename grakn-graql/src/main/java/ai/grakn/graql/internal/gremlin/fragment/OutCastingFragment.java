@@ -19,6 +19,8 @@
 package ai.grakn.graql.internal.gremlin.fragment;
 
 import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.ConjunctionStatistics;
+import ai.grakn.util.Schema;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -44,4 +46,11 @@ class OutCastingFragment extends AbstractFragment {
     public double fragmentCost(double previousCost) {
         return previousCost * NUM_ROLES_PER_RELATION;
     }
+
+    @Override
+    public double fragmentCost(double previousCost, ConjunctionStatistics statistics) {
+        double castingsPerRelation = statistics.getAverageDegree(CASTING, Schema.BaseType.RELATION)
+                .orElse((double) NUM_ROLES_PER_RELATION);
+        return previousCost * castingsPerRelation;
+    }
 }
@@ -44,6 +44,11 @@ class RegexFragment extends AbstractFragment {
         return "[regex:" + valueToString(regex) + "]";
     }
 
+    @Override
+    public String getShape() {
+        return "[regex]";
+    }
+
     @Override
     public double fragmentCost(double previousCost) {
         return previousCost;
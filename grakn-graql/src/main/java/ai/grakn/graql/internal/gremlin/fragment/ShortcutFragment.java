@@ -19,6 +19,7 @@
 package ai.grakn.graql.internal.gremlin.fragment;
 
 import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.ConjunctionStatistics;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -69,6 +70,13 @@ class ShortcutFragment extends AbstractFragment {
         return previousCost * NUM_SHORTCUT_EDGES_PER_INSTANCE;
     }
 
+    @Override
+    public double fragmentCost(double previousCost, ConjunctionStatistics statistics) {
+        double edgesPerInstance = roleStart.flatMap(statistics::getAverageRoleDegree)
+                .orElse((double) NUM_SHORTCUT_EDGES_PER_INSTANCE);
+        return previousCost * edgesPerInstance;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
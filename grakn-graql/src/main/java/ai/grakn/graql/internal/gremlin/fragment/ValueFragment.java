@@ -21,6 +21,7 @@ package ai.grakn.graql.internal.gremlin.fragment;
 import ai.grakn.graql.admin.ValuePredicateAdmin;
 import ai.grakn.graql.admin.VarAdmin;
 import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.gremlin.ConjunctionStatistics;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -48,6 +49,11 @@ class ValueFragment extends AbstractFragment {
         return "[value:" + predicate + "]";
     }
 
+    @Override
+    public String getShape() {
+        return "[value" + (predicate.isSpecific() ? ":specific" : "") + "]";
+    }
+
     @Override
     public double fragmentCost(double previousCost) {
         if (predicate.isSpecific()) {
@@ -57,6 +63,25 @@ class ValueFragment extends AbstractFragment {
         }
     }
 
+    @Override
+    public double fragmentCost(double previousCost, ConjunctionStatistics statistics) {
+        if (predicate.isSpecific()) {
+            return fragmentCost(previousCost);
+        } else {
+            // Use the sampled values of the resource type to estimate how many results the predicate filters out.
+            // When the values are in a search index, the predicate is an index lookup rather than a scan.
+            double defaultSelectivity = isIndexed(statistics) ? INDEXED_VALUE_SELECTIVITY : 1.0;
+            double selectivity = predicate.getPredicate()
+                    .flatMap(p -> statistics.getValueSelectivity(getStart(), p))
+                    .orElse(defaultSelectivity);
+            return previousCost * selectivity;
+        }
+    }
+
+    private boolean isIndexed(ConjunctionStatistics statistics) {
+        return statistics.hasValueIndex() && !predicate.getInnerVar().isPresent() && predicate.getPredicate().isPresent();
+    }
+
     @Override
     public Set<VarName> getDependencies() {
         return optionalToStream(predicate.getInnerVar()).map(VarAdmin::getVarName).collect(toSet());
@@ -68,11 +68,17 @@ class HALConceptData {
 
     private final boolean embedType;
     private final Set<String> typesInQuery;
+    private final HALNeighbours neighbours;
 
     HALConceptData(Concept concept, int separationDegree, boolean embedTypeParam, Set<String> typesInQuery, String keyspace) {
+        this(concept, separationDegree, embedTypeParam, typesInQuery, keyspace, HALNeighbours.empty());
+    }
+
+    HALConceptData(Concept concept, int separationDegree, boolean embedTypeParam, Set<String> typesInQuery, String keyspace, HALNeighbours neighbours) {
 
         embedType = embedTypeParam;
         this.typesInQuery = typesInQuery;
+        this.neighbours = neighbours;
         this.keyspace = "?keyspace=" + keyspace;
         //building HAL concepts using: https://github.com/HalBuilder/halbuilder-core
         resourceLinkPrefix = REST.WebPath.CONCEPT_BY_ID_URI;
@@ -205,11 +211,11 @@ class HALConceptData {
 
         //Resources and links
         if (concept.isEntity()) {
-            generateResources(resource, concept.asEntity().resources());
+            generateResources(resource, neighbours.resources(concept.asEntity()));
         }
 
         if (concept.isRelation()) {
-            generateResources(resource, concept.asRelation().resources());
+            generateResources(resource, neighbours.resources(concept.asRelation()));
         }
     }
 
@@ -261,7 +267,7 @@ class HALConceptData {
 
     private void generateRelationEmbedded(Representation halResource, Relation rel, int separationDegree) {
 
-        rel.rolePlayers().forEach((roleType, instance) -> {
+        neighbours.rolePlayers(rel).forEach((roleType, instance) -> {
             if (instance != null) {
                 Representation roleResource = factory.newRepresentation(resourceLinkPrefix + instance.getId() + this.keyspace)
                         .withProperty(DIRECTION_PROPERTY, OUTBOUND_EDGE);
@@ -18,6 +18,7 @@
 
 package ai.grakn.graql.internal.hal;
 
+import ai.grakn.GraknGraph;
 import ai.grakn.concept.Concept;
 import ai.grakn.concept.ConceptId;
 import ai.grakn.concept.Instance;
@@ -36,23 +37,40 @@ import mjson.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class HALConceptRepresentationBuilder {
 
     private final static Logger LOG = LoggerFactory.getLogger(HALConceptRepresentationBuilder.class);
     private final static int MATCH_QUERY_FIXED_DEGREE = 0;
+    private final static int CHUNK_SIZE = 100;
     private final static String ASSERTION_URL = REST.WebPath.GRAPH_MATCH_QUERY_URI + "?keyspace=%s&query=match $x id '%s'; $y id '%s'; $r (%s$x, %s$y) %s; select $r;";
     private final static String HAS_ROLE_EDGE = "EMPTY-GRAKN-ROLE";
 
-    public static Json renderHALArrayData(MatchQuery matchQuery, Collection<Map<VarName, Concept>> graqlResultsList, String keyspace) {
+    /**
+     * Write the HAL representation of the results of a match query as a JSON array, one chunk of results at a time.
+     * The neighbours of the concepts in a chunk are fetched together and the writer is flushed after every chunk, so
+     * memory is bounded by the chunk size rather than by the number of results.
+     *
+     * @param matchQuery the query which produced the results
+     * @param graqlResults the results of the query
+     * @param keyspace the keyspace of the graph
+     * @param writer the writer to write the JSON array to
+     * @throws IOException if the writer fails
+     */
+    public static void renderHALArrayData(MatchQuery matchQuery, Stream<Map<VarName, Concept>> graqlResults, String keyspace, Writer writer) throws IOException {
 
         //Stores connections between variables in Graql result [varName:List<VarAdmin> (only VarAdmins that contain a relation)]
         Map<VarName, Collection<VarAdmin>> linkedNodes =  computeLinkedNodesFromQuery(matchQuery);
@@ -63,8 +81,30 @@ public class HALConceptRepresentationBuilder {
         //Collect all the types explicitly asked in the match query
         Set<String> typesAskedInQuery = matchQuery.admin().getTypes().stream().map(x -> x.asType().getName()).collect(Collectors.toSet());
 
+        Optional<GraknGraph> graph = matchQuery.admin().getGraph();
 
-        return buildHALRepresentations(graqlResultsList, linkedNodes, typesAskedInQuery, roleTypes, keyspace);
+        writer.write('[');
+        boolean first = true;
+        Iterator<Map<VarName, Concept>> results = graqlResults.iterator();
+        List<Map<VarName, Concept>> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (results.hasNext()) {
+            chunk.add(results.next());
+            if (chunk.size() == CHUNK_SIZE || !results.hasNext()) {
+                Set<Concept> concepts = new HashSet<>();
+                chunk.forEach(resultLine -> concepts.addAll(resultLine.values()));
+                HALNeighbours neighbours = graph.isPresent() ? HALNeighbours.fetch(graph.get(), concepts) : HALNeighbours.empty();
+
+                for (Json line : buildHALRepresentations(chunk, linkedNodes, typesAskedInQuery, roleTypes, keyspace, neighbours)) {
+                    if (!first) writer.write(',');
+                    writer.write(line.toString());
+                    first = false;
+                }
+                writer.flush();
+                chunk.clear();
+            }
+        }
+        writer.write(']');
+        writer.flush();
     }
 
     public static String renderHALConceptData(Concept concept, int separationDegree, String keyspace) {
@@ -75,15 +115,15 @@ public class HALConceptRepresentationBuilder {
         return new HALConceptOntology(concept, keyspace).render();
     }
 
-    private static Json buildHALRepresentations(Collection<Map<VarName, Concept>> graqlResultsList, Map<VarName, Collection<VarAdmin>> linkedNodes, Set<String> typesAskedInQuery, Map<String,Map<VarName, String>> roleTypes, String keyspace) {
-        final Json lines = Json.array();
+    private static List<Json> buildHALRepresentations(Collection<Map<VarName, Concept>> graqlResultsList, Map<VarName, Collection<VarAdmin>> linkedNodes, Set<String> typesAskedInQuery, Map<String,Map<VarName, String>> roleTypes, String keyspace, HALNeighbours neighbours) {
+        final List<Json> lines = new ArrayList<>();
         graqlResultsList.forEach(resultLine -> resultLine.entrySet().forEach(current -> {
 
             if (current.getValue().isType() && current.getValue().asType().isImplicit()) return;
 
             LOG.trace("Building HAL resource for concept with id {}", current.getValue().getId().getValue());
             Representation currentHal = new HALConceptData(current.getValue(), MATCH_QUERY_FIXED_DEGREE, true,
-                    typesAskedInQuery, keyspace).getRepresentation();
+                    typesAskedInQuery, keyspace, neighbours).getRepresentation();
             attachGeneratedRelations(currentHal, current, linkedNodes, resultLine, roleTypes, keyspace);
             lines.add(Json.read(currentHal.toString(RepresentationFactory.HAL_JSON)));
 
@@ -0,0 +1,135 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.hal;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Instance;
+import ai.grakn.concept.Relation;
+import ai.grakn.concept.Resource;
+import ai.grakn.concept.RoleType;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Neighbours of a chunk of concepts, fetched with one traversal per kind of neighbour.
+ *
+ * Rendering a concept as HAL reads the resources of every instance and the role players of every relation. Fetching
+ * them up front for all the concepts of a page costs a fixed number of traversals instead of one per concept. Concepts
+ * outside the chunk fall back to reading their own neighbours.
+ */
+class HALNeighbours {
+
+    private final static String OWNER = "owner";
+    private final static String RESOURCE = "resource";
+    private final static String RELATION = "relation";
+    private final static String CASTING = "casting";
+    private final static String ROLE = "role";
+    private final static String ROLE_PLAYER = "role-player";
+
+    private final Map<ConceptId, Set<Resource<?>>> resources = new HashMap<>();
+    private final Map<ConceptId, Map<RoleType, Instance>> rolePlayers = new HashMap<>();
+
+    private HALNeighbours() {
+    }
+
+    /**
+     * @return neighbours which always fall back to reading the neighbours of each concept
+     */
+    static HALNeighbours empty() {
+        return new HALNeighbours();
+    }
+
+    /**
+     * Fetch the role players of the relations and the resources of the instances in the chunk, including the
+     * resources of those role players.
+     *
+     * @param graph the graph the concepts belong to
+     * @param concepts the concepts which are about to be rendered
+     * @return the neighbours of the concepts
+     */
+    static HALNeighbours fetch(GraknGraph graph, Collection<Concept> concepts) {
+        HALNeighbours neighbours = new HALNeighbours();
+
+        Set<String> relationIds = new HashSet<>();
+        Set<String> instanceIds = new HashSet<>();
+        concepts.forEach(concept -> {
+            if (concept.isRelation()) relationIds.add(concept.getId().getValue());
+            if (concept.isInstance()) instanceIds.add(concept.getId().getValue());
+        });
+
+        if (!relationIds.isEmpty()) {
+            relationIds.forEach(id -> neighbours.rolePlayers.put(ConceptId.of(id), new HashMap<>()));
+            graph.admin().getTinkerTraversal()
+                    .has(Schema.ConceptProperty.ID.name(), P.within(relationIds)).as(RELATION)
+                    .out(Schema.EdgeLabel.CASTING.getLabel()).as(CASTING)
+                    .out(Schema.EdgeLabel.ISA.getLabel()).as(ROLE)
+                    .select(CASTING).out(Schema.EdgeLabel.ROLE_PLAYER.getLabel()).as(ROLE_PLAYER)
+                    .<Vertex>select(RELATION, ROLE, ROLE_PLAYER)
+                    .forEachRemaining(path -> {
+                        Relation relation = graph.admin().buildConcept(path.get(RELATION));
+                        RoleType roleType = graph.admin().buildConcept(path.get(ROLE));
+                        Instance rolePlayer = graph.admin().buildConcept(path.get(ROLE_PLAYER));
+                        neighbours.rolePlayers.get(relation.getId()).put(roleType, rolePlayer);
+                        instanceIds.add(rolePlayer.getId().getValue());
+                    });
+        }
+
+        if (!instanceIds.isEmpty()) {
+            instanceIds.forEach(id -> neighbours.resources.put(ConceptId.of(id), new HashSet<>()));
+            graph.admin().getTinkerTraversal()
+                    .has(Schema.ConceptProperty.ID.name(), P.within(instanceIds)).as(OWNER)
+                    .out(Schema.EdgeLabel.SHORTCUT.getLabel()).hasLabel(Schema.BaseType.RESOURCE.name()).as(RESOURCE)
+                    .<Vertex>select(OWNER, RESOURCE)
+                    .forEachRemaining(path -> {
+                        Instance owner = graph.admin().buildConcept(path.get(OWNER));
+                        Resource<?> resource = graph.admin().buildConcept(path.get(RESOURCE));
+                        neighbours.resources.get(owner.getId()).add(resource);
+                    });
+        }
+
+        return neighbours;
+    }
+
+    /**
+     * @param instance an entity or relation
+     * @return the resources of the instance
+     */
+    Collection<Resource<?>> resources(Instance instance) {
+        Collection<Resource<?>> fetched = resources.get(instance.getId());
+        return fetched != null ? fetched : instance.resources();
+    }
+
+    /**
+     * @param relation a relation
+     * @return the role players of the relation, which may contain roles without a role player
+     */
+    Map<RoleType, Instance> rolePlayers(Relation relation) {
+        Map<RoleType, Instance> fetched = rolePlayers.get(relation.getId());
+        return fetched != null ? fetched : relation.rolePlayers();
+    }
+}
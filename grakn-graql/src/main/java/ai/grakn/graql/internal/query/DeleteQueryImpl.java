@@ -35,6 +35,7 @@ import com.google.common.collect.Maps;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -57,9 +58,41 @@ class DeleteQueryImpl implements DeleteQueryAdmin {
 
     @Override
     public Void execute() {
+        deleteResults(matchQuery);
+        return null;
+    }
+
+    @Override
+    public long executeBatch(long batchSize) {
+        // Every batch would apply the modifiers again, so repeated batches would delete more than the query matches
+        if (matchQuery.restrictsResults()) {
+            throw new IllegalStateException(ErrorMessage.DELETE_BATCH_RESTRICTED.getMessage(matchQuery));
+        }
+        // Every batch would otherwise match the same results again
+        if (!deletesWholeResults()) {
+            throw new IllegalStateException(ErrorMessage.DELETE_BATCH_PARTIAL.getMessage(this));
+        }
+        return deleteResults(matchQuery.limit(batchSize).admin());
+    }
+
+    @Override
+    public boolean deletesWholeResults() {
+        Set<VarName> matched = matchQuery.getSelectedNames();
+        return deleters.values().stream().anyMatch(deleter ->
+                matched.contains(deleter.getVarName()) && !deleter.getProperties().findAny().isPresent()
+        );
+    }
+
+    /**
+     * Delete every result of a match query. The results are read before any are deleted, so deleting does not
+     * interfere with the traversal.
+     * @param matchQuery the match query to delete the results of
+     * @return the number of results deleted
+     */
+    private long deleteResults(MatchQueryAdmin matchQuery) {
         List<Map<VarName, Concept>> results = matchQuery.streamWithVarNames().collect(toList());
         results.forEach(result -> result.forEach(this::deleteResult));
-        return null;
+        return results.size();
     }
 
     @Override
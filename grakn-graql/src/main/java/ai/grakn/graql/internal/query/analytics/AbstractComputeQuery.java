@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -142,6 +143,40 @@ abstract class AbstractComputeQuery<T> implements ComputeQuery<T> {
         }
     }
 
+    /**
+     * Answers a read only query from the {@link AnalyticsCache} of the keyspace, computing and caching the result if
+     * there is no cached result or the types it depends on have changed since it was cached. The generation is taken
+     * after the lookup, which clears the cache if the keyspace has been committed to by another process.
+     *
+     * @param compute computes the result of the query
+     * @return the result of the query
+     */
+    @SuppressWarnings("unchecked")
+    T cached(Supplier<T> compute) {
+        GraknGraph theGraph = graph.orElseThrow(() -> new IllegalStateException(ErrorMessage.NO_GRAPH.getMessage()));
+        if (!isReadOnly()) return compute.get();
+
+        AnalyticsCache cache = AnalyticsCache.get(theGraph.getKeyspace());
+        String query = toString();
+
+        Optional<Object> cachedResult = cache.lookup(query, theGraph.admin().getCommitVersion().orElse(null));
+        if (cachedResult.isPresent()) return (T) cachedResult.get();
+        long generation = cache.getGeneration();
+
+        T result = compute.get();
+        cache.record(query, getDependencies(), result, generation);
+        return result;
+    }
+
+    /**
+     * @return names of the types the result of the query depends on
+     */
+    Set<String> getDependencies() {
+        Set<String> dependencies = getHasResourceRelationTypes();
+        dependencies.addAll(subTypeNames);
+        return dependencies;
+    }
+
     GraknComputer getGraphComputer() {
         return Grakn.factory(Grakn.DEFAULT_URI, keySpace).getGraphComputer();
     }
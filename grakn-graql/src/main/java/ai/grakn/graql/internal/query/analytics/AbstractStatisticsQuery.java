@@ -146,6 +146,13 @@ abstract class AbstractStatisticsQuery<T> extends AbstractComputeQuery<T> {
         return graph.graql().infer(false).match(or(checkResourceTypes), or(checkSubtypes)).ask().execute();
     }
 
+    @Override
+    Set<String> getDependencies() {
+        Set<String> dependencies = super.getDependencies();
+        dependencies.addAll(getCombinedSubTypes());
+        return dependencies;
+    }
+
     Set<String> getCombinedSubTypes() {
         Set<String> allSubTypes = statisticsResourceTypeNames.stream()
                 .map(Schema.Resource.HAS_RESOURCE::getName).collect(Collectors.toSet());
@@ -0,0 +1,179 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query.analytics;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *     Cache of the results of read only compute queries, shared by all queries on a keyspace
+ * </p>
+ *
+ * <p>
+ *     Each result is stored against the query which computed it, together with the names of the types it depends
+ *     on: the selected sub types and resource types and their has-resource relation types. Committing a change to an
+ *     instance of any of these types removes the result, so that a repeated query is answered without running a
+ *     graph computer until the data it reads actually changes.
+ *
+ *     Commits which change data give the keyspace a new commit version, which is stored in the graph. The cache
+ *     remembers the last version it knows the changes of. A lookup which finds a different version in the graph, for
+ *     example after a commit made in another process, removes every result, because it cannot know which types
+ *     were changed.
+ *
+ *     The cache keeps a generation which is incremented by every invalidation, so a result computed while a
+ *     change was committed is never recorded. Maps, sets and lists in results are copied when they are recorded
+ *     and when they are looked up, so callers can modify the results they are given.
+ * </p>
+ */
+public class AnalyticsCache {
+
+    private static final long MAX_CACHED_RESULTS = 1_000;
+
+    private static final Map<String, AnalyticsCache> caches = new ConcurrentHashMap<>();
+
+    private final Cache<String, CachedResult> results =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_RESULTS).recordStats().build();
+
+    private long generation = 0;
+    private String commitVersion = null;
+
+    private AnalyticsCache(){}
+
+    /**
+     * @param keyspace keyspace of the cache
+     * @return cache shared by all graphs of the keyspace
+     */
+    public static AnalyticsCache get(String keyspace){
+        return caches.computeIfAbsent(keyspace.toLowerCase(), key -> new AnalyticsCache());
+    }
+
+    /**
+     * @return the number of hits, misses and evictions of the cache
+     */
+    public CacheStats getStats(){
+        return results.stats();
+    }
+
+    /**
+     * @return current generation of the cache, to be passed to {@link #record} when the result has been computed
+     */
+    public synchronized long getGeneration(){
+        return generation;
+    }
+
+    /**
+     * @param query the string of the compute query
+     * @param commitVersion the commit version of the keyspace in the graph, or null if data has never been committed
+     * @return the result of the query, if it has been cached and none of the types it depends on have changed since
+     */
+    public Optional<Object> lookup(String query, String commitVersion){
+        synchronized (this) {
+            if (!Objects.equals(this.commitVersion, commitVersion)) clear(commitVersion);
+        }
+        CachedResult cachedResult = results.getIfPresent(query);
+        return cachedResult == null ? Optional.empty() : Optional.of(copy(cachedResult.result));
+    }
+
+    /**
+     * @param query the string of the compute query
+     * @param dependencies names of the types the result depends on
+     * @param result result of the query
+     * @param generation generation of the cache when the query started
+     */
+    public void record(String query, Set<String> dependencies, Object result, long generation){
+        CachedResult cachedResult = new CachedResult(ImmutableSet.copyOf(dependencies), copy(result));
+        synchronized (this) {
+            if (this.generation == generation) results.put(query, cachedResult);
+        }
+    }
+
+    /**
+     * remove the results of queries depending on any of the types, or all results if the cache does not know the
+     * changes of the version the commit was made on
+     * @param typeNames names of the types which have been modified
+     * @param previousVersion commit version of the keyspace before the commit
+     * @param commitVersion commit version of the keyspace given by the commit
+     */
+    public synchronized void invalidate(Set<String> typeNames, String previousVersion, String commitVersion){
+        if (!Objects.equals(this.commitVersion, previousVersion) && !Objects.equals(this.commitVersion, commitVersion)) {
+            clear(commitVersion);
+            return;
+        }
+        this.commitVersion = commitVersion;
+        if (typeNames.isEmpty()) return;
+        generation++;
+        results.asMap().values().removeIf(cachedResult -> !Collections.disjoint(cachedResult.dependencies, typeNames));
+    }
+
+    /**
+     * remove all cached results, used when the ontology of the keyspace changes or the keyspace is cleared
+     * @param commitVersion commit version of the keyspace after the change, or null if it is not known
+     */
+    public synchronized void clear(String commitVersion){
+        this.commitVersion = commitVersion;
+        generation++;
+        results.invalidateAll();
+    }
+
+    /**
+     * @param result a result of a compute query
+     * @return a copy of the maps, sets, lists and optionals in the result, the values in them are immutable
+     */
+    private static Object copy(Object result){
+        if (result instanceof Map) {
+            Map<Object, Object> copy = new HashMap<>();
+            ((Map<?, ?>) result).forEach((key, value) -> copy.put(key, copy(value)));
+            return copy;
+        } else if (result instanceof Set) {
+            return ((Set<?>) result).stream().map(AnalyticsCache::copy).collect(Collectors.toSet());
+        } else if (result instanceof List) {
+            return ((List<?>) result).stream().map(AnalyticsCache::copy).collect(Collectors.toList());
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).map(AnalyticsCache::copy);
+        } else {
+            return result;
+        }
+    }
+
+    /**
+     * Result of a query together with the types it depends on
+     */
+    private static class CachedResult {
+        private final Set<String> dependencies;
+        private final Object result;
+
+        CachedResult(Set<String> dependencies, Object result){
+            this.dependencies = dependencies;
+            this.result = result;
+        }
+    }
+}
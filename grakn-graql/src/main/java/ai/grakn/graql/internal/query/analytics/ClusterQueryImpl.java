@@ -54,6 +54,10 @@ class ClusterQueryImpl<T> extends AbstractComputeQuery<T> implements ClusterQuer
 
     @Override
     public T execute() {
+        return cached(this::computeResult);
+    }
+
+    private T computeResult() {
         LOGGER.info("ConnectedComponentsVertexProgram is called");
         initSubGraph();
         if (!selectedTypesHaveInstance()) return (T) Collections.emptyMap();
@@ -149,7 +153,7 @@ class ClusterQueryImpl<T> extends AbstractComputeQuery<T> implements ClusterQuer
 
     @Override
     public boolean isReadOnly() {
-        return persist;
+        return !persist;
     }
 
     @Override
@@ -36,6 +36,10 @@ class CountQueryImpl extends AbstractComputeQuery<Long> implements CountQuery {
 
     @Override
     public Long execute() {
+        return cached(this::computeResult);
+    }
+
+    private Long computeResult() {
         LOGGER.info("CountMapReduce is called");
         initSubGraph();
         if (!selectedTypesHaveInstance()) return 0L;
@@ -55,6 +55,10 @@ class DegreeQueryImpl<T> extends AbstractComputeQuery<T> implements DegreeQuery<
 
     @Override
     public T execute() {
+        return cached(this::computeResult);
+    }
+
+    private T computeResult() {
         if (persist) LOGGER.info("DegreeAndPersistVertexProgram is called");
         else LOGGER.info("DegreeVertexProgram is called");
         initSubGraph();
@@ -38,6 +38,10 @@ class MaxQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implements
 
     @Override
     public Optional<Number> execute() {
+        return cached(this::computeResult);
+    }
+
+    private Optional<Number> computeResult() {
         LOGGER.info("MaxMapReduce is called");
         initSubGraph();
         String dataType = checkSelectedResourceTypesHaveCorrectDataType(statisticsResourceTypeNames);
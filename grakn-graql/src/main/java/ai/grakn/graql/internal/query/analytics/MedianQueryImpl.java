@@ -35,6 +35,10 @@ class MedianQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implemen
 
     @Override
     public Optional<Number> execute() {
+        return cached(this::computeResult);
+    }
+
+    private Optional<Number> computeResult() {
         LOGGER.info("MedianVertexProgram is called");
         initSubGraph();
         String dataType = checkSelectedResourceTypesHaveCorrectDataType(statisticsResourceTypeNames);
@@ -38,6 +38,10 @@ class MinQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implements
 
     @Override
     public Optional<Number> execute() {
+        return cached(this::computeResult);
+    }
+
+    private Optional<Number> computeResult() {
         LOGGER.info("MinMapReduce is called");
         initSubGraph();
         String dataType = checkSelectedResourceTypesHaveCorrectDataType(statisticsResourceTypeNames);
@@ -38,6 +38,10 @@ class StdQueryImpl extends AbstractStatisticsQuery<Optional<Double>> implements
 
     @Override
     public Optional<Double> execute() {
+        return cached(this::computeResult);
+    }
+
+    private Optional<Double> computeResult() {
         LOGGER.info("StdMapReduce is called");
         initSubGraph();
         String dataType = checkSelectedResourceTypesHaveCorrectDataType(statisticsResourceTypeNames);
@@ -38,6 +38,10 @@ class SumQueryImpl extends AbstractStatisticsQuery<Optional<Number>> implements
 
     @Override
     public Optional<Number> execute() {
+        return cached(this::computeResult);
+    }
+
+    private Optional<Number> computeResult() {
         LOGGER.info("SumMapReduce is called");
         initSubGraph();
         String dataType = checkSelectedResourceTypesHaveCorrectDataType(statisticsResourceTypeNames);
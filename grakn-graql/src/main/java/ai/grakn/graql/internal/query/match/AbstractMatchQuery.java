@@ -87,6 +87,17 @@ abstract class AbstractMatchQuery implements MatchQueryAdmin {
      */
     public abstract Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph);
 
+    /**
+     * Execute the query using the given graph, when no more than the first {@code limit} results will be read.
+     * Modifiers which can do less work knowing this, such as ordering, override this method.
+     * @param graph the graph to use to execute the query
+     * @param limit the maximum number of results that will be read
+     * @return a stream of at most {@code limit} results
+     */
+    Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph, long limit) {
+        return stream(graph).limit(limit);
+    }
+
     @Override
     public final Stream<Map<VarName, Concept>> streamWithVarNames() {
         return stream(Optional.empty());
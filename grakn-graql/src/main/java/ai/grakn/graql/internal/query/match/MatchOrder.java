@@ -35,4 +35,11 @@ public interface MatchOrder {
      * @param stream the stream to order
      */
     Stream<Map<VarName, Concept>> orderStream(Stream<Map<VarName, Concept>> stream);
+
+    /**
+     * Order the stream, keeping only the first results
+     * @param stream the stream to order
+     * @param limit the number of results to keep
+     */
+    Stream<Map<VarName, Concept>> orderStream(Stream<Map<VarName, Concept>> stream, long limit);
 }
@@ -22,22 +22,38 @@ import ai.grakn.concept.Concept;
 import ai.grakn.graql.Order;
 import ai.grakn.graql.VarName;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
+/**
+ * Orders results by the value of a resource.
+ *
+ * The value of each result is read once, rather than on every comparison. When only the first results are needed,
+ * they are kept in a heap bounded by the number of results, instead of sorting every result.
+ */
 class MatchOrderImpl implements MatchOrder {
 
+    // Beyond this many results, a heap has no advantage over sorting everything
+    private static final long MAX_HEAP_SIZE = Integer.MAX_VALUE / 2;
+
     private final VarName var;
 
-    private final Comparator<Map<VarName, Concept>> comparator;
+    private final Comparator<OrderKey> comparator;
 
     MatchOrderImpl(VarName var, Order order) {
         this.var = var;
 
-        Comparator<Map<VarName, Concept>> comparator = Comparator.comparing(this::getOrderValue);
+        Comparator<OrderKey> byValue = Comparator.comparing(key -> key.value);
+        if (order == Order.desc) byValue = byValue.reversed();
 
-        this.comparator = (order == Order.desc) ? comparator.reversed() : comparator;
+        // Ties keep the order they arrived in, the same as a stable sort
+        this.comparator = byValue.thenComparingLong(key -> key.position);
     }
 
     @Override
@@ -47,7 +63,48 @@ class MatchOrderImpl implements MatchOrder {
 
     @Override
     public Stream<Map<VarName, Concept>> orderStream(Stream<Map<VarName, Concept>> stream) {
-        return stream.sorted(comparator);
+        AtomicLong position = new AtomicLong();
+        return stream.map(result -> new OrderKey(getOrderValue(result), position.getAndIncrement(), result))
+                .sorted(comparator)
+                .map(key -> key.result);
+    }
+
+    @Override
+    public Stream<Map<VarName, Concept>> orderStream(Stream<Map<VarName, Concept>> stream, long limit) {
+        if (limit > MAX_HEAP_SIZE) return orderStream(stream).limit(limit);
+
+        // Defer reading the results until the stream is consumed, as a sort would
+        return Stream.of(stream).flatMap(results -> firstResults(results, (int) limit).stream()).onClose(stream::close);
+    }
+
+    /**
+     * @param stream the results to order
+     * @param limit the number of results to keep
+     * @return the first results in order
+     */
+    private List<Map<VarName, Concept>> firstResults(Stream<Map<VarName, Concept>> stream, int limit) {
+        List<Map<VarName, Concept>> results = new ArrayList<>();
+        if (limit == 0) return results;
+
+        // The head of the heap is the last of the results kept so far
+        PriorityQueue<OrderKey> heap = new PriorityQueue<>(Math.min(limit, 1024), comparator.reversed());
+        AtomicLong position = new AtomicLong();
+
+        stream.forEach(result -> {
+            OrderKey key = new OrderKey(getOrderValue(result), position.getAndIncrement(), result);
+            if (heap.size() < limit) {
+                heap.add(key);
+            } else if (comparator.compare(key, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(key);
+            }
+        });
+
+        while (!heap.isEmpty()) {
+            results.add(heap.poll().result);
+        }
+        Collections.reverse(results);
+        return results;
     }
 
     // All data types are comparable, so this is safe
@@ -60,4 +117,19 @@ class MatchOrderImpl implements MatchOrder {
     public String toString() {
         return "order by " + var + " ";
     }
+
+    /**
+     * A result with the value it is ordered by and its position in the unordered results
+     */
+    private static class OrderKey {
+        private final Comparable<? super Comparable> value;
+        private final long position;
+        private final Map<VarName, Concept> result;
+
+        private OrderKey(Comparable<? super Comparable> value, long position, Map<VarName, Concept> result) {
+            this.value = value;
+            this.position = position;
+            this.result = result;
+        }
+    }
 }
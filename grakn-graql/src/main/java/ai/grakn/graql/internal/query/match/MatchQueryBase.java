@@ -81,7 +81,7 @@ public class MatchQueryBase extends AbstractMatchQuery {
         for (VarAdmin var : pattern.getVars()) {
             var.getProperties().forEach(property -> ((VarPropertyInternal) property).checkValid(graph, var));}
 
-        GraqlTraversal graqlTraversal = GraqlTraversal.semiOptimal(pattern);
+        GraqlTraversal graqlTraversal = GraqlTraversal.semiOptimal(graph, pattern);
         LOG.debug("Created query plan");
         LOG.debug(graqlTraversal.toString());
         GraphTraversal<Vertex, Map<String, Vertex>> traversal = graqlTraversal.getGraphTraversal(graph);
@@ -110,6 +110,11 @@ public class MatchQueryBase extends AbstractMatchQuery {
                 .collect(toSet());
     }
 
+    @Override
+    public boolean restrictsResults() {
+        return false;
+    }
+
     @Override
     public Set<Type> getTypes() {
         throw new IllegalStateException(ErrorMessage.NO_GRAPH.getMessage());
@@ -43,11 +43,20 @@ class MatchQueryGraph extends MatchQueryModifier {
 
     @Override
     public Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph) {
+        return inner.stream(checkGraph(graph));
+    }
+
+    @Override
+    Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph, long limit) {
+        return inner.stream(checkGraph(graph), limit);
+    }
+
+    private Optional<GraknGraph> checkGraph(Optional<GraknGraph> graph) {
         if (graph.isPresent()) {
             throw new IllegalStateException(ErrorMessage.MULTIPLE_GRAPH.getMessage());
         }
 
-        return inner.stream(Optional.of(this.graph));
+        return Optional.of(this.graph);
     }
 
     @Override
@@ -40,7 +40,17 @@ class MatchQueryLimit extends MatchQueryModifier {
 
     @Override
     public Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph) {
-        return inner.stream(graph).limit(limit);
+        return inner.stream(graph, limit);
+    }
+
+    @Override
+    Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph, long limit) {
+        return inner.stream(graph, Math.min(this.limit, limit));
+    }
+
+    @Override
+    public boolean restrictsResults() {
+        return true;
     }
 
     @Override
@@ -67,6 +67,11 @@ abstract class MatchQueryModifier extends AbstractMatchQuery {
         return inner.getSelectedNames();
     }
 
+    @Override
+    public boolean restrictsResults() {
+        return inner.restrictsResults();
+    }
+
     /**
      * @return a string representation of this modifier
      */
@@ -43,6 +43,18 @@ class MatchQueryOffset extends MatchQueryModifier {
         return inner.stream(graph).skip(offset);
     }
 
+    @Override
+    Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph, long limit) {
+        // Saturate rather than overflow when the sum is beyond the range of a long
+        long innerLimit = offset + limit < 0 ? Long.MAX_VALUE : offset + limit;
+        return inner.stream(graph, innerLimit).skip(offset);
+    }
+
+    @Override
+    public boolean restrictsResults() {
+        return true;
+    }
+
     @Override
     protected String modifierString() {
         return " offset " + offset + ";";
@@ -43,6 +43,16 @@ class MatchQueryOrder extends MatchQueryModifier {
         return order.orderStream(inner.stream(graph));
     }
 
+    @Override
+    Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph, long limit) {
+        return order.orderStream(inner.stream(graph), limit);
+    }
+
+    @Override
+    public boolean restrictsResults() {
+        return true;
+    }
+
     @Override
     protected String modifierString() {
         return " " + order.toString() + ";";
@@ -54,6 +54,11 @@ class MatchQuerySelect extends MatchQueryModifier {
         return inner.stream(graph).map(result -> Maps.filterKeys(result, names::contains));
     }
 
+    @Override
+    Stream<Map<VarName, Concept>> stream(Optional<GraknGraph> graph, long limit) {
+        return inner.stream(graph, limit).map(result -> Maps.filterKeys(result, names::contains));
+    }
+
     @Override
     protected String modifierString() {
         return " select " + names.stream().map(Object::toString).collect(joining(", ")) + ";";
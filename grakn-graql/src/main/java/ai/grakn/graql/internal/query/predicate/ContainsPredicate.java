@@ -21,6 +21,8 @@ package ai.grakn.graql.internal.query.predicate;
 import ai.grakn.graql.admin.VarAdmin;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 
+import java.util.function.BiPredicate;
+
 class ContainsPredicate extends ComparatorPredicate {
 
     /**
@@ -42,8 +44,10 @@ class ContainsPredicate extends ComparatorPredicate {
         return "contains";
     }
 
+    // StringPredicate compares any objects, so it can be used as a predicate on values of any type
+    @SuppressWarnings("unchecked")
     @Override
     <V> P<V> gremlinPredicate(V value) {
-        return new P<>((v, s) -> ((String) v).contains((String) s), value);
+        return new P<>((BiPredicate<V, V>) (BiPredicate) StringPredicate.CONTAINS, value);
     }
 }
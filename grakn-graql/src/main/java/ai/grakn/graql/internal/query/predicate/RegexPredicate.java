@@ -27,8 +27,6 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Optional;
-import java.util.function.BiPredicate;
-import java.util.regex.Pattern;
 
 class RegexPredicate implements ValuePredicateAdmin {
 
@@ -42,8 +40,7 @@ class RegexPredicate implements ValuePredicateAdmin {
     }
 
     private P<Object> regexPredicate() {
-        BiPredicate<Object, Object> predicate = (value, p) -> Pattern.matches((String) p, (String) value);
-        return new P<>(predicate, pattern);
+        return new P<>(StringPredicate.REGEX, pattern);
     }
 
     @Override
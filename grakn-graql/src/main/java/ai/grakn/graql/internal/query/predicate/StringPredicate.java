@@ -0,0 +1,50 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.query.predicate;
+
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * String comparisons used by {@link RegexPredicate} and {@link ContainsPredicate}.
+ * They are named, rather than lambdas, so that a graph with a search index over resource values can recognise them
+ * and answer them from the index.
+ */
+public enum StringPredicate implements BiPredicate<Object, Object> {
+
+    /**
+     * The value matches the whole of a regex pattern
+     */
+    REGEX {
+        @Override
+        public boolean test(Object value, Object pattern) {
+            return Pattern.matches((String) pattern, (String) value);
+        }
+    },
+
+    /**
+     * The value contains a substring
+     */
+    CONTAINS {
+        @Override
+        public boolean test(Object value, Object substring) {
+            return ((String) value).contains((String) substring);
+        }
+    }
+}
@@ -20,14 +20,20 @@ package ai.grakn.graql.internal.reasoner;
 
 import ai.grakn.GraknGraph;
 import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Instance;
+import ai.grakn.concept.Relation;
 import ai.grakn.concept.Rule;
 import ai.grakn.concept.Type;
 import ai.grakn.exception.GraknValidationException;
 import ai.grakn.graql.MatchQuery;
+import ai.grakn.graql.Pattern;
 import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.Var;
 import ai.grakn.graql.VarName;
 import ai.grakn.graql.admin.Conjunction;
 import ai.grakn.graql.admin.VarAdmin;
+import ai.grakn.graql.internal.pattern.Patterns;
 import ai.grakn.graql.internal.reasoner.query.AtomicMatchQuery;
 import ai.grakn.graql.internal.reasoner.query.AtomicQuery;
 import ai.grakn.graql.internal.reasoner.query.ReasonerQueryImpl;
@@ -40,10 +46,16 @@ import ai.grakn.util.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -125,9 +137,277 @@ public class Reasoner {
      */
     public static void precomputeInferences(GraknGraph graph){
         linkConceptTypes(graph);
+        materialise(graph, getRules(graph));
+    }
+
+    /**
+     * Materialise the inferences following from a change to the graph, without committing them. Inferences which may
+     * have been derived from deleted data are found around the changed instances, retracted, and derived again if
+     * they still follow from the graph. Then each rule is evaluated with one of its variables bound to a changed
+     * instance, so only the answers involving the change are found. The new facts are the change evaluated in the
+     * next round, until no rule derives anything new.
+     * @param graph graph to which the change was committed
+     * @param changedIds ids of the instances which were added or had edges added or removed
+     * @param deletedTypeNames names of the types whose instances were deleted, including their super types
+     * @param isInferred whether an instance was inserted by an earlier materialisation
+     * @return the instances inserted as inferences
+     */
+    public static Set<Instance> materialiseInferences(GraknGraph graph, Set<ConceptId> changedIds,
+                                                     Set<String> deletedTypeNames, Predicate<Instance> isInferred){
+        linkConceptTypes(graph);
+        Set<Rule> rules = getRules(graph);
+        QueryBuilder qb = graph.graql().infer(false);
+        Set<Instance> inferred = new HashSet<>();
+
+        Set<Instance> changed = changedIds.stream()
+                .map(graph::<Concept>getConcept)
+                .filter(concept -> concept != null && concept.isInstance())
+                .map(Concept::asInstance)
+                .collect(Collectors.toSet());
+
+        Set<Rule> retractedRules = getTriggeredRules(rules, deletedTypeNames);
+        if (!retractedRules.isEmpty()) {
+            Set<Instance> retracted = getRetractableInferences(retractedRules, changed, isInferred);
+            Set<Instance> rederivable = getNeighbourhood(retracted, 2);
+            rederivable.removeAll(retracted);
+            retracted.forEach(Concept::delete);
+            LOG.debug(retracted.size() + " inferences retracted...");
+            retractedRules.forEach(rule -> inferred.addAll(evaluate(qb, rule, Optional.of(rederivable))));
+        }
+
+        materialiseDelta(qb, rules, changed, inferred);
+        LOG.debug(inferred.size() + " inferences materialised...");
+        return inferred;
+    }
+
+    /**
+     * Retract every materialised inference and materialise them all again, without committing them. This is needed
+     * when the types or rules of the graph change, so it reads the whole graph.
+     * @param graph graph whose inferences are materialised
+     * @param isInferred whether an instance was inserted by an earlier materialisation
+     * @return the instances inserted as inferences
+     */
+    public static Set<Instance> rematerialiseInferences(GraknGraph graph, Predicate<Instance> isInferred){
+        linkConceptTypes(graph);
+        Set<Rule> rules = getRules(graph);
+        QueryBuilder qb = graph.graql().infer(false);
+        Set<Instance> inferred = new HashSet<>();
+
+        Set<Instance> retracted = rules.stream()
+                .flatMap(rule -> rule.getConclusionTypes().stream())
+                .flatMap(type -> type.instances().stream())
+                .filter(isInferred)
+                .collect(Collectors.toSet());
+        retracted.forEach(Concept::delete);
+        LOG.debug(retracted.size() + " inferences retracted...");
+        rules.forEach(rule -> inferred.addAll(evaluate(qb, rule, Optional.empty())));
+
+        materialiseDelta(qb, rules, new HashSet<>(), inferred);
+        LOG.debug(inferred.size() + " inferences materialised...");
+        return inferred;
+    }
+
+    /**
+     * Evaluate the rules against new facts until no rule derives anything new
+     * @param qb query builder which does not reason
+     * @param rules rules to evaluate
+     * @param changed instances which were changed in the graph
+     * @param inferred instances inserted as inferences so far, to which the new inferences are added
+     */
+    private static void materialiseDelta(QueryBuilder qb, Set<Rule> rules, Set<Instance> changed, Set<Instance> inferred){
+        Set<Instance> delta = new HashSet<>(changed);
+        delta.addAll(inferred);
+        while (!delta.isEmpty()) {
+            Set<Instance> newFacts = new HashSet<>();
+            for (Rule rule : rules) {
+                newFacts.addAll(evaluate(qb, rule, Optional.of(delta)));
+            }
+            inferred.addAll(newFacts);
+            delta = newFacts;
+        }
+    }
+
+    /**
+     * Find the inferences which may have been derived from deleted data. The facts matched by the body of a rule are
+     * connected to each other and to its conclusion, so an inference derived from a deleted fact is within as many
+     * relations of an instance which lost an edge as the body of its rule has patterns. Retracting an inference may
+     * in turn invalidate the inferences derived from it, so the search carries on from each retracted inference.
+     * @param rules rules whose conclusions may depend on deleted data
+     * @param changed instances which were changed, including those which lost edges to deleted instances
+     * @param isInferred whether an instance was inserted by an earlier materialisation
+     * @return the inferences to retract
+     */
+    private static Set<Instance> getRetractableInferences(Set<Rule> rules, Set<Instance> changed, Predicate<Instance> isInferred){
+        Set<String> conclusionTypeNames = rules.stream()
+                .flatMap(rule -> rule.getConclusionTypes().stream())
+                .map(Type::getName)
+                .collect(Collectors.toSet());
+        int radius = rules.stream()
+                .mapToInt(rule -> rule.getLHS().admin().getVars().size())
+                .max().orElse(0);
+
+        Set<Instance> retracted = new HashSet<>();
+        Set<Instance> frontier = changed;
+        while (!frontier.isEmpty()) {
+            Set<Instance> newlyRetracted = getNeighbourhood(frontier, radius).stream()
+                    .filter(instance -> !retracted.contains(instance))
+                    .filter(instance -> getTypeNames(instance.type()).stream().anyMatch(conclusionTypeNames::contains))
+                    .filter(isInferred)
+                    .collect(Collectors.toSet());
+            retracted.addAll(newlyRetracted);
+            frontier = newlyRetracted;
+        }
+        return retracted;
+    }
+
+    /**
+     * @param instances instances to start from
+     * @param radius the number of relations to follow
+     * @return the instances, together with the relations and role players which can be reached from them by
+     * following at most radius relations
+     */
+    private static Set<Instance> getNeighbourhood(Set<Instance> instances, int radius){
+        Set<Instance> neighbourhood = new HashSet<>(instances);
+        Set<Instance> frontier = instances;
+        for (int i = 0; i < radius && !frontier.isEmpty(); i++) {
+            Set<Instance> next = new HashSet<>();
+            for (Instance instance : frontier) {
+                if (instance.isRelation()) addRolePlayers(instance.asRelation(), next);
+                for (Relation relation : instance.relations()) {
+                    next.add(relation);
+                    addRolePlayers(relation, next);
+                }
+            }
+            next.removeAll(neighbourhood);
+            neighbourhood.addAll(next);
+            frontier = next;
+        }
+        return neighbourhood;
+    }
+
+    private static void addRolePlayers(Relation relation, Set<Instance> instances){
+        relation.rolePlayers().values().stream().filter(Objects::nonNull).forEach(instances::add);
+    }
+
+    /**
+     * @param rules rules which may be triggered
+     * @param typeNames names of the types which were changed, including their super types
+     * @return the rules with one of the types as a hypothesis type, together with the rules depending on their
+     * conclusions
+     */
+    private static Set<Rule> getTriggeredRules(Set<Rule> rules, Set<String> typeNames){
+        Set<String> triggeringTypeNames = new HashSet<>(typeNames);
+        Set<Rule> triggeredRules = new HashSet<>();
+
+        boolean rulesTriggered = !triggeringTypeNames.isEmpty();
+        while(rulesTriggered) {
+            rulesTriggered = false;
+            for (Rule rule : rules) {
+                boolean isTriggered = !triggeredRules.contains(rule) && rule.getHypothesisTypes().stream()
+                        .map(Type::getName)
+                        .anyMatch(triggeringTypeNames::contains);
+                if (isTriggered) {
+                    triggeredRules.add(rule);
+                    rule.getConclusionTypes().forEach(type -> triggeringTypeNames.addAll(getTypeNames(type)));
+                    rulesTriggered = true;
+                }
+            }
+        }
+
+        return triggeredRules;
+    }
+
+    /**
+     * Insert the conclusions of a rule which are missing from the graph
+     * @param qb query builder which does not reason, so only the facts in the graph are matched
+     * @param rule rule to evaluate
+     * @param delta instances one of which must be in each answer, or empty to find every answer
+     * @return the instances inserted as conclusions
+     */
+    private static Set<Instance> evaluate(QueryBuilder qb, Rule rule, Optional<Set<Instance>> delta){
+        // Anonymous variables are named when a pattern is parsed, so the same body is used for every match
+        Pattern body = rule.getLHS();
+        Pattern head = rule.getRHS();
+
+        List<Map<VarName, Concept>> answers;
+        if (delta.isPresent()) {
+            Set<String> hypothesisTypeNames = rule.getHypothesisTypes().stream()
+                    .map(Type::getName)
+                    .collect(Collectors.toSet());
+            Set<VarName> instanceVarNames = getVarNames(body, var -> !var.getTypeName().isPresent());
+            answers = delta.get().stream()
+                    .filter(instance -> getTypeNames(instance.type()).stream().anyMatch(hypothesisTypeNames::contains))
+                    .flatMap(instance -> instanceVarNames.stream()
+                            .flatMap(varName -> qb.match(bind(body, varName, instance.getId())).admin().streamWithVarNames()))
+                    .collect(Collectors.toList());
+        } else {
+            answers = qb.match(body).admin().streamWithVarNames().collect(Collectors.toList());
+        }
+
+        Set<VarName> headVarNames = getVarNames(head, var -> true);
+        Set<Instance> conclusions = new HashSet<>();
+        for (Map<VarName, Concept> answer : answers) {
+            List<Var> conclusion = new ArrayList<>(head.admin().getVars());
+            answer.forEach((varName, concept) -> {
+                if (headVarNames.contains(varName)) conclusion.add(var(varName).id(concept.getId()));
+            });
+
+            if (!qb.match(conclusion).ask().execute()) {
+                // Only the concepts of named variables are returned by an insert
+                headVarNames.forEach(varName -> conclusion.add(var(varName)));
+                qb.insert(conclusion).admin().streamWithVarNames()
+                        .flatMap(result -> result.values().stream())
+                        .filter(concept -> concept.isInstance() && !answer.containsValue(concept))
+                        .forEach(concept -> conclusions.add(concept.asInstance()));
+            }
+        }
+        return conclusions;
+    }
+
+    /**
+     * Bind a variable of a pattern to a concept. The binding is merged into the variable it binds, because a relation
+     * variable which is not named by the user is matched with shortcut edges which skip the relation itself.
+     * @param pattern pattern containing the variable
+     * @param varName name of the variable to bind
+     * @param id id of the concept the variable is bound to
+     * @return the variables of the pattern with the variable bound
+     */
+    private static List<VarAdmin> bind(Pattern pattern, VarName varName, ConceptId id){
+        VarAdmin binding = var(varName).id(id).admin();
+        List<VarAdmin> vars = new ArrayList<>();
+        boolean merged = false;
+        for (VarAdmin var : pattern.admin().getVars()) {
+            if (var.getVarName().equals(varName)) {
+                vars.add(Patterns.mergeVars(Arrays.asList(binding, var)));
+                merged = true;
+            } else {
+                vars.add(var);
+            }
+        }
+        if (!merged) vars.add(binding);
+        return vars;
+    }
+
+    private static Set<VarName> getVarNames(Pattern pattern, Predicate<VarAdmin> filter){
+        return pattern.admin().getVars().stream()
+                .flatMap(var -> var.getInnerVars().stream())
+                .filter(filter)
+                .map(VarAdmin::getVarName)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> getTypeNames(Type type){
+        Set<String> typeNames = new HashSet<>();
+        for (Type superType = type; superType != null; superType = superType.superType()) {
+            typeNames.add(superType.getName());
+        }
+        return typeNames;
+    }
+
+    private static void materialise(GraknGraph graph, Set<Rule> rules){
         QueryCache cache = new QueryCache();
         Set<AtomicQuery> subGoals = new HashSet<>();
-        getRules(graph).forEach(rl -> {
+        rules.forEach(rl -> {
             InferenceRule rule = new InferenceRule(rl, graph);
             AtomicQuery atomicQuery = new AtomicMatchQuery(rule.getHead(), new QueryAnswers());
             int dAns;
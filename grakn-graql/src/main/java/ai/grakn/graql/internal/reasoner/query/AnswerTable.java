@@ -0,0 +1,211 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.query;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.Type;
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.admin.Atomic;
+import ai.grakn.graql.internal.reasoner.atom.Atom;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * <p>
+ * Table of the complete answers to atomic queries, shared by all queries and sessions on a keyspace. Resolving a query
+ * which has already been answered becomes a lookup instead of a re-derivation.
+ *
+ * Each entry records the types its answers depend on: the types of the atoms of the query and, transitively, the
+ * hypothesis types of the rules which can infer them. Committing a change to an instance of any of these types removes
+ * the entry. Commits made in other JVMs remove it when engine receives their commit logs. Answers are stored as concept
+ * ids so that they can be read by any graph of the keyspace.
+ *
+ * The table remembers the commit version of the keyspace, which is stored in the graph and changed by every commit
+ * of data, that it knows the changes of. A lookup which finds a different version in the graph removes every entry,
+ * so that a process which is not told about the commits of another does not return answers they have made stale.
+ * </p>
+ */
+public class AnswerTable {
+
+    private static final long MAX_TABLED_QUERIES = 1_000;
+
+    private static final Map<String, AnswerTable> tables = new ConcurrentHashMap<>();
+
+    private final Cache<AtomicQuery, TabledQuery> entries =
+            CacheBuilder.newBuilder().maximumSize(MAX_TABLED_QUERIES).recordStats().build();
+
+    //incremented on every invalidation, so answers computed before an invalidation are not recorded after it
+    private long generation = 0;
+    private String commitVersion = null;
+
+    private AnswerTable(){}
+
+    /**
+     * @param keyspace keyspace of the table
+     * @return table shared by all graphs of the keyspace
+     */
+    public static AnswerTable get(String keyspace){
+        return tables.computeIfAbsent(keyspace.toLowerCase(), key -> new AnswerTable());
+    }
+
+    /**
+     * @return the number of hits, misses and evictions of the table
+     */
+    public CacheStats getStats(){ return entries.stats();}
+
+    /**
+     * @return current generation of the table, to be passed to {@link #record} when the answers are complete
+     */
+    public synchronized long getGeneration(){ return generation;}
+
+    /**
+     * @param query query to look up
+     * @return answers to the query, unified with its variables, if an equivalent query has been tabled
+     */
+    public Optional<QueryAnswers> lookup(AtomicMatchQuery query){
+        GraknGraph graph = query.graph();
+        String version = graph.admin().getCommitVersion().orElse(null);
+        synchronized (this) {
+            if (!Objects.equals(commitVersion, version)) clear(version);
+        }
+
+        TabledQuery entry = entries.getIfPresent(query);
+        if (entry == null) return Optional.empty();
+
+        QueryAnswers answers = new QueryAnswers();
+        for (Map<VarName, ConceptId> tabledAnswer : entry.answers) {
+            Map<VarName, Concept> answer = new HashMap<>();
+            for (Map.Entry<VarName, ConceptId> tabledConcept : tabledAnswer.entrySet()) {
+                Concept concept = graph.getConcept(tabledConcept.getValue());
+                if (concept == null) return Optional.empty();
+                answer.put(tabledConcept.getKey(), concept);
+            }
+            answers.add(answer);
+        }
+        return Optional.of(QueryAnswers.getUnifiedAnswers(query, entry.query, answers));
+    }
+
+    /**
+     * table the complete answers to a query
+     * @param query query which has been answered
+     * @param answers all answers to the query
+     * @param generation generation of the table when the resolution of the query started
+     */
+    public void record(AtomicMatchQuery query, QueryAnswers answers, long generation){
+        Optional<Set<String>> dependencies = dependencies(query);
+        if (!dependencies.isPresent()) return;
+
+        ImmutableList.Builder<Map<VarName, ConceptId>> tabledAnswers = ImmutableList.builder();
+        answers.forEach(answer -> {
+            ImmutableMap.Builder<VarName, ConceptId> tabledAnswer = ImmutableMap.builder();
+            answer.forEach((var, concept) -> tabledAnswer.put(var, concept.getId()));
+            tabledAnswers.add(tabledAnswer.build());
+        });
+        AtomicQuery tabledQuery = new AtomicMatchQuery(query.getAtom(), query.getSelectedNames());
+        TabledQuery entry = new TabledQuery(tabledQuery, dependencies.get(), tabledAnswers.build());
+
+        synchronized (this) {
+            if (this.generation == generation) entries.put(entry.query, entry);
+        }
+    }
+
+    /**
+     * remove the answers of queries depending on any of the types, or all answers if the table does not know the
+     * changes of the version the commit was made on
+     * @param typeNames names of the types which have been modified
+     * @param previousVersion commit version of the keyspace before the commit
+     * @param commitVersion commit version of the keyspace given by the commit
+     */
+    public synchronized void invalidate(Set<String> typeNames, String previousVersion, String commitVersion){
+        if (!Objects.equals(this.commitVersion, previousVersion) && !Objects.equals(this.commitVersion, commitVersion)) {
+            clear(commitVersion);
+            return;
+        }
+        this.commitVersion = commitVersion;
+        if (typeNames.isEmpty()) return;
+        generation++;
+        entries.asMap().values().removeIf(entry -> !Collections.disjoint(entry.dependencies, typeNames));
+    }
+
+    /**
+     * remove all tabled answers, used when the ontology or rules of the keyspace change
+     * @param commitVersion commit version of the keyspace after the change, or null if it is not known
+     */
+    public synchronized void clear(String commitVersion){
+        this.commitVersion = commitVersion;
+        generation++;
+        entries.invalidateAll();
+    }
+
+    /**
+     * @return names of the types the answers to the query depend on, empty if the query has an atom without a type
+     */
+    private static Optional<Set<String>> dependencies(AtomicQuery query){
+        Deque<Type> toVisit = new ArrayDeque<>();
+        for (Atomic atomic : query.getAtoms()) {
+            if (!atomic.isAtom()) continue;
+            Type type = ((Atom) atomic).getType();
+            if (type == null) return Optional.empty();
+            toVisit.push(type);
+        }
+
+        Set<String> dependencies = new HashSet<>();
+        while (!toVisit.isEmpty()) {
+            Type type = toVisit.pop();
+            if (!dependencies.add(type.getName())) continue;
+            type.subTypes().forEach(subType -> subType.getRulesOfConclusion()
+                    .forEach(rule -> rule.getHypothesisTypes().forEach(toVisit::push)));
+        }
+        return Optional.of(ImmutableSet.copyOf(dependencies));
+    }
+
+    /**
+     * Tabled query together with its answers and the types they depend on
+     */
+    private static class TabledQuery {
+        private final AtomicQuery query;
+        private final Set<String> dependencies;
+        private final List<Map<VarName, ConceptId>> answers;
+
+        TabledQuery(AtomicQuery query, Set<String> dependencies, List<Map<VarName, ConceptId>> answers){
+            this.query = query;
+            this.dependencies = dependencies;
+            this.answers = answers;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.reasoner.query;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.graql.VarName;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Comparator.comparing;
+
+/**
+ *
+ * <p>
+ * Immutable, compact representation of a single answer. The concepts of the answer are kept in an array with a slot
+ * per variable. The mapping from variables to slots is a {@link Slots} object which is shared by all answers with the
+ * same variables, so an answer costs little more than its array of concepts.
+ *
+ * The tuple is a read-only {@link Map} so it can be used wherever answers are expected. It provides its own join,
+ * projection and unification operators which do not build intermediate maps.
+ * </p>
+ */
+public final class AnswerTuple extends AbstractMap<VarName, Concept> {
+
+    private final Slots slots;
+    private final Concept[] concepts;
+    private int hashCode = 0;
+
+    private AnswerTuple(Slots slots, Concept[] concepts){
+        this.slots = slots;
+        this.concepts = concepts;
+    }
+
+    /**
+     * @param answer answer to be represented as a tuple
+     * @return tuple containing the same variables and concepts as the answer
+     */
+    public static AnswerTuple of(Map<VarName, Concept> answer){
+        if (answer instanceof AnswerTuple) return (AnswerTuple) answer;
+        Slots slots = Slots.of(answer.keySet());
+        Concept[] concepts = new Concept[slots.size()];
+        answer.forEach((var, concept) -> concepts[slots.slot(var)] = concept);
+        return new AnswerTuple(slots, concepts);
+    }
+
+    /**
+     * @param vars variables to keep
+     * @return tuple containing only the provided variables of this tuple
+     */
+    public AnswerTuple project(Set<VarName> vars){
+        if (vars.containsAll(slots.varSet())) return this;
+        Slots projectedSlots = Slots.of(Arrays.stream(slots.vars).filter(vars::contains).toArray(VarName[]::new));
+        Concept[] projected = new Concept[projectedSlots.size()];
+        for (int i = 0; i < projected.length; i++) {
+            projected[i] = concepts[slots.slot(projectedSlots.var(i))];
+        }
+        return new AnswerTuple(projectedSlots, projected);
+    }
+
+    /**
+     * @param tuple tuple to join with
+     * @return tuple containing the variables of both tuples, if the tuples agree on their shared variables
+     */
+    public Optional<AnswerTuple> join(AnswerTuple tuple){
+        if (slots == tuple.slots) {
+            return Arrays.equals(concepts, tuple.concepts) ? Optional.of(this) : Optional.empty();
+        }
+
+        for (int i = 0; i < tuple.concepts.length; i++) {
+            int slot = slots.slot(tuple.slots.var(i));
+            if (slot != -1 && !Objects.equals(concepts[slot], tuple.concepts[i])) return Optional.empty();
+        }
+
+        VarName[] vars = Arrays.copyOf(slots.vars, slots.size() + tuple.slots.size());
+        System.arraycopy(tuple.slots.vars, 0, vars, slots.size(), tuple.slots.size());
+        Slots joinedSlots = Slots.of(vars);
+        Concept[] joined = new Concept[joinedSlots.size()];
+        for (int i = 0; i < concepts.length; i++) joined[joinedSlots.slot(slots.var(i))] = concepts[i];
+        for (int i = 0; i < tuple.concepts.length; i++) joined[joinedSlots.slot(tuple.slots.var(i))] = tuple.concepts[i];
+        return Optional.of(new AnswerTuple(joinedSlots, joined));
+    }
+
+    /**
+     * @param unifiers map of [key: from/value: to] unifiers
+     * @return tuple with the variables renamed according to the unifiers,
+     * or empty if the unifiers map two variables of the tuple to the same variable
+     */
+    public Optional<AnswerTuple> unify(Map<VarName, VarName> unifiers){
+        VarName[] vars = new VarName[concepts.length];
+        for (int i = 0; i < vars.length; i++) vars[i] = unifiers.getOrDefault(slots.var(i), slots.var(i));
+
+        Slots unifiedSlots = Slots.of(vars);
+        if (unifiedSlots.size() != vars.length) return Optional.empty();
+
+        Concept[] unified = new Concept[vars.length];
+        for (int i = 0; i < vars.length; i++) unified[unifiedSlots.slot(vars[i])] = concepts[i];
+        return Optional.of(new AnswerTuple(unifiedSlots, unified));
+    }
+
+    @Override
+    public int size(){ return concepts.length;}
+
+    @Override
+    public boolean containsKey(Object key){ return key instanceof VarName && slots.slot((VarName) key) != -1;}
+
+    @Override
+    public Concept get(Object key){
+        if (!(key instanceof VarName)) return null;
+        int slot = slots.slot((VarName) key);
+        return slot == -1 ? null : concepts[slot];
+    }
+
+    @Override
+    public Set<VarName> keySet(){ return slots.varSet();}
+
+    @Override
+    public Set<Entry<VarName, Concept>> entrySet(){
+        return new AbstractSet<Entry<VarName, Concept>>() {
+            @Override
+            public Iterator<Entry<VarName, Concept>> iterator() {
+                return new Iterator<Entry<VarName, Concept>>() {
+                    private int i = 0;
+
+                    @Override
+                    public boolean hasNext() { return i < concepts.length;}
+
+                    @Override
+                    public Entry<VarName, Concept> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<VarName, Concept> entry = new SimpleImmutableEntry<>(slots.var(i), concepts[i]);
+                        i++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() { return concepts.length;}
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj){
+        if (obj == this) return true;
+        if (obj instanceof AnswerTuple && ((AnswerTuple) obj).slots == slots) {
+            return Arrays.equals(concepts, ((AnswerTuple) obj).concepts);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode(){
+        //same as the hash code of any other map with the same entries
+        int hash = hashCode;
+        if (hash == 0) {
+            for (int i = 0; i < concepts.length; i++) hash += slots.var(i).hashCode() ^ Objects.hashCode(concepts[i]);
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Assignment of variables to slots, ordered by variable name. Answers only have a handful of variables, so slots are
+     * found by a linear scan. Instances are interned so that tuples with the same variables share them and can be
+     * compared by reference.
+     */
+    private static final class Slots {
+
+        private static final Interner<Slots> interner = Interners.newWeakInterner();
+
+        private final VarName[] vars;
+        private Set<VarName> varSet = null;
+
+        private Slots(VarName[] sortedVars){
+            this.vars = sortedVars;
+        }
+
+        static Slots of(Collection<VarName> vars){
+            return of(vars.toArray(new VarName[vars.size()]));
+        }
+
+        static Slots of(VarName[] vars){
+            VarName[] sortedVars = Arrays.stream(vars).distinct().sorted(comparing(VarName::getValue)).toArray(VarName[]::new);
+            return interner.intern(new Slots(sortedVars));
+        }
+
+        int size(){ return vars.length;}
+
+        VarName var(int slot){ return vars[slot];}
+
+        int slot(VarName var){
+            for (int i = 0; i < vars.length; i++) {
+                if (vars[i].equals(var)) return i;
+            }
+            return -1;
+        }
+
+        Set<VarName> varSet(){
+            if (varSet == null) varSet = ImmutableSet.copyOf(vars);
+            return varSet;
+        }
+
+        @Override
+        public boolean equals(Object obj){
+            return obj instanceof Slots && Arrays.equals(vars, ((Slots) obj).vars);
+        }
+
+        @Override
+        public int hashCode(){ return Arrays.hashCode(vars);}
+    }
+}
@@ -29,11 +29,14 @@ import ai.grakn.graql.internal.reasoner.rule.InferenceRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -153,25 +156,15 @@ public class AtomicMatchQuery extends AtomicQuery{
 
     @Override
     public void resolveViaRule(Rule rl, Set<AtomicQuery> subGoals, QueryCache cache, boolean materialise){
-        Atom atom = this.getAtom();
-        InferenceRule rule = new InferenceRule(rl, graph());
-        rule.unify(atom);
-        ReasonerQueryImpl ruleBody = rule.getBody();
-        AtomicQuery ruleHead = rule.getHead();
+        resolveViaRule(new RuleResolution(rl), subGoals, cache, materialise);
+    }
 
-        Set<Atom> atoms = ruleBody.selectAtoms();
-        Iterator<Atom> atIt = atoms.iterator();
+    private void resolveViaRule(RuleResolution resolution, Set<AtomicQuery> subGoals, QueryCache cache, boolean materialise){
+        ReasonerQueryImpl ruleBody = resolution.getRule().getBody();
+        AtomicQuery ruleHead = resolution.getRule().getHead();
 
         subGoals.add(this);
-        AtomicQuery childAtomicQuery = new AtomicMatchQuery(atIt.next(), this.getSelectedNames());
-        if(!materialise) this.establishRelation(childAtomicQuery);
-        QueryAnswers subs = childAtomicQuery.answer(subGoals, cache, materialise);
-        while(atIt.hasNext()){
-            childAtomicQuery = new AtomicMatchQuery(atIt.next(), getSelectedNames());
-            if(!materialise) this.establishRelation(childAtomicQuery);
-            QueryAnswers localSubs = childAtomicQuery.answer(subGoals, cache, materialise);
-            subs = subs.join(localSubs);
-        }
+        QueryAnswers subs = resolution.resolveBody(subGoals, cache, materialise);
 
         QueryAnswers answers = this.propagateHeadIdPredicates(ruleHead, subs)
                 .filterNonEquals(ruleBody)
@@ -211,8 +204,66 @@ public class AtomicMatchQuery extends AtomicQuery{
     public Stream<Map<VarName, Concept>> resolve(boolean materialise) {
         if (!this.getAtom().isRuleResolvable()) {
             return this.getMatchQuery().admin().streamWithVarNames();
-        } else {
-            return new QueryAnswerIterator(materialise).hasStream();
+        }
+        if (isTabled(materialise)) {
+            Optional<QueryAnswers> tabledAnswers = AnswerTable.get(graph().getKeyspace()).lookup(this);
+            if (tabledAnswers.isPresent()) return tabledAnswers.get().stream();
+        }
+        return new QueryAnswerIterator(materialise).hasStream();
+    }
+
+    /**
+     * answers are only shared through the answer table if they are read-only and based on committed data
+     */
+    private boolean isTabled(boolean materialise){
+        return !materialise && !graph().admin().hasUncommittedChanges();
+    }
+
+    /**
+     * Rule unified with this query, together with the answers to each atom of the rule body from the last time the
+     * rule was resolved. Resolving the rule again only performs the joins involving new answers (semi-naive evaluation).
+     */
+    private class RuleResolution {
+
+        private final InferenceRule rule;
+        private final List<Atom> bodyAtoms;
+        private final List<QueryAnswers> previousAnswers = new ArrayList<>();
+
+        RuleResolution(Rule rl){
+            rule = new InferenceRule(rl, graph());
+            rule.unify(getAtom());
+            bodyAtoms = new ArrayList<>(rule.getBody().selectAtoms());
+            bodyAtoms.forEach(atom -> previousAnswers.add(new QueryAnswers()));
+        }
+
+        InferenceRule getRule(){ return rule;}
+
+        /**
+         * answer the atoms of the rule body and join the answers
+         * @return answers to the rule body which were not found in the previous resolution of the rule
+         */
+        QueryAnswers resolveBody(Set<AtomicQuery> subGoals, QueryCache cache, boolean materialise){
+            List<QueryAnswers> answers = new ArrayList<>();
+            for (Atom atom : bodyAtoms) {
+                AtomicQuery childAtomicQuery = new AtomicMatchQuery(atom, getSelectedNames());
+                if(!materialise) establishRelation(childAtomicQuery);
+                answers.add(new QueryAnswers(childAtomicQuery.answer(subGoals, cache, materialise)));
+            }
+
+            //new join = union over i of: old answers to atoms before i, new answers to atom i, all answers to atoms after i
+            QueryAnswers subs = new QueryAnswers();
+            for (int i = 0; i < bodyAtoms.size(); i++) {
+                QueryAnswers join = new QueryAnswers(answers.get(i));
+                join.removeAll(previousAnswers.get(i));
+                for (int j = 0; j < bodyAtoms.size() && !join.isEmpty(); j++) {
+                    if (j != i) join = join.join(j < i ? previousAnswers.get(j) : answers.get(j));
+                }
+                subs.addAll(join);
+            }
+
+            previousAnswers.clear();
+            previousAnswers.addAll(answers);
+            return subs;
         }
     }
 
@@ -224,12 +275,19 @@ public class AtomicMatchQuery extends AtomicQuery{
         private final QueryCache cache = new QueryCache();
         private final Set<AtomicQuery> subGoals = new HashSet<>();
         private final Set<Rule> rules;
+        private final Map<Rule, RuleResolution> ruleResolutions = new HashMap<>();
+        private AnswerTable answerTable = null;
+        private long answerTableGeneration = 0;
         private Iterator<Map<VarName, Concept>> answerIterator = Collections.emptyIterator();
         private Iterator<Rule> ruleIterator = Collections.emptyIterator();
 
         public QueryAnswerIterator(boolean materialise){
             this.materialise = materialise;
             this.rules = outer().getAtom().getApplicableRules();
+            if (isTabled(materialise)) {
+                answerTable = AnswerTable.get(graph().getKeyspace());
+                answerTableGeneration = answerTable.getGeneration();
+            }
             lookup(cache);
             this.answerIterator = outer().newAnswers.iterator();
         }
@@ -263,7 +321,8 @@ public class AtomicMatchQuery extends AtomicQuery{
             outer().newAnswers.clear();
             Rule rule = nextRule();
             LOG.debug("Resolving rule: " + rule.getId() + " answers: " + size());
-            outer().resolveViaRule(rule, subGoals, cache, materialise);
+            RuleResolution resolution = ruleResolutions.computeIfAbsent(rule, RuleResolution::new);
+            outer().resolveViaRule(resolution, subGoals, cache, materialise);
             if (!hasNextRule()) completeIteration();
             answerIterator = outer().newAnswers.iterator();
         }
@@ -278,10 +337,20 @@ public class AtomicMatchQuery extends AtomicQuery{
                 computeNext();
                 return hasNext();
             } else {
+                recordAnswers();
                 return false;
             }
         }
 
+        /**
+         * table the answers once they are complete so that they can be reused by other queries
+         */
+        private void recordAnswers(){
+            if (answerTable == null) return;
+            answerTable.record(outer(), outer().getAnswers(), answerTableGeneration);
+            answerTable = null;
+        }
+
         /**
          * @return single answer to the query
          */
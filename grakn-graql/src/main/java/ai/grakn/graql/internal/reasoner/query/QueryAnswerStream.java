@@ -23,10 +23,9 @@ import ai.grakn.graql.VarName;
 import ai.grakn.graql.internal.reasoner.atom.NotEquals;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
@@ -51,11 +50,7 @@ public class QueryAnswerStream {
     public Stream<Map<VarName, Concept>> stream() {return stream;}
 
     private static Map<VarName, Concept> varFilterOperator(Map<VarName, Concept> answer, Set<VarName> vars) {
-        Map<VarName, Concept> filteredAnswer = new HashMap<>();
-        vars.stream()
-                .filter(answer::containsKey)
-                .forEach(var -> filteredAnswer.put(var, answer.get(var)));
-        return filteredAnswer;
+        return AnswerTuple.of(answer).project(vars);
     }
 
     private static boolean knownFilterOperator(Map<VarName, Concept> answer, QueryAnswers known) {
@@ -130,25 +125,9 @@ public class QueryAnswerStream {
         return new QueryAnswerStream(this.stream.flatMap(a -> nonEqualsFilterFunction.apply(a, filters)));
     }
 
-    private static Map<VarName, Concept> joinOperator(Map<VarName, Concept> m1, Map<VarName, Concept> m2){
-        boolean isCompatible = true;
-        Set<VarName> keysToCompare = new HashSet<>(m1.keySet());
-        keysToCompare.retainAll(m2.keySet());
-        Iterator<VarName> it = keysToCompare.iterator();
-        while(it.hasNext() && isCompatible) {
-            VarName var = it.next();
-            isCompatible = m1.get(var).equals(m2.get(var));
-        }
-        if (isCompatible) {
-            Map<VarName, Concept> merged = new HashMap<>(m1);
-            merged.putAll(m2);
-            return merged;
-        } else return new HashMap<>();
-    }
-
-    private static final BiFunction<Map<VarName, Concept>, Map<VarName, Concept>, Stream<Map<VarName, Concept>>> joinFunction = (a1, a2) -> {
-        Map<VarName, Concept> merged = joinOperator(a1, a2);
-        return merged.isEmpty()? Stream.empty(): Stream.of(merged);
+    private static final BiFunction<AnswerTuple, AnswerTuple, Stream<Map<VarName, Concept>>> joinFunction = (a1, a2) -> {
+        Optional<AnswerTuple> merged = a1.join(a2);
+        return merged.isPresent() && !merged.get().isEmpty()? Stream.of(merged.get()): Stream.empty();
     };
 
     /**
@@ -157,10 +136,7 @@ public class QueryAnswerStream {
      * @return joined stream
      */
     public QueryAnswerStream join(QueryAnswerStream stream2) {
-        Stream<Map<VarName, Concept>> result =  this.stream;
-        Collection<Map<VarName, Concept>> c = stream2.stream().collect(Collectors.toSet());
-        result = result.flatMap(a1 -> c.stream().flatMap(a2 -> joinFunction.apply(a1, a2)));
-        return new QueryAnswerStream(result);
+        return new QueryAnswerStream(join(this.stream, stream2.stream()));
     }
 
     /**
@@ -170,8 +146,8 @@ public class QueryAnswerStream {
      * @return joined stream
      */
     public static Stream<Map<VarName, Concept>> join(Stream<Map<VarName, Concept>> stream, Stream<Map<VarName, Concept>> stream2) {
-        Collection<Map<VarName, Concept>> c = stream2.collect(Collectors.toSet());
-        return stream.flatMap(a1 -> c.stream().flatMap(a2 -> joinFunction.apply(a1, a2)));
+        Collection<AnswerTuple> c = stream2.map(AnswerTuple::of).collect(Collectors.toSet());
+        return stream.map(AnswerTuple::of).flatMap(a1 -> c.stream().flatMap(a2 -> joinFunction.apply(a1, a2)));
     }
 }
 
@@ -30,10 +30,12 @@ import ai.grakn.graql.internal.reasoner.atom.binary.Binary;
 import ai.grakn.graql.internal.reasoner.atom.predicate.IdPredicate;
 import ai.grakn.graql.internal.reasoner.atom.predicate.Predicate;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -44,6 +46,8 @@ import java.util.stream.Collectors;
  * <p>
  * Wrapper class for a set of answers providing higher level filtering facilities
  * as well as unification and join operations.
+ *
+ * Answers are stored as compact {@link AnswerTuple}s, any other answer map is converted when added.
  * </p>
  *
  * @author Kasper Piskorski
@@ -54,6 +58,9 @@ public class QueryAnswers extends HashSet<Map<VarName, Concept>> {
     public QueryAnswers(){super();}
     public QueryAnswers(Collection<? extends Map<VarName, Concept>> ans){ super(ans);}
 
+    @Override
+    public boolean add(Map<VarName, Concept> answer){ return super.add(AnswerTuple.of(answer));}
+
     public Set<VarName> getVars(){
         Optional<Map<VarName, Concept>> map = this.stream().findFirst();
         return map.isPresent()? map.get().keySet() : new HashSet<>();
@@ -66,17 +73,11 @@ public class QueryAnswers extends HashSet<Map<VarName, Concept>> {
      */
     public QueryAnswers filterVars(Set<VarName> vars) {
         QueryAnswers results = new QueryAnswers();
-        if (this.isEmpty()) return results;
         this.forEach(answer -> {
-            Map<VarName, Concept> map = new HashMap<>();
-            answer.forEach((var, concept) -> {
-                if (vars.contains(var)) {
-                    map.put(var, concept);
-                }
-            });
-            if (!map.isEmpty()) results.add(map);
+            AnswerTuple tuple = AnswerTuple.of(answer).project(vars);
+            if (!tuple.isEmpty()) results.add(tuple);
         });
-        return new QueryAnswers(results.stream().distinct().collect(Collectors.toSet()));
+        return results;
     }
 
     /**
@@ -166,31 +167,59 @@ public class QueryAnswers extends HashSet<Map<VarName, Concept>> {
             return new QueryAnswers();
         }
 
+        //a hash join is only possible if every pair of answers has the same variables in common
+        Set<VarName> joinVars = commonVars(this);
+        joinVars.retainAll(commonVars(localTuples));
+        Set<VarName> allVars = allVars(this);
+        allVars.retainAll(allVars(localTuples));
+        if (!joinVars.equals(allVars)) return nestedLoopJoin(localTuples);
+
+        //index the smaller operand by the values of the join variables
+        boolean indexLocal = localTuples.size() <= this.size();
+        QueryAnswers indexed = indexLocal ? localTuples : this;
+        QueryAnswers probing = indexLocal ? this : localTuples;
+
+        Map<AnswerTuple, List<AnswerTuple>> index = new HashMap<>();
+        indexed.forEach(answer -> {
+            AnswerTuple tuple = AnswerTuple.of(answer);
+            index.computeIfAbsent(tuple.project(joinVars), k -> new ArrayList<>()).add(tuple);
+        });
+
+        QueryAnswers join = new QueryAnswers();
+        for (Map<VarName, Concept> answer : probing) {
+            AnswerTuple tuple = AnswerTuple.of(answer);
+            List<AnswerTuple> matches = index.get(tuple.project(joinVars));
+            if (matches == null) continue;
+            for (AnswerTuple match : matches) {
+                match.join(tuple).ifPresent(join::add);
+            }
+        }
+        return join;
+    }
+
+    private QueryAnswers nestedLoopJoin(QueryAnswers localTuples) {
         QueryAnswers join = new QueryAnswers();
         for( Map<VarName, Concept> lanswer : localTuples){
+            AnswerTuple ltuple = AnswerTuple.of(lanswer);
             for (Map<VarName, Concept> answer : this){
-                boolean isCompatible = true;
-                Iterator<Map.Entry<VarName, Concept>> it = lanswer.entrySet().iterator();
-                while(it.hasNext() && isCompatible) {
-                    Map.Entry<VarName, Concept> entry = it.next();
-                    VarName var = entry.getKey();
-                    Concept concept = entry.getValue();
-                    if(answer.containsKey(var) && !concept.equals(answer.get(var))) {
-                        isCompatible = false;
-                    }
-                }
-
-                if (isCompatible) {
-                    Map<VarName, Concept> merged = new HashMap<>();
-                    merged.putAll(lanswer);
-                    merged.putAll(answer);
-                    join.add(merged);
-                }
+                ltuple.join(AnswerTuple.of(answer)).ifPresent(join::add);
             }
         }
         return join;
     }
 
+    private static Set<VarName> commonVars(QueryAnswers answers){
+        Set<VarName> vars = new HashSet<>(answers.getVars());
+        answers.forEach(answer -> vars.retainAll(answer.keySet()));
+        return vars;
+    }
+
+    private static Set<VarName> allVars(QueryAnswers answers){
+        Set<VarName> vars = new HashSet<>();
+        answers.forEach(answer -> vars.addAll(answer.keySet()));
+        return vars;
+    }
+
     /**
      * unify the answers by applying unifiers to variable set
      * @param unifiers map of [key: from/value: to] unifiers
@@ -204,6 +233,27 @@ public class QueryAnswers extends HashSet<Map<VarName, Concept>> {
                                Map<VarName, Concept> valueConstraints, Map<VarName, String> typeConstraints){
         if (unifiers.isEmpty()) return new QueryAnswers(this);
         QueryAnswers unifiedAnswers = new QueryAnswers();
+        if (subVars.isEmpty() && valueConstraints.isEmpty() && typeConstraints.isEmpty()) {
+            //plain renaming of variables can be done on the tuples directly
+            QueryAnswers nonRenameable = new QueryAnswers();
+            this.forEach(answer -> {
+                Optional<AnswerTuple> unified = AnswerTuple.of(answer).unify(unifiers);
+                if (unified.isPresent()) {
+                    if (!unified.get().isEmpty()) unifiedAnswers.add(unified.get());
+                } else {
+                    nonRenameable.add(answer);
+                }
+            });
+            if (nonRenameable.isEmpty()) return unifiedAnswers;
+            unifiedAnswers.addAll(nonRenameable.unifyViaMaps(unifiers, subVars, valueConstraints, typeConstraints));
+            return unifiedAnswers;
+        }
+        return unifyViaMaps(unifiers, subVars, valueConstraints, typeConstraints);
+    }
+
+    private QueryAnswers unifyViaMaps(Map<VarName, VarName> unifiers, Map<VarName, Concept> subVars,
+                                      Map<VarName, Concept> valueConstraints, Map<VarName, String> typeConstraints){
+        QueryAnswers unifiedAnswers = new QueryAnswers();
         this.forEach(entry -> {
             Map<VarName, Concept> answer = new HashMap<>(subVars);
             boolean isCompatible = true;
@@ -0,0 +1,53 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.template;
+
+import ai.grakn.graql.macro.Macro;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.Map;
+
+/**
+ * A Graql template which has been lexed and parsed once, and can be resolved against any number of data rows.
+ */
+public class Template {
+
+    private final CommonTokenStream tokens;
+    private final ParseTree tree;
+    private final Map<String, Macro<?>> macros;
+
+    Template(CommonTokenStream tokens, ParseTree tree, Map<String, Macro<?>> macros){
+        // make sure every token is buffered so that renders never read from the lexer
+        tokens.fill();
+        this.tokens = tokens;
+        this.tree = tree;
+        this.macros = macros;
+    }
+
+    /**
+     * Resolve the template with one row of data.
+     * @param data data to use in template
+     * @return resolved graql query string
+     */
+    public String render(Map<String, Object> data){
+        TemplateVisitor visitor = new TemplateVisitor(tokens, data, macros);
+        return visitor.visit(tree).toString();
+    }
+}
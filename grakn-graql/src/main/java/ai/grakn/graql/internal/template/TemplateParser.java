@@ -35,12 +35,15 @@ import ai.grakn.graql.internal.template.macro.UpperMacro;
 import ai.grakn.graql.macro.Macro;
 import ai.grakn.graql.internal.template.macro.NoescpMacro;
 import ai.grakn.graql.internal.template.macro.StringMacro;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class for parsing Graql templates and associated data into Graql statements.
@@ -49,7 +52,11 @@ import java.util.Map;
  */
 public class TemplateParser {
 
-    private final Map<String, Macro<?>> macros = new HashMap<>();
+    private static final long MAX_COMPILED_TEMPLATES = 100;
+
+    private final Map<String, Macro<?>> macros = new ConcurrentHashMap<>();
+    private final Cache<String, Template> compiledTemplates =
+            CacheBuilder.newBuilder().maximumSize(MAX_COMPILED_TEMPLATES).recordStats().build();
 
     /**
      * Create a template parser.
@@ -82,15 +89,34 @@ public class TemplateParser {
      * @return resolved graql query string
      */
     public String parseTemplate(String templateString, Map<String, Object> data){
-        GraqlErrorListener errorListener = new GraqlErrorListener(templateString);
+        return compileTemplate(templateString).render(data);
+    }
+
+    /**
+     * Lex and parse a graql template, or return the template if it has already been compiled by this parser.
+     * The compiled template uses the macros registered with this parser.
+     * @param templateString a string representing a graql template
+     * @return compiled template that can be resolved against many rows of data
+     */
+    public Template compileTemplate(String templateString){
+        Template template = compiledTemplates.getIfPresent(templateString);
+        if(template == null){
+            GraqlErrorListener errorListener = new GraqlErrorListener(templateString);
 
-        CommonTokenStream tokens = lexGraqlTemplate(templateString, errorListener);
-        ParseTree tree = parseGraqlTemplate(tokens, errorListener);
+            CommonTokenStream tokens = lexGraqlTemplate(templateString, errorListener);
+            ParseTree tree = parseGraqlTemplate(tokens, errorListener);
 
-        TemplateVisitor visitor = new TemplateVisitor(tokens, data, macros);
-        return visitor.visit(tree).toString();
+            template = new Template(tokens, tree, macros);
+            compiledTemplates.put(templateString, template);
+        }
+        return template;
     }
 
+    /**
+     * @return the number of hits, misses and evictions of the templates compiled by this parser
+     */
+    public CacheStats getCompiledTemplateStats(){ return compiledTemplates.stats();}
+
 
     private CommonTokenStream lexGraqlTemplate(String templateString, GraqlErrorListener errorListener){
         ANTLRInputStream inputStream = new ANTLRInputStream(templateString);
@@ -0,0 +1,163 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graql.internal.gremlin;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.graql.Pattern;
+import ai.grakn.graql.internal.gremlin.fragment.Fragment;
+import com.google.common.cache.CacheStats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static ai.grakn.graql.Graql.gt;
+import static ai.grakn.graql.Graql.var;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class QueryPlanCacheTest {
+
+    // The statistics of the cache are never reset, so only the changes made by each test are checked
+    private CacheStats initialStats;
+
+    @Before
+    public void clearCache() {
+        QueryPlanCache.clear();
+        initialStats = QueryPlanCache.getStats();
+    }
+
+    @Test
+    public void testQueriesDifferingByConstantsShareAPlan() {
+        ConjunctionQuery titanic = query(var("x").isa("movie").has("title", "Titanic").id(ConceptId.of("a")));
+        ConjunctionQuery godfather = query(var("x").isa("movie").has("title", "Godfather").id(ConceptId.of("b")));
+
+        List<Fragment> titanicPlan = getPlan("keyspace", titanic);
+        List<Fragment> godfatherPlan = QueryPlanCache.getPlan("keyspace", 0, godfather, () -> {
+            fail("Expected the cached plan to be used");
+            return null;
+        });
+
+        assertEquals(titanicPlan.size(), godfatherPlan.size());
+        assertTrue(fragments(godfather).containsAll(godfatherPlan));
+
+        for (int i = 0; i < titanicPlan.size(); i ++) {
+            assertEquals(titanicPlan.get(i).getShape(), godfatherPlan.get(i).getShape());
+        }
+
+        assertEquals(1, stats().hitCount());
+        assertEquals(1, stats().missCount());
+    }
+
+    @Test
+    public void testQueriesWithDifferentPredicatesShareAPlan() {
+        getPlan("keyspace", query(var("x").isa("person").has("age", gt(10))));
+        getPlan("keyspace", query(var("x").isa("person").has("age", gt(50))));
+
+        assertEquals(1, stats().hitCount());
+    }
+
+    @Test
+    public void testQueriesWithDifferentTypesDoNotShareAPlan() {
+        getPlan("keyspace", query(var("x").isa("movie")));
+        getPlan("keyspace", query(var("x").isa("person")));
+
+        assertEquals(0, stats().hitCount());
+        assertEquals(2, stats().missCount());
+    }
+
+    @Test
+    public void testQueriesWithDifferentVariablesDoNotShareAPlan() {
+        getPlan("keyspace", query(var("x").isa("movie")));
+        getPlan("keyspace", query(var("y").isa("movie")));
+
+        assertEquals(0, stats().hitCount());
+    }
+
+    @Test
+    public void testQueriesOnDifferentKeyspacesDoNotShareAPlan() {
+        getPlan("keyspace1", query(var("x").isa("movie")));
+        getPlan("keyspace2", query(var("x").isa("movie")));
+
+        assertEquals(0, stats().hitCount());
+    }
+
+    @Test
+    public void testPlansAreNotReusedOnceTheStatisticsChange() {
+        getPlan("keyspace", 0, query(var("x").isa("movie")));
+        getPlan("keyspace", 1, query(var("x").isa("movie")));
+        getPlan("keyspace", 1, query(var("x").isa("movie")));
+
+        assertEquals(1, stats().hitCount());
+        assertEquals(2, stats().missCount());
+    }
+
+    @Test
+    public void testACachedPlanWhichCannotBeUsedCountsAsAMiss() {
+        ConjunctionQuery query = query(var("x").isa("movie"));
+        Fragment fragment = fragments(query).iterator().next();
+
+        // A plan using the same fragment twice cannot be made from the fragments of the conjunction
+        QueryPlanCache.getPlan("keyspace", 0, query, () -> Arrays.asList(fragment, fragment));
+        getPlan("keyspace", query);
+
+        assertEquals(0, stats().hitCount());
+        assertEquals(2, stats().missCount());
+    }
+
+    @Test
+    public void testPlanCacheIsBypassedWithoutAGraph() {
+        GraqlTraversal.semiOptimal(var("x").isa("movie").admin());
+
+        assertEquals(0, stats().requestCount());
+    }
+
+    private CacheStats stats() {
+        return QueryPlanCache.getStats().minus(initialStats);
+    }
+
+    private static List<Fragment> getPlan(String keyspace, ConjunctionQuery query) {
+        return getPlan(keyspace, 0, query);
+    }
+
+    private static List<Fragment> getPlan(String keyspace, long statisticsVersion, ConjunctionQuery query) {
+        // Any fragment from each set will do, because the cache does not check the plan is valid
+        List<Fragment> plan = query.getEquivalentFragmentSets().stream()
+                .map(set -> set.getFragments().findFirst().get())
+                .collect(toList());
+
+        List<Fragment> cachedPlan = QueryPlanCache.getPlan(keyspace, statisticsVersion, query, () -> plan);
+        assertNotEquals(0, cachedPlan.size());
+        return cachedPlan;
+    }
+
+    private static ConjunctionQuery query(Pattern pattern) {
+        return new ConjunctionQuery(pattern.admin().getDisjunctiveNormalForm().getPatterns().iterator().next());
+    }
+
+    private static Set<Fragment> fragments(ConjunctionQuery query) {
+        return query.getEquivalentFragmentSets().stream().flatMap(EquivalentFragmentSet::getFragments).collect(toSet());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Ltd
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.test.engine.backgroundtasks;
+
+import ai.grakn.engine.backgroundtasks.TaskState;
+import ai.grakn.engine.backgroundtasks.taskstorage.LocalStateStorage;
+import javafx.util.Pair;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ai.grakn.engine.backgroundtasks.TaskStatus.COMPLETED;
+import static ai.grakn.engine.backgroundtasks.TaskStatus.CREATED;
+import static ai.grakn.engine.backgroundtasks.TaskStatus.FAILED;
+import static ai.grakn.engine.backgroundtasks.TaskStatus.RUNNING;
+import static ai.grakn.engine.backgroundtasks.TaskStatus.SCHEDULED;
+import static ai.grakn.engine.backgroundtasks.TaskStatus.STOPPED;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LocalStateStorageTest {
+    private Path path;
+    private LocalStateStorage stateStorage;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        path = folder.getRoot().toPath().resolve("task-states.log");
+        stateStorage = LocalStateStorage.open(path);
+    }
+
+    @After
+    public void tearDown() {
+        stateStorage.close();
+    }
+
+    @Test
+    public void testNewState() {
+        Date runAt = new Date();
+        String id = stateStorage.newState(TestTask.class.getName(), this.getClass().getName(), runAt, false, 0, null);
+        assertNotNull(id);
+
+        TaskState state = stateStorage.getState(id);
+        assertEquals(TestTask.class.getName(), state.taskClassName());
+        assertEquals(this.getClass().getName(), state.creator());
+        assertEquals(runAt, state.runAt());
+        assertEquals(CREATED, state.status());
+        assertNull(stateStorage.getState("unknown"));
+    }
+
+    @Test
+    public void testGetTasksUsesEveryCriterion() {
+        String loaded = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+        String other = stateStorage.newState(TestTask.class.getName(), "other", new Date(), false, 0, null);
+        stateStorage.newState(LongRunningTask.class.getName(), "keyspace", new Date(), false, 0, null);
+        stateStorage.updateState(loaded, COMPLETED, "test", null, null, null, null);
+        stateStorage.updateState(other, COMPLETED, "test", null, null, null, null);
+
+        assertEquals(setOf(loaded), ids(stateStorage.getTasks(COMPLETED, TestTask.class.getName(), "keyspace", 0, 0)));
+        assertEquals(setOf(loaded, other), ids(stateStorage.getTasks(COMPLETED, null, null, 0, 0)));
+        assertEquals(2, stateStorage.getTasks(null, null, "keyspace", 0, 0).size());
+        assertEquals(1, stateStorage.getTasks(null, null, null, 1, 1).size());
+        assertTrue(stateStorage.getTasks(SCHEDULED, null, null, 0, 0).isEmpty());
+    }
+
+    @Test
+    public void testStatesAreReplayed() {
+        String id = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), true, 100,
+                new JSONObject(singletonMap("name", "task")));
+        stateStorage.updateState(id, SCHEDULED, "test", "engine", new UnsupportedOperationException("message"), "checkpoint", null);
+        stateStorage.close();
+
+        stateStorage = LocalStateStorage.open(path);
+        TaskState state = stateStorage.getState(id);
+        assertEquals(SCHEDULED, state.status());
+        assertEquals("engine", state.engineID());
+        assertEquals("checkpoint", state.checkpoint());
+        assertEquals("task", state.configuration().getString("name"));
+        assertTrue(state.exception().contains("message"));
+        assertEquals(setOf(id), ids(stateStorage.getRecurringTasks()));
+        assertEquals(setOf(id), ids(stateStorage.getTasks(SCHEDULED, null, null, 0, 0)));
+    }
+
+    @Test
+    public void testOnlyTheMostRecentlyFinishedStatesAreKept() {
+        stateStorage.close();
+        stateStorage = LocalStateStorage.open(path, 2);
+
+        String first = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+        String second = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+        String third = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+        String recurring = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), true, 100, null);
+        String running = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+
+        stateStorage.updateState(first, COMPLETED, "test", null, null, null, null);
+        stateStorage.updateState(second, FAILED, "test", null, null, null, null);
+        stateStorage.updateState(recurring, COMPLETED, "test", null, null, null, null);
+        stateStorage.updateState(running, RUNNING, "test", null, null, null, null);
+        stateStorage.updateState(third, STOPPED, "test", null, null, null, null);
+
+        assertNull(stateStorage.getState(first));
+        assertEquals(setOf(second, third, recurring, running), ids(stateStorage.getTasks(null, null, null, 0, 0)));
+        assertEquals(setOf(recurring), ids(stateStorage.getTasks(COMPLETED, null, null, 0, 0)));
+
+        stateStorage.close();
+        stateStorage = LocalStateStorage.open(path, 2);
+        assertNull(stateStorage.getState(first));
+        assertEquals(setOf(second, third, recurring, running), ids(stateStorage.getTasks(null, null, null, 0, 0)));
+    }
+
+    @Test
+    public void testSupersededUpdatesAreCompactedAway() throws IOException {
+        String id = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+        for (int i = 0; i < 10_000; i++) {
+            stateStorage.updateState(id, RUNNING, "test", null, null, "checkpoint" + i, null);
+        }
+
+        // Compacted into a single record once 10,000 had been written, followed by the last update
+        assertEquals(2, Files.readAllLines(path).size());
+
+        stateStorage.close();
+        stateStorage = LocalStateStorage.open(path);
+        assertEquals("checkpoint9999", stateStorage.getState(id).checkpoint());
+    }
+
+    @Test
+    public void testStatesCanStillBeWrittenAfterCompactionFails() throws IOException {
+        Files.createDirectories(path.resolveSibling(path.getFileName() + ".compacted"));
+        String id = stateStorage.newState(TestTask.class.getName(), "keyspace", new Date(), false, 0, null);
+
+        boolean compactionFailed = false;
+        for (int i = 0; i < 10_000 && !compactionFailed; i++) {
+            try {
+                stateStorage.updateState(id, RUNNING, "test", null, null, "checkpoint" + i, null);
+            } catch (RuntimeException e) {
+                compactionFailed = true;
+            }
+        }
+        assertTrue(compactionFailed);
+        stateStorage.updateState(id, COMPLETED, "test", null, null, null, null);
+
+        stateStorage.close();
+        stateStorage = LocalStateStorage.open(path);
+        assertEquals(COMPLETED, stateStorage.getState(id).status());
+    }
+
+    private static Set<String> ids(Set<Pair<String, TaskState>> tasks) {
+        return tasks.stream().map(Pair::getKey).collect(Collectors.toSet());
+    }
+
+    private static Set<String> setOf(String... ids) {
+        return Stream.of(ids).collect(Collectors.toSet());
+    }
+}
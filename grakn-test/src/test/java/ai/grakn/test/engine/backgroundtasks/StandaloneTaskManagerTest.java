@@ -34,6 +34,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -63,6 +64,44 @@ public class StandaloneTaskManagerTest extends EngineTestBase {
         assertEquals(COMPLETED, taskManager.storage().getState(id).status());
     }
 
+    @Test
+    public void testCompletableFutureCompletesWhenTaskFinishes() throws Exception {
+        String id = taskManager.scheduleTask(new TestTask(), this.getClass().getName(), new Date(), 0,
+                new JSONObject(singletonMap("name", "task" + 1)));
+
+        taskManager.completableFuture(id).get(10, TimeUnit.SECONDS);
+
+        assertEquals(COMPLETED, taskManager.storage().getState(id).status());
+        assertTrue(taskManager.completableFuture(id).isDone());
+    }
+
+    @Test
+    public void testCompletableFutureCompletesWhenTaskIsStopped() throws Exception {
+        String id = taskManager.scheduleTask(new LongRunningTask(), this.getClass().getName(), new Date(), 0,
+                new JSONObject(singletonMap("name", "task" + 1)));
+        CompletableFuture<?> future = taskManager.completableFuture(id);
+
+        taskManager.stopTask(id, this.getClass().getName());
+
+        future.get(10, TimeUnit.SECONDS);
+        assertEquals(STOPPED, taskManager.storage().getState(id).status());
+    }
+
+    @Test
+    public void testCompletableFutureOfARecurringTaskCompletesOnlyWhenItIsStopped() throws Exception {
+        String id = taskManager.scheduleTask(new TestTask(), this.getClass().getName(), new Date(), 100,
+                new JSONObject(singletonMap("name", "task" + 1)));
+        CompletableFuture<?> future = taskManager.completableFuture(id);
+
+        Thread.sleep(500);
+        assertFalse(future.isDone());
+
+        taskManager.stopTask(id, this.getClass().getName());
+
+        future.get(10, TimeUnit.SECONDS);
+        assertEquals(STOPPED, taskManager.storage().getState(id).status());
+    }
+
     private void waitToFinish(String id) {
         StateStorage storage = taskManager.storage();
         final long initial = new Date().getTime();
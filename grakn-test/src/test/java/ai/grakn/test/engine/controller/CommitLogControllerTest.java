@@ -26,6 +26,7 @@ import ai.grakn.concept.Resource;
 import ai.grakn.concept.ResourceType;
 import ai.grakn.engine.postprocessing.Cache;
 import ai.grakn.graph.internal.AbstractGraknGraph;
+import ai.grakn.graql.internal.reasoner.query.AnswerTable;
 import ai.grakn.test.EngineTestBase;
 import com.jayway.restassured.http.ContentType;
 import ai.grakn.concept.Concept;
@@ -81,7 +82,7 @@ public class CommitLogControllerTest extends EngineTestBase {
     }
 
     @Test
-    public void testCommitLogSubmission() throws GraknValidationException {
+    public void testCommitLogSubmission() throws GraknValidationException, InterruptedException {
         final String BOB = "bob";
         final String TIM = "tim";
 
@@ -89,6 +90,7 @@ public class CommitLogControllerTest extends EngineTestBase {
         GraknGraph tim = Grakn.factory(Grakn.DEFAULT_URI, TIM).getGraph();
 
         addSomeData(bob);
+        waitForCache(BOB, 2);
 
         assertEquals(2, cache.getCastingJobs(BOB).size());
         assertEquals(1, cache.getResourceJobs(BOB).size());
@@ -97,6 +99,7 @@ public class CommitLogControllerTest extends EngineTestBase {
         assertEquals(0, cache.getResourceJobs(TIM).size());
 
         addSomeData(tim);
+        waitForCache(TIM, 2);
 
         assertEquals(2, cache.getCastingJobs(TIM).size());
         assertEquals(1, cache.getResourceJobs(TIM).size());
@@ -116,6 +119,26 @@ public class CommitLogControllerTest extends EngineTestBase {
 
     }
 
+    @Test
+    public void whenACommitLogIsReceived_TheTabledAnswersOfItsTypesAreInvalidated() {
+        String keyspace = UUID.randomUUID().toString().replaceAll("-", "");
+        AnswerTable answerTable = AnswerTable.get(keyspace);
+
+        long generation = answerTable.getGeneration();
+        submitCommitLog(keyspace, "{\"concepts\":[], \"types\":[\"person\"]}");
+        assertTrue(answerTable.getGeneration() > generation);
+
+        generation = answerTable.getGeneration();
+        submitCommitLog(keyspace, "{\"concepts\":[]}");
+        assertTrue(answerTable.getGeneration() > generation);
+    }
+
+    private void submitCommitLog(String keyspace, String commitLog) {
+        given().contentType(ContentType.JSON).body(commitLog).when().
+                post(REST.WebPath.COMMIT_LOG_URI + "?" + REST.Request.KEYSPACE_PARAM + "=" + keyspace).
+                then().statusCode(200);
+    }
+
     private void addSomeData(GraknGraph graph) throws GraknValidationException {
         RoleType role1 = graph.putRoleType("Role 1");
         RoleType role2 = graph.putRoleType("Role 2");
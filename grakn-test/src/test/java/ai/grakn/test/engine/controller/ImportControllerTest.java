@@ -34,7 +34,6 @@ import java.util.Date;
 import static com.jayway.restassured.RestAssured.given;
 import static ai.grakn.engine.util.ConfigProperties.DEFAULT_KEYSPACE_PROPERTY;
 import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
-import static com.jayway.restassured.RestAssured.post;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -75,7 +74,7 @@ public class ImportControllerTest extends EngineTestBase {
             e.printStackTrace();
         }
 
-        waitToFinish();
+        waitToFinish(keyspace);
 
         GraknGraph graph = GraphFactory.getInstance().getGraph(keyspace);
 
@@ -86,11 +85,35 @@ public class ImportControllerTest extends EngineTestBase {
         graph.close();
     }
 
-    private void waitToFinish() {
+    @Test
+    public void whenAKeyspaceIsLoading_AnotherKeyspaceCanBeLoaded(){
+        String dataPath = getPath("smaller_nametags.gql");
+        String firstGraph = "importgraphfirst";
+        String secondGraph = "importgraphsecond";
+        loadOntology("dblp-ontology.gql", firstGraph);
+        loadOntology("dblp-ontology.gql", secondGraph);
+
+        for (String keyspace : new String[]{firstGraph, secondGraph}) {
+            given().contentType("application/json").queryParam(KEYSPACE_PARAM, keyspace)
+                    .body(Json.object("path", dataPath).toString()).when()
+                    .post(REST.WebPath.IMPORT_DATA_URI)
+                    .then().assertThat().statusCode(200);
+        }
+
+        for (String keyspace : new String[]{firstGraph, secondGraph}) {
+            waitToFinish(keyspace);
+            GraknGraph graph = GraphFactory.getInstance().getGraph(keyspace);
+            assertEquals(10, graph.getEntityType("name_tag").instances().size());
+            graph.clear();
+            graph.close();
+        }
+    }
+
+    private void waitToFinish(String keyspace) {
         final long initial = new Date().getTime();
 
         while ((new Date().getTime())-initial < 2*60*60000) {
-            Response response = post(REST.WebPath.IMPORT_DATA_URI);
+            Response response = given().queryParam(KEYSPACE_PARAM, keyspace).post(REST.WebPath.IMPORT_DATA_URI);
             if (response.statusCode() != 423)
                 break;
 
@@ -113,6 +113,7 @@ public class VisualiserControllerTest extends AbstractGraphTest {
                 .get(REST.WebPath.GRAPH_MATCH_QUERY_URI)
                 .then().statusCode(200).extract().response().andReturn();
 
+        assertTrue(response.getContentType().startsWith(HAL_CONTENTTYPE));
         Json resultArray = Json.read(response.getBody().asString());
         assertEquals(2,resultArray.asJsonList().size());
         checkHALStructureOfPerson(resultArray.at(0));
@@ -189,6 +190,16 @@ public class VisualiserControllerTest extends AbstractGraphTest {
 
 
 
+    @Test
+    public void whenAMatchQueryFailsBeforeItsFirstResult_AnErrorIsReturned() {
+        with()
+                .queryParam(KEYSPACE_PARAM, graph.getKeyspace())
+                .queryParam(QUERY_FIELD, "match $x isa not-a-type;")
+                .accept(HAL_CONTENTTYPE)
+                .get(REST.WebPath.GRAPH_MATCH_QUERY_URI)
+                .then().statusCode(500);
+    }
+
     @Test
     public void syntacticallyWrongMatchQuery() {
         Response response = get(REST.WebPath.GRAPH_MATCH_QUERY_URI+"?keyspace="+graph.getKeyspace()+"&query=match ersouiuiwne is ieeui;").then().statusCode(500).extract().response().andReturn();
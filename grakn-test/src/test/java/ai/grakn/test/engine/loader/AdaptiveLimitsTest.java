@@ -0,0 +1,100 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.loader;
+
+import ai.grakn.engine.loader.AdaptiveLimits;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveLimitsTest {
+    private AdaptiveLimits limits;
+
+    @Before
+    public void createLimits(){
+        limits = new AdaptiveLimits(60, 8);
+    }
+
+    @Test
+    public void whenBatchesLoadWithoutTrouble_TheLimitsGrowUpToTheirBounds(){
+        for(int i = 0; i < 8; i++){
+            limits.batchFinished(60, i * 100, i * 100 + 60, false);
+        }
+        assertEquals(108, limits.getBatchSize());
+        assertEquals(8, limits.getQueueSize());
+
+        for(int i = 8; i < 1000; i++){
+            limits.batchFinished(60, i * 100, i * 100 + 60, false);
+        }
+        assertEquals(240, limits.getBatchSize());
+        assertEquals(8, limits.getQueueSize());
+    }
+
+    @Test
+    public void whenABatchConflicts_TheLimitsAreHalved(){
+        limits.batchFinished(60, 0, 60, true);
+
+        assertEquals(30, limits.getBatchSize());
+        assertEquals(4, limits.getQueueSize());
+    }
+
+    @Test
+    public void whenBatchesSentBeforeADecreaseConflict_TheLimitsAreOnlyHalvedOnce(){
+        limits.batchFinished(60, 0, 100, true);
+        limits.batchFinished(60, 10, 110, true);
+        limits.batchFinished(60, 20, 120, true);
+
+        assertEquals(30, limits.getBatchSize());
+
+        limits.batchFinished(30, 150, 200, true);
+
+        assertEquals(15, limits.getBatchSize());
+        assertEquals(2, limits.getQueueSize());
+    }
+
+    @Test
+    public void whenABatchIsMuchSlowerPerQueryThanUsual_TheLimitsAreHalved(){
+        limits.batchFinished(60, 0, 60, false);
+        limits.batchFinished(66, 100, 100 + 66 * 5, false);
+
+        assertEquals(33, limits.getBatchSize());
+    }
+
+    @Test
+    public void whenTheQueueIsFull_AcquireWaitsForARelease() throws InterruptedException {
+        AdaptiveLimits single = new AdaptiveLimits(1, 1);
+        single.acquire();
+
+        Thread waiting = new Thread(() -> {
+            try {
+                single.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiting.start();
+        waiting.join(200);
+        assertEquals(Thread.State.WAITING, waiting.getState());
+
+        single.release();
+        waiting.join(1000);
+        assertEquals(Thread.State.TERMINATED, waiting.getState());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.loader;
+
+import ai.grakn.engine.loader.BatchDependencies;
+import ai.grakn.graql.Var;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static ai.grakn.graql.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchDependenciesTest {
+    private BatchDependencies dependencies;
+    private CompletableFuture<Void> aliceBatch;
+    private CompletableFuture<Void> bobBatch;
+
+    @Before
+    public void insertPeople(){
+        dependencies = new BatchDependencies();
+        aliceBatch = new CompletableFuture<>();
+        bobBatch = new CompletableFuture<>();
+        dependencies.inserted(Collections.singletonList(var("x").isa("person").has("name", "Alice")), aliceBatch);
+        dependencies.inserted(Collections.singletonList(var("x").isa("person").has("name", "Bob")), bobBatch);
+    }
+
+    @Test
+    public void whenMatchingInsertedConcepts_DependOnlyOnTheirBatches(){
+        List<Var> match = Arrays.asList(var("x").has("name", "Alice"), var("x").isa("person"), var("y").has("name", "Carol"));
+
+        assertEquals(Collections.singleton(aliceBatch), dependencies.dependencies(match));
+    }
+
+    @Test
+    public void whenABatchHasFinished_NothingDependsOnIt(){
+        aliceBatch.complete(null);
+
+        List<Var> match = Arrays.asList(var("x").has("name", "Alice"), var("y").has("name", "Bob"));
+
+        assertEquals(Collections.singleton(bobBatch), dependencies.dependencies(match));
+    }
+
+    @Test
+    public void whenTwoBatchesInsertTheSameValue_DependOnBothUntilEachFinishes(){
+        CompletableFuture<Void> secondAliceBatch = new CompletableFuture<>();
+        dependencies.inserted(Collections.singletonList(var("x").isa("person").has("name", "Alice")), secondAliceBatch);
+        List<Var> match = Collections.singletonList(var("x").has("name", "Alice"));
+
+        assertEquals(Sets.newHashSet(aliceBatch, secondAliceBatch), dependencies.dependencies(match));
+
+        secondAliceBatch.complete(null);
+
+        assertEquals(Collections.singleton(aliceBatch), dependencies.dependencies(match));
+    }
+
+    @Test
+    public void whenABatchInsertsTheSameValueOfAnotherResourceType_ItIsNotADependency(){
+        CompletableFuture<Void> emailBatch = new CompletableFuture<>();
+        dependencies.inserted(Collections.singletonList(var("x").isa("person").has("email", "Alice")), emailBatch);
+
+        assertEquals(Collections.singleton(aliceBatch),
+                dependencies.dependencies(Collections.singletonList(var("x").has("name", "Alice"))));
+        assertEquals(Collections.singleton(emailBatch),
+                dependencies.dependencies(Collections.singletonList(var("x").has("email", "Alice"))));
+    }
+
+    @Test
+    public void whenMatchingAnyResourceOfAConcept_DependOnItsBatch(){
+        CompletableFuture<Void> carolBatch = new CompletableFuture<>();
+        dependencies.inserted(Collections.singletonList(
+                var("x").isa("person").has("name", "Carol").has("email", "carol@example.com")), carolBatch);
+
+        assertEquals(Collections.singleton(carolBatch),
+                dependencies.dependencies(Collections.singletonList(var("x").has("email", "carol@example.com"))));
+    }
+
+    @Test
+    public void whenAMatchedConceptCannotBeIdentified_DependOnEveryUnfinishedBatch(){
+        bobBatch.complete(null);
+
+        List<Var> match = Arrays.asList(var("x").has("name", "Alice"), var("y").isa("person"));
+
+        assertEquals(Collections.singleton(aliceBatch), dependencies.dependencies(match));
+        assertTrue(dependencies.dependencies(Collections.singletonList(var("y").isa("person"))).contains(aliceBatch));
+    }
+}
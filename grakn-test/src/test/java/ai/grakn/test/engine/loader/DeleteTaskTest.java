@@ -0,0 +1,144 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.loader;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.EntityType;
+import ai.grakn.engine.loader.DeleteTask;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.test.EngineTestBase;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ai.grakn.graql.Graql.count;
+import static ai.grakn.graql.Graql.var;
+import static ai.grakn.test.GraknTestEnv.factoryWithNewKeyspace;
+import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
+import static ai.grakn.util.REST.Request.TASK_DELETE_BATCH_SIZE;
+import static ai.grakn.util.REST.Request.TASK_DELETE_QUERY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DeleteTaskTest extends EngineTestBase {
+    private static final int NUMBER_OF_ENTITIES = 250;
+
+    private String keyspace;
+    private List<String> checkpoints;
+
+    @Before
+    public void buildGraph() throws GraknValidationException {
+        checkpoints = new ArrayList<>();
+        try (GraknGraph graph = factoryWithNewKeyspace().getGraph()) {
+            keyspace = graph.getKeyspace();
+            EntityType kept = graph.putEntityType("kept");
+            EntityType stale = graph.putEntityType("stale").superType(kept);
+            for (int i = 0; i < NUMBER_OF_ENTITIES; i++) {
+                kept.addEntity();
+                stale.addEntity();
+            }
+            graph.commit();
+        }
+    }
+
+    @Test
+    public void whenDeletingInBatches_EveryMatchIsDeletedAndProgressIsCheckpointed() {
+        new DeleteTask().start(checkpoints::add, configuration("match $x isa stale; delete $x;", 100));
+
+        assertEquals(0, countInstances("stale"));
+        assertEquals(NUMBER_OF_ENTITIES, countInstances("kept"));
+        assertEquals(3, checkpoints.size());
+        assertEquals(NUMBER_OF_ENTITIES, new JSONObject(checkpoints.get(2)).getLong("deleted"));
+    }
+
+    @Test
+    public void whenResumingAStoppedTask_TheRemainingMatchesAreDeletedAndTheCountCarriesOn() {
+        DeleteTask task = new DeleteTask();
+        task.start(checkpoint -> {
+            checkpoints.add(checkpoint);
+            task.stop();
+        }, configuration("match $x isa stale; delete $x;", 100));
+
+        assertEquals(1, checkpoints.size());
+        assertEquals(NUMBER_OF_ENTITIES - 100, countInstances("stale"));
+
+        new DeleteTask().resume(checkpoints::add, checkpoints.get(0));
+
+        assertEquals(0, countInstances("stale"));
+        JSONObject last = new JSONObject(checkpoints.get(checkpoints.size() - 1));
+        assertEquals(NUMBER_OF_ENTITIES, last.getLong("deleted"));
+        assertEquals(3, last.getLong("batches"));
+    }
+
+    @Test
+    public void whenTheMatchQueryHasALimit_TheTaskIsRejectedAndNothingIsDeleted() {
+        try {
+            new DeleteTask().start(checkpoints::add, configuration("match $x isa stale; limit 100; delete $x;", 10));
+            fail("A delete query with a limit should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("limit"));
+        }
+
+        assertEquals(NUMBER_OF_ENTITIES, countInstances("stale"));
+        assertTrue(checkpoints.isEmpty());
+    }
+
+    @Test
+    public void whenTheMatchQueryHasAnOffset_TheTaskIsRejectedAndNothingIsDeleted() {
+        try {
+            new DeleteTask().start(checkpoints::add, configuration("match $x isa stale; offset 10; delete $x;", 10));
+            fail("A delete query with an offset should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("offset"));
+        }
+
+        assertEquals(NUMBER_OF_ENTITIES, countInstances("stale"));
+    }
+
+    @Test
+    public void whenTheQueryOnlyDeletesProperties_TheTaskIsRejectedAndNothingIsDeleted() {
+        try {
+            new DeleteTask().start(checkpoints::add, configuration("match $x isa stale; delete $x has name \"Bob\";", 10));
+            fail("A delete query which does not delete whole concepts should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("whole matched concept"));
+        }
+
+        assertEquals(NUMBER_OF_ENTITIES, countInstances("stale"));
+        assertTrue(checkpoints.isEmpty());
+    }
+
+    private JSONObject configuration(String query, long batchSize) {
+        return new JSONObject()
+                .put(KEYSPACE_PARAM, keyspace)
+                .put(TASK_DELETE_QUERY, query)
+                .put(TASK_DELETE_BATCH_SIZE, batchSize);
+    }
+
+    private long countInstances(String typeName) {
+        try (GraknGraph graph = Grakn.factory(Grakn.DEFAULT_URI, keyspace).getGraph()) {
+            return graph.graql().match(var("x").isa(typeName)).aggregate(count()).execute();
+        }
+    }
+}
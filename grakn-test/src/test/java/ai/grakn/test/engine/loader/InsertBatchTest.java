@@ -0,0 +1,79 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.loader;
+
+import ai.grakn.concept.ConceptId;
+import ai.grakn.engine.loader.InsertBatch;
+import ai.grakn.graql.InsertQuery;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static ai.grakn.graql.Graql.insert;
+import static ai.grakn.graql.Graql.match;
+import static ai.grakn.graql.Graql.var;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+public class InsertBatchTest {
+
+    @Test
+    public void whenEncodingAndDecodingABatch_TheQueriesAreUnchanged(){
+        List<InsertQuery> queries = Arrays.asList(
+                insert(var("x").isa("person").has("name", "Alice").has("age", 42L)),
+                insert(var("x").isa("person").has("name", "Bob").has("height", 1.8).has("alive", true)),
+                insert(var().rel("friend", var("x")).rel(var("y")).isa("friendship"), var("x").id(ConceptId.of("1")), var("y").id(ConceptId.of("2"))),
+                insert(var("x").isa("person").has("name", "Zo\u00eb \u6f22\u5b57 \ud83d\ude00")),
+                match(var("x").has("name", "Alice")).insert(var("x").has("nickname", "Al"))
+        );
+
+        assertRoundTrip(queries);
+    }
+
+    @Test
+    public void whenAValueIsLongerThan64KB_TheBatchCanBeDecoded(){
+        String longValue = Strings.repeat("\u6f22", 30000);
+
+        assertRoundTrip(Collections.singletonList(insert(var("x").isa("document").has("text", longValue))));
+        assertRoundTrip(Collections.singletonList(match(var("x").isa("document")).insert(var("x").has("text", longValue))));
+    }
+
+    @Test
+    public void whenAQueryIsOnlyPartlySupported_ItIsWrittenAsGraqlAndLaterQueriesUseTheStringTable(){
+        List<InsertQuery> queries = Arrays.asList(
+                insert(var("x").isa("person").has("name", "Alice")),
+                insert(var("y").name("unsupported").sub("entity").has("name", "Dropped")),
+                insert(var("z").isa("person").has("name", "Carol"))
+        );
+
+        assertRoundTrip(queries);
+    }
+
+    private void assertRoundTrip(List<InsertQuery> queries){
+        List<InsertQuery> decoded = InsertBatch.decode(InsertBatch.encode(queries));
+        assertEquals(toStrings(queries), toStrings(decoded));
+    }
+
+    private List<String> toStrings(List<InsertQuery> queries){
+        return queries.stream().map(Object::toString).collect(toList());
+    }
+}
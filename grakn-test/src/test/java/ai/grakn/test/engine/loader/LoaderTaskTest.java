@@ -0,0 +1,97 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.loader;
+
+import ai.grakn.Grakn;
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.RoleType;
+import ai.grakn.engine.loader.LoaderTask;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.test.EngineTestBase;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ai.grakn.graql.Graql.count;
+import static ai.grakn.graql.Graql.var;
+import static ai.grakn.test.GraknTestEnv.factoryWithNewKeyspace;
+import static ai.grakn.test.GraknTestEnv.usingTinker;
+import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
+import static ai.grakn.util.REST.Request.TASK_LOADER_INSERTS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+public class LoaderTaskTest extends EngineTestBase {
+    private static final int NUMBER_OF_PEOPLE = 7;
+
+    private String keyspace;
+    private List<String> checkpoints;
+
+    @Before
+    public void buildGraph() throws GraknValidationException {
+        // A failed batch has to be rolled back before its halves are inserted
+        assumeFalse(usingTinker());
+
+        checkpoints = new ArrayList<>();
+        try (GraknGraph graph = factoryWithNewKeyspace().getGraph()) {
+            keyspace = graph.getKeyspace();
+            RoleType parent = graph.putRoleType("parent");
+            RoleType child = graph.putRoleType("child");
+            graph.putRelationType("parentship").hasRole(parent).hasRole(child);
+            graph.putEntityType("person").playsRole(parent).playsRole(child);
+            graph.putEntityType("dog");
+            graph.commit();
+        }
+    }
+
+    @Test
+    public void whenOneQueryInABatchIsInvalid_TheOtherQueriesAreLoadedAndTheFailureIsRecorded() {
+        List<String> inserts = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_PEOPLE; i++) {
+            inserts.add("insert $x isa person;");
+            if (i == NUMBER_OF_PEOPLE / 2) inserts.add("insert $x isa dog; $y isa person; (parent: $x, child: $y) isa parentship;");
+        }
+
+        try {
+            new LoaderTask().start(checkpoints::add, new JSONObject()
+                    .put(KEYSPACE_PARAM, keyspace)
+                    .put(TASK_LOADER_INSERTS, inserts));
+            fail("A batch containing an invalid query should fail");
+        } catch (RuntimeException e) {
+            // The invalid query is reported once the rest of the batch has been loaded
+        }
+
+        assertEquals(NUMBER_OF_PEOPLE, countInstances("person"));
+        assertEquals(0, countInstances("dog"));
+
+        JSONObject last = new JSONObject(checkpoints.get(checkpoints.size() - 1));
+        assertEquals(NUMBER_OF_PEOPLE, last.getLong("loaded"));
+        assertEquals(1, last.getLong("failed"));
+    }
+
+    private long countInstances(String typeName) {
+        try (GraknGraph graph = Grakn.factory(Grakn.DEFAULT_URI, keyspace).getGraph()) {
+            return graph.graql().match(var("x").isa(typeName)).aggregate(count()).execute();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.postprocessing;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.ConceptId;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.Instance;
+import ai.grakn.concept.Resource;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.engine.postprocessing.IndexMigrationTask;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.factory.GraphFactory;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+import ai.grakn.test.EngineTestBase;
+import ai.grakn.util.Schema;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static ai.grakn.test.GraknTestEnv.factoryWithNewKeyspace;
+import static ai.grakn.util.REST.Request.KEYSPACE_PARAM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class IndexMigrationTaskTest extends EngineTestBase {
+    private static final String LEGACY_RESOURCE_INDEX = "RESOURCE-name-a name";
+    private static final String LEGACY_RELATION_INDEX = "RelationType_legacy_Relation";
+
+    private String keyspace;
+    private ConceptId owner1;
+    private ConceptId owner2;
+    private ConceptId legacyRelation;
+    private List<String> checkpoints;
+
+    @Before
+    public void buildLegacyKeyspace() throws GraknValidationException {
+        checkpoints = new ArrayList<>();
+        try (GraknGraph graph = factoryWithNewKeyspace().getGraph()) {
+            keyspace = graph.getKeyspace();
+            ResourceType<String> name = graph.putResourceType("name", ResourceType.DataType.STRING);
+            EntityType person = graph.putEntityType("person");
+            person.hasResource(name);
+
+            Resource<String> resource = name.putResource("a name");
+            Resource<String> duplicate = name.putResource("another name");
+            Instance instance1 = person.addEntity();
+            Instance instance2 = person.addEntity();
+            instance1.hasResource(resource);
+            legacyRelation = instance2.hasResource(duplicate).getId();
+            owner1 = instance1.getId();
+            owner2 = instance2.getId();
+            graph.commit();
+
+            //Give the keyspace the indices it had before they were digests, along with a resource which was loaded
+            //twice: once under its legacy index and once under its new one
+            GraphTraversalSource traversal = ((AbstractGraknGraph<?>) graph).getTinkerPopGraph().traversal();
+            Vertex resourceVertex = vertex(traversal, resource.getId());
+            Vertex duplicateVertex = vertex(traversal, duplicate.getId());
+            duplicateVertex.property(Schema.ConceptProperty.INDEX.name(), resourceVertex.value(Schema.ConceptProperty.INDEX.name()));
+            duplicateVertex.property(Schema.ConceptProperty.VALUE_STRING.name(), "a name");
+            resourceVertex.property(Schema.ConceptProperty.INDEX.name(), LEGACY_RESOURCE_INDEX);
+            vertex(traversal, legacyRelation).property(Schema.ConceptProperty.INDEX.name(), LEGACY_RELATION_INDEX);
+            traversal.V().has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName()).
+                    properties(Schema.ConceptProperty.INDEX_FORMAT.name()).drop().iterate();
+            graph.commit();
+        }
+    }
+
+    @Test
+    public void whenMigratingALegacyKeyspace_IndicesAreRewrittenAndDuplicatesAreMerged() {
+        new IndexMigrationTask().start(checkpoints::add, new JSONObject().put(KEYSPACE_PARAM, keyspace));
+
+        try (GraknGraph graph = GraphFactory.getInstance().getGraph(keyspace)) {
+            Collection<Resource<String>> names = graph.getResourceType("name").<String>asResourceType().instances();
+            assertEquals(1, names.size());
+
+            Resource<String> name = names.iterator().next();
+            assertEquals("a name", name.getValue());
+            assertEquals(name, graph.getResourceType("name").getResource("a name"));
+
+            Set<ConceptId> owners = name.ownerInstances().stream().map(Instance::getId).collect(Collectors.toSet());
+            assertTrue(owners.contains(owner1));
+            assertTrue(owners.contains(owner2));
+
+            GraphTraversalSource traversal = ((AbstractGraknGraph<?>) graph).getTinkerPopGraph().traversal();
+            assertNotEquals(LEGACY_RESOURCE_INDEX, vertex(traversal, name.getId()).value(Schema.ConceptProperty.INDEX.name()));
+            assertNotEquals(LEGACY_RELATION_INDEX, vertex(traversal, legacyRelation).value(Schema.ConceptProperty.INDEX.name()));
+            assertNotNull(traversal.V().has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName()).
+                    next().value(Schema.ConceptProperty.INDEX_FORMAT.name()));
+        }
+
+        assertFalse(checkpoints.isEmpty());
+        assertEquals(2, new JSONObject(checkpoints.get(checkpoints.size() - 1)).getLong("migrated"));
+    }
+
+    private static Vertex vertex(GraphTraversalSource traversal, ConceptId id){
+        return traversal.V().hasId(id.getValue()).next();
+    }
+}
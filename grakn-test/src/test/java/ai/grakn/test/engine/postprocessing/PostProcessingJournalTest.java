@@ -0,0 +1,158 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Ltd
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.engine.postprocessing;
+
+import ai.grakn.engine.postprocessing.PostProcessingJournal;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PostProcessingJournalTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPendingJobsAreReplayed() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("journal");
+
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.addCasting("keyspace", "c1");
+            journal.addCasting("keyspace", "c2");
+            journal.addResource("keyspace", "r1");
+            journal.deleteCasting("keyspace", "c1");
+            journal.addResource("other", "r2");
+            journal.clear("other");
+        }
+
+        Map<String, Set<String>> castings = new HashMap<>();
+        Map<String, Set<String>> resources = new HashMap<>();
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.replay(castings, resources);
+        }
+
+        assertEquals(ImmutableSet.of("c2"), castings.get("keyspace"));
+        assertEquals(ImmutableSet.of("r1"), resources.get("keyspace"));
+        assertTrue(!castings.containsKey("other") && !resources.containsKey("other"));
+    }
+
+    @Test
+    public void testIncompleteEntryIsSkipped() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("journal");
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.addCasting("keyspace", "c1");
+            journal.addCasting("keyspace", "c2");
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        Map<String, Set<String>> castings = new HashMap<>();
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.replay(castings, new HashMap<>());
+        }
+
+        assertEquals(ImmutableSet.of("c1"), castings.get("keyspace"));
+    }
+
+    @Test
+    public void testCorruptEntryIsSkipped() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("journal");
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.addCasting("keyspace", "c1");
+            journal.addCasting("keyspace", "c2");
+        }
+        List<String> lines = Files.readAllLines(path);
+        lines.set(1, lines.get(1).replace("c2", "c3"));
+        Files.write(path, lines);
+
+        Map<String, Set<String>> castings = new HashMap<>();
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.replay(castings, new HashMap<>());
+        }
+
+        assertEquals(ImmutableSet.of("c1"), castings.get("keyspace"));
+    }
+
+    @Test
+    public void testCompletedJobsAreCompactedAway() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("journal");
+        Map<String, Set<String>> castings = new HashMap<>();
+        Map<String, Set<String>> resources = new HashMap<>();
+
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            for (int i = 0; i < 10_000; i++) {
+                journal.addCasting("keyspace", "c" + i);
+                journal.deleteCasting("keyspace", "c" + i);
+            }
+            journal.addCasting("keyspace", "pending");
+            castings.put("keyspace", ImmutableSet.of("pending"));
+            journal.compactIfNeeded(castings, resources);
+        }
+
+        assertEquals(1, Files.readAllLines(path).size());
+
+        Map<String, Set<String>> replayed = new HashMap<>();
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.replay(replayed, new HashMap<>());
+        }
+        assertEquals(castings, replayed);
+    }
+
+    @Test
+    public void testJournalCanStillBeWrittenAfterCompactionFails() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("journal");
+        Files.createDirectories(folder.getRoot().toPath().resolve("journal.compacted"));
+        Map<String, Set<String>> castings = new HashMap<>();
+
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            for (int i = 0; i < 10_000; i++) {
+                journal.addCasting("keyspace", "c" + i);
+                journal.deleteCasting("keyspace", "c" + i);
+            }
+            journal.addCasting("keyspace", "pending");
+            castings.put("keyspace", ImmutableSet.of("pending"));
+            try {
+                journal.compactIfNeeded(castings, new HashMap<>());
+                fail("Compaction should not be able to write over a directory");
+            } catch (RuntimeException e) {
+                journal.addCasting("keyspace", "later");
+            }
+        }
+
+        Map<String, Set<String>> replayed = new HashMap<>();
+        try (PostProcessingJournal journal = PostProcessingJournal.open(path)) {
+            journal.replay(replayed, new HashMap<>());
+        }
+        assertEquals(ImmutableSet.of("pending", "later"), replayed.get("keyspace"));
+    }
+}
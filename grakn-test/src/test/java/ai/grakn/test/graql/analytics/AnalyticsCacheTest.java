@@ -0,0 +1,130 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.graql.analytics;
+
+import ai.grakn.concept.EntityType;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+import ai.grakn.graql.internal.query.analytics.AnalyticsCache;
+import ai.grakn.test.AbstractGraphTest;
+import ai.grakn.util.Schema;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AnalyticsCacheTest extends AbstractGraphTest {
+    private static final String COUNT_PEOPLE = "compute count in person;";
+
+    private AnalyticsCache analyticsCache;
+    private EntityType person;
+    private EntityType dog;
+
+    @Before
+    public void buildOntology() throws GraknValidationException {
+        person = graph.putEntityType("person");
+        dog = graph.putEntityType("dog");
+        graph.commit();
+
+        analyticsCache = AnalyticsCache.get(graph.getKeyspace());
+        analyticsCache.lookup(COUNT_PEOPLE, commitVersion());
+        analyticsCache.record(COUNT_PEOPLE, Sets.newHashSet("person"), 0L, analyticsCache.getGeneration());
+    }
+
+    @Test
+    public void whenCommittingInstancesOfOtherTypes_CachedResultsAreKept() throws GraknValidationException {
+        dog.addEntity();
+        graph.commit();
+
+        assertEquals(Optional.of(0L), analyticsCache.lookup(COUNT_PEOPLE, commitVersion()));
+    }
+
+    @Test
+    public void whenCommittingInstancesOfADependency_CachedResultsAreRemoved() throws GraknValidationException {
+        person.addEntity();
+        graph.commit();
+
+        assertFalse(analyticsCache.lookup(COUNT_PEOPLE, commitVersion()).isPresent());
+    }
+
+    @Test
+    public void whenCommittingOntologyChanges_AllCachedResultsAreRemoved() throws GraknValidationException {
+        graph.putEntityType("cat");
+        graph.commit();
+
+        assertFalse(analyticsCache.lookup(COUNT_PEOPLE, commitVersion()).isPresent());
+    }
+
+    @Test
+    public void whenModifyingACachedResult_TheCachedResultIsUnchanged() {
+        String clusterPeople = "compute cluster in person; members;";
+        Map<String, Set<String>> clusters = new HashMap<>();
+        clusters.put("a", Sets.newHashSet("1", "2"));
+        analyticsCache.record(clusterPeople, Sets.newHashSet("person"), clusters, analyticsCache.getGeneration());
+
+        clusters.get("a").add("3");
+        @SuppressWarnings("unchecked")
+        Map<String, Set<String>> cached = (Map<String, Set<String>>) analyticsCache.lookup(clusterPeople, commitVersion()).get();
+        assertEquals(Sets.newHashSet("1", "2"), cached.get("a"));
+
+        cached.get("a").clear();
+        cached.remove("a");
+        assertEquals(Optional.of(Collections.singletonMap("a", Sets.newHashSet("1", "2"))),
+                analyticsCache.lookup(clusterPeople, commitVersion()));
+    }
+
+    @Test
+    public void whenRecordingAResultComputedBeforeAnInvalidation_TheResultIsNotCached() throws GraknValidationException {
+        long generation = analyticsCache.getGeneration();
+        person.addEntity();
+        graph.commit();
+
+        analyticsCache.record(COUNT_PEOPLE, Sets.newHashSet("person"), 0L, generation);
+        assertFalse(analyticsCache.lookup(COUNT_PEOPLE, commitVersion()).isPresent());
+    }
+
+    @Test
+    public void whenAnotherProcessCommits_AllCachedResultsAreRemoved() {
+        ((AbstractGraknGraph<?>) graph).getTinkerPopGraph().traversal().V()
+                .has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName())
+                .property(Schema.ConceptProperty.COMMIT_VERSION.name(), UUID.randomUUID().toString()).iterate();
+
+        assertFalse(analyticsCache.lookup(COUNT_PEOPLE, commitVersion()).isPresent());
+    }
+
+    @Test
+    public void whenTheCacheMissedTheCommitBeforeAnother_AllCachedResultsAreRemoved() {
+        analyticsCache.invalidate(Sets.newHashSet("dog"), UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        assertFalse(analyticsCache.lookup(COUNT_PEOPLE, commitVersion()).isPresent());
+    }
+
+    private String commitVersion(){
+        return graph.admin().getCommitVersion().orElse(null);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.graql.printer;
+
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.ResourceType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.graql.MatchQuery;
+import ai.grakn.test.AbstractGraphTest;
+import mjson.Json;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static ai.grakn.graql.internal.hal.HALConceptRepresentationBuilder.renderHALArrayData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HALStreamingTest extends AbstractGraphTest {
+    private static final int NUMBER_OF_PEOPLE = 250;
+
+    private Set<String> names;
+
+    @Before
+    public void buildGraph() throws GraknValidationException {
+        ResourceType<String> name = graph.putResourceType("name", ResourceType.DataType.STRING);
+        EntityType person = graph.putEntityType("person");
+        EntityType company = graph.putEntityType("company");
+        RoleType employee = graph.putRoleType("employee");
+        RoleType employer = graph.putRoleType("employer");
+        RelationType employment = graph.putRelationType("employment").hasRole(employee).hasRole(employer);
+        person.hasResource(name);
+        person.playsRole(employee);
+        company.playsRole(employer);
+
+        Entity acme = company.addEntity();
+        names = new HashSet<>();
+        for (int i = 0; i < NUMBER_OF_PEOPLE; i++) {
+            Entity employed = person.addEntity();
+            employed.hasResource(name.putResource("person-" + i));
+            employment.addRelation().putRolePlayer(employee, employed).putRolePlayer(employer, acme);
+            names.add("person-" + i);
+        }
+
+        graph.commit();
+    }
+
+    @Test
+    public void whenStreamingInstancesInChunks_EveryInstanceIsRenderedWithItsResources() throws IOException {
+        List<Json> people = render("match $x isa person;");
+
+        assertEquals(NUMBER_OF_PEOPLE, people.size());
+        Set<String> renderedNames = new HashSet<>();
+        people.forEach(person -> renderedNames.add(person.at("_embedded").at("name").at(0).at("value").asString()));
+        assertEquals(names, renderedNames);
+    }
+
+    @Test
+    public void whenStreamingRelationsInChunks_EveryRelationIsRenderedWithItsRolePlayers() throws IOException {
+        List<Json> employments = render("match $x isa employment;");
+
+        assertEquals(NUMBER_OF_PEOPLE, employments.size());
+        Set<String> renderedNames = new HashSet<>();
+        employments.forEach(relation -> {
+            Json embedded = relation.at("_embedded");
+            assertTrue(embedded.has("employer"));
+            renderedNames.add(embedded.at("employee").at(0).at("_embedded").at("name").at(0).at("value").asString());
+        });
+        assertEquals(names, renderedNames);
+    }
+
+    private List<Json> render(String query) throws IOException {
+        MatchQuery matchQuery = graph.graql().parse(query);
+        StringWriter writer = new StringWriter();
+        renderHALArrayData(matchQuery, matchQuery.admin().streamWithVarNames(), graph.getKeyspace(), writer);
+        return Json.read(writer.toString()).asJsonList();
+    }
+}
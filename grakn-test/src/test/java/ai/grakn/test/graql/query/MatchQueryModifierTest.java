@@ -68,6 +68,18 @@ public class MatchQueryModifierTest extends AbstractMovieGraphTest {
         assertEquals(3, query.stream().count());
     }
 
+    @Test
+    public void testOrderedLimitMatchesSliceOfOrderedResults() {
+        MatchQuery query = qb.match(var("x").isa("person").has("name", var("n"))).orderBy("n", desc);
+        List<Object> names = query.stream().map(result -> result.get("n").asResource().getValue()).collect(Collectors.toList());
+
+        MatchQuery limited = qb.match(var("x").isa("person").has("name", var("n"))).orderBy("n", desc).offset(2).limit(5);
+        assertEquals(names.subList(2, 7), limited.stream().map(result -> result.get("n").asResource().getValue()).collect(Collectors.toList()));
+
+        MatchQuery unbounded = qb.match(var("x").isa("person").has("name", var("n"))).orderBy("n", desc).limit(names.size() + 1);
+        assertEquals(names, unbounded.stream().map(result -> result.get("n").asResource().getValue()).collect(Collectors.toList()));
+    }
+
     @Test
     public void testOrPatternOrderByResource() {
         MatchQuery query = qb.match(
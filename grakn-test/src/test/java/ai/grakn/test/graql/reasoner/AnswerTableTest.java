@@ -0,0 +1,130 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.graql.reasoner;
+
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.graph.internal.AbstractGraknGraph;
+import ai.grakn.graql.MatchQuery;
+import ai.grakn.graql.internal.reasoner.query.AnswerTable;
+import ai.grakn.test.AbstractGraphTest;
+import ai.grakn.util.Schema;
+import com.google.common.cache.CacheStats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static ai.grakn.graql.Graql.var;
+import static org.junit.Assert.assertEquals;
+
+public class AnswerTableTest extends AbstractGraphTest {
+    private RoleType parent;
+    private RoleType child;
+    private RelationType parentship;
+    private EntityType person;
+    private EntityType dog;
+
+    @Before
+    public void buildOntology() throws GraknValidationException {
+        parent = graph.putRoleType("parent");
+        child = graph.putRoleType("child");
+        parentship = graph.putRelationType("parentship").hasRole(parent).hasRole(child);
+        RoleType ancestor = graph.putRoleType("ancestor");
+        RoleType descendant = graph.putRoleType("descendant");
+        graph.putRelationType("ancestorship").hasRole(ancestor).hasRole(descendant);
+        person = graph.putEntityType("person")
+                .playsRole(parent).playsRole(child).playsRole(ancestor).playsRole(descendant);
+        dog = graph.putEntityType("dog");
+
+        graph.admin().getMetaRuleInference().addRule(
+                var().rel("parent", "x").rel("child", "y").isa("parentship"),
+                var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"));
+        addParentship();
+        graph.commit();
+    }
+
+    @Test
+    public void testRepeatedInferenceQueriesAreAnsweredFromTheTable() {
+        AnswerTable answerTable = AnswerTable.get(graph.getKeyspace());
+
+        assertEquals(1, ancestors().execute().size());
+        CacheStats stats = answerTable.getStats();
+        assertEquals(1, ancestors().execute().size());
+
+        assertEquals(1, answerTable.getStats().minus(stats).hitCount());
+    }
+
+    @Test
+    public void testCommittingToATypeUsedByARuleInvalidatesTheTable() throws GraknValidationException {
+        assertEquals(1, ancestors().execute().size());
+
+        addParentship();
+        graph.commit();
+
+        assertEquals(2, ancestors().execute().size());
+    }
+
+    @Test
+    public void testCommittingToAnUnrelatedTypeDoesNotInvalidateTheTable() throws GraknValidationException {
+        AnswerTable answerTable = AnswerTable.get(graph.getKeyspace());
+        assertEquals(1, ancestors().execute().size());
+
+        dog.addEntity();
+        graph.commit();
+
+        CacheStats stats = answerTable.getStats();
+        assertEquals(1, ancestors().execute().size());
+        assertEquals(1, answerTable.getStats().minus(stats).hitCount());
+    }
+
+    @Test
+    public void testTableIsNotUsedWithUncommittedChanges() {
+        assertEquals(1, ancestors().execute().size());
+
+        addParentship();
+
+        assertEquals(2, ancestors().execute().size());
+    }
+
+    @Test
+    public void testACommitVersionTheTableDoesNotKnowInvalidatesTheTable() {
+        AnswerTable answerTable = AnswerTable.get(graph.getKeyspace());
+        assertEquals(1, ancestors().execute().size());
+
+        ((AbstractGraknGraph<?>) graph).getTinkerPopGraph().traversal().V()
+                .has(Schema.ConceptProperty.NAME.name(), Schema.MetaSchema.CONCEPT.getName())
+                .property(Schema.ConceptProperty.COMMIT_VERSION.name(), UUID.randomUUID().toString()).iterate();
+
+        CacheStats stats = answerTable.getStats();
+        assertEquals(1, ancestors().execute().size());
+        assertEquals(0, answerTable.getStats().minus(stats).hitCount());
+    }
+
+    private void addParentship(){
+        parentship.addRelation().putRolePlayer(parent, person.addEntity()).putRolePlayer(child, person.addEntity());
+    }
+
+    private MatchQuery ancestors(){
+        return graph.graql().infer(true).materialise(false)
+                .match(var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"));
+    }
+}
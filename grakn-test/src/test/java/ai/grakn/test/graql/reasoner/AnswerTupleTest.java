@@ -0,0 +1,126 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.test.graql.reasoner;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.EntityType;
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.reasoner.query.AnswerTuple;
+import ai.grakn.test.AbstractGraphTest;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static ai.grakn.graql.internal.pattern.Patterns.varName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AnswerTupleTest extends AbstractGraphTest {
+    private final VarName x = varName("x");
+    private final VarName y = varName("y");
+    private final VarName z = varName("z");
+
+    private Concept a;
+    private Concept b;
+    private Concept c;
+
+    @Before
+    public void buildConcepts(){
+        EntityType person = graph.putEntityType("person");
+        a = person.addEntity();
+        b = person.addEntity();
+        c = person.addEntity();
+    }
+
+    @Test
+    public void testTupleIsEqualToTheMapItRepresents(){
+        Map<VarName, Concept> answer = ImmutableMap.of(x, a, y, b);
+        AnswerTuple tuple = AnswerTuple.of(answer);
+
+        assertEquals(answer, tuple);
+        assertEquals(tuple, answer);
+        assertEquals(answer.hashCode(), tuple.hashCode());
+        assertEquals(a, tuple.get(x));
+        assertNull(tuple.get(z));
+        assertFalse(tuple.containsKey(z));
+        assertSame(tuple, AnswerTuple.of(tuple));
+    }
+
+    @Test
+    public void testTuplesWithTheSameVariablesAreEqualWhenTheirConceptsAre(){
+        assertEquals(AnswerTuple.of(ImmutableMap.of(x, a, y, b)), AnswerTuple.of(ImmutableMap.of(y, b, x, a)));
+        assertFalse(AnswerTuple.of(ImmutableMap.of(x, a, y, b)).equals(AnswerTuple.of(ImmutableMap.of(x, a, y, c))));
+    }
+
+    @Test
+    public void testJoinOnASharedVariable(){
+        AnswerTuple left = AnswerTuple.of(ImmutableMap.of(x, a, y, b));
+
+        Optional<AnswerTuple> joined = left.join(AnswerTuple.of(ImmutableMap.of(y, b, z, c)));
+        assertEquals(Optional.of(ImmutableMap.of(x, a, y, b, z, c)), joined.map(HashMap::new));
+
+        assertFalse(left.join(AnswerTuple.of(ImmutableMap.of(y, c, z, c))).isPresent());
+    }
+
+    @Test
+    public void testJoinWithoutSharedVariablesCombinesTheTuples(){
+        AnswerTuple joined = AnswerTuple.of(ImmutableMap.of(x, a)).join(AnswerTuple.of(ImmutableMap.of(y, b))).get();
+
+        assertEquals(ImmutableMap.of(x, a, y, b), joined);
+    }
+
+    @Test
+    public void testJoinOfTuplesWithTheSameVariables(){
+        AnswerTuple tuple = AnswerTuple.of(ImmutableMap.of(x, a, y, b));
+
+        assertSame(tuple, tuple.join(AnswerTuple.of(ImmutableMap.of(x, a, y, b))).get());
+        assertFalse(tuple.join(AnswerTuple.of(ImmutableMap.of(x, a, y, c))).isPresent());
+    }
+
+    @Test
+    public void testProjectKeepsOnlyTheGivenVariables(){
+        AnswerTuple tuple = AnswerTuple.of(ImmutableMap.of(x, a, y, b, z, c));
+
+        assertEquals(ImmutableMap.of(x, a, z, c), tuple.project(ImmutableSet.of(x, z, varName("w"))));
+        assertTrue(tuple.project(ImmutableSet.of(varName("w"))).isEmpty());
+        assertSame(tuple, tuple.project(ImmutableSet.of(x, y, z)));
+    }
+
+    @Test
+    public void testUnifyRenamesVariables(){
+        AnswerTuple tuple = AnswerTuple.of(ImmutableMap.of(x, a, y, b));
+
+        assertEquals(Optional.of(ImmutableMap.of(z, a, y, b)), tuple.unify(ImmutableMap.of(x, z)).map(HashMap::new));
+        assertEquals(Optional.of(ImmutableMap.of(y, a, x, b)), tuple.unify(ImmutableMap.of(x, y, y, x)).map(HashMap::new));
+    }
+
+    @Test
+    public void testUnifyingTwoVariablesToOneGivesNoTuple(){
+        AnswerTuple tuple = AnswerTuple.of(ImmutableMap.of(x, a, y, b));
+
+        assertFalse(tuple.unify(ImmutableMap.of(x, y)).isPresent());
+    }
+}
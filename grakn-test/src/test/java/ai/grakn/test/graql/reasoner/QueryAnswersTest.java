@@ -0,0 +1,166 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.test.graql.reasoner;
+
+import ai.grakn.concept.Concept;
+import ai.grakn.concept.Entity;
+import ai.grakn.concept.EntityType;
+import ai.grakn.concept.RelationType;
+import ai.grakn.concept.RoleType;
+import ai.grakn.exception.GraknValidationException;
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
+import ai.grakn.test.AbstractGraphTest;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static ai.grakn.graql.Graql.and;
+import static ai.grakn.graql.Graql.var;
+import static ai.grakn.graql.internal.pattern.Patterns.varName;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QueryAnswersTest extends AbstractGraphTest {
+    private final VarName x = varName("x");
+    private final VarName y = varName("y");
+    private final VarName z = varName("z");
+
+    private final List<Concept> concepts = new ArrayList<>();
+
+    @Before
+    public void buildConcepts(){
+        EntityType person = graph.putEntityType("person");
+        for (int i = 0; i < 6; i++) {
+            concepts.add(person.addEntity());
+        }
+    }
+
+    @Test
+    public void testJoinOnSharedVariablesGivesEveryCompatiblePair(){
+        QueryAnswers left = answers(x, y, 0, 1, 1, 2, 2, 3, 3, 3);
+        QueryAnswers right = answers(y, z, 1, 4, 1, 5, 3, 0, 5, 5);
+
+        assertEquals(nestedLoopJoin(left, right), left.join(right));
+        assertEquals(nestedLoopJoin(right, left), right.join(left));
+        assertEquals(4, left.join(right).size());
+    }
+
+    @Test
+    public void testJoinOfAnswersWithDifferentVariablesGivesEveryCompatiblePair(){
+        QueryAnswers left = answers(x, y, 0, 1, 1, 2);
+        left.add(ImmutableMap.of(x, concepts.get(3)));
+        QueryAnswers right = answers(x, z, 0, 4, 3, 5);
+
+        assertEquals(nestedLoopJoin(left, right), left.join(right));
+        assertEquals(2, left.join(right).size());
+    }
+
+    @Test
+    public void testJoinWithoutSharedVariablesIsACrossProduct(){
+        QueryAnswers left = answers(x, y, 0, 1, 1, 2);
+        QueryAnswers right = answers(z, z, 3, 3, 4, 4, 5, 5);
+
+        assertEquals(6, left.join(right).size());
+        assertEquals(nestedLoopJoin(left, right), left.join(right));
+    }
+
+    @Test
+    public void testJoinWithNoAnswersIsEmpty(){
+        assertTrue(answers(x, y, 0, 1).join(new QueryAnswers()).isEmpty());
+        assertTrue(new QueryAnswers().join(answers(x, y, 0, 1)).isEmpty());
+    }
+
+    @Test
+    public void testRecursiveRulesFindTheTransitiveClosure() throws GraknValidationException {
+        RoleType parent = graph.putRoleType("parent");
+        RoleType child = graph.putRoleType("child");
+        RelationType parentship = graph.putRelationType("parentship").hasRole(parent).hasRole(child);
+        RoleType ancestor = graph.putRoleType("ancestor");
+        RoleType descendant = graph.putRoleType("descendant");
+        graph.putRelationType("ancestorship").hasRole(ancestor).hasRole(descendant);
+        EntityType person = graph.getEntityType("person")
+                .playsRole(parent).playsRole(child).playsRole(ancestor).playsRole(descendant);
+
+        graph.admin().getMetaRuleInference().addRule(
+                var().rel("parent", "x").rel("child", "y").isa("parentship"),
+                var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"));
+        graph.admin().getMetaRuleInference().addRule(
+                and(var().rel("ancestor", "x").rel("descendant", "z").isa("ancestorship"),
+                        var().rel("ancestor", "z").rel("descendant", "y").isa("ancestorship")),
+                var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"));
+
+        int length = 6;
+        List<Entity> chain = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            chain.add(person.addEntity());
+            if (i > 0) parentship.addRelation().putRolePlayer(parent, chain.get(i - 1)).putRolePlayer(child, chain.get(i));
+        }
+        graph.commit();
+
+        Set<Map<String, Concept>> expected = new HashSet<>();
+        for (int i = 0; i < length; i++) {
+            for (int j = i + 1; j < length; j++) {
+                expected.add(ImmutableMap.of("x", chain.get(i), "y", chain.get(j)));
+            }
+        }
+
+        Set<Map<String, Concept>> ancestors = graph.graql().infer(true).materialise(false)
+                .match(var().rel("ancestor", "x").rel("descendant", "y").isa("ancestorship"))
+                .select("x", "y").stream().collect(toSet());
+        assertEquals(expected, ancestors);
+    }
+
+    /**
+     * @param values pairs of indices of the concepts bound to the two variables
+     */
+    private QueryAnswers answers(VarName first, VarName second, int... values){
+        QueryAnswers answers = new QueryAnswers();
+        for (int i = 0; i < values.length; i += 2) {
+            Map<VarName, Concept> answer = new HashMap<>();
+            answer.put(first, concepts.get(values[i]));
+            answer.put(second, concepts.get(values[i + 1]));
+            answers.add(answer);
+        }
+        return answers;
+    }
+
+    private static QueryAnswers nestedLoopJoin(QueryAnswers left, QueryAnswers right){
+        QueryAnswers join = new QueryAnswers();
+        for (Map<VarName, Concept> leftAnswer : left) {
+            for (Map<VarName, Concept> rightAnswer : right) {
+                boolean compatible = leftAnswer.entrySet().stream().allMatch(entry ->
+                        !rightAnswer.containsKey(entry.getKey()) || rightAnswer.get(entry.getKey()).equals(entry.getValue()));
+                if (compatible) {
+                    Map<VarName, Concept> joined = new HashMap<>(leftAnswer);
+                    joined.putAll(rightAnswer);
+                    join.add(joined);
+                }
+            }
+        }
+        return join;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.test.graql.reasoner;
+
+import ai.grakn.GraknGraph;
+import ai.grakn.concept.Concept;
+import ai.grakn.graql.MatchQuery;
+import ai.grakn.graql.QueryBuilder;
+import ai.grakn.graql.VarName;
+import ai.grakn.graql.internal.reasoner.Reasoner;
+import ai.grakn.graql.internal.reasoner.query.AtomicMatchQuery;
+import ai.grakn.graql.internal.reasoner.query.AtomicQuery;
+import ai.grakn.graql.internal.reasoner.query.QueryAnswers;
+import ai.grakn.graql.internal.reasoner.query.QueryCache;
+import ai.grakn.test.AbstractGraknTest;
+import ai.grakn.test.graql.reasoner.graphs.MatrixGraph;
+import ai.grakn.test.graql.reasoner.graphs.PathGraph;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static ai.grakn.test.GraknTestEnv.usingTinker;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * These tests compare the hash join and semi-naive evaluation of the reasoner with the nested loop join and naive
+ * evaluation they replaced, on the recursive reasoner test graphs. In order to run them use this maven command:
+ * mvn test -Dtest=ReasonerBenchmarkIT -DfailIfNoTests=false -Ptinker
+ *
+ * The timings are printed, each benchmark also checks that both approaches find the same answers.
+ */
+public class ReasonerBenchmarkIT extends AbstractGraknTest {
+
+    @BeforeClass
+    public static void onStartup() throws Exception {
+        assumeTrue(usingTinker());
+    }
+
+    @Test
+    public void benchmarkJoinOnPathGraph() {
+        GraknGraph graph = PathGraph.getGraph(5, 4);
+        QueryBuilder qb = graph.graql().infer(false);
+
+        QueryAnswers left = new QueryAnswers(qb.<MatchQuery>parse(
+                "match (arc-from: $x, arc-to: $z) isa arc;").admin().streamWithVarNames().collect(Collectors.toList()));
+        QueryAnswers right = new QueryAnswers(qb.<MatchQuery>parse(
+                "match (arc-from: $z, arc-to: $y) isa arc;").admin().streamWithVarNames().collect(Collectors.toList()));
+
+        long startTime = System.nanoTime();
+        QueryAnswers nestedLoopJoin = nestedLoopJoin(left, right);
+        System.out.println("nested loop join time: " + (System.nanoTime() - startTime)/1e6);
+
+        startTime = System.nanoTime();
+        QueryAnswers hashJoin = left.join(right);
+        System.out.println("hash join time: " + (System.nanoTime() - startTime)/1e6);
+
+        assertEquals(nestedLoopJoin, hashJoin);
+    }
+
+    @Test
+    public void benchmarkEvaluationOnPathGraph() {
+        GraknGraph graph = PathGraph.getGraph(4, 3);
+        benchmarkEvaluation(graph, "match (path-from: $x, path-to: $y) isa path;");
+    }
+
+    @Test
+    public void benchmarkEvaluationOnMatrixGraph() {
+        GraknGraph graph = MatrixGraph.getGraph(5, 5);
+        benchmarkEvaluation(graph, "match (Q1-from: $x, Q1-to: $y) isa Q1;");
+    }
+
+    private void benchmarkEvaluation(GraknGraph graph, String queryString) {
+        Reasoner.linkConceptTypes(graph);
+        MatchQuery query = graph.graql().infer(false).parse(queryString);
+
+        long startTime = System.nanoTime();
+        Set<Map<VarName, Concept>> naiveAnswers = naiveEvaluation(new AtomicMatchQuery(query, graph));
+        System.out.println("naive evaluation time: " + (System.nanoTime() - startTime)/1e6);
+
+        startTime = System.nanoTime();
+        Set<Map<VarName, Concept>> semiNaiveAnswers = new AtomicMatchQuery(query, graph).resolve(false)
+                .collect(Collectors.toSet());
+        System.out.println("semi-naive evaluation time: " + (System.nanoTime() - startTime)/1e6);
+
+        assertEquals(naiveAnswers, semiNaiveAnswers);
+    }
+
+    /**
+     * Resolve every rule from scratch until no new answers are found
+     */
+    private static Set<Map<VarName, Concept>> naiveEvaluation(AtomicMatchQuery query) {
+        QueryCache cache = new QueryCache();
+        Set<AtomicQuery> subGoals = new HashSet<>();
+        query.lookup(cache);
+
+        int dAns;
+        do {
+            int size = query.getAnswers().size();
+            subGoals.clear();
+            query.getAtom().getApplicableRules().forEach(rule -> query.resolveViaRule(rule, subGoals, cache, false));
+            cache.propagateAnswers();
+            dAns = query.getAnswers().size() - size;
+        } while (dAns != 0);
+
+        return new HashSet<>(query.getAnswers());
+    }
+
+    private static QueryAnswers nestedLoopJoin(QueryAnswers left, QueryAnswers right) {
+        QueryAnswers join = new QueryAnswers();
+        for (Map<VarName, Concept> rightAnswer : right) {
+            for (Map<VarName, Concept> leftAnswer : left) {
+                boolean isCompatible = rightAnswer.entrySet().stream().allMatch(entry ->
+                        !leftAnswer.containsKey(entry.getKey()) || leftAnswer.get(entry.getKey()).equals(entry.getValue())
+                );
+                if (isCompatible) {
+                    Map<VarName, Concept> merged = new HashMap<>(rightAnswer);
+                    merged.putAll(leftAnswer);
+                    join.add(merged);
+                }
+            }
+        }
+        return join;
+    }
+}
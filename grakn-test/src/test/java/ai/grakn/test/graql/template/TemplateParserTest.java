@@ -20,6 +20,8 @@ package ai.grakn.test.graql.template;
 
 import ai.grakn.exception.GraqlTemplateParsingException;
 import ai.grakn.graql.Graql;
+import ai.grakn.graql.internal.template.Template;
+import ai.grakn.graql.internal.template.TemplateParser;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -31,6 +33,7 @@ import java.util.Map;
 
 import static java.util.Collections.singletonMap;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
 
 public class TemplateParserTest {
 
@@ -706,6 +709,26 @@ public class TemplateParserTest {
         assertParseEquals(template, new HashMap<>(), expected);
     }
 
+    @Test
+    public void compiledTemplatesAreReusedForEveryRow(){
+        TemplateParser parser = TemplateParser.create();
+        String template = "insert $x isa person has name <name>;";
+
+        Template compiled = parser.compileTemplate(template);
+        assertSame(compiled, parser.compileTemplate(template));
+        assertEquals(1, parser.getCompiledTemplateStats().hitCount());
+        assertEquals(1, parser.getCompiledTemplateStats().missCount());
+
+        String philCollins = parser.parseTemplate(template, singletonMap("name", "Phil Collins"));
+        assertEquals("insert $x0 has name \"Phil Collins\" isa person;", Graql.parse(philCollins).toString());
+        String ringoStarr = parser.parseTemplate(template, singletonMap("name", "Ringo Starr"));
+        assertEquals("insert $x0 has name \"Ringo Starr\" isa person;", Graql.parse(ringoStarr).toString());
+        assertEquals(3, parser.getCompiledTemplateStats().hitCount());
+
+        parser.compileTemplate("insert $x isa person has age <age>;");
+        assertEquals(2, parser.getCompiledTemplateStats().missCount());
+    }
+
     private void assertParseEquals(String template, Map<String, Object> data, String expected){
         String result = Graql.parseTemplate(template, data).toString();
         assertEquals(expected, result);
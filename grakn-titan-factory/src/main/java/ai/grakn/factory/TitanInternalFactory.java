@@ -27,8 +27,10 @@ import com.thinkaurelius.titan.core.RelationType;
 import com.thinkaurelius.titan.core.TitanFactory;
 import com.thinkaurelius.titan.core.TitanGraph;
 import com.thinkaurelius.titan.core.VertexLabel;
+import com.thinkaurelius.titan.core.schema.Mapping;
 import com.thinkaurelius.titan.core.schema.TitanIndex;
 import com.thinkaurelius.titan.core.schema.TitanManagement;
+import com.thinkaurelius.titan.graphdb.database.StandardTitanGraph;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -55,6 +57,7 @@ import java.util.Set;
  */
 class TitanInternalFactory extends AbstractInternalFactory<GraknTitanGraph, TitanGraph> {
     private final static String DEFAULT_CONFIG = "backend-default";
+    private final static String SEARCH_BACKEND = "search";
 
     TitanInternalFactory(String keyspace, String engineUrl, Properties properties) {
         super(keyspace, engineUrl, properties);
@@ -85,7 +88,7 @@ class TitanInternalFactory extends AbstractInternalFactory<GraknTitanGraph, Tita
 
     private synchronized TitanGraph newTitanGraph(String name, String address, Properties properties, boolean batchLoading){
         TitanGraph titanGraph = configureGraph(name, address, properties, batchLoading);
-        buildTitanIndexes(titanGraph);
+        buildTitanIndexes(titanGraph, hasSearchBackend(titanGraph));
         titanGraph.tx().onClose(Transaction.CLOSE_BEHAVIOR.ROLLBACK);
         return titanGraph;
     }
@@ -114,7 +117,11 @@ class TitanInternalFactory extends AbstractInternalFactory<GraknTitanGraph, Tita
     }
 
 
-    private static void buildTitanIndexes(TitanGraph graph) {
+    private static boolean hasSearchBackend(TitanGraph graph){
+        return ((StandardTitanGraph) graph).getIndexSerializer().containsIndex(SEARCH_BACKEND);
+    }
+
+    private static void buildTitanIndexes(TitanGraph graph, boolean hasSearchBackend) {
         TitanManagement management = graph.openManagement();
 
         makeVertexLabels(management);
@@ -123,6 +130,9 @@ class TitanInternalFactory extends AbstractInternalFactory<GraknTitanGraph, Tita
 
         makeIndicesVertexCentric(management);
         makeIndicesComposite(management);
+        if(hasSearchBackend) {
+            makeIndicesMixed(management);
+        }
 
         management.commit();
     }
@@ -199,5 +209,22 @@ class TitanInternalFactory extends AbstractInternalFactory<GraknTitanGraph, Tita
             }
         }
     }
-}
 
+    /**
+     * Index the value properties in the search backend, so range and string predicates are answered by the index.
+     * The index is only enabled straight away when the property keys are created in the same transaction, so it only
+     * applies to keyspaces created after a search backend is configured.
+     */
+    private static void makeIndicesMixed(TitanManagement management){
+        if(management.getGraphIndex(GraknTitanGraph.VALUE_INDEX) != null) return;
+
+        ResourceBundle keys = ResourceBundle.getBundle("indices-mixed");
+        TitanManagement.IndexBuilder indexBuilder = management.buildIndex(GraknTitanGraph.VALUE_INDEX, Vertex.class);
+        for(String propertyKeyLabel : keys.keySet()){
+            PropertyKey key = management.getPropertyKey(propertyKeyLabel);
+            Mapping mapping = Mapping.valueOf(keys.getString(propertyKeyLabel));
+            indexBuilder.addKey(key, mapping.asParameter());
+        }
+        indexBuilder.buildMixedIndex(SEARCH_BACKEND);
+    }
+}
@@ -23,8 +23,16 @@ import ai.grakn.exception.GraphRuntimeException;
 import ai.grakn.util.ErrorMessage;
 import com.thinkaurelius.titan.core.TitanException;
 import com.thinkaurelius.titan.core.TitanGraph;
+import com.thinkaurelius.titan.core.schema.SchemaStatus;
+import com.thinkaurelius.titan.core.schema.TitanGraphIndex;
+import com.thinkaurelius.titan.core.schema.TitanManagement;
 import com.thinkaurelius.titan.core.util.TitanCleanup;
 import com.thinkaurelius.titan.graphdb.database.StandardTitanGraph;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
 
 /**
  * <p>
@@ -36,13 +44,36 @@ import com.thinkaurelius.titan.graphdb.database.StandardTitanGraph;
  *     With this vendor some issues to be aware of:
  *     1. Whenever a transaction is closed if none remain open then the connection to the graph is closed permanently.
  *     2. Clearing the graph explicitly closes the connection as well.
+ *     3. When the keyspace was created with a search backend, resource values are in a mixed index which is used
+ *     to answer range, regex and substring predicates.
  * </p>
  *
  * @author fppt
  */
 public class GraknTitanGraph extends AbstractGraknGraph<TitanGraph> {
+    public static final String VALUE_INDEX = "byIndexedValue";
+
+    private final boolean hasValueIndex;
+
     public GraknTitanGraph(TitanGraph graph, String name, String engineUrl, boolean batchLoading){
         super(graph, name, engineUrl, batchLoading);
+        hasValueIndex = isIndexEnabled(graph, VALUE_INDEX);
+    }
+
+    @Override
+    protected boolean hasValueIndex(){
+        return hasValueIndex;
+    }
+
+    @Override
+    public GraphTraversal<Vertex, Vertex> getTinkerTraversal(){
+        if(!hasValueIndex) return super.getTinkerTraversal();
+
+        TitanGraph graph = getTinkerPopGraph();
+        return graph.traversal().asBuilder()
+                .with(ReadOnlyStrategy.instance())
+                .with(ValueIndexStrategy.instance())
+                .create(graph).V();
     }
 
     @Override
@@ -80,6 +111,17 @@ public class GraknTitanGraph extends AbstractGraknGraph<TitanGraph> {
         }
     }
 
+    private static boolean isIndexEnabled(TitanGraph graph, String indexName){
+        TitanManagement management = graph.openManagement();
+        try {
+            TitanGraphIndex index = management.getGraphIndex(indexName);
+            return index != null && Arrays.stream(index.getFieldKeys()).
+                    allMatch(key -> index.getIndexStatus(key).equals(SchemaStatus.ENABLED));
+        } finally {
+            management.rollback();
+        }
+    }
+
     private void closeTitan(){
         StandardTitanGraph graph = (StandardTitanGraph) getTinkerPopGraph();
         synchronized (graph) { //Have to block here because the list of open transactions in Titan is not thread safe.
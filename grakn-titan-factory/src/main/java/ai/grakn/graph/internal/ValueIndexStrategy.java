@@ -0,0 +1,138 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+
+package ai.grakn.graph.internal;
+
+import ai.grakn.graql.internal.query.predicate.StringPredicate;
+import ai.grakn.util.Schema;
+import com.google.common.collect.ImmutableSet;
+import com.thinkaurelius.titan.core.attribute.Text;
+import com.thinkaurelius.titan.graphdb.tinkerpop.optimize.TitanGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ *     Lets Titan answer Graql string predicates from the mixed index over resource values
+ * </p>
+ *
+ * <p>
+ *     Graql regex and substring predicates are evaluated in memory, so Titan cannot use them to look up an index.
+ *     This strategy adds a Titan {@link Text} predicate in front of each of them. Titan answers the Titan predicate
+ *     from the index and the original predicate is still checked on every result, so the Titan predicate only has to
+ *     match every value which the original predicate matches. Regexes are only translated when they use syntax which
+ *     means the same in Java and Lucene.
+ *
+ *     String values are indexed as {@link Schema.ConceptProperty#VALUE_STRING_INDEXED}, which holds the start of
+ *     values which are too long for the search backend followed by {@link ResourceImpl#TRUNCATED}. Every Titan
+ *     predicate also matches these values, since the part of the value which was cut off may be the part which
+ *     matches.
+ *
+ *     Range predicates need no translation, because Titan already answers them from the index.
+ * </p>
+ */
+class ValueIndexStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy>
+        implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final ValueIndexStrategy INSTANCE = new ValueIndexStrategy();
+
+    //Characters which mean the same in Java and Lucene regexes
+    private static final Pattern PORTABLE_REGEX = Pattern.compile("[A-Za-z0-9 _\\-.*+?|()\\[\\]]*");
+    private static final Pattern PREFIX_REGEX = Pattern.compile("([A-Za-z0-9 _\\-]+)\\.\\*");
+
+    private static final String VALUE_STRING = Schema.ConceptProperty.VALUE_STRING.name();
+    private static final String VALUE_STRING_INDEXED = Schema.ConceptProperty.VALUE_STRING_INDEXED.name();
+    private static final String ANY_TRUNCATED = ".*" + ResourceImpl.TRUNCATED;
+
+    private ValueIndexStrategy(){}
+
+    static ValueIndexStrategy instance(){
+        return INSTANCE;
+    }
+
+    // Titan only folds a step into an index lookup if it understands all of its predicates, so each Titan predicate
+    // goes in its own step in front of the step with the original predicate
+    @SuppressWarnings("unchecked")
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal) {
+        List<HasStep> hasSteps = TraversalHelper.getStepsOfClass(HasStep.class, traversal);
+        for (HasStep hasStep : hasSteps) {
+            List<HasContainer> containers = new ArrayList<>(hasStep.getHasContainers());
+            for (HasContainer container : containers) {
+                if (!container.getKey().equals(VALUE_STRING)) continue;
+                indexPredicate(container.getPredicate()).ifPresent(predicate -> TraversalHelper.insertBeforeStep(
+                        new HasStep<>(traversal, new HasContainer(VALUE_STRING_INDEXED, predicate)), hasStep, traversal));
+            }
+        }
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPost() {
+        return ImmutableSet.of(TitanGraphStepStrategy.class);
+    }
+
+    /**
+     * @return a Titan predicate on the indexed value, matching at least the values the Graql predicate matches
+     */
+    static Optional<P<?>> indexPredicate(P<?> predicate){
+        if (!(predicate.getValue() instanceof String)) return Optional.empty();
+        String value = (String) predicate.getValue();
+
+        if (predicate.getBiPredicate() == StringPredicate.CONTAINS) {
+            return Optional.of(new P<>(Text.REGEX, orTruncated(".*" + escapeLucene(value) + ".*")));
+        }
+
+        if (predicate.getBiPredicate() == StringPredicate.REGEX) {
+            Matcher prefix = PREFIX_REGEX.matcher(value);
+            if (prefix.matches()) return Optional.of(new P<>(Text.PREFIX, indexedPrefix(prefix.group(1))));
+            if (PORTABLE_REGEX.matcher(value).matches()) return Optional.of(new P<>(Text.REGEX, orTruncated(value)));
+        }
+
+        return Optional.empty();
+    }
+
+    private static String orTruncated(String regex){
+        return "(" + regex + ")|(" + ANY_TRUNCATED + ")";
+    }
+
+    // A truncated value keeps at least this much of the start of the value
+    private static String indexedPrefix(String prefix){
+        return prefix.substring(0, Math.min(prefix.length(), ResourceImpl.MAX_INDEXED_LENGTH - 1));
+    }
+
+    private static String escapeLucene(String value){
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) escaped.append('\\');
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
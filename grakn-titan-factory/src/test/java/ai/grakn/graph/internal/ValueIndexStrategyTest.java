@@ -0,0 +1,101 @@
+/*
+ * Grakn - A Distributed Semantic Database
+ * Copyright (C) 2016  Grakn Labs Limited
+ *
+ * Grakn is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Grakn is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Grakn. If not, see <http://www.gnu.org/licenses/gpl.txt>.
+ */
+package ai.grakn.graph.internal;
+
+import ai.grakn.graql.internal.query.predicate.StringPredicate;
+import com.google.common.base.Strings;
+import com.thinkaurelius.titan.core.attribute.Text;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueIndexStrategyTest {
+    private static final int LUCENE_MAX_TERM_BYTES = 32766;
+
+    private static final String LONG_VALUE = Strings.repeat("a", ResourceImpl.MAX_INDEXED_LENGTH) + "needle";
+
+    @Test
+    public void testContainsIsTranslatedToAnEscapedRegex(){
+        P<Object> predicate = indexPredicate(StringPredicate.CONTAINS, "a.b").get();
+
+        assertEquals(Text.REGEX, predicate.getBiPredicate());
+        assertTrue(predicate.test(ResourceImpl.indexedValue("xa.by")));
+        assertFalse(predicate.test(ResourceImpl.indexedValue("xaaby")));
+    }
+
+    @Test
+    public void testPrefixRegexIsTranslatedToAPrefix(){
+        P<Object> predicate = indexPredicate(StringPredicate.REGEX, "abc.*").get();
+
+        assertEquals(Text.PREFIX, predicate.getBiPredicate());
+        assertEquals("abc", predicate.getValue());
+    }
+
+    @Test
+    public void testPortableRegexIsTranslatedToARegex(){
+        P<Object> predicate = indexPredicate(StringPredicate.REGEX, "a(b|c)+").get();
+
+        assertEquals(Text.REGEX, predicate.getBiPredicate());
+        assertTrue(predicate.test(ResourceImpl.indexedValue("abcb")));
+        assertFalse(predicate.test(ResourceImpl.indexedValue("abd")));
+    }
+
+    @Test
+    public void testRegexesWhichMayMeanSomethingElseInLuceneAreNotTranslated(){
+        assertFalse(indexPredicate(StringPredicate.REGEX, "\\d+").isPresent());
+        assertFalse(indexPredicate(StringPredicate.REGEX, "^abc$").isPresent());
+    }
+
+    @Test
+    public void testOtherPredicatesAreNotTranslated(){
+        assertFalse(ValueIndexStrategy.indexPredicate(P.eq("abc")).isPresent());
+        assertFalse(ValueIndexStrategy.indexPredicate(P.gt(1L)).isPresent());
+    }
+
+    @Test
+    public void testLongValuesAreShortEnoughToIndex(){
+        String value = Strings.repeat("\u20ac", 2 * ResourceImpl.MAX_INDEXED_LENGTH);
+        String indexed = ResourceImpl.indexedValue(value);
+
+        assertTrue(indexed.getBytes(StandardCharsets.UTF_8).length <= LUCENE_MAX_TERM_BYTES);
+        assertEquals("abc", ResourceImpl.indexedValue("abc"));
+    }
+
+    @Test
+    public void testLongValuesAreFoundByEveryTranslatedPredicate(){
+        String indexed = ResourceImpl.indexedValue(LONG_VALUE);
+
+        assertTrue(indexPredicate(StringPredicate.CONTAINS, "needle").get().test(indexed));
+        assertTrue(indexPredicate(StringPredicate.REGEX, "a+needle").get().test(indexed));
+
+        String longPrefix = Strings.repeat("a", 2 * ResourceImpl.MAX_INDEXED_LENGTH);
+        P<Object> prefix = indexPredicate(StringPredicate.REGEX, longPrefix + ".*").get();
+        assertTrue(prefix.test(ResourceImpl.indexedValue(longPrefix + "needle")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<P<Object>> indexPredicate(StringPredicate stringPredicate, String value){
+        return ValueIndexStrategy.indexPredicate(new P<>(stringPredicate, value)).map(predicate -> (P<Object>) predicate);
+    }
+}